@@ -0,0 +1,113 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generador de carga en bucle cerrado para GET /prices/final.
+ * Cada cliente concurrente es un hilo virtual que repite peticiones durante la duración indicada.
+ * <p>
+ * Uso: java PriceLoadTest.java <baseUrl> <concurrencia> <segundos>
+ */
+public class PriceLoadTest {
+    
+    private static final String[] DATES = {
+        "2020-06-14T10:00:00", "2020-06-14T16:00:00", "2020-06-14T21:00:00",
+        "2020-06-15T10:00:00", "2020-06-16T21:00:00"
+    };
+    
+    /** Sub-intervalos por potencia de dos del histograma de latencias (error relativo < 7 %). */
+    private static final int SUB_BUCKETS = 16;
+    
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        
+        URI[] uris = Arrays.stream(DATES)
+                .map(date -> URI.create(baseUrl + "/prices/final?date=" + date + "&productId=35455&brandId=1"))
+                .toArray(URI[]::new);
+        
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        LongAdder ok = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicLongArray histogram = new AtomicLongArray(64 * SUB_BUCKETS);
+        AtomicLong maxLatency = new AtomicLong();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < concurrency; c++) {
+                int clientIndex = c;
+                executor.submit(() -> {
+                    int next = clientIndex;
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(uris[next++ % uris.length])
+                                .timeout(Duration.ofSeconds(30)).GET().build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() == 200) {
+                                ok.increment();
+                            } else {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        long micros = (System.nanoTime() - start) / 1_000;
+                        histogram.incrementAndGet(bucket(micros));
+                        maxLatency.accumulateAndGet(micros, Math::max);
+                    }
+                });
+            }
+        }
+        
+        System.out.printf("concurrency=%d duration=%ds ok=%d errors=%d throughput=%.0f req/s "
+                        + "p50=%.2fms p99=%.2fms p999=%.2fms max=%.2fms%n",
+                concurrency, seconds, ok.sum(), errors.sum(), ok.sum() / (double) seconds,
+                percentile(histogram, 0.50), percentile(histogram, 0.99), percentile(histogram, 0.999),
+                maxLatency.get() / 1e3);
+    }
+    
+    private static int bucket(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int mantissa = (int) (micros >>> (exponent - 4)) & (SUB_BUCKETS - 1);
+        return (exponent - 3) * SUB_BUCKETS + mantissa;
+    }
+    
+    /** Límite superior, en milisegundos, del intervalo del histograma que contiene el cuantil. */
+    private static double percentile(AtomicLongArray histogram, double quantile) {
+        long total = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            total += histogram.get(i);
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < histogram.length(); i++) {
+            seen += histogram.get(i);
+            if (seen >= rank && seen > 0) {
+                return upperBoundMicros(i) / 1e3;
+            }
+        }
+        return 0;
+    }
+    
+    private static long upperBoundMicros(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + 3;
+        int mantissa = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + mantissa + 1) << (exponent - 4)) - 1;
+    }
+}
@@ -0,0 +1,50 @@
+#!/bin/bash
+# Compara hilos de plataforma (pool de Tomcat), hilos virtuales y la pila reactiva
+# (Netty + R2DBC) bajo la misma carga. Tras cada nivel muestra la memoria residente del proceso.
+# Uso: ./load-test/compare-threading.sh [concurrencias] [segundos]
+#   ./load-test/compare-threading.sh "50 400 1000" 20
+
+set -euo pipefail
+
+CONCURRENCY_LEVELS=${1:-"50 400 1000"}
+DURATION=${2:-20}
+PORT=${PORT:-18080}
+WARMUP=${WARMUP:-10}
+JAR=target/brand-price-1.0.0.jar
+
+cd "$(dirname "$0")/.."
+
+if [ ! -f "$JAR" ]; then
+    # El modo reactivo necesita WebFlux y R2DBC, que solo incluye el perfil reactive
+    mvn -q -P reactive -DskipTests package
+fi
+
+run_mode() {
+    local mode=$1
+    shift
+    java -jar "$JAR" --server.port="$PORT" --spring.profiles.active=dev "$@" \
+         --logging.level.com.wolper.prices=WARN > /dev/null 2>&1 &
+    local pid=$!
+    trap "kill $pid 2>/dev/null || true" EXIT
+
+    until curl -sf "http://localhost:$PORT/prices/final?date=2020-06-14T10:00:00&productId=35455&brandId=1" > /dev/null 2>&1; do
+        sleep 1
+    done
+
+    # Calentamiento del JIT antes de medir
+    java load-test/PriceLoadTest.java "http://localhost:$PORT" 50 "$WARMUP" > /dev/null
+
+    for concurrency in $CONCURRENCY_LEVELS; do
+        echo -n "mode=$mode "
+        java load-test/PriceLoadTest.java "http://localhost:$PORT" "$concurrency" "$DURATION"
+        echo "mode=$mode concurrency=$concurrency rss=$(( $(ps -o rss= -p "$pid") / 1024 )) MB"
+    done
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform --spring.threads.virtual.enabled=false
+run_mode virtual --spring.threads.virtual.enabled=true
+run_mode reactive --spring.main.web-application-type=reactive
@@ -40,8 +40,8 @@ integration_test() {
 }
 
 run() {
-    print_info "Iniciando Brand Price Service..."
-    mvn spring-boot:run
+    print_info "Iniciando Brand Price Service con los precios de ejemplo (perfil dev)..."
+    mvn spring-boot:run -Dspring-boot.run.profiles=dev
 }
 
 docker_build() {
@@ -68,6 +68,7 @@ logs() {
 }
 
 test_endpoints() {
+    # Consulta los precios de ejemplo: el servicio debe arrancar con el perfil dev (run o docker-run)
     print_info "Probando endpoints..."
     
     BASE_URL="http://localhost:8080"
@@ -113,7 +114,7 @@ Comandos disponibles:
   build              Compila el proyecto
   test               Ejecuta tests unitarios
   integration-test   Ejecuta tests de integración
-  run                Ejecuta la aplicación con Maven
+  run                Ejecuta la aplicación con Maven y los precios de ejemplo
   docker-build       Construye la imagen Docker
   docker-run         Ejecuta con Docker Compose
   docker-stop        Detiene los contenedores Docker
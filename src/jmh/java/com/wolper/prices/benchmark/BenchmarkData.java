@@ -0,0 +1,69 @@
+package com.wolper.prices.benchmark;
+
+import com.wolper.prices.domain.model.BrandPrice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generador de datos sintéticos para los benchmarks.
+ * Cada producto tiene una tarifa base de todo el año y {@code overlapsPerProduct - 1}
+ * promociones anidadas de prioridad creciente, todas vigentes en {@link #QUERY_DATE}.
+ */
+final class BenchmarkData {
+    
+    static final long BRAND_ID = 1L;
+    static final LocalDateTime QUERY_DATE = LocalDateTime.of(2020, 6, 15, 12, 0);
+    
+    /** Número de consultas precalculadas; potencia de dos para recorrerlas con una máscara. */
+    static final int QUERY_COUNT = 1024;
+    
+    private BenchmarkData() {
+    }
+    
+    static int productCount(int datasetSize, int overlapsPerProduct) {
+        return Math.max(1, datasetSize / overlapsPerProduct);
+    }
+    
+    /**
+     * Precios de un producto ordenados por prioridad descendente, como los devuelve el repositorio.
+     */
+    static List<BrandPrice> pricesOf(long productId, int overlapsPerProduct) {
+        List<BrandPrice> prices = new ArrayList<>(overlapsPerProduct);
+        for (int level = overlapsPerProduct - 1; level >= 0; level--) {
+            prices.add(price(productId, level));
+        }
+        return prices;
+    }
+    
+    static BrandPrice price(long productId, int level) {
+        LocalDateTime start = level == 0 ? LocalDateTime.of(2020, 1, 1, 0, 0) : QUERY_DATE.minusDays(level);
+        LocalDateTime end = level == 0 ? LocalDateTime.of(2020, 12, 31, 23, 59, 59) : QUERY_DATE.plusDays(level);
+        return BrandPrice.builder()
+                .id(productId * 1_000 + level)
+                .brandId(BRAND_ID)
+                .productId(productId)
+                .priceList((long) level + 1)
+                .priority(level)
+                .startDate(start)
+                .endDate(end)
+                .price(BigDecimal.valueOf(3550 - level * 100L, 2))
+                .currency("EUR")
+                .build();
+    }
+    
+    /**
+     * Identificadores de producto a consultar, con semilla fija para que las ejecuciones sean comparables.
+     */
+    static long[] queryProductIds(int productCount) {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] productIds = new long[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            productIds[i] = 1 + random.nextInt(productCount);
+        }
+        return productIds;
+    }
+}
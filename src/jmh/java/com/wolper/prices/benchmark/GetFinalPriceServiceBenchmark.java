@@ -0,0 +1,83 @@
+package com.wolper.prices.benchmark;
+
+import com.wolper.prices.application.cache.NegativePriceCache;
+import com.wolper.prices.application.cache.PriceKeyFilter;
+import com.wolper.prices.application.port.out.PriceRepository;
+import com.wolper.prices.application.service.GetFinalPriceService;
+import com.wolper.prices.domain.model.BrandPrice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link GetFinalPriceService#getFinalPrice} aislado de la base de datos,
+ * con un repositorio que devuelve listas precalculadas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GetFinalPriceServiceBenchmark {
+    
+    @Param({"1000", "100000"})
+    private int datasetSize;
+    
+    @Param({"1", "4", "16"})
+    private int overlapsPerProduct;
+    
+    private GetFinalPriceService service;
+    private long[] productIds;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        int productCount = BenchmarkData.productCount(datasetSize, overlapsPerProduct);
+        Map<Long, List<BrandPrice>> pricesByProduct = new HashMap<>(productCount * 2);
+        for (long productId = 1; productId <= productCount; productId++) {
+            pricesByProduct.put(productId, BenchmarkData.pricesOf(productId, overlapsPerProduct));
+        }
+        
+        service = new GetFinalPriceService(new StubPriceRepository(pricesByProduct),
+                PriceKeyFilter.acceptAll(), NegativePriceCache.disabled());
+        productIds = BenchmarkData.queryProductIds(productCount);
+    }
+    
+    @Benchmark
+    public BrandPrice getFinalPrice() {
+        long productId = productIds[next++ & (BenchmarkData.QUERY_COUNT - 1)];
+        return service.getFinalPrice(BenchmarkData.QUERY_DATE, productId, BenchmarkData.BRAND_ID);
+    }
+    
+    /**
+     * Repositorio sin E/S: solo el coste de la búsqueda en un mapa.
+     */
+    private record StubPriceRepository(Map<Long, List<BrandPrice>> pricesByProduct) implements PriceRepository {
+        
+        @Override
+        public List<BrandPrice> findApplicablePrices(LocalDateTime applicationDate, Long productId, Long brandId) {
+            return pricesByProduct.getOrDefault(productId, List.of());
+        }
+        
+        @Override
+        public List<BrandPrice> findPricesBetween(Long productId, Long brandId, LocalDateTime from, LocalDateTime to) {
+            return pricesByProduct.getOrDefault(productId, List.of());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.wolper.prices.benchmark;
+
+import com.wolper.prices.adapter.out.persistence.JdbcConcurrencyGate;
+import com.wolper.prices.adapter.out.persistence.JdbcPriceRepository;
+import com.wolper.prices.adapter.out.persistence.ReadReplicaRouter;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceLiveWindow;
+import com.wolper.prices.observability.PriceLookupMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide {@link JdbcPriceRepository#findApplicablePrices} y {@link JdbcPriceRepository#findFinalPrice}
+ * contra H2 en memoria con el esquema real de la aplicación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JdbcPriceRepositoryBenchmark {
+    
+    private static final String INSERT_PRICE = """
+        INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, curr)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+    
+    private static final int INSERT_BATCH_SIZE = 5_000;
+    
+    @Param({"1000", "100000"})
+    private int datasetSize;
+    
+    @Param({"1", "4", "16"})
+    private int overlapsPerProduct;
+    
+    private SingleConnectionDataSource dataSource;
+    private JdbcPriceRepository repository;
+    private long[] productIds;
+    private int next;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:prices-benchmark", "sa", "", true);
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        
+        int productCount = BenchmarkData.productCount(datasetSize, overlapsPerProduct);
+        insertPrices(new JdbcTemplate(dataSource), productCount);
+        
+        JdbcConcurrencyGate gate = new JdbcConcurrencyGate(1, Duration.ofSeconds(5));
+        repository = new JdbcPriceRepository(new NamedParameterJdbcTemplate(dataSource),
+                ReadReplicaRouter.primaryOnly(dataSource), gate, gate,
+                new PriceLookupMetrics(new SimpleMeterRegistry()), PriceLiveWindow.unbounded());
+        productIds = BenchmarkData.queryProductIds(productCount);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.destroy();
+    }
+    
+    @Benchmark
+    public List<BrandPrice> findApplicablePrices() {
+        long productId = productIds[next++ & (BenchmarkData.QUERY_COUNT - 1)];
+        return repository.findApplicablePrices(BenchmarkData.QUERY_DATE, productId, BenchmarkData.BRAND_ID);
+    }
+    
+    @Benchmark
+    public Optional<BrandPrice> findFinalPrice() {
+        long productId = productIds[next++ & (BenchmarkData.QUERY_COUNT - 1)];
+        return repository.findFinalPrice(BenchmarkData.QUERY_DATE, productId, BenchmarkData.BRAND_ID);
+    }
+    
+    private void insertPrices(JdbcTemplate jdbcTemplate, int productCount) {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (long productId = 1; productId <= productCount; productId++) {
+            for (BrandPrice price : BenchmarkData.pricesOf(productId, overlapsPerProduct)) {
+                batch.add(new Object[] {
+                    price.getBrandId(), Timestamp.valueOf(price.getStartDate()), Timestamp.valueOf(price.getEndDate()),
+                    price.getPriceList(), price.getProductId(), price.getPriority(), price.getPrice(), price.getCurrency()
+                });
+                if (batch.size() == INSERT_BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(INSERT_PRICE, batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_PRICE, batch);
+        }
+    }
+}
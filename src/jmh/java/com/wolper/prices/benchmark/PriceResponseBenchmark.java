@@ -0,0 +1,56 @@
+package com.wolper.prices.benchmark;
+
+import com.wolper.prices.adapter.in.web.dto.PriceResponse;
+import com.wolper.prices.adapter.in.web.mapper.PriceMapper;
+import com.wolper.prices.adapter.in.web.mapper.PriceMapperImpl;
+import com.wolper.prices.domain.model.BrandPrice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide por separado las dos etapas de la respuesta: el mapeo MapStruct
+ * de dominio a DTO y la serialización JSON del DTO con Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceResponseBenchmark {
+    
+    private PriceMapper priceMapper;
+    private JsonMapper jsonMapper;
+    private BrandPrice price;
+    private PriceResponse response;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        priceMapper = new PriceMapperImpl();
+        jsonMapper = JsonMapper.builder().build();
+        price = BenchmarkData.price(35455L, 1);
+        response = priceMapper.toResponse(price);
+    }
+    
+    @Benchmark
+    public PriceResponse mapToResponse() {
+        return priceMapper.toResponse(price);
+    }
+    
+    @Benchmark
+    public byte[] serializeResponse() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,87 @@
+package com.wolper.prices.adapter.in.imports;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Convierte un fichero de precios CSV o NDJSON en un stream de precios.
+ * Se lee línea a línea a medida que se consume el stream, sin cargar el fichero en memoria.
+ * Las líneas en blanco se ignoran.
+ */
+@Component
+@RequiredArgsConstructor
+public class PriceFileParser {
+    
+    /** Cabecera obligatoria de los ficheros CSV. */
+    public static final String CSV_HEADER = "brand_id,start_date,end_date,price_list,product_id,priority,price,curr";
+    
+    private static final int CSV_COLUMNS = 8;
+    
+    private final JsonMapper jsonMapper;
+    
+    /**
+     * El stream debe consumirse mientras el lector esté abierto.
+     *
+     * @throws PriceImportException Al consumir una línea inválida, indicando su número
+     */
+    public Stream<BrandPrice> parse(BufferedReader reader, PriceImportFormat format) {
+        long[] lineNumber = {0};
+        return reader.lines()
+                .map(line -> parseLine(line, ++lineNumber[0], format))
+                .filter(Objects::nonNull);
+    }
+    
+    private BrandPrice parseLine(String line, long lineNumber, PriceImportFormat format) {
+        if (format == PriceImportFormat.CSV && lineNumber == 1) {
+            if (!CSV_HEADER.equals(line.strip().toLowerCase(Locale.ROOT))) {
+                throw new PriceImportException(lineNumber, "se esperaba la cabecera " + CSV_HEADER, null);
+            }
+            return null;
+        }
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return format == PriceImportFormat.CSV
+                    ? parseCsv(line)
+                    : jsonMapper.readValue(line, PriceImportLine.class).toBrandPrice();
+        } catch (JacksonException | DateTimeParseException | ArithmeticException | IllegalArgumentException ex) {
+            throw new PriceImportException(lineNumber, ex.getMessage(), ex);
+        }
+    }
+    
+    private static BrandPrice parseCsv(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != CSV_COLUMNS) {
+            throw new IllegalArgumentException("se esperaban " + CSV_COLUMNS + " columnas y hay " + fields.length);
+        }
+        return BrandPrice.builder()
+                .brandId(Long.parseLong(fields[0].strip()))
+                .startDate(parseDate(fields[1]))
+                .endDate(parseDate(fields[2]))
+                .priceList(Long.parseLong(fields[3].strip()))
+                .productId(Long.parseLong(fields[4].strip()))
+                .priority(Integer.parseInt(fields[5].strip()))
+                .price(new BigDecimal(fields[6].strip()))
+                .currency(fields[7].strip())
+                .build();
+    }
+    
+    /**
+     * Admite ISO 8601 ({@code 2020-06-14T10:00:00}) y el formato SQL ({@code 2020-06-14 10:00:00}).
+     */
+    private static LocalDateTime parseDate(String value) {
+        return LocalDateTime.parse(value.strip().replace(' ', 'T'));
+    }
+}
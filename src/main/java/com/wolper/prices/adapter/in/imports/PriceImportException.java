@@ -0,0 +1,11 @@
+package com.wolper.prices.adapter.in.imports;
+
+/**
+ * Excepción lanzada cuando una línea del fichero de importación no es válida.
+ */
+public class PriceImportException extends RuntimeException {
+    
+    public PriceImportException(long lineNumber, String reason, Throwable cause) {
+        super(String.format("Línea %d inválida: %s", lineNumber, reason), cause);
+    }
+}
@@ -0,0 +1,31 @@
+package com.wolper.prices.adapter.in.imports;
+
+import java.util.Locale;
+
+/**
+ * Formatos de fichero admitidos por la importación masiva.
+ */
+public enum PriceImportFormat {
+    
+    /** CSV con cabecera {@value PriceFileParser#CSV_HEADER}. */
+    CSV,
+    
+    /** Un objeto JSON por línea con los campos de {@link PriceImportLine}. */
+    NDJSON;
+    
+    /**
+     * Deduce el formato a partir de la extensión del fichero.
+     *
+     * @throws IllegalArgumentException Si la extensión no es .csv, .ndjson ni .jsonl
+     */
+    public static PriceImportFormat fromFileName(String fileName) {
+        String lowerCase = fileName.toLowerCase(Locale.ROOT);
+        if (lowerCase.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lowerCase.endsWith(".ndjson") || lowerCase.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("No se puede deducir el formato de importación de " + fileName);
+    }
+}
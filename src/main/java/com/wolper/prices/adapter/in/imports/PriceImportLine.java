@@ -0,0 +1,37 @@
+package com.wolper.prices.adapter.in.imports;
+
+import com.wolper.prices.domain.model.BrandPrice;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Línea de un fichero NDJSON de importación.
+ */
+record PriceImportLine(
+        Long brandId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        Long priceList,
+        Long productId,
+        Integer priority,
+        BigDecimal price,
+        String curr) {
+    
+    BrandPrice toBrandPrice() {
+        if (brandId == null || startDate == null || endDate == null || priceList == null
+                || productId == null || priority == null || price == null || curr == null) {
+            throw new IllegalArgumentException("Faltan campos obligatorios");
+        }
+        return BrandPrice.builder()
+                .brandId(brandId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .priceList(priceList)
+                .productId(productId)
+                .priority(priority)
+                .price(price)
+                .currency(curr)
+                .build();
+    }
+}
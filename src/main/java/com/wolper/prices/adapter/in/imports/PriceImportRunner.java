@@ -0,0 +1,42 @@
+package com.wolper.prices.adapter.in.imports;
+
+import com.wolper.prices.application.port.in.ImportPricesUseCase;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceImportMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Importa un fichero de precios al arrancar la aplicación.
+ * Se activa con {@code --prices.import.file=<ruta>}; un error de importación
+ * detiene el arranque.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PriceImportRunner implements ApplicationRunner {
+    
+    private final ImportPricesUseCase importPricesUseCase;
+    private final PriceFileParser parser;
+    private final Path file;
+    private final PriceImportFormat format;
+    private final PriceImportMode mode;
+    
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        log.info("Importando precios desde {} (formato {}, modo {})", file, format, mode);
+        
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             Stream<BrandPrice> prices = parser.parse(reader, format)) {
+            importPricesUseCase.importPrices(prices, mode);
+        }
+    }
+}
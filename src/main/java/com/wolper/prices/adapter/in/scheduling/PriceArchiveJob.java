@@ -0,0 +1,32 @@
+package com.wolper.prices.adapter.in.scheduling;
+
+import com.wolper.prices.application.port.in.ArchiveExpiredPricesUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptador de entrada que archiva periódicamente los precios caducados.
+ * Solo se activa con {@code prices.archive.enabled=true}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "prices.archive", name = "enabled", havingValue = "true")
+public class PriceArchiveJob {
+    
+    private final ArchiveExpiredPricesUseCase archiveExpiredPricesUseCase;
+    
+    @Scheduled(cron = "${prices.archive.schedule:0 30 3 * * *}")
+    public void archiveExpiredPrices() {
+        try {
+            archiveExpiredPricesUseCase.archiveExpiredPrices();
+        } catch (DataAccessException e) {
+            log.warn("No se pudieron archivar los precios caducados; se reintentará en la siguiente ejecución: {}",
+                     e.getMessage());
+        }
+    }
+}
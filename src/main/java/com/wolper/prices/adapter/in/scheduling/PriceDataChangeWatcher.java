@@ -0,0 +1,33 @@
+package com.wolper.prices.adapter.in.scheduling;
+
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptador de entrada que sondea periódicamente la tabla de precios
+ * en segundo plano y dispara la reconstrucción cuando cambian los datos.
+ * Se desactiva con {@code prices.refresh.enabled=false}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "prices.refresh", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class PriceDataChangeWatcher {
+    
+    private final RefreshPriceDataUseCase refreshPriceDataUseCase;
+    
+    @Scheduled(fixedDelayString = "${prices.refresh.interval:30s}",
+               initialDelayString = "${prices.refresh.interval:30s}")
+    public void pollForChanges() {
+        try {
+            refreshPriceDataUseCase.refreshIfChanged();
+        } catch (DataAccessException e) {
+            log.warn("No se pudo comprobar si hay cambios en los precios: {}", e.getMessage());
+        }
+    }
+}
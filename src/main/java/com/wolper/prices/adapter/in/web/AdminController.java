@@ -0,0 +1,186 @@
+package com.wolper.prices.adapter.in.web;
+
+import com.wolper.prices.adapter.in.imports.PriceFileParser;
+import com.wolper.prices.adapter.in.imports.PriceImportFormat;
+import com.wolper.prices.adapter.in.web.dto.PriceArchiveResponse;
+import com.wolper.prices.adapter.in.web.dto.PriceCacheStatsResponse;
+import com.wolper.prices.adapter.in.web.dto.PriceDataVersionResponse;
+import com.wolper.prices.adapter.in.web.dto.PriceImportResponse;
+import com.wolper.prices.adapter.in.web.dto.PricePartitionResponse;
+import com.wolper.prices.adapter.in.web.mapper.PriceMapper;
+import com.wolper.prices.application.port.in.ArchiveExpiredPricesUseCase;
+import com.wolper.prices.application.port.in.ImportPricesUseCase;
+import com.wolper.prices.application.port.in.PriceCacheUseCase;
+import com.wolper.prices.application.port.in.PricePartitionUseCase;
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceImportMode;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Controlador REST de operaciones de administración.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/admin")
+@RequiredArgsConstructor
+@Tag(name = "Admin", description = "Operaciones de administración del servicio")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdminController {
+    
+    private final ObjectProvider<PriceCacheUseCase> priceCacheUseCase;
+    private final ObjectProvider<PricePartitionUseCase> pricePartitionUseCase;
+    private final ObjectProvider<ArchiveExpiredPricesUseCase> archiveExpiredPricesUseCase;
+    private final RefreshPriceDataUseCase refreshPriceDataUseCase;
+    private final ImportPricesUseCase importPricesUseCase;
+    private final PriceFileParser priceFileParser;
+    private final PriceMapper priceMapper;
+    
+    @Operation(summary = "Versión de los datos de precios cargada en memoria")
+    @ApiResponse(responseCode = "200", description = "Versión cargada")
+    @GetMapping("/price-data")
+    public ResponseEntity<PriceDataVersionResponse> getPriceDataVersion() {
+        return ResponseEntity.ok(priceMapper.toResponse(refreshPriceDataUseCase.getLoadedVersion()));
+    }
+    
+    @Operation(summary = "Recargar los datos de precios",
+               description = "Reconstruye índices y vacía cachés sin esperar al siguiente sondeo de cambios")
+    @ApiResponse(responseCode = "200", description = "Datos recargados")
+    @PostMapping("/price-data/reload")
+    public ResponseEntity<PriceDataVersionResponse> reloadPriceData() {
+        log.info("POST /admin/price-data/reload");
+        return ResponseEntity.ok(priceMapper.toResponse(refreshPriceDataUseCase.reload()));
+    }
+    
+    @Operation(summary = "Importar precios de forma masiva",
+               description = "Lee el cuerpo de la petición como CSV o NDJSON a medida que se escribe en la base de datos")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importación completada"),
+        @ApiResponse(responseCode = "400", description = "Alguna línea del fichero no es válida")
+    })
+    @PostMapping(value = "/price-data/import",
+                 consumes = {"text/csv", "application/x-ndjson", MediaType.TEXT_PLAIN_VALUE,
+                             MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<PriceImportResponse> importPriceData(
+            @Parameter(description = "Formato del cuerpo", example = "CSV")
+            @RequestParam(defaultValue = "CSV") PriceImportFormat format,
+            
+            @Parameter(description = "REPLACE sustituye todos los precios; UPSERT actualiza e inserta", example = "UPSERT")
+            @RequestParam(defaultValue = "UPSERT") PriceImportMode mode,
+            
+            HttpServletRequest request
+    ) throws IOException {
+        log.info("POST /admin/price-data/import - formato={}, modo={}", format, mode);
+        
+        try (BufferedReader reader = new BufferedReader(
+                     new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+             Stream<BrandPrice> prices = priceFileParser.parse(reader, format)) {
+            return ResponseEntity.ok(priceMapper.toResponse(importPricesUseCase.importPrices(prices, mode)));
+        }
+    }
+    
+    @Operation(summary = "Archivar los precios caducados",
+               description = "Mueve al archivo los precios que terminaron antes de la ventana viva sin esperar a la ejecución programada")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Archivado completado"),
+        @ApiResponse(responseCode = "404", description = "El archivado no está activado")
+    })
+    @PostMapping("/price-data/archive")
+    public ResponseEntity<PriceArchiveResponse> archiveExpiredPrices() {
+        ArchiveExpiredPricesUseCase archive = archiveExpiredPricesUseCase.getIfAvailable();
+        if (archive == null) {
+            return ResponseEntity.notFound().build();
+        }
+        log.info("POST /admin/price-data/archive");
+        return ResponseEntity.ok(priceMapper.toResponse(archive.archiveExpiredPrices()));
+    }
+    
+    @Operation(summary = "Estadísticas de la caché de precios")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas de la caché"),
+        @ApiResponse(responseCode = "404", description = "La caché no está activada")
+    })
+    @GetMapping("/price-cache")
+    public ResponseEntity<PriceCacheStatsResponse> getCacheStats() {
+        PriceCacheUseCase cache = priceCacheUseCase.getIfAvailable();
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(priceMapper.toResponse(cache.getCacheStats()));
+    }
+    
+    @Operation(summary = "Vaciar la caché de precios")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Caché vaciada"),
+        @ApiResponse(responseCode = "404", description = "La caché no está activada")
+    })
+    @DeleteMapping("/price-cache")
+    public ResponseEntity<Void> clearCache() {
+        PriceCacheUseCase cache = priceCacheUseCase.getIfAvailable();
+        if (cache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        log.info("DELETE /admin/price-cache");
+        cache.clearCache();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @Operation(summary = "Particiones de precios por marca",
+               description = "Precios, productos, memoria estimada y versión cargada de cada marca servida")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Particiones servidas"),
+        @ApiResponse(responseCode = "404", description = "El motor particionado no está activo")
+    })
+    @GetMapping("/price-partitions")
+    public ResponseEntity<List<PricePartitionResponse>> getPartitions() {
+        PricePartitionUseCase partitions = pricePartitionUseCase.getIfAvailable();
+        if (partitions == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(priceMapper.toPartitionResponses(partitions.getPartitions()));
+    }
+    
+    @Operation(summary = "Recargar la partición de una marca",
+               description = "Recarga solo los precios de la marca; el resto de particiones siguen sirviendo sin cambios")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Partición recargada"),
+        @ApiResponse(responseCode = "404", description = "El motor particionado no está activo o no sirve esa marca")
+    })
+    @PostMapping("/price-partitions/{brandId}/reload")
+    public ResponseEntity<PricePartitionResponse> reloadPartition(
+            @Parameter(description = "Identificador de la marca", example = "1")
+            @PathVariable Long brandId
+    ) {
+        PricePartitionUseCase partitions = pricePartitionUseCase.getIfAvailable();
+        if (partitions == null) {
+            return ResponseEntity.notFound().build();
+        }
+        log.info("POST /admin/price-partitions/{}/reload", brandId);
+        return ResponseEntity.of(partitions.reloadPartition(brandId).map(priceMapper::toResponse));
+    }
+}
@@ -0,0 +1,98 @@
+package com.wolper.prices.adapter.in.web;
+
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import com.wolper.prices.domain.model.PriceSegment;
+import com.wolper.prices.observability.PriceLookupMetrics;
+import com.wolper.prices.observability.PriceLookupMetrics.Outcome;
+import com.wolper.prices.observability.PriceLookupMetrics.Stage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Respuesta de {@code GET /prices/final} común a las pilas MVC y WebFlux: cabeceras de
+ * {@link PriceHttpCachePolicy}, 304 si coincide {@code If-None-Match}, JSON preserializado de
+ * {@link PriceResponseCache} y métricas por etapa. Los dos controladores solo resuelven el
+ * tramo y delegan aquí, así que responden y miden exactamente igual.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FinalPriceResponses {
+    
+    private final PriceResponseCache priceResponseCache;
+    private final PriceHttpCachePolicy httpCachePolicy;
+    private final RefreshPriceDataUseCase refreshPriceDataUseCase;
+    private final PriceLookupMetrics metrics;
+    
+    /**
+     * Construye la respuesta del tramo resuelto y registra las etapas de binding, caso de uso
+     * y mapeo de la respuesta.
+     *
+     * @param requestStart Instante en que empezó el binding, o {@code null} si la pila no lo mide
+     * @param bindingEnd Instante en que terminó el binding y empezó el caso de uso
+     * @param useCaseEnd Instante en que terminó el caso de uso
+     */
+    public ResponseEntity<byte[]> toResponse(PriceSegment segment, String ifNoneMatch,
+                                             String requestId, boolean logged,
+                                             Long requestStart, long bindingEnd, long useCaseEnd) {
+        BrandPrice price = segment.price();
+        PriceDataVersion version = refreshPriceDataUseCase.getLoadedVersion();
+        String etag = httpCachePolicy.etag(price, version);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Request-ID", requestId);
+        headers.setETag(etag);
+        headers.setCacheControl(httpCachePolicy.cacheControl());
+        ZonedDateTime lastModified = httpCachePolicy.lastModified(version);
+        if (lastModified != null) {
+            headers.setLastModified(lastModified);
+        }
+        
+        if (httpCachePolicy.isNotModified(ifNoneMatch, etag)) {
+            recordBinding(requestStart, bindingEnd, Outcome.NOT_MODIFIED);
+            metrics.record(Stage.USE_CASE, Outcome.NOT_MODIFIED, bindingEnd, useCaseEnd);
+            if (logged) {
+                log.info("[{}] Precio sin cambios: priceList={}", requestId, price.getPriceList());
+            }
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        
+        byte[] body = priceResponseCache.toJson(price);
+        recordBinding(requestStart, bindingEnd, Outcome.FOUND);
+        metrics.record(Stage.USE_CASE, Outcome.FOUND, bindingEnd, useCaseEnd);
+        metrics.record(Stage.RESPONSE_MAPPING, Outcome.FOUND, useCaseEnd);
+        
+        if (logged) {
+            log.info("[{}] Precio encontrado: priceList={}, price={}",
+                     requestId, price.getPriceList(), price.getPrice());
+        }
+        
+        return ResponseEntity.ok()
+                .headers(headers)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+    
+    /**
+     * Registra el binding y el caso de uso de una consulta que terminó con la excepción indicada;
+     * la respuesta de error la construye después el manejador de excepciones de cada pila.
+     */
+    public void recordFailure(Throwable failure, Long requestStart, long bindingEnd) {
+        Outcome outcome = Outcome.of(failure);
+        recordBinding(requestStart, bindingEnd, outcome);
+        metrics.record(Stage.USE_CASE, outcome, bindingEnd);
+    }
+    
+    private void recordBinding(Long requestStart, long bindingEnd, Outcome outcome) {
+        if (requestStart != null) {
+            metrics.record(Stage.BINDING, outcome, requestStart, bindingEnd);
+        }
+    }
+}
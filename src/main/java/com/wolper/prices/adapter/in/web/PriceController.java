@@ -1,31 +1,62 @@
 package com.wolper.prices.adapter.in.web;
 
+import com.wolper.prices.adapter.in.web.dto.PriceBatchItemResponse;
+import com.wolper.prices.adapter.in.web.dto.PriceBatchRequest;
+import com.wolper.prices.adapter.in.web.dto.PriceBatchResponse;
 import com.wolper.prices.adapter.in.web.dto.PriceResponse;
+import com.wolper.prices.adapter.in.web.dto.PriceTimelineSegmentResponse;
 import com.wolper.prices.adapter.in.web.mapper.PriceMapper;
+import com.wolper.prices.application.port.in.ExportPriceSnapshotUseCase;
 import com.wolper.prices.application.port.in.GetFinalPriceUseCase;
+import com.wolper.prices.application.port.in.GetPriceTimelineUseCase;
 import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceQuery;
+import com.wolper.prices.domain.model.PriceSegment;
+import com.wolper.prices.observability.PriceLookupMetrics;
+import com.wolper.prices.observability.RequestLogSampler;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Controlador REST para consultas de precios.
+ * Solo se registra en el log una muestra de las consultas correctas
+ * (ver {@link RequestLogSampler}); los errores los registra siempre el manejador global.
+ * El precio final se responde con {@link FinalPriceResponses}, igual que en la pila reactiva:
+ * JSON preserializado de {@link PriceResponseCache} y cabeceras de {@link PriceHttpCachePolicy}.
  */
 @Slf4j
 @Validated
@@ -33,10 +64,20 @@ import java.util.UUID;
 @RequestMapping("/prices")
 @RequiredArgsConstructor
 @Tag(name = "Prices", description = "API de consulta de precios")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class PriceController {
     
     private final GetFinalPriceUseCase getFinalPriceUseCase;
     private final PriceMapper priceMapper;
+    private final RequestLogSampler requestLogSampler;
+    private final FinalPriceResponses finalPriceResponses;
+    private final GetPriceTimelineUseCase getPriceTimelineUseCase;
+    private final JsonMapper jsonMapper;
+    private final ExportPriceSnapshotUseCase exportPriceSnapshotUseCase;
+    private final PriceExportLimiter priceExportLimiter;
+    
+    /** Mismo formato de fecha que las respuestas JSON. */
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
     
     @Operation(
         summary = "Obtener precio final",
@@ -48,6 +89,10 @@ public class PriceController {
             description = "Precio encontrado exitosamente",
             content = @Content(schema = @Schema(implementation = PriceResponse.class))
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "El precio no ha cambiado desde la ETag indicada en If-None-Match"
+        ),
         @ApiResponse(
             responseCode = "400",
             description = "Parámetros inválidos"
@@ -62,7 +107,7 @@ public class PriceController {
         )
     })
     @GetMapping("/final")
-    public ResponseEntity<PriceResponse> getFinalPrice(
+    public ResponseEntity<byte[]> getFinalPrice(
             @Parameter(description = "Fecha de aplicación del precio (ISO 8601)", required = true, example = "2020-06-14T10:00:00")
             @RequestParam
             @NotNull(message = "La fecha es obligatoria")
@@ -79,24 +124,237 @@ public class PriceController {
             @RequestParam
             @NotNull(message = "El brandId es obligatorio")
             @Min(value = 1, message = "El brandId debe ser mayor que 0")
-            Long brandId
+            Long brandId,
+            
+            @Parameter(in = ParameterIn.HEADER, description = "ETag de una respuesta anterior; si coincide se responde 304")
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+            String ifNoneMatch,
+            
+            @Parameter(hidden = true)
+            @RequestAttribute(name = PriceLookupMetrics.REQUEST_START_ATTRIBUTE, required = false)
+            Long requestStart
     ) {
-        String requestId = UUID.randomUUID().toString();
-        log.info("[{}] GET /prices/final - date={}, productId={}, brandId={}", 
-                 requestId, date, productId, brandId);
+        long bindingEnd = System.nanoTime();
+        String requestId = requestLogSampler.nextRequestId();
+        boolean logged = requestLogSampler.sampleSuccess();
+        if (logged) {
+            log.info("[{}] GET /prices/final - date={}, productId={}, brandId={}", 
+                     requestId, date, productId, brandId);
+        }
         
-        BrandPrice price = getFinalPriceUseCase.getFinalPrice(date, productId, brandId);
-        PriceResponse response = priceMapper.toResponse(price);
+        // Desde aquí la consulta viaja en primitivos
+        PriceSegment segment;
+        try {
+            segment = getFinalPriceUseCase.getFinalPriceSegment(EpochMicros.of(date), productId, brandId);
+        } catch (RuntimeException ex) {
+            finalPriceResponses.recordFailure(ex, requestStart, bindingEnd);
+            throw ex;
+        }
+        return finalPriceResponses.toResponse(segment, ifNoneMatch, requestId, logged,
+                                              requestStart, bindingEnd, System.nanoTime());
+    }
+    
+    @Operation(
+        summary = "Obtener precios finales en lote",
+        description = "Resuelve en una sola petición el precio aplicable de varias combinaciones de producto, marca y fecha"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Lote resuelto; cada resultado indica si se encontró precio",
+            content = @Content(schema = @Schema(implementation = PriceBatchResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Parámetros inválidos"
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Error interno del servidor"
+        )
+    })
+    @PostMapping("/final/batch")
+    public ResponseEntity<PriceBatchResponse> getFinalPrices(@Valid @RequestBody PriceBatchRequest request) {
+        String requestId = requestLogSampler.nextRequestId();
+        boolean logged = requestLogSampler.sampleSuccess();
+        if (logged) {
+            log.info("[{}] POST /prices/final/batch - {} consultas", requestId, request.getItems().size());
+        }
+        
+        List<PriceQuery> queries = request.getItems().stream()
+                .map(priceMapper::toQuery)
+                .toList();
+        Map<PriceQuery, BrandPrice> prices = getFinalPriceUseCase.getFinalPrices(queries);
+        
+        List<PriceBatchItemResponse> items = new ArrayList<>(queries.size());
+        for (PriceQuery query : queries) {
+            BrandPrice price = prices.get(query);
+            items.add(PriceBatchItemResponse.builder()
+                    .date(query.applicationDate())
+                    .productId(query.productId())
+                    .brandId(query.brandId())
+                    .found(price != null)
+                    .price(price != null ? priceMapper.toResponse(price) : null)
+                    .build());
+        }
         
         HttpHeaders headers = new HttpHeaders();
         headers.add("X-Request-ID", requestId);
         headers.add("Cache-Control", "no-cache");
         
-        log.info("[{}] Precio encontrado: priceList={}, price={}", 
-                 requestId, response.getPriceList(), response.getPrice());
+        if (logged) {
+            log.info("[{}] Lote resuelto: {} de {} precios encontrados", requestId, prices.size(), queries.size());
+        }
         
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(response);
+                .body(new PriceBatchResponse(items));
+    }
+    
+    @Operation(
+        summary = "Obtener la línea temporal de precio",
+        description = "Devuelve en NDJSON, un tramo por línea, los periodos de precio efectivo de un producto "
+                + "en una marca dentro de un rango de fechas"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Tramos en orden cronológico, recortados al rango; sin líneas si no hay precios",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                               schema = @Schema(implementation = PriceTimelineSegmentResponse.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Parámetros inválidos o rango invertido"
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Error interno del servidor"
+        )
+    })
+    @GetMapping(value = "/timeline", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getPriceTimeline(
+            @Parameter(description = "Identificador de la marca", required = true, example = "1")
+            @RequestParam
+            @NotNull(message = "El brandId es obligatorio")
+            @Min(value = 1, message = "El brandId debe ser mayor que 0")
+            Long brandId,
+            
+            @Parameter(description = "Identificador del producto", required = true, example = "35455")
+            @RequestParam
+            @NotNull(message = "El productId es obligatorio")
+            @Min(value = 1, message = "El productId debe ser mayor que 0")
+            Long productId,
+            
+            @Parameter(description = "Inicio del rango (ISO 8601, inclusivo)", required = true, example = "2020-06-14T00:00:00")
+            @RequestParam
+            @NotNull(message = "La fecha inicial es obligatoria")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime from,
+            
+            @Parameter(description = "Fin del rango (ISO 8601, inclusivo)", required = true, example = "2020-06-16T23:59:59")
+            @RequestParam
+            @NotNull(message = "La fecha final es obligatoria")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime to
+    ) {
+        String requestId = requestLogSampler.nextRequestId();
+        if (requestLogSampler.sampleSuccess()) {
+            log.info("[{}] GET /prices/timeline - productId={}, brandId={}, from={}, to={}", 
+                     requestId, productId, brandId, from, to);
+        }
+        
+        // Los precios ya están leídos: el cuerpo solo calcula y escribe los tramos uno a uno
+        Stream<PriceSegment> segments = getPriceTimelineUseCase.getPriceTimeline(productId, brandId, from, to);
+        StreamingResponseBody body = output -> {
+            try (segments) {
+                for (PriceSegment segment : (Iterable<PriceSegment>) segments::iterator) {
+                    output.write(jsonMapper.writeValueAsBytes(priceMapper.toResponse(segment)));
+                    output.write('\n');
+                }
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .header("X-Request-ID", requestId)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
+    
+    @Operation(
+        summary = "Exportar la foto de precios de una marca",
+        description = "Devuelve el precio aplicable en la fecha indicada de todos los productos de la marca, "
+                + "en NDJSON o CSV, escrito según se lee de la base de datos"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Un precio por línea, ordenado por producto"),
+        @ApiResponse(responseCode = "400", description = "Parámetros inválidos"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas exportaciones en curso")
+    })
+    @GetMapping("/snapshot")
+    public ResponseEntity<StreamingResponseBody> getPriceSnapshot(
+            @Parameter(description = "Identificador de la marca", required = true, example = "1")
+            @RequestParam
+            @NotNull(message = "El brandId es obligatorio")
+            @Min(value = 1, message = "El brandId debe ser mayor que 0")
+            Long brandId,
+            
+            @Parameter(description = "Fecha de aplicación (ISO 8601)", required = true, example = "2020-06-14T10:00:00")
+            @RequestParam
+            @NotNull(message = "La fecha es obligatoria")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime date,
+            
+            @Parameter(description = "Formato de salida", example = "NDJSON")
+            @RequestParam(defaultValue = "NDJSON")
+            PriceSnapshotFormat format
+    ) {
+        String requestId = requestLogSampler.nextRequestId();
+        if (requestLogSampler.sampleSuccess()) {
+            log.info("[{}] GET /prices/snapshot - brandId={}, date={}, format={}", requestId, brandId, date, format);
+        }
+        
+        // El cupo se reserva aquí, mientras aún se puede responder 503; el cuerpo lo libera al terminar
+        priceExportLimiter.acquire();
+        
+        // El cursor se abre dentro del cuerpo: cada precio se escribe según llega de la base de datos
+        StreamingResponseBody body = output -> {
+            try {
+                Consumer<BrandPrice> writer = switch (format) {
+                    case NDJSON -> price -> writeLine(output, jsonMapper.writeValueAsBytes(priceMapper.toResponse(price)));
+                    case CSV -> {
+                        writeLine(output, PriceSnapshotFormat.CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+                        yield price -> writeLine(output, toCsvLine(price).getBytes(StandardCharsets.UTF_8));
+                    }
+                };
+                exportPriceSnapshotUseCase.exportSnapshot(brandId, date, writer);
+            } finally {
+                priceExportLimiter.release();
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .header("X-Request-ID", requestId)
+                .cacheControl(CacheControl.noCache())
+                .contentType(format.mediaType())
+                .body(body);
+    }
+    
+    private static void writeLine(OutputStream output, byte[] line) {
+        try {
+            output.write(line);
+            output.write('\n');
+        } catch (IOException e) {
+            // Normalmente el cliente ha cerrado la conexión: se interrumpe el recorrido del cursor
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private static String toCsvLine(BrandPrice price) {
+        return price.getProductId() + "," + price.getBrandId() + "," + price.getPriceList() + ","
+                + SECONDS.format(price.getStartDate()) + "," + SECONDS.format(price.getEndDate()) + ","
+                + price.getPrice().toPlainString() + "," + price.getCurrency();
+    }
+    
 }
@@ -0,0 +1,56 @@
+package com.wolper.prices.adapter.in.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limita las exportaciones de {@code GET /prices/snapshot} en curso.
+ * <p>
+ * Cada exportación retiene una conexión mientras el cliente descarga, así que no comparte el
+ * límite JDBC de las consultas de precio: tiene su propio cupo y, si está agotado, se rechaza
+ * al momento con 503 en lugar de hacer cola. El permiso se toma antes de empezar a responder,
+ * cuando aún se puede cambiar el estado, y se libera al terminar la descarga.
+ */
+@Slf4j
+public class PriceExportLimiter {
+    
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    
+    /**
+     * @param maxConcurrency Exportaciones simultáneas permitidas
+     */
+    public PriceExportLimiter(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency debe ser positivo: " + maxConcurrency);
+        }
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+    }
+    
+    /**
+     * Reserva una exportación; hay que llamar a {@link #release()} cuando termine.
+     *
+     * @throws TransientDataAccessResourceException si ya hay el máximo de exportaciones en curso
+     */
+    public void acquire() {
+        if (!permits.tryAcquire()) {
+            log.warn("Exportación rechazada: ya hay {} en curso", maxConcurrency);
+            throw new TransientDataAccessResourceException("Demasiadas exportaciones en curso");
+        }
+    }
+    
+    public void release() {
+        permits.release();
+    }
+    
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,77 @@
+package com.wolper.prices.adapter.in.web;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * Cabeceras de caché HTTP del precio final.
+ * <ul>
+ *   <li>El ETag identifica la fila ganadora y la versión de los datos: cambia si cambia
+ *       el precio o se recargan los datos.</li>
+ *   <li>El {@code max-age} es el configurado. La fecha forma parte de la URL, así que la
+ *       respuesta no cambia cuando termina el tramo: solo puede cambiar con los datos, y el
+ *       {@code max-age} acota cuánto tarda en verse ese cambio.</li>
+ * </ul>
+ */
+public class PriceHttpCachePolicy {
+    
+    private final Duration maxAge;
+    
+    /**
+     * @param maxAge {@code max-age} de las respuestas; cero desactiva la caché ({@code no-cache})
+     */
+    public PriceHttpCachePolicy(Duration maxAge) {
+        if (maxAge.isNegative()) {
+            throw new IllegalArgumentException("max-age inválido: " + maxAge);
+        }
+        this.maxAge = maxAge;
+    }
+    
+    /**
+     * ETag fuerte de la respuesta: el cuerpo solo depende de la fila ganadora.
+     */
+    public String etag(BrandPrice price, PriceDataVersion version) {
+        return "\"" + Long.toHexString(price.getId())
+                + '-' + Integer.toHexString(price.hashCode())
+                + '-' + Integer.toHexString(Objects.hashCode(version)) + "\"";
+    }
+    
+    /**
+     * {@code Cache-Control} de la respuesta del precio final.
+     */
+    public CacheControl cacheControl() {
+        return maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge).cachePublic();
+    }
+    
+    /**
+     * Fecha de la última modificación de los datos, o {@code null} si no se conoce.
+     */
+    public ZonedDateTime lastModified(PriceDataVersion version) {
+        return version != null && version.lastModified() != null
+                ? version.lastModified().atZone(ZoneId.systemDefault())
+                : null;
+    }
+    
+    /**
+     * Comprueba si alguna de las ETag de {@code If-None-Match} coincide (comparación débil).
+     */
+    public boolean isNotModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        ETag current = ETag.create(etag);
+        for (ETag candidate : ETag.parse(ifNoneMatch)) {
+            if (candidate.isWildcard() || candidate.compare(current, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
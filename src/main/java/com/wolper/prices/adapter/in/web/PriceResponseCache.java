@@ -0,0 +1,119 @@
+package com.wolper.prices.adapter.in.web;
+
+import com.wolper.prices.adapter.in.web.mapper.PriceMapper;
+import com.wolper.prices.collection.ConcurrentLongObjectHashMap;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.event.PricePartitionReloadedEvent;
+import com.wolper.prices.domain.model.BrandPrice;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Respuestas JSON ya serializadas, una por fila de precio ganadora.
+ * Las respuestas distintas son pocas (una por fila de PRICES), así que en un acierto se
+ * escriben los bytes guardados sin pasar por {@link PriceMapper} ni por Jackson.
+ * <p>
+ * Cada entrada guarda también el precio del que se obtuvo y solo se reutiliza si el precio
+ * resuelto es igual, de modo que una fila modificada nunca devuelve la respuesta anterior.
+ * Al cambiar los datos de precios se vacía para liberar las entradas que ya no se usarán, y
+ * también al llenarse, para que las entradas de filas que ya no ganan no ocupen el sitio de las nuevas.
+ * Las entradas se indexan por id de fila en un mapa primitivo, sin convertir el id a {@link Long}.
+ */
+@Slf4j
+public class PriceResponseCache {
+    
+    private final PriceMapper priceMapper;
+    private final JsonMapper jsonMapper;
+    private final int maxEntries;
+    
+    private final ConcurrentLongObjectHashMap<Entry> entries = new ConcurrentLongObjectHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    /**
+     * @param maxEntries Máximo de respuestas guardadas; alcanzado el límite se vacía (0 = no se guarda ninguna)
+     */
+    public PriceResponseCache(PriceMapper priceMapper, JsonMapper jsonMapper, int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Máximo de respuestas inválido: " + maxEntries);
+        }
+        this.priceMapper = priceMapper;
+        this.jsonMapper = jsonMapper;
+        this.maxEntries = maxEntries;
+    }
+    
+    /**
+     * Devuelve el JSON de {@code PriceResponse} para el precio indicado.
+     * El array devuelto es compartido y no debe modificarse.
+     */
+    public byte[] toJson(BrandPrice price) {
+        Entry entry = entries.get(price.getId());
+        if (entry != null && entry.price().equals(price)) {
+            hits.increment();
+            return entry.json();
+        }
+        misses.increment();
+        byte[] json = jsonMapper.writeValueAsBytes(priceMapper.toResponse(price));
+        if (maxEntries > 0) {
+            if (entries.size() >= maxEntries && entry == null) {
+                log.debug("Caché de respuestas llena ({} entradas): se vacía", maxEntries);
+                entries.clear();
+            }
+            entries.put(price.getId(), new Entry(price, json));
+        }
+        return json;
+    }
+    
+    /**
+     * Vacía las respuestas guardadas cuando cambian los datos de precios, o solo las de
+     * las marcas afectadas si el cambio está acotado a ellas.
+     */
+    @EventListener
+    public void onPriceDataChanged(PriceDataChangedEvent event) {
+        if (event.affectsAllBrands()) {
+            clear();
+        } else {
+            clearBrands(event.brandIds());
+        }
+    }
+    
+    /**
+     * Descarta las respuestas de la marca cuya partición se ha recargado.
+     */
+    @EventListener
+    public void onPricePartitionReloaded(PricePartitionReloadedEvent event) {
+        clearBrands(Set.of(event.brandId()));
+    }
+    
+    private void clearBrands(Set<Long> brandIds) {
+        entries.forEach((id, entry) -> {
+            if (brandIds.contains(entry.price().getBrandId())) {
+                entries.remove(id, entry);
+            }
+        });
+    }
+    
+    public void clear() {
+        log.debug("Vaciando {} respuestas serializadas", entries.size());
+        entries.clear();
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    private record Entry(BrandPrice price, byte[] json) {
+    }
+}
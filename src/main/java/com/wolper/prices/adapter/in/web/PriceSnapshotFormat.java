@@ -0,0 +1,39 @@
+package com.wolper.prices.adapter.in.web;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Formatos de salida de la foto de precios de una marca.
+ */
+public enum PriceSnapshotFormat {
+    
+    /** Un objeto JSON por línea, con los campos de la respuesta del precio final. */
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    
+    /** CSV con cabecera {@value #CSV_HEADER}. */
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+    
+    public static final String CSV_HEADER = "product_id,brand_id,price_list,start_date,end_date,price,curr";
+    
+    private final MediaType mediaType;
+    
+    PriceSnapshotFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+    
+    /**
+     * Interpreta el formato sin distinguir mayúsculas ({@code csv} o {@code CSV}).
+     *
+     * @throws IllegalArgumentException Si no es un formato admitido
+     */
+    public static PriceSnapshotFormat fromValue(String value) {
+        return valueOf(value.strip().toUpperCase(Locale.ROOT));
+    }
+    
+    public MediaType mediaType() {
+        return mediaType;
+    }
+}
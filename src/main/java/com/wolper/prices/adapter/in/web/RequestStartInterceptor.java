@@ -0,0 +1,19 @@
+package com.wolper.prices.adapter.in.web;
+
+import com.wolper.prices.observability.PriceLookupMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Marca el instante en que Spring MVC entrega la petición al controlador,
+ * antes del binding y la validación de parámetros, para medir esa etapa.
+ */
+public class RequestStartInterceptor implements HandlerInterceptor {
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(PriceLookupMetrics.REQUEST_START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+}
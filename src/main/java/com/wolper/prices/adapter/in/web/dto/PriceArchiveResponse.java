@@ -0,0 +1,35 @@
+package com.wolper.prices.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta de una ejecución del archivado de precios caducados.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado del archivado de precios caducados")
+public class PriceArchiveResponse {
+    
+    @Schema(description = "Se archivaron los precios que terminaron antes de este instante",
+            example = "2025-10-18T03:30:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime cutoff;
+    
+    @Schema(description = "Precios archivados", example = "120000")
+    private long rows;
+    
+    @Schema(description = "Lotes movidos, cada uno en su propia transacción", example = "24")
+    private int batches;
+    
+    @Schema(description = "Duración en milisegundos", example = "5310")
+    private long durationMillis;
+}
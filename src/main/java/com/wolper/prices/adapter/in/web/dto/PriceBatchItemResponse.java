@@ -0,0 +1,39 @@
+package com.wolper.prices.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con el resultado de una consulta dentro de un lote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Resultado de una consulta del lote")
+public class PriceBatchItemResponse {
+    
+    @Schema(description = "Fecha de aplicación consultada", example = "2020-06-14T10:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime date;
+    
+    @Schema(description = "Identificador del producto consultado", example = "35455")
+    private Long productId;
+    
+    @Schema(description = "Identificador de la marca consultada", example = "1")
+    private Long brandId;
+    
+    @Schema(description = "Indica si se encontró precio aplicable", example = "true")
+    private boolean found;
+    
+    @Schema(description = "Precio final aplicable, ausente si no se encontró")
+    private PriceResponse price;
+}
@@ -0,0 +1,31 @@
+package com.wolper.prices.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de petición para el endpoint de precio final en lote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Lote de consultas de precio final")
+public class PriceBatchRequest {
+    
+    public static final int MAX_ITEMS = 500;
+    
+    @Schema(description = "Consultas a resolver (máximo " + MAX_ITEMS + ")")
+    @NotEmpty(message = "El lote debe contener al menos una consulta")
+    @Size(max = MAX_ITEMS, message = "El lote no puede superar " + MAX_ITEMS + " consultas")
+    private List<@Valid @NotNull(message = "La consulta no puede ser nula") PriceQueryRequest> items;
+}
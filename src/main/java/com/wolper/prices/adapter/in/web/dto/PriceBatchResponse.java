@@ -0,0 +1,23 @@
+package com.wolper.prices.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO de respuesta para el endpoint de precio final en lote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultados del lote en el mismo orden que las consultas")
+public class PriceBatchResponse {
+    
+    @Schema(description = "Resultado de cada consulta")
+    private List<PriceBatchItemResponse> items;
+}
@@ -0,0 +1,39 @@
+package com.wolper.prices.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de respuesta con las estadísticas de la caché de precios.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estadísticas de la caché de tramos de precio")
+public class PriceCacheStatsResponse {
+    
+    @Schema(description = "Consultas resueltas desde la caché", example = "9120")
+    private long hits;
+    
+    @Schema(description = "Consultas resueltas contra el repositorio", example = "880")
+    private long misses;
+    
+    @Schema(description = "Proporción de aciertos", example = "0.912")
+    private double hitRatio;
+    
+    @Schema(description = "Entradas desalojadas por superar los límites", example = "12")
+    private long evictions;
+    
+    @Schema(description = "Combinaciones (brand, producto) en caché", example = "640")
+    private long entries;
+    
+    @Schema(description = "Tramos de precio en caché", example = "812")
+    private long segments;
+    
+    @Schema(description = "Memoria estimada ocupada en bytes", example = "394720")
+    private long estimatedBytes;
+}
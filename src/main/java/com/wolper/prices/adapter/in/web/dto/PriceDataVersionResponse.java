@@ -0,0 +1,31 @@
+package com.wolper.prices.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta con la versión de los datos de precios cargada en memoria.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Versión de los datos de precios")
+public class PriceDataVersionResponse {
+    
+    @Schema(description = "Número de precios", example = "4")
+    private long rowCount;
+    
+    @Schema(description = "Mayor identificador de precio", example = "4")
+    private long maxId;
+    
+    @Schema(description = "Última modificación de un precio", example = "2020-06-14T08:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastModified;
+}
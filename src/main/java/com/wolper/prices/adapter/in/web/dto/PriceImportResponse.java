@@ -0,0 +1,30 @@
+package com.wolper.prices.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de respuesta de una importación masiva de precios.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de una importación masiva de precios")
+public class PriceImportResponse {
+    
+    @Schema(description = "Modo de la importación", example = "REPLACE")
+    private String mode;
+    
+    @Schema(description = "Filas importadas", example = "2500000")
+    private long rows;
+    
+    @Schema(description = "Duración en milisegundos", example = "41250")
+    private long durationMillis;
+    
+    @Schema(description = "Filas importadas por segundo", example = "60606")
+    private long rowsPerSecond;
+}
@@ -0,0 +1,43 @@
+package com.wolper.prices.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de respuesta con el estado de la partición de precios de una marca.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Partición de precios de una marca")
+public class PricePartitionResponse {
+    
+    @Schema(description = "Identificador de la marca", example = "1")
+    private long brandId;
+    
+    @Schema(description = "Versión de los datos de la marca cargada")
+    private PriceDataVersionResponse version;
+    
+    @Schema(description = "Precios cargados", example = "4")
+    private long rows;
+    
+    @Schema(description = "Productos con precio", example = "1")
+    private long products;
+    
+    @Schema(description = "Memoria estimada del índice en bytes", example = "1520")
+    private long estimatedBytes;
+    
+    @Schema(description = "Fecha de la última carga (UTC)", example = "2020-06-14T08:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime loadedAt;
+    
+    @Schema(description = "Duración de la última carga en milisegundos", example = "3")
+    private long loadMillis;
+}
@@ -0,0 +1,36 @@
+package com.wolper.prices.adapter.in.web.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO de una consulta individual dentro de una petición en lote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Consulta de precio final para un producto, marca y fecha")
+public class PriceQueryRequest {
+    
+    @Schema(description = "Fecha de aplicación del precio (ISO 8601)", example = "2020-06-14T10:00:00")
+    @NotNull(message = "La fecha es obligatoria")
+    private LocalDateTime date;
+    
+    @Schema(description = "Identificador del producto", example = "35455")
+    @NotNull(message = "El productId es obligatorio")
+    @Min(value = 1, message = "El productId debe ser mayor que 0")
+    private Long productId;
+    
+    @Schema(description = "Identificador de la marca", example = "1")
+    @NotNull(message = "El brandId es obligatorio")
+    @Min(value = 1, message = "El brandId debe ser mayor que 0")
+    private Long brandId;
+}
@@ -0,0 +1,45 @@
+package com.wolper.prices.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO de un tramo de la línea temporal de precio; el endpoint escribe uno por línea.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Tramo de la línea temporal en el que un único precio es el aplicable")
+public class PriceTimelineSegmentResponse {
+    
+    @Schema(description = "Identificador del producto", example = "35455")
+    private Long productId;
+    
+    @Schema(description = "Identificador de la marca", example = "1")
+    private Long brandId;
+    
+    @Schema(description = "Tarifa ganadora durante el tramo", example = "2")
+    private Long priceList;
+    
+    @Schema(description = "Inicio del tramo", example = "2020-06-14T15:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime startDate;
+    
+    @Schema(description = "Fin del tramo", example = "2020-06-14T18:30:00")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime endDate;
+    
+    @Schema(description = "Precio final de venta durante el tramo", example = "25.45")
+    private BigDecimal price;
+    
+    @Schema(description = "Código ISO de la moneda", example = "EUR")
+    private String curr;
+}
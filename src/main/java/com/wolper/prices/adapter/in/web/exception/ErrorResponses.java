@@ -0,0 +1,64 @@
+package com.wolper.prices.adapter.in.web.exception;
+
+import com.wolper.prices.adapter.in.web.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * Cuerpos de error comunes a los manejadores de excepciones de las pilas MVC y WebFlux,
+ * para que un mismo fallo responda igual en ambas.
+ */
+public final class ErrorResponses {
+    
+    public static final String VALIDATION_MESSAGE = "Error de validación";
+    public static final String UNAVAILABLE_MESSAGE = "Servicio saturado, reintente en unos segundos";
+    public static final String INTERNAL_ERROR_MESSAGE = "Error interno del servidor";
+    
+    /** Segundos que se indican al cliente en {@code Retry-After} cuando la base de datos está saturada. */
+    static final String RETRY_AFTER_SECONDS = "1";
+    
+    private ErrorResponses() {
+    }
+    
+    public static ResponseEntity<ErrorResponse> of(HttpStatus status, String message, String path) {
+        return ResponseEntity.status(status).body(body(status, message, path));
+    }
+    
+    /**
+     * 400 con el mensaje de cada parámetro o campo inválido.
+     */
+    public static ResponseEntity<ErrorResponse> validation(Map<String, String> fields, String path) {
+        ErrorResponse error = body(HttpStatus.BAD_REQUEST, VALIDATION_MESSAGE, path);
+        error.setFields(fields);
+        return ResponseEntity.badRequest().body(error);
+    }
+    
+    /**
+     * 503 con {@code Retry-After}: la base de datos o el límite de concurrencia están saturados
+     * y el cliente puede reintentar.
+     */
+    public static ResponseEntity<ErrorResponse> unavailable(String path) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(body(HttpStatus.SERVICE_UNAVAILABLE, UNAVAILABLE_MESSAGE, path));
+    }
+    
+    public static ResponseEntity<ErrorResponse> internalError(String path) {
+        return of(HttpStatus.INTERNAL_SERVER_ERROR, INTERNAL_ERROR_MESSAGE, path);
+    }
+    
+    private static ErrorResponse body(HttpStatus status, String message, String path) {
+        return ErrorResponse.builder()
+                .timestamp(LocalDateTime.now(ZoneOffset.UTC))
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(message)
+                .path(path)
+                .build();
+    }
+}
@@ -1,11 +1,21 @@
 package com.wolper.prices.adapter.in.web.exception;
 
+import com.wolper.prices.adapter.in.imports.PriceImportException;
 import com.wolper.prices.adapter.in.web.dto.ErrorResponse;
+import com.wolper.prices.domain.exception.InvalidDateRangeException;
+import com.wolper.prices.domain.exception.PriceDateOutOfRangeException;
+import com.wolper.prices.domain.exception.PriceImportInterruptedException;
 import com.wolper.prices.domain.exception.PriceNotFoundException;
+import com.wolper.prices.observability.PriceLookupMetrics;
+import com.wolper.prices.observability.PriceLookupMetrics.Outcome;
+import com.wolper.prices.observability.PriceLookupMetrics.Stage;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -15,37 +25,40 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
-import java.time.LocalDateTime;
-import java.time.ZoneOffset;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Manejador global de excepciones para la aplicación.
- * Centraliza el manejo de errores y proporciona respuestas consistentes.
+ * Centraliza el manejo de errores y proporciona respuestas consistentes, con los mismos
+ * cuerpos de {@link ErrorResponses} que la pila reactiva.
+ * Cada rama mide su propio coste y, en los errores de parámetros, también el
+ * binding fallido, etiquetados con el resultado correspondiente.
  */
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler {
     
+    private final PriceLookupMetrics metrics;
+    
     /**
      * Maneja excepciones cuando no se encuentra un precio.
      */
     @ExceptionHandler(PriceNotFoundException.class)
     public ResponseEntity<ErrorResponse> handlePriceNotFound(
             PriceNotFoundException ex, HttpServletRequest request) {
+        long start = System.nanoTime();
         
-        log.warn("Precio no encontrado: {}", ex.getMessage());
+        // Resultado habitual (enlaces caducados, bots): se registra solo en DEBUG
+        String message = ex.getMessage();
+        log.debug("Precio no encontrado: {}", message);
         
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now(ZoneOffset.UTC))
-                .status(HttpStatus.NOT_FOUND.value())
-                .error(HttpStatus.NOT_FOUND.getReasonPhrase())
-                .message(ex.getMessage())
-                .path(request.getRequestURI())
-                .build();
+        ResponseEntity<ErrorResponse> response = ErrorResponses.of(HttpStatus.NOT_FOUND, message, request.getRequestURI());
         
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        metrics.record(Stage.ERROR_HANDLING, Outcome.NOT_FOUND, start);
+        return response;
     }
     
     /**
@@ -54,6 +67,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponse> handleConstraintViolation(
             ConstraintViolationException ex, HttpServletRequest request) {
+        long start = System.nanoTime();
         
         log.warn("Violación de constraints: {}", ex.getMessage());
         
@@ -64,16 +78,11 @@ public class GlobalExceptionHandler {
             fieldErrors.put(fieldName, errorMessage);
         }
         
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now(ZoneOffset.UTC))
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message("Error de validación")
-                .path(request.getRequestURI())
-                .fields(fieldErrors)
-                .build();
+        ResponseEntity<ErrorResponse> response = ErrorResponses.validation(fieldErrors, request.getRequestURI());
         
-        return ResponseEntity.badRequest().body(error);
+        recordInvalidBinding(request, start);
+        metrics.record(Stage.ERROR_HANDLING, Outcome.INVALID, start);
+        return response;
     }
     
     /**
@@ -82,6 +91,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValid(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
+        long start = System.nanoTime();
         
         log.warn("Argumentos de método inválidos: {}", ex.getMessage());
         
@@ -90,16 +100,11 @@ public class GlobalExceptionHandler {
             fieldErrors.put(error.getField(), error.getDefaultMessage());
         }
         
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now(ZoneOffset.UTC))
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message("Error de validación")
-                .path(request.getRequestURI())
-                .fields(fieldErrors)
-                .build();
+        ResponseEntity<ErrorResponse> response = ErrorResponses.validation(fieldErrors, request.getRequestURI());
         
-        return ResponseEntity.badRequest().body(error);
+        recordInvalidBinding(request, start);
+        metrics.record(Stage.ERROR_HANDLING, Outcome.INVALID, start);
+        return response;
     }
     
     /**
@@ -108,18 +113,17 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ErrorResponse> handleMissingParameter(
             MissingServletRequestParameterException ex, HttpServletRequest request) {
+        long start = System.nanoTime();
         
         log.warn("Parámetro faltante: {}", ex.getParameterName());
         
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now(ZoneOffset.UTC))
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message(String.format("Parámetro requerido '%s' no está presente", ex.getParameterName()))
-                .path(request.getRequestURI())
-                .build();
+        ResponseEntity<ErrorResponse> response = ErrorResponses.of(HttpStatus.BAD_REQUEST,
+                String.format("Parámetro requerido '%s' no está presente", ex.getParameterName()),
+                request.getRequestURI());
         
-        return ResponseEntity.badRequest().body(error);
+        recordInvalidBinding(request, start);
+        metrics.record(Stage.ERROR_HANDLING, Outcome.INVALID, start);
+        return response;
     }
     
     /**
@@ -128,6 +132,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ErrorResponse> handleTypeMismatch(
             MethodArgumentTypeMismatchException ex, HttpServletRequest request) {
+        long start = System.nanoTime();
         
         log.warn("Tipo de argumento incompatible: {}", ex.getMessage());
         
@@ -135,15 +140,102 @@ public class GlobalExceptionHandler {
                 ex.getName(), 
                 ex.getRequiredType() != null ? ex.getRequiredType().getSimpleName() : "desconocido");
         
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now(ZoneOffset.UTC))
-                .status(HttpStatus.BAD_REQUEST.value())
-                .error(HttpStatus.BAD_REQUEST.getReasonPhrase())
-                .message(message)
-                .path(request.getRequestURI())
-                .build();
+        ResponseEntity<ErrorResponse> response = ErrorResponses.of(HttpStatus.BAD_REQUEST, message, request.getRequestURI());
+        
+        recordInvalidBinding(request, start);
+        metrics.record(Stage.ERROR_HANDLING, Outcome.INVALID, start);
+        return response;
+    }
+    
+    /**
+     * Maneja rangos de fechas que empiezan después de terminar.
+     */
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDateRange(
+            InvalidDateRangeException ex, HttpServletRequest request) {
+        long start = System.nanoTime();
+        
+        log.warn("Rango de fechas inválido: {}", ex.getMessage());
+        
+        ResponseEntity<ErrorResponse> response = ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getMessage(),
+                                                                   request.getRequestURI());
+        
+        metrics.record(Stage.ERROR_HANDLING, Outcome.INVALID, start);
+        return response;
+    }
+    
+    /**
+     * Maneja fechas que ISO-8601 admite pero que quedan fuera del rango de los precios.
+     */
+    @ExceptionHandler(PriceDateOutOfRangeException.class)
+    public ResponseEntity<ErrorResponse> handlePriceDateOutOfRange(
+            PriceDateOutOfRangeException ex, HttpServletRequest request) {
+        long start = System.nanoTime();
+        
+        log.warn("Fecha fuera de rango: {}", ex.getMessage());
+        
+        ResponseEntity<ErrorResponse> response = ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getMessage(),
+                                                                   request.getRequestURI());
+        
+        metrics.record(Stage.ERROR_HANDLING, Outcome.INVALID, start);
+        return response;
+    }
+    
+    /**
+     * Maneja líneas inválidas en un fichero de importación.
+     */
+    @ExceptionHandler(PriceImportException.class)
+    public ResponseEntity<ErrorResponse> handlePriceImport(
+            PriceImportException ex, HttpServletRequest request) {
+        long start = System.nanoTime();
+        
+        log.warn("Importación rechazada: {}", ex.getMessage());
+        
+        ResponseEntity<ErrorResponse> response = ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getMessage(),
+                                                                   request.getRequestURI());
         
-        return ResponseEntity.badRequest().body(error);
+        metrics.record(Stage.ERROR_HANDLING, Outcome.INVALID, start);
+        return response;
+    }
+    
+    /**
+     * Maneja una importación UPSERT interrumpida. El estado depende de la causa, y el mensaje
+     * de una línea inválida indica además las filas que ya quedaron importadas.
+     */
+    @ExceptionHandler(PriceImportInterruptedException.class)
+    public ResponseEntity<ErrorResponse> handlePriceImportInterrupted(
+            PriceImportInterruptedException ex, HttpServletRequest request) {
+        if (ex.getCause() instanceof TransientDataAccessException transientFailure) {
+            return handleTransientDataAccess(transientFailure, request);
+        }
+        if (!(ex.getCause() instanceof PriceImportException)) {
+            return handleGenericException(ex, request);
+        }
+        long start = System.nanoTime();
+        
+        log.warn("Importación interrumpida: {}", ex.getMessage());
+        
+        ResponseEntity<ErrorResponse> response = ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getMessage(),
+                                                                   request.getRequestURI());
+        
+        metrics.record(Stage.ERROR_HANDLING, Outcome.INVALID, start);
+        return response;
+    }
+    
+    /**
+     * Maneja la saturación temporal de la base de datos: el cliente puede reintentar.
+     */
+    @ExceptionHandler(TransientDataAccessException.class)
+    public ResponseEntity<ErrorResponse> handleTransientDataAccess(
+            TransientDataAccessException ex, HttpServletRequest request) {
+        long start = System.nanoTime();
+        
+        log.warn("Base de datos no disponible temporalmente: {}", ex.getMessage());
+        
+        ResponseEntity<ErrorResponse> response = ErrorResponses.unavailable(request.getRequestURI());
+        
+        metrics.record(Stage.ERROR_HANDLING, Outcome.UNAVAILABLE, start);
+        return response;
     }
     
     /**
@@ -152,17 +244,23 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(
             Exception ex, HttpServletRequest request) {
+        long start = System.nanoTime();
         
         log.error("Error interno del servidor", ex);
         
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now(ZoneOffset.UTC))
-                .status(HttpStatus.INTERNAL_SERVER_ERROR.value())
-                .error(HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase())
-                .message("Error interno del servidor")
-                .path(request.getRequestURI())
-                .build();
+        ResponseEntity<ErrorResponse> response = ErrorResponses.internalError(request.getRequestURI());
         
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        metrics.record(Stage.ERROR_HANDLING, Outcome.ERROR, start);
+        return response;
+    }
+    
+    /**
+     * El binding terminó en error: se mide desde que la petición llegó al controlador
+     * hasta que se entró en el manejador.
+     */
+    private void recordInvalidBinding(HttpServletRequest request, long bindingEnd) {
+        if (request.getAttribute(PriceLookupMetrics.REQUEST_START_ATTRIBUTE) instanceof Long start) {
+            metrics.record(Stage.BINDING, Outcome.INVALID, start, bindingEnd);
+        }
     }
 }
@@ -1,9 +1,28 @@
 package com.wolper.prices.adapter.in.web.mapper;
 
+import com.wolper.prices.adapter.in.web.dto.PriceArchiveResponse;
+import com.wolper.prices.adapter.in.web.dto.PriceCacheStatsResponse;
+import com.wolper.prices.adapter.in.web.dto.PriceDataVersionResponse;
+import com.wolper.prices.adapter.in.web.dto.PriceImportResponse;
+import com.wolper.prices.adapter.in.web.dto.PricePartitionResponse;
+import com.wolper.prices.adapter.in.web.dto.PriceQueryRequest;
 import com.wolper.prices.adapter.in.web.dto.PriceResponse;
+import com.wolper.prices.adapter.in.web.dto.PriceTimelineSegmentResponse;
+import com.wolper.prices.application.cache.PriceCacheStats;
+import com.wolper.prices.domain.model.PriceArchiveResult;
 import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import com.wolper.prices.domain.model.PriceImportResult;
+import com.wolper.prices.domain.model.PricePartitionStats;
+import com.wolper.prices.domain.model.PriceQuery;
+import com.wolper.prices.domain.model.PriceSegment;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 /**
  * Mapper para convertir entre entidades de dominio y DTOs.
@@ -14,4 +33,41 @@ public interface PriceMapper {
     
     @Mapping(source = "currency", target = "curr")
     PriceResponse toResponse(BrandPrice price);
+    
+    @Mapping(source = "price.productId", target = "productId")
+    @Mapping(source = "price.brandId", target = "brandId")
+    @Mapping(source = "price.priceList", target = "priceList")
+    @Mapping(source = "price.price", target = "price")
+    @Mapping(source = "price.currency", target = "curr")
+    @Mapping(source = "startDate", target = "startDate", qualifiedByName = "ceilingToSecond")
+    PriceTimelineSegmentResponse toResponse(PriceSegment segment);
+    
+    @Mapping(source = "date", target = "applicationDate")
+    PriceQuery toQuery(PriceQueryRequest request);
+    
+    @Mapping(target = "hitRatio", expression = "java(stats.hitRatio())")
+    PriceCacheStatsResponse toResponse(PriceCacheStats stats);
+    
+    PriceDataVersionResponse toResponse(PriceDataVersion version);
+    
+    @Mapping(target = "durationMillis", expression = "java(result.duration().toMillis())")
+    @Mapping(target = "rowsPerSecond", expression = "java(result.rowsPerSecond())")
+    PriceImportResponse toResponse(PriceImportResult result);
+    
+    @Mapping(target = "durationMillis", expression = "java(result.duration().toMillis())")
+    PriceArchiveResponse toResponse(PriceArchiveResult result);
+    
+    PricePartitionResponse toResponse(PricePartitionStats stats);
+    
+    List<PricePartitionResponse> toPartitionResponses(List<PricePartitionStats> stats);
+    
+    /**
+     * Las fechas se publican al segundo: un tramo que empieza justo después del fin
+     * inclusivo de otro se muestra desde el segundo siguiente.
+     */
+    @Named("ceilingToSecond")
+    default LocalDateTime ceilingToSecond(LocalDateTime date) {
+        LocalDateTime truncated = date.truncatedTo(ChronoUnit.SECONDS);
+        return truncated.equals(date) ? date : truncated.plusSeconds(1);
+    }
 }
@@ -0,0 +1,83 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limita el número de operaciones JDBC simultáneas, normalmente al tamaño del pool de conexiones.
+ * <p>
+ * Con hilos virtuales puede haber miles de peticiones en curso: las que exceden el límite
+ * esperan aparcadas en un semáforo justo (FIFO), que es una cola barata, en lugar de
+ * competir por conexiones del pool o saturar la base de datos.
+ */
+@Slf4j
+public class JdbcConcurrencyGate {
+    
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final long acquireTimeoutNanos;
+    
+    /**
+     * @param maxConcurrency Operaciones JDBC simultáneas permitidas
+     * @param acquireTimeout Espera máxima por un permiso antes de rechazar la operación
+     */
+    public JdbcConcurrencyGate(int maxConcurrency, Duration acquireTimeout) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency debe ser positivo: " + maxConcurrency);
+        }
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+    
+    /**
+     * Ejecuta la operación con un permiso y lo libera al terminar, también si falla.
+     *
+     * @throws TransientDataAccessResourceException si no se obtiene permiso a tiempo
+     */
+    public <T> T call(Supplier<T> operation) {
+        acquire();
+        try {
+            return operation.get();
+        } finally {
+            permits.release();
+        }
+    }
+    
+    /**
+     * Variante de {@link #call} para operaciones sin resultado.
+     */
+    public void run(Runnable operation) {
+        call(() -> {
+            operation.run();
+            return null;
+        });
+    }
+    
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+    
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+    
+    private void acquire() {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                log.warn("Sin permiso JDBC tras {} ms: {} operaciones en cola",
+                         TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos), permits.getQueueLength());
+                throw new TransientDataAccessResourceException(
+                        "Base de datos saturada: no hay conexión disponible");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransientDataAccessResourceException("Espera de conexión interrumpida", e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import com.wolper.prices.application.port.out.PriceArchiver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Adaptador que mueve precios caducados de PRICES a PRICES_ARCHIVE por lotes.
+ * <p>
+ * Cada lote bloquea primero sus filas con {@code SELECT ... FOR UPDATE}, localizadas por
+ * idx_end_date; después las copia al archivo y las borra en la misma transacción. Una
+ * actualización concurrente de esos precios espera al commit y ya no los encuentra, así que
+ * un precio no puede quedar a la vez en las dos tablas ni perder un cambio. Cada lote pasa
+ * por {@link JdbcConcurrencyGate}.
+ */
+@Slf4j
+public class JdbcPriceArchiver implements PriceArchiver {
+    
+    private static final String LOCK_EXPIRED_QUERY = """
+        SELECT id
+        FROM prices
+        WHERE end_date < :cutoff
+        ORDER BY end_date
+        FETCH FIRST :batchSize ROWS ONLY
+        FOR UPDATE
+        """;
+    
+    private static final String COPY_TO_ARCHIVE_QUERY = """
+        INSERT INTO prices_archive (id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr,
+                                    last_modified)
+        SELECT id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr, last_modified
+        FROM prices
+        WHERE id IN (:ids)
+        """;
+    
+    private static final String DELETE_ARCHIVED_QUERY = "DELETE FROM prices WHERE id IN (:ids)";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcConcurrencyGate gate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    
+    /**
+     * @param batchSize Precios movidos en cada transacción
+     */
+    public JdbcPriceArchiver(NamedParameterJdbcTemplate jdbcTemplate, JdbcConcurrencyGate gate,
+                             TransactionTemplate transactionTemplate, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Tamaño de lote inválido: " + batchSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.gate = gate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    public long archiveBatch(LocalDateTime cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", cutoff)
+                .addValue("batchSize", batchSize);
+        
+        return gate.call(() -> transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(LOCK_EXPIRED_QUERY, params, Long.class);
+            if (ids.isEmpty()) {
+                return 0L;
+            }
+            MapSqlParameterSource idParams = new MapSqlParameterSource("ids", ids);
+            jdbcTemplate.update(COPY_TO_ARCHIVE_QUERY, idParams);
+            long deleted = jdbcTemplate.update(DELETE_ARCHIVED_QUERY, idParams);
+            log.debug("Archivados {} precios que terminaron antes de {}", deleted, cutoff);
+            return deleted;
+        }));
+    }
+}
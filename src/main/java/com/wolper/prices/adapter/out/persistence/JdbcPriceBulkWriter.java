@@ -0,0 +1,155 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import com.wolper.prices.application.port.out.PriceBulkWriter;
+import com.wolper.prices.domain.exception.PriceImportInterruptedException;
+import com.wolper.prices.domain.model.BrandPrice;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Adaptador de escritura masiva de precios con inserciones JDBC por lotes.
+ * Los precios se leen del stream y se envían en bloques de tamaño fijo, así que la memoria
+ * usada no depende del número de filas. Cada bloque pasa por {@link JdbcConcurrencyGate}.
+ * <p>
+ * La sustitución completa carga primero la tabla PRICES_STAGING, sin bloquear PRICES, y
+ * después la vuelca en una sola transacción: los lectores ven los precios anteriores
+ * hasta el commit y los nuevos a partir de él. La sustitución vacía también el archivo de
+ * precios caducados, que de otro modo seguiría respondiendo a las fechas antiguas.
+ * <p>
+ * El UPSERT confirma cada bloque por separado: si falla a mitad, los bloques ya escritos se
+ * quedan y el fallo se relanza como {@link PriceImportInterruptedException} con su número de filas.
+ */
+@Slf4j
+public class JdbcPriceBulkWriter implements PriceBulkWriter {
+    
+    private static final String INSERT_STAGING_QUERY = """
+        INSERT INTO prices_staging (brand_id, start_date, end_date, price_list, product_id, priority, price, curr)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+    
+    private static final String TRUNCATE_STAGING_QUERY = "TRUNCATE TABLE prices_staging";
+    
+    private static final String DELETE_ALL_QUERY = "DELETE FROM prices";
+    
+    private static final String DELETE_ARCHIVE_QUERY = "DELETE FROM prices_archive";
+    
+    private static final String COPY_FROM_STAGING_QUERY = """
+        INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, curr)
+        SELECT brand_id, start_date, end_date, price_list, product_id, priority, price, curr
+        FROM prices_staging
+        """;
+    
+    /**
+     * Un precio existente se identifica por marca, producto, tarifa y fecha de inicio.
+     */
+    private static final String UPSERT_QUERY = """
+        MERGE INTO prices p
+        USING (VALUES (CAST(? AS BIGINT), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP), CAST(? AS BIGINT),
+                       CAST(? AS BIGINT), CAST(? AS INT), CAST(? AS DECIMAL(10, 2)), CAST(? AS VARCHAR(3))))
+            AS s(brand_id, start_date, end_date, price_list, product_id, priority, price, curr)
+        ON p.product_id = s.product_id
+           AND p.brand_id = s.brand_id
+           AND p.start_date = s.start_date
+           AND p.price_list = s.price_list
+        WHEN MATCHED THEN
+            UPDATE SET end_date = s.end_date, priority = s.priority, price = s.price, curr = s.curr
+        WHEN NOT MATCHED THEN
+            INSERT (brand_id, start_date, end_date, price_list, product_id, priority, price, curr)
+            VALUES (s.brand_id, s.start_date, s.end_date, s.price_list, s.product_id, s.priority, s.price, s.curr)
+        """;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcConcurrencyGate gate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    
+    /**
+     * @param batchSize Filas por lote enviado a la base de datos
+     */
+    public JdbcPriceBulkWriter(JdbcTemplate jdbcTemplate, JdbcConcurrencyGate gate,
+                               TransactionTemplate transactionTemplate, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Tamaño de lote inválido: " + batchSize);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.gate = gate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    public synchronized long replaceAll(Stream<BrandPrice> prices) {
+        gate.run(() -> jdbcTemplate.execute(TRUNCATE_STAGING_QUERY));
+        try {
+            long rows = writeInBatches(INSERT_STAGING_QUERY, prices);
+            log.debug("Cargadas {} filas en la tabla de staging; sustituyendo precios", rows);
+            
+            gate.run(() -> transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(DELETE_ALL_QUERY);
+                jdbcTemplate.update(DELETE_ARCHIVE_QUERY);
+                jdbcTemplate.update(COPY_FROM_STAGING_QUERY);
+            }));
+            return rows;
+        } finally {
+            gate.run(() -> jdbcTemplate.execute(TRUNCATE_STAGING_QUERY));
+        }
+    }
+    
+    @Override
+    public synchronized long upsert(Stream<BrandPrice> prices) {
+        long[] committed = new long[1];
+        try {
+            return writeInBatches(UPSERT_QUERY, prices, committed);
+        } catch (RuntimeException ex) {
+            throw new PriceImportInterruptedException(committed[0], ex);
+        }
+    }
+    
+    private long writeInBatches(String sql, Stream<BrandPrice> prices) {
+        return writeInBatches(sql, prices, new long[1]);
+    }
+    
+    /**
+     * @param written Filas enviadas hasta el momento, legibles aunque la escritura falle
+     */
+    private long writeInBatches(String sql, Stream<BrandPrice> prices, long[] written) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        Iterator<BrandPrice> iterator = prices.iterator();
+        while (iterator.hasNext()) {
+            batch.add(toParameters(iterator.next()));
+            if (batch.size() == batchSize) {
+                written[0] += flush(sql, batch);
+            }
+        }
+        if (!batch.isEmpty()) {
+            written[0] += flush(sql, batch);
+        }
+        return written[0];
+    }
+    
+    private long flush(String sql, List<Object[]> batch) {
+        gate.run(() -> jdbcTemplate.batchUpdate(sql, batch));
+        long written = batch.size();
+        batch.clear();
+        return written;
+    }
+    
+    private static Object[] toParameters(BrandPrice price) {
+        return new Object[] {
+                price.getBrandId(),
+                price.getStartDate(),
+                price.getEndDate(),
+                price.getPriceList(),
+                price.getProductId(),
+                price.getPriority(),
+                price.getPrice(),
+                price.getCurrency()
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import com.wolper.prices.application.port.out.PriceCatalogReader;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceLiveWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Adaptador que recorre el catálogo de una marca con un cursor JDBC de solo avance.
+ * <p>
+ * Una sola sentencia elige el ganador de cada producto con una función de ventana, y las filas
+ * se piden al servidor en bloques de {@code fetchSize}: la memoria usada no depende del tamaño
+ * del catálogo. La consulta se ejecuta en una transacción de solo lectura porque algunos
+ * drivers (PostgreSQL) solo usan un cursor de servidor con el autocommit desactivado.
+ * <p>
+ * La conexión se retiene mientras dura el recorrido, incluido el tiempo que tarde el receptor
+ * en consumir cada precio. Por eso no pasa por {@link JdbcConcurrencyGate}: una descarga lenta
+ * dejaría sin permiso a las consultas de precio. El cupo de exportaciones se limita aparte,
+ * antes de empezar a responder.
+ * <p>
+ * Una fecha anterior a la {@link PriceLiveWindow ventana viva} elige el ganador entre los
+ * precios vigentes y los archivados.
+ */
+@Slf4j
+public class JdbcPriceCatalogReader implements PriceCatalogReader {
+    
+    private static final String FIND_FINAL_PRICES_OF_BRAND_QUERY = """
+        SELECT 
+            id,
+            brand_id,
+            start_date,
+            end_date,
+            price_list,
+            product_id,
+            priority,
+            price,
+            curr
+        FROM (
+            SELECT 
+                p.*,
+                ROW_NUMBER() OVER (
+                    PARTITION BY p.product_id
+                    ORDER BY p.priority DESC, p.price_list DESC
+                ) AS rank_in_product
+            FROM prices p
+            WHERE p.brand_id = :brandId
+              AND :date BETWEEN p.start_date AND p.end_date
+        ) ranked
+        WHERE rank_in_product = 1
+        ORDER BY product_id
+        """;
+    
+    private static final String FIND_FINAL_PRICES_OF_BRAND_WITH_ARCHIVE_QUERY = """
+        SELECT 
+            id,
+            brand_id,
+            start_date,
+            end_date,
+            price_list,
+            product_id,
+            priority,
+            price,
+            curr
+        FROM (
+            SELECT 
+                p.*,
+                ROW_NUMBER() OVER (
+                    PARTITION BY p.product_id
+                    ORDER BY p.priority DESC, p.price_list DESC
+                ) AS rank_in_product
+            FROM (
+                SELECT id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr
+                FROM prices
+                WHERE brand_id = :brandId
+                  AND :date BETWEEN start_date AND end_date
+                UNION ALL
+                SELECT id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr
+                FROM prices_archive
+                WHERE brand_id = :brandId
+                  AND :date BETWEEN start_date AND end_date
+            ) p
+        ) ranked
+        WHERE rank_in_product = 1
+        ORDER BY product_id
+        """;
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final PriceLiveWindow liveWindow;
+    
+    /**
+     * @param fetchSize Filas que el driver pide al servidor en cada viaje
+     * @param liveWindow Fechas cuyos precios están todos en PRICES
+     */
+    public JdbcPriceCatalogReader(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                  int fetchSize, PriceLiveWindow liveWindow) {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Tamaño de bloque inválido: " + fetchSize);
+        }
+        // Plantilla propia para no cambiar el fetch size del resto de consultas
+        JdbcTemplate cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.liveWindow = liveWindow;
+    }
+    
+    @Override
+    public long forEachFinalPrice(long brandId, LocalDateTime date, Consumer<BrandPrice> consumer) {
+        log.debug("Abriendo cursor de precios: brandId={}, fecha={}", brandId, date);
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("brandId", brandId)
+                .addValue("date", date);
+        String sql = liveWindow.contains(date)
+                ? FIND_FINAL_PRICES_OF_BRAND_QUERY
+                : FIND_FINAL_PRICES_OF_BRAND_WITH_ARCHIVE_QUERY;
+        long[] rows = new long[1];
+        readOnlyTransaction.executeWithoutResult(status ->
+                jdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> {
+                    consumer.accept(PriceRowMapper.INSTANCE.mapRow(rs, rs.getRow()));
+                    rows[0]++;
+                }));
+        return rows[0];
+    }
+}
@@ -1,31 +1,73 @@
 package com.wolper.prices.adapter.out.persistence;
 
+import com.wolper.prices.application.port.out.PriceDataChangeProbe;
+import com.wolper.prices.application.port.out.PriceKeySource;
 import com.wolper.prices.application.port.out.PriceRepository;
 import com.wolper.prices.domain.model.BrandPrice;
-import lombok.RequiredArgsConstructor;
+import com.wolper.prices.domain.model.PackedPriceKey;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import com.wolper.prices.domain.model.PriceLiveWindow;
+import com.wolper.prices.domain.model.PriceQuery;
+import com.wolper.prices.domain.model.PriceSegment;
+import com.wolper.prices.domain.model.PriceTimeline;
+import com.wolper.prices.observability.PriceLookupMetrics;
+import com.wolper.prices.observability.PriceLookupMetrics.Outcome;
+import com.wolper.prices.observability.PriceLookupMetrics.Stage;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
-import java.sql.ResultSet;
-import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 /**
  * Adaptador de persistencia que implementa el puerto de salida
  * utilizando JDBC de bajo nivel para máximo control y performance.
+ * Todas las operaciones pasan por un {@link JdbcConcurrencyGate} para no
+ * superar el número de conexiones disponibles.
+ * Las consultas de precio aplicable miden por separado la ejecución SQL y el mapeo de filas.
+ * <p>
+ * Las consultas de precio de cada petición se leen de las réplicas de {@link ReadReplicaRouter},
+ * si las hay; la sonda de cambios, las cargas de los motores en memoria y las combinaciones del
+ * filtro de existencia se leen siempre del primario, que es donde se escriben los datos.
+ * Las consultas de precio pasan por el límite de las réplicas y el resto por el del primario.
+ * <p>
+ * Con el archivado activo, las fechas anteriores a la {@link PriceLiveWindow ventana viva} se
+ * consultan también en PRICES_ARCHIVE; las de la ventana se resuelven solo con PRICES, que es el
+ * caso habitual. Las combinaciones del filtro de existencia incluyen siempre las archivadas, para
+ * que el filtro no rechace productos con precios solo históricos.
  */
 @Slf4j
 @Repository
-@RequiredArgsConstructor
-public class JdbcPriceRepository implements PriceRepository {
+public class JdbcPriceRepository implements PriceRepository, PriceDataChangeProbe, PriceKeySource {
     
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    /** Consultas de precio por petición: réplicas de lectura o, sin ellas, el mismo primario. */
+    private final NamedParameterJdbcTemplate readJdbcTemplate;
+    private final JdbcConcurrencyGate gate;
+    /** Límite de las consultas de {@link #readJdbcTemplate}; sin réplicas, el mismo {@link #gate}. */
+    private final JdbcConcurrencyGate readGate;
+    private final PriceLookupMetrics metrics;
+    private final PriceLiveWindow liveWindow;
     
-    private static final String FIND_APPLICABLE_PRICES_QUERY = """
+    /**
+     * Se resuelve sobre idx_price_lookup sin leer la tabla. Producto y brand son fijos, pero se
+     * repiten en el ORDER BY para que H2 reconozca el orden del índice y no ordene las filas.
+     */
+    static final String FIND_APPLICABLE_PRICES_QUERY = """
         SELECT 
             id,
             brand_id,
@@ -40,9 +82,304 @@ public class JdbcPriceRepository implements PriceRepository {
         WHERE product_id = :productId
           AND brand_id = :brandId
           AND :applicationDate BETWEEN start_date AND end_date
+        ORDER BY product_id, brand_id, priority DESC, price_list DESC
+        """;
+    
+    /**
+     * Misma consulta limitada a la fila ganadora: el resto de candidatos
+     * no se transfieren ni se mapean.
+     */
+    static final String FIND_FINAL_PRICE_QUERY = FIND_APPLICABLE_PRICES_QUERY + "FETCH FIRST 1 ROW ONLY\n";
+    
+    /**
+     * Tramo del precio final en una sola sentencia: la subconsulta se detiene en la fila ganadora
+     * de idx_price_lookup y la consulta externa trae los precios que se solapan con su intervalo,
+     * que son los únicos que pueden acotar el tramo.
+     */
+    static final String FIND_FINAL_PRICE_SEGMENT_QUERY = """
+        SELECT 
+            p.id,
+            p.brand_id,
+            p.start_date,
+            p.end_date,
+            p.price_list,
+            p.product_id,
+            p.priority,
+            p.price,
+            p.curr
+        FROM (
+            SELECT start_date, end_date
+            FROM prices
+            WHERE product_id = :productId
+              AND brand_id = :brandId
+              AND :applicationDate BETWEEN start_date AND end_date
+            ORDER BY product_id, brand_id, priority DESC, price_list DESC
+            FETCH FIRST 1 ROW ONLY
+        ) w
+        JOIN prices p
+          ON p.product_id = :productId
+         AND p.brand_id = :brandId
+         AND p.start_date <= w.end_date
+         AND p.end_date >= w.start_date
+        """;
+    
+    /**
+     * Precios aplicables en una fecha anterior a la ventana viva: cada tabla se resuelve sobre su
+     * índice de consulta y solo los pocos candidatos se ordenan juntos.
+     */
+    static final String FIND_APPLICABLE_PRICES_WITH_ARCHIVE_QUERY = """
+        SELECT 
+            id,
+            brand_id,
+            start_date,
+            end_date,
+            price_list,
+            product_id,
+            priority,
+            price,
+            curr
+        FROM (
+            SELECT id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr
+            FROM prices
+            WHERE product_id = :productId
+              AND brand_id = :brandId
+              AND :applicationDate BETWEEN start_date AND end_date
+            UNION ALL
+            SELECT id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr
+            FROM prices_archive
+            WHERE product_id = :productId
+              AND brand_id = :brandId
+              AND :applicationDate BETWEEN start_date AND end_date
+        ) p
         ORDER BY priority DESC, price_list DESC
         """;
     
+    /**
+     * Ganador de cada tabla, detenida en su primera entrada del índice, y el mejor de los dos.
+     */
+    static final String FIND_FINAL_PRICE_WITH_ARCHIVE_QUERY = """
+        SELECT 
+            id,
+            brand_id,
+            start_date,
+            end_date,
+            price_list,
+            product_id,
+            priority,
+            price,
+            curr
+        FROM (
+            (SELECT id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr
+             FROM prices
+             WHERE product_id = :productId
+               AND brand_id = :brandId
+               AND :applicationDate BETWEEN start_date AND end_date
+             ORDER BY product_id, brand_id, priority DESC, price_list DESC
+             FETCH FIRST 1 ROW ONLY)
+            UNION ALL
+            (SELECT id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr
+             FROM prices_archive
+             WHERE product_id = :productId
+               AND brand_id = :brandId
+               AND :applicationDate BETWEEN start_date AND end_date
+             ORDER BY product_id, brand_id, priority DESC, price_list DESC
+             FETCH FIRST 1 ROW ONLY)
+        ) p
+        ORDER BY priority DESC, price_list DESC
+        FETCH FIRST 1 ROW ONLY
+        """;
+    
+    /**
+     * Recorre idx_brand_product_date en orden; brand y producto se repiten en el ORDER BY
+     * por el mismo motivo que en la consulta de precio aplicable.
+     */
+    static final String FIND_PRICES_BETWEEN_QUERY = """
+        SELECT 
+            id,
+            brand_id,
+            start_date,
+            end_date,
+            price_list,
+            product_id,
+            priority,
+            price,
+            curr
+        FROM prices
+        WHERE product_id = :productId
+          AND brand_id = :brandId
+          AND start_date <= :to
+          AND end_date >= :from
+        ORDER BY brand_id, product_id, start_date
+        """;
+    
+    /**
+     * Rango que empieza antes de la ventana viva: los precios archivados y los vigentes,
+     * cada tabla sobre su índice de cobertura, ordenados juntos por fecha de inicio.
+     */
+    static final String FIND_PRICES_BETWEEN_WITH_ARCHIVE_QUERY = """
+        SELECT 
+            id,
+            brand_id,
+            start_date,
+            end_date,
+            price_list,
+            product_id,
+            priority,
+            price,
+            curr
+        FROM (
+            SELECT id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr
+            FROM prices
+            WHERE product_id = :productId
+              AND brand_id = :brandId
+              AND start_date <= :to
+              AND end_date >= :from
+            UNION ALL
+            SELECT id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr
+            FROM prices_archive
+            WHERE product_id = :productId
+              AND brand_id = :brandId
+              AND start_date <= :to
+              AND end_date >= :from
+        ) p
+        ORDER BY start_date
+        """;
+    
+    /**
+     * Resuelve un lote completo en una sola sentencia: las consultas se unen como
+     * tabla VALUES y la función de ventana conserva la fila de mayor prioridad por consulta.
+     */
+    static final String FIND_FINAL_PRICES_BATCH_QUERY = """
+        SELECT 
+            query_index,
+            id,
+            brand_id,
+            start_date,
+            end_date,
+            price_list,
+            product_id,
+            priority,
+            price,
+            curr
+        FROM (
+            SELECT 
+                q.query_index,
+                p.id,
+                p.brand_id,
+                p.start_date,
+                p.end_date,
+                p.price_list,
+                p.product_id,
+                p.priority,
+                p.price,
+                p.curr,
+                ROW_NUMBER() OVER (
+                    PARTITION BY q.query_index
+                    ORDER BY p.priority DESC, p.price_list DESC
+                ) AS rank_in_query
+            FROM (VALUES %s) AS q(query_index, application_date, product_id, brand_id)
+            JOIN prices p
+              ON p.product_id = q.product_id
+             AND p.brand_id = q.brand_id
+             AND q.application_date BETWEEN p.start_date AND p.end_date
+        ) ranked
+        WHERE rank_in_query = 1
+        """;
+    
+    static final String BATCH_VALUES_ROW =
+            "(%1$d, CAST(:applicationDate%1$d AS TIMESTAMP), CAST(:productId%1$d AS BIGINT), CAST(:brandId%1$d AS BIGINT))";
+    
+    private static final String FIND_ALL_PRICES_QUERY = """
+        SELECT 
+            id,
+            brand_id,
+            start_date,
+            end_date,
+            price_list,
+            product_id,
+            priority,
+            price,
+            curr
+        FROM prices
+        ORDER BY brand_id, product_id, start_date
+        """;
+    
+    /**
+     * Sonda de cambios: COUNT(*) y MAX(id) se resuelven sin recorrer la tabla
+     * y MAX(last_modified) sobre su índice.
+     */
+    private static final String DATA_VERSION_QUERY = """
+        SELECT 
+            COUNT(*) AS row_count,
+            COALESCE(MAX(id), 0) AS max_id,
+            MAX(last_modified) AS last_modified
+        FROM prices
+        """;
+    
+    static final String FIND_BRAND_PRICES_QUERY = """
+        SELECT 
+            id,
+            brand_id,
+            start_date,
+            end_date,
+            price_list,
+            product_id,
+            priority,
+            price,
+            curr
+        FROM prices
+        WHERE brand_id = :brandId
+        ORDER BY brand_id, product_id, start_date
+        """;
+    
+    /**
+     * Versión de los datos de cada marca, para recargar solo las particiones que cambian.
+     */
+    private static final String DATA_VERSION_BY_BRAND_QUERY = """
+        SELECT 
+            brand_id,
+            COUNT(*) AS row_count,
+            MAX(id) AS max_id,
+            MAX(last_modified) AS last_modified
+        FROM prices
+        %s
+        GROUP BY brand_id
+        """;
+    
+    /**
+     * Combinaciones con precios, vigentes o archivados, para el filtro de existencia; se resuelve
+     * recorriendo los índices (brand, producto, inicio) de las dos tablas sin leer las filas.
+     */
+    private static final String FIND_PRODUCT_KEYS_QUERY = """
+        SELECT
+            brand_id,
+            product_id
+        FROM prices
+        UNION
+        SELECT
+            brand_id,
+            product_id
+        FROM prices_archive
+        """;
+    
+    /**
+     * @param gate Límite de las operaciones sobre el primario
+     * @param readGate Límite de las consultas de precio, dimensionado a las réplicas si las hay
+     * @param liveWindow Fechas cuyos precios están todos en PRICES; sin límite si no se archiva
+     */
+    public JdbcPriceRepository(NamedParameterJdbcTemplate jdbcTemplate, ReadReplicaRouter readReplicas,
+                               JdbcConcurrencyGate gate, @Qualifier("replicaReadGate") JdbcConcurrencyGate readGate,
+                               PriceLookupMetrics metrics, PriceLiveWindow liveWindow) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readJdbcTemplate = readReplicas.hasReplicas()
+                ? new NamedParameterJdbcTemplate(readReplicas.readDataSource())
+                : jdbcTemplate;
+        this.gate = gate;
+        this.readGate = readGate;
+        this.metrics = metrics;
+        this.liveWindow = liveWindow;
+    }
+    
     @Override
     public List<BrandPrice> findApplicablePrices(LocalDateTime applicationDate, Long productId, Long brandId) {
         log.debug("Ejecutando consulta: productId={}, brandId={}, fecha={}", 
@@ -53,30 +390,201 @@ public class JdbcPriceRepository implements PriceRepository {
                 .addValue("brandId", brandId)
                 .addValue("applicationDate", applicationDate);
         
-        List<BrandPrice> prices = jdbcTemplate.query(FIND_APPLICABLE_PRICES_QUERY, params, new PriceRowMapper());
+        List<BrandPrice> prices = queryTimed(liveWindow.contains(applicationDate)
+                ? FIND_APPLICABLE_PRICES_QUERY
+                : FIND_APPLICABLE_PRICES_WITH_ARCHIVE_QUERY, params);
         
         log.debug("Encontrados {} precios aplicables", prices.size());
         
         return prices;
     }
     
+    @Override
+    public Optional<BrandPrice> findFinalPrice(LocalDateTime applicationDate, Long productId, Long brandId) {
+        log.debug("Ejecutando consulta del precio final: productId={}, brandId={}, fecha={}", 
+                  productId, brandId, applicationDate);
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("productId", productId)
+                .addValue("brandId", brandId)
+                .addValue("applicationDate", applicationDate);
+        
+        List<BrandPrice> prices = queryTimed(liveWindow.contains(applicationDate)
+                ? FIND_FINAL_PRICE_QUERY
+                : FIND_FINAL_PRICE_WITH_ARCHIVE_QUERY, params);
+        return prices.isEmpty() ? Optional.empty() : Optional.of(prices.getFirst());
+    }
+    
     /**
-     * RowMapper para convertir ResultSet a entidad Price.
-     */
-    private static class PriceRowMapper implements RowMapper<BrandPrice> {
-        @Override
-        public BrandPrice mapRow(ResultSet rs, int rowNum) throws SQLException {
-            return BrandPrice.builder()
-                    .id(rs.getLong("id"))
-                    .brandId(rs.getLong("brand_id"))
-                    .startDate(rs.getTimestamp("start_date").toLocalDateTime())
-                    .endDate(rs.getTimestamp("end_date").toLocalDateTime())
-                    .priceList(rs.getLong("price_list"))
-                    .productId(rs.getLong("product_id"))
-                    .priority(rs.getInt("priority"))
-                    .price(rs.getBigDecimal("price"))
-                    .currency(rs.getString("curr"))
-                    .build();
+     * Resuelve el ganador y los precios que lo acotan en una sola consulta, medida como las de
+     * precio aplicable. Las fechas anteriores a la ventana viva, poco frecuentes, usan las dos
+     * consultas por defecto sobre las dos tablas.
+     */
+    @Override
+    public Optional<PriceSegment> findFinalPriceSegment(LocalDateTime applicationDate, Long productId, Long brandId) {
+        if (!liveWindow.contains(applicationDate)) {
+            return PriceRepository.super.findFinalPriceSegment(applicationDate, productId, brandId);
         }
+        
+        log.debug("Ejecutando consulta del tramo de precio final: productId={}, brandId={}, fecha={}", 
+                  productId, brandId, applicationDate);
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("productId", productId)
+                .addValue("brandId", brandId)
+                .addValue("applicationDate", applicationDate);
+        
+        List<BrandPrice> candidates = queryTimed(FIND_FINAL_PRICE_SEGMENT_QUERY, params);
+        return PriceTimeline.of(candidates).segmentAt(applicationDate);
+    }
+    
+    @Override
+    public List<BrandPrice> findPricesBetween(Long productId, Long brandId, LocalDateTime from, LocalDateTime to) {
+        log.debug("Ejecutando consulta por rango: productId={}, brandId={}, desde={}, hasta={}", 
+                  productId, brandId, from, to);
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("productId", productId)
+                .addValue("brandId", brandId)
+                .addValue("from", from)
+                .addValue("to", to);
+        
+        String sql = liveWindow.contains(from) ? FIND_PRICES_BETWEEN_QUERY : FIND_PRICES_BETWEEN_WITH_ARCHIVE_QUERY;
+        return readGate.call(() -> readJdbcTemplate.query(sql, params, PriceRowMapper.INSTANCE));
+    }
+    
+    @Override
+    public Map<PriceQuery, BrandPrice> findFinalPrices(Collection<PriceQuery> queries) {
+        List<PriceQuery> distinctQueries = List.copyOf(new LinkedHashSet<>(queries));
+        if (distinctQueries.isEmpty()) {
+            return Map.of();
+        }
+        
+        log.debug("Ejecutando consulta en lote: {} consultas", distinctQueries.size());
+        
+        // Las fechas anteriores a la ventana viva, poco frecuentes, se resuelven de una en una con el archivo
+        Map<PriceQuery, BrandPrice> prices = new HashMap<>();
+        List<PriceQuery> liveQueries = new ArrayList<>(distinctQueries.size());
+        for (PriceQuery query : distinctQueries) {
+            if (liveWindow.contains(query.applicationDate())) {
+                liveQueries.add(query);
+            } else {
+                findFinalPrice(query.applicationDate(), query.productId(), query.brandId())
+                        .ifPresent(price -> prices.put(query, price));
+            }
+        }
+        if (liveQueries.isEmpty()) {
+            return prices;
+        }
+        
+        StringJoiner values = new StringJoiner(", ");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        for (int i = 0; i < liveQueries.size(); i++) {
+            PriceQuery query = liveQueries.get(i);
+            values.add(BATCH_VALUES_ROW.formatted(i));
+            params.addValue("applicationDate" + i, query.applicationDate())
+                  .addValue("productId" + i, query.productId())
+                  .addValue("brandId" + i, query.brandId());
+        }
+        
+        readGate.run(() -> readJdbcTemplate.query(FIND_FINAL_PRICES_BATCH_QUERY.formatted(values), params,
+                (RowCallbackHandler) rs -> prices.put(liveQueries.get(rs.getInt(1)),
+                                                      PriceRowMapper.AFTER_QUERY_INDEX.mapRow(rs, rs.getRow()))));
+        
+        log.debug("Encontrados {} precios para {} consultas", prices.size(), distinctQueries.size());
+        
+        return prices;
+    }
+    
+    @Override
+    public PriceDataVersion currentVersion() {
+        return gate.call(() -> jdbcTemplate.getJdbcTemplate().queryForObject(DATA_VERSION_QUERY, (rs, rowNum) -> {
+            Timestamp lastModified = rs.getTimestamp("last_modified");
+            return new PriceDataVersion(rs.getLong("row_count"), rs.getLong("max_id"),
+                    lastModified != null ? lastModified.toLocalDateTime() : null);
+        }));
+    }
+    
+    /**
+     * Obtiene la versión de los datos de cada marca con precios.
+     *
+     * @param brandIds Marcas a consultar; vacío para todas
+     * @return Versión por marca; las marcas sin precios no aparecen
+     */
+    public Map<Long, PriceDataVersion> currentVersionsByBrand(Collection<Long> brandIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("brandIds", brandIds);
+        String sql = DATA_VERSION_BY_BRAND_QUERY.formatted(brandIds.isEmpty() ? "" : "WHERE brand_id IN (:brandIds)");
+        
+        Map<Long, PriceDataVersion> versions = new HashMap<>();
+        gate.run(() -> jdbcTemplate.query(sql, params,
+                (RowCallbackHandler) rs -> {
+                    Timestamp lastModified = rs.getTimestamp("last_modified");
+                    versions.put(rs.getLong("brand_id"), new PriceDataVersion(rs.getLong("row_count"),
+                            rs.getLong("max_id"), lastModified != null ? lastModified.toLocalDateTime() : null));
+                }));
+        return versions;
+    }
+    
+    /**
+     * Ejecuta una consulta de precios aplicables registrando por separado el tiempo hasta
+     * disponer del ResultSet y el tiempo de recorrerlo y construir los precios.
+     */
+    private List<BrandPrice> queryTimed(String sql, MapSqlParameterSource params) {
+        return readGate.call(() -> {
+            long queryStart = System.nanoTime();
+            return readJdbcTemplate.query(sql, params, rs -> {
+                long mappingStart = System.nanoTime();
+                List<BrandPrice> prices = new ArrayList<>(2);
+                while (rs.next()) {
+                    prices.add(PriceRowMapper.INSTANCE.mapRow(rs, prices.size() + 1));
+                }
+                Outcome outcome = prices.isEmpty() ? Outcome.NOT_FOUND : Outcome.FOUND;
+                metrics.record(Stage.DB_QUERY, outcome, queryStart, mappingStart);
+                metrics.record(Stage.ROW_MAPPING, outcome, mappingStart);
+                return prices;
+            });
+        });
+    }
+    
+    /**
+     * Recorre todos los precios de la tabla en orden (brand, producto, fecha de inicio)
+     * sin materializar el resultado completo en una lista.
+     * Lo utilizan los motores en memoria para construir sus índices.
+     *
+     * @param consumer Receptor de cada precio leído
+     */
+    public void forEachPrice(Consumer<BrandPrice> consumer) {
+        log.debug("Cargando todos los precios de la tabla");
+        
+        gate.run(() -> jdbcTemplate.query(FIND_ALL_PRICES_QUERY, (RowCallbackHandler) rs ->
+                consumer.accept(PriceRowMapper.INSTANCE.mapRow(rs, rs.getRow()))));
+    }
+    
+    /**
+     * Recorre los precios de una marca en orden (producto, fecha de inicio)
+     * sin materializar el resultado completo en una lista.
+     * Lo utiliza el motor particionado para cargar cada marca por separado.
+     *
+     * @param brandId Marca a cargar
+     * @param consumer Receptor de cada precio leído
+     */
+    public void forEachPrice(long brandId, Consumer<BrandPrice> consumer) {
+        log.debug("Cargando los precios de la marca {}", brandId);
+        
+        MapSqlParameterSource params = new MapSqlParameterSource("brandId", brandId);
+        gate.run(() -> jdbcTemplate.query(FIND_BRAND_PRICES_QUERY, params, (RowCallbackHandler) rs ->
+                consumer.accept(PriceRowMapper.INSTANCE.mapRow(rs, rs.getRow()))));
+    }
+    
+    @Override
+    public void forEachProductKey(LongConsumer consumer) {
+        log.debug("Cargando las combinaciones (brand, producto) con precios");
+        
+        gate.run(() -> jdbcTemplate.getJdbcOperations().query(FIND_PRODUCT_KEYS_QUERY, (RowCallbackHandler) rs -> {
+            long key = PackedPriceKey.of(rs.getLong("brand_id"), rs.getLong("product_id"));
+            if (key != PackedPriceKey.NONE) {
+                consumer.accept(key);
+            }
+        }));
     }
 }
@@ -0,0 +1,46 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * RowMapper para convertir ResultSet a entidad Price.
+ * Compartido por los adaptadores que leen la tabla PRICES.
+ * <p>
+ * Lee las columnas por posición, en el orden común de todas las consultas:
+ * id, brand_id, start_date, end_date, price_list, product_id, priority, price, curr.
+ * Las consultas que anteponen columnas propias usan un desplazamiento.
+ */
+class PriceRowMapper implements RowMapper<BrandPrice> {
+
+    static final PriceRowMapper INSTANCE = new PriceRowMapper(0);
+
+    /** Para las consultas en lote, que devuelven query_index como primera columna. */
+    static final PriceRowMapper AFTER_QUERY_INDEX = new PriceRowMapper(1);
+
+    private final int offset;
+
+    private PriceRowMapper(int offset) {
+        this.offset = offset;
+    }
+
+    @Override
+    public BrandPrice mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return BrandPrice.builder()
+                .id(rs.getLong(offset + 1))
+                .brandId(rs.getLong(offset + 2))
+                .startEpochMicros(EpochMicros.of(rs.getObject(offset + 3, LocalDateTime.class)))
+                .endEpochMicros(EpochMicros.of(rs.getObject(offset + 4, LocalDateTime.class)))
+                .priceList(rs.getLong(offset + 5))
+                .productId(rs.getLong(offset + 6))
+                .priority(rs.getInt(offset + 7))
+                .price(rs.getBigDecimal(offset + 8))
+                .currency(rs.getString(offset + 9))
+                .build();
+    }
+}
@@ -0,0 +1,298 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reparte las conexiones de lectura entre réplicas de solo lectura de la base de datos.
+ * <p>
+ * Cada conexión se pide a una réplica en servicio, por turno rotatorio o a la que tenga menos
+ * conexiones en uso (solo medible en pools Hikari; con otros pools equivale al turno rotatorio).
+ * Una tarea en segundo plano comprueba cada réplica periódicamente; la que no entrega una
+ * conexión válida queda fuera de servicio hasta que vuelve a responder. Si no queda ninguna,
+ * las lecturas se sirven desde el primario, de modo que una réplica caída no provoca errores.
+ * Una réplica con el pool agotado no está caída, solo ocupada: esa petición se desvía a otra
+ * réplica o al primario, pero la réplica sigue en el reparto.
+ * <p>
+ * Las réplicas reciben los cambios con retraso. Cuando la sonda del primario detecta un cambio
+ * ({@link PriceDataChangedEvent}), las lecturas se sirven desde el primario durante un
+ * intervalo configurable, para que las cachés vaciadas por el mismo evento no se rellenen con
+ * datos que las réplicas aún no tienen.
+ * <p>
+ * Sin réplicas configuradas, {@link #readDataSource()} es el propio primario y no se arranca
+ * ninguna tarea.
+ */
+@Slf4j
+public class ReadReplicaRouter implements AutoCloseable {
+    
+    /**
+     * Criterio de reparto entre réplicas en servicio.
+     */
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+    
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Balancing balancing;
+    private final int healthCheckTimeoutSeconds;
+    private final long primaryReadsAfterChangeNanos;
+    private final DataSource readDataSource;
+    private final ScheduledExecutorService healthChecker;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder primaryFallbacks = new LongAdder();
+    /** Instante (System.nanoTime) hasta el que las lecturas se sirven desde el primario. */
+    private volatile long primaryReadsUntil = System.nanoTime();
+    
+    /**
+     * @param replicas Réplicas por nombre, en el orden del turno rotatorio
+     * @param healthCheckInterval Periodo entre comprobaciones de las réplicas
+     * @param healthCheckTimeout Espera máxima de la validación de una conexión
+     * @param primaryReadsAfterChange Tiempo que se lee del primario tras un cambio de datos; cero para no hacerlo
+     */
+    public ReadReplicaRouter(DataSource primary, Map<String, DataSource> replicas, Balancing balancing,
+                             Duration healthCheckInterval, Duration healthCheckTimeout,
+                             Duration primaryReadsAfterChange) {
+        this.primary = primary;
+        this.replicas = new ArrayList<>(replicas.size());
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.balancing = balancing;
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+        this.primaryReadsAfterChangeNanos = primaryReadsAfterChange.toNanos();
+        
+        if (this.replicas.isEmpty()) {
+            this.readDataSource = primary;
+            this.healthChecker = null;
+            return;
+        }
+        this.readDataSource = new RoutingDataSource();
+        checkHealth();
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-health").daemon().factory());
+        long intervalMillis = healthCheckInterval.toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Lecturas repartidas entre {} réplicas ({})", this.replicas.size(), balancing);
+    }
+    
+    /**
+     * Router sin réplicas: todas las lecturas van al primario.
+     */
+    public static ReadReplicaRouter primaryOnly(DataSource primary) {
+        return new ReadReplicaRouter(primary, Map.of(), Balancing.ROUND_ROBIN,
+                Duration.ZERO, Duration.ZERO, Duration.ZERO);
+    }
+    
+    /**
+     * @return Origen de las conexiones de lectura; el primario si no hay réplicas
+     */
+    public DataSource readDataSource() {
+        return readDataSource;
+    }
+    
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+    
+    public int healthyReplicas() {
+        int healthy = 0;
+        for (Replica replica : replicas) {
+            if (replica.healthy) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+    
+    /**
+     * Conexiones de lectura servidas por el primario por no haber réplicas en servicio o con
+     * conexiones libres.
+     */
+    public long primaryFallbacks() {
+        return primaryFallbacks.sum();
+    }
+    
+    /**
+     * Desvía las lecturas al primario mientras las réplicas pueden no tener el cambio. Se ejecuta
+     * antes que los listeners que vacían las cachés, para que no se rellenen desde las réplicas.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPriceDataChanged(PriceDataChangedEvent event) {
+        if (!replicas.isEmpty() && primaryReadsAfterChangeNanos > 0) {
+            primaryReadsUntil = System.nanoTime() + primaryReadsAfterChangeNanos;
+            log.debug("Lecturas desde el primario durante {} ms tras el cambio de datos",
+                      TimeUnit.NANOSECONDS.toMillis(primaryReadsAfterChangeNanos));
+        }
+    }
+    
+    /**
+     * Indica si las lecturas se están sirviendo desde el primario tras un cambio de datos.
+     */
+    public boolean isReadingFromPrimary() {
+        return primaryReadsUntil - System.nanoTime() > 0;
+    }
+    
+    /**
+     * Valida una conexión de cada réplica y actualiza su estado.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(healthCheckTimeoutSeconds)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown("conexión no válida");
+                }
+            } catch (SQLException e) {
+                if (!isPoolExhausted(e)) {
+                    replica.markDown(e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Detiene las comprobaciones y cierra los pools de las réplicas.
+     */
+    @Override
+    public void close() throws Exception {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+    
+    /**
+     * Hikari lanza {@link SQLTransientConnectionException} tanto si el pool está agotado como si no
+     * consigue abrir conexiones; en el segundo caso adjunta como causa el último fallo de conexión.
+     */
+    static boolean isPoolExhausted(SQLException e) {
+        return e instanceof SQLTransientConnectionException && e.getCause() == null;
+    }
+    
+    /**
+     * Elige una réplica en servicio empezando por la siguiente del turno, para que los empates
+     * en conexiones activas también se repartan.
+     *
+     * @return La réplica elegida, o {@code null} si no hay ninguna en servicio
+     */
+    private Replica select() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        Replica selected = null;
+        int selectedActive = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (!candidate.healthy) {
+                continue;
+            }
+            if (balancing == Balancing.ROUND_ROBIN) {
+                return candidate;
+            }
+            int active = candidate.activeConnections();
+            if (active < selectedActive) {
+                selected = candidate;
+                selectedActive = active;
+            }
+        }
+        return selected;
+    }
+    
+    /**
+     * Origen de datos de lectura: una réplica que no entrega conexión queda fuera de servicio
+     * y se prueba la siguiente, hasta acabar en el primario. Si solo tiene el pool agotado, se
+     * prueba la siguiente sin sacarla del reparto. Justo después de un cambio de datos, el primario.
+     */
+    private final class RoutingDataSource extends AbstractDataSource {
+        
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (isReadingFromPrimary()) {
+                return primary.getConnection();
+            }
+            for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                Replica replica = select();
+                if (replica == null) {
+                    break;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    if (isPoolExhausted(e)) {
+                        log.debug("Réplica {} sin conexiones libres, se prueba la siguiente", replica.name);
+                    } else {
+                        replica.markDown(e.getMessage());
+                    }
+                }
+            }
+            primaryFallbacks.increment();
+            return primary.getConnection();
+        }
+        
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Las réplicas usan las credenciales de su configuración");
+        }
+    }
+    
+    private static final class Replica {
+        
+        private final String name;
+        private final DataSource dataSource;
+        /** Parte en servicio para que la primera comprobación avise de las réplicas caídas. */
+        private volatile boolean healthy = true;
+        
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+        
+        private int activeConnections() {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool == null ? 0 : pool.getActiveConnections();
+            }
+            return 0;
+        }
+        
+        private void markUp() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Réplica {} en servicio", name);
+            }
+        }
+        
+        private void markDown(String reason) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Réplica {} fuera de servicio, lecturas desviadas: {}", name, reason);
+            }
+        }
+    }
+}
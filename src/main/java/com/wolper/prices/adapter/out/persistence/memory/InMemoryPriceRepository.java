@@ -0,0 +1,110 @@
+package com.wolper.prices.adapter.out.persistence.memory;
+
+import com.wolper.prices.adapter.out.persistence.JdbcPriceRepository;
+import com.wolper.prices.application.port.out.PriceRepository;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceSegment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador de persistencia en memoria que implementa el puerto de salida.
+ * Carga la tabla PRICES al arrancar y resuelve las consultas desde un índice
+ * de intervalos, evitando el round trip a base de datos.
+ * El precio final se obtiene de la línea temporal precalculada de cada producto.
+ * <p>
+ * El índice es inmutable: cuando cambian los datos se construye uno nuevo aparte
+ * y se publica con una sola escritura volátil, de modo que las lecturas nunca
+ * toman locks ni ven un índice a medio construir.
+ * Se activa con {@code prices.repository.engine=memory}.
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(prefix = "prices.repository", name = "engine", havingValue = "memory")
+public class InMemoryPriceRepository implements PriceRepository {
+    
+    private final JdbcPriceRepository source;
+    private volatile PriceIntervalIndex index;
+    
+    public InMemoryPriceRepository(JdbcPriceRepository source) {
+        this.source = source;
+        this.index = loadIndex();
+    }
+    
+    @Override
+    public List<BrandPrice> findApplicablePrices(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return findApplicablePrices(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    @Override
+    public List<BrandPrice> findApplicablePrices(long applicationEpochMicros, long productId, long brandId) {
+        if (log.isDebugEnabled()) {
+            log.debug("Consultando índice en memoria: productId={}, brandId={}, fecha={}",
+                      productId, brandId, EpochMicros.toLocalDateTime(applicationEpochMicros));
+        }
+        
+        return index.findApplicable(applicationEpochMicros, productId, brandId);
+    }
+    
+    @Override
+    public Optional<BrandPrice> findFinalPrice(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return findFinalPrice(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    @Override
+    public Optional<BrandPrice> findFinalPrice(long applicationEpochMicros, long productId, long brandId) {
+        return index.findFinal(applicationEpochMicros, productId, brandId);
+    }
+    
+    @Override
+    public List<BrandPrice> findPricesBetween(Long productId, Long brandId, LocalDateTime from, LocalDateTime to) {
+        return index.findBetween(productId, brandId, from, to);
+    }
+    
+    @Override
+    public Optional<PriceSegment> findFinalPriceSegment(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return findFinalPriceSegment(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    @Override
+    public Optional<PriceSegment> findFinalPriceSegment(long applicationEpochMicros, long productId, long brandId) {
+        return index.findSegment(applicationEpochMicros, productId, brandId);
+    }
+    
+    /**
+     * Reconstruye el índice con los datos actuales y lo sustituye de forma atómica.
+     * Se ejecuta antes que el resto de oyentes para que las cachés se vacíen
+     * cuando el índice nuevo ya está publicado.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPriceDataChanged(PriceDataChangedEvent event) {
+        log.info("Reconstruyendo índice de precios para la versión {}", event.version());
+        index = loadIndex();
+    }
+    
+    private PriceIntervalIndex loadIndex() {
+        long start = System.nanoTime();
+        
+        PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+        source.forEachPrice(builder::add);
+        PriceIntervalIndex loaded = builder.build();
+        
+        log.info("Índice de precios cargado: {} precios, {} productos en {} ms",
+                 loaded.size(), loaded.groupCount(), (System.nanoTime() - start) / 1_000_000);
+        
+        return loaded;
+    }
+}
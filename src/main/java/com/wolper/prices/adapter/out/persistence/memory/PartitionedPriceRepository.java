@@ -0,0 +1,236 @@
+package com.wolper.prices.adapter.out.persistence.memory;
+
+import com.wolper.prices.adapter.out.persistence.JdbcPriceRepository;
+import com.wolper.prices.application.port.out.PricePartitionStore;
+import com.wolper.prices.application.port.out.PriceRepository;
+import com.wolper.prices.collection.LongObjectHashMap;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import com.wolper.prices.domain.model.PricePartitionStats;
+import com.wolper.prices.domain.model.PriceSegment;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Adaptador de persistencia en memoria con un índice independiente por marca.
+ * <p>
+ * Cada partición se carga con su propia consulta, lleva su versión de datos y se reconstruye
+ * sola: cuando cambian los datos solo se recargan las marcas cuya versión ha cambiado, y una
+ * recarga forzada de una marca no toca las demás. El servicio de refresco sincroniza las
+ * particiones antes de publicar el cambio, acotado a las marcas recargadas, para que las
+ * cachés no descarten las entradas de las demás. Cada partición publica su índice con una
+ * escritura volátil, así que las consultas nunca esperan a una recarga.
+ * <p>
+ * La instancia sirve las marcas configuradas, o todas las que tengan precios si no se
+ * configura ninguna; las demás no ocupan memoria y sus consultas no encuentran precio.
+ * Por partición se publican {@code prices.partition.rows} y {@code prices.partition.memory}
+ * con la etiqueta {@code brand}.
+ * Se activa con {@code prices.repository.engine=partitioned}.
+ */
+@Slf4j
+public class PartitionedPriceRepository implements PriceRepository, PricePartitionStore {
+    
+    private final JdbcPriceRepository source;
+    private final Set<Long> servedBrands;
+    private final MeterRegistry meterRegistry;
+    /** Serializa los cambios en el conjunto de particiones; las recargas de una marca no lo toman. */
+    private final Object membershipLock = new Object();
+    /** Se sustituye por una copia cuando entran o salen marcas; nunca se modifica ya publicado. */
+    private volatile LongObjectHashMap<Partition> partitions = new LongObjectHashMap<>();
+    
+    /**
+     * @param servedBrands Marcas que sirve la instancia; vacío para todas las que tengan precios
+     */
+    public PartitionedPriceRepository(JdbcPriceRepository source, Set<Long> servedBrands,
+                                      MeterRegistry meterRegistry) {
+        this.source = source;
+        this.servedBrands = Set.copyOf(servedBrands);
+        this.meterRegistry = meterRegistry;
+        synchronize();
+    }
+    
+    @Override
+    public List<BrandPrice> findApplicablePrices(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return findApplicablePrices(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    @Override
+    public List<BrandPrice> findApplicablePrices(long applicationEpochMicros, long productId, long brandId) {
+        if (log.isDebugEnabled()) {
+            log.debug("Consultando partición en memoria: productId={}, brandId={}, fecha={}",
+                      productId, brandId, EpochMicros.toLocalDateTime(applicationEpochMicros));
+        }
+        
+        PriceIntervalIndex index = index(brandId);
+        return index == null ? List.of() : index.findApplicable(applicationEpochMicros, productId, brandId);
+    }
+    
+    @Override
+    public Optional<BrandPrice> findFinalPrice(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return findFinalPrice(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    @Override
+    public Optional<BrandPrice> findFinalPrice(long applicationEpochMicros, long productId, long brandId) {
+        PriceIntervalIndex index = index(brandId);
+        return index == null ? Optional.empty() : index.findFinal(applicationEpochMicros, productId, brandId);
+    }
+    
+    @Override
+    public List<BrandPrice> findPricesBetween(Long productId, Long brandId, LocalDateTime from, LocalDateTime to) {
+        PriceIntervalIndex index = index(brandId);
+        return index == null ? List.of() : index.findBetween(productId, brandId, from, to);
+    }
+    
+    @Override
+    public Optional<PriceSegment> findFinalPriceSegment(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return findFinalPriceSegment(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    @Override
+    public Optional<PriceSegment> findFinalPriceSegment(long applicationEpochMicros, long productId, long brandId) {
+        PriceIntervalIndex index = index(brandId);
+        return index == null ? Optional.empty() : index.findSegment(applicationEpochMicros, productId, brandId);
+    }
+    
+    @Override
+    public List<PricePartitionStats> partitions() {
+        List<PricePartitionStats> stats = new ArrayList<>();
+        partitions.forEach((brandId, partition) -> stats.add(partition.stats()));
+        stats.sort(Comparator.comparingLong(PricePartitionStats::brandId));
+        return stats;
+    }
+    
+    @Override
+    public Optional<PricePartitionStats> reload(long brandId) {
+        Partition partition = partitions.get(brandId);
+        if (partition == null) {
+            return Optional.empty();
+        }
+        PriceDataVersion version = source.currentVersionsByBrand(List.of(brandId))
+                .getOrDefault(brandId, PriceDataVersion.EMPTY);
+        return Optional.of(partition.load(version));
+    }
+    
+    private PriceIntervalIndex index(long brandId) {
+        Partition partition = partitions.get(brandId);
+        return partition == null ? null : partition.state.index();
+    }
+    
+    @Override
+    public Set<Long> synchronize() {
+        synchronized (membershipLock) {
+            Set<Long> changed = new TreeSet<>();
+            Map<Long, PriceDataVersion> versions = source.currentVersionsByBrand(servedBrands);
+            Collection<Long> brands = servedBrands.isEmpty() ? new TreeSet<>(versions.keySet()) : servedBrands;
+            
+            LongObjectHashMap<Partition> current = partitions;
+            LongObjectHashMap<Partition> updated = new LongObjectHashMap<>(brands.size());
+            for (Long brandId : brands) {
+                PriceDataVersion version = versions.getOrDefault(brandId, PriceDataVersion.EMPTY);
+                Partition partition = current.get(brandId);
+                if (partition == null) {
+                    partition = new Partition(brandId);
+                    partition.load(version);
+                    partition.registerMeters();
+                    changed.add(brandId);
+                } else if (!partition.state.version().equals(version)) {
+                    partition.load(version);
+                    changed.add(brandId);
+                }
+                updated.put(brandId, partition);
+            }
+            current.forEach((brandId, partition) -> {
+                if (updated.get(brandId) == null) {
+                    log.info("La marca {} ya no tiene precios: se descarta su partición", brandId);
+                    partition.removeMeters();
+                    changed.add(brandId);
+                }
+            });
+            partitions = updated;
+            return changed;
+        }
+    }
+    
+    /**
+     * Índice de una partición junto con la versión de datos que refleja.
+     */
+    private record State(PriceIntervalIndex index, PriceDataVersion version,
+                         LocalDateTime loadedAt, long loadMillis) {
+    }
+    
+    /**
+     * Precios de una marca. Sus recargas se serializan entre sí, pero no con las de otras marcas.
+     */
+    private final class Partition {
+        
+        private final long brandId;
+        private final List<Meter> meters = new ArrayList<>(2);
+        private volatile State state;
+        
+        private Partition(long brandId) {
+            this.brandId = brandId;
+        }
+        
+        /**
+         * La versión se lee antes de cargar: si los datos cambian durante la carga,
+         * la siguiente sincronización lo detecta y vuelve a cargar la marca.
+         */
+        private synchronized PricePartitionStats load(PriceDataVersion version) {
+            long start = System.nanoTime();
+            
+            PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+            source.forEachPrice(brandId, builder::add);
+            PriceIntervalIndex index = builder.build();
+            
+            state = new State(index, version, LocalDateTime.now(ZoneOffset.UTC),
+                    (System.nanoTime() - start) / 1_000_000);
+            
+            log.info("Partición de la marca {} cargada: {} precios, {} productos, ~{} bytes en {} ms",
+                     brandId, index.size(), index.groupCount(), index.estimatedBytes(), state.loadMillis());
+            
+            return stats();
+        }
+        
+        private PricePartitionStats stats() {
+            State current = state;
+            return new PricePartitionStats(brandId, current.version(), current.index().size(),
+                    current.index().groupCount(), current.index().estimatedBytes(),
+                    current.loadedAt(), current.loadMillis());
+        }
+        
+        private void registerMeters() {
+            String brand = String.valueOf(brandId);
+            meters.add(Gauge.builder("prices.partition.rows", this, partition -> partition.state.index().size())
+                    .tag("brand", brand)
+                    .description("Precios cargados en la partición de la marca")
+                    .register(meterRegistry));
+            meters.add(Gauge.builder("prices.partition.memory", this,
+                            partition -> partition.state.index().estimatedBytes())
+                    .tag("brand", brand)
+                    .baseUnit(BaseUnits.BYTES)
+                    .description("Memoria estimada del índice de la marca en el heap")
+                    .register(meterRegistry));
+        }
+        
+        private void removeMeters() {
+            meters.forEach(meterRegistry::remove);
+            meters.clear();
+        }
+    }
+}
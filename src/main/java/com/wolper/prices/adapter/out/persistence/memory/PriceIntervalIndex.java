@@ -0,0 +1,271 @@
+package com.wolper.prices.adapter.out.persistence.memory;
+
+import com.wolper.prices.collection.LongObjectHashMap;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PackedPriceKey;
+import com.wolper.prices.domain.model.PriceSegment;
+import com.wolper.prices.domain.model.PriceTimeline;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Índice inmutable de intervalos de precios agrupados por (brand, producto), con los grupos
+ * en un mapa primitivo indexado por {@link PackedPriceKey} para que una consulta no cree claves.
+ * Cada grupo mantiene sus intervalos ordenados por fecha de inicio y se consulta
+ * mediante búsqueda binaria, sin acceso a base de datos. Además guarda la línea
+ * temporal precalculada del grupo para resolver el precio ganador directamente.
+ * Los grupos cuyos identificadores no caben en la clave empaquetada van a un mapa de
+ * respaldo con claves {@link PackedPriceKey.Wide}.
+ */
+final class PriceIntervalIndex {
+    
+    /**
+     * Coste aproximado en el heap, con referencias comprimidas: un precio con sus fechas,
+     * importe y divisa más sus tres entradas en los arrays del grupo; un tramo de la línea
+     * temporal con sus fechas y arrays; y un grupo con su entrada en el mapa y sus cabeceras.
+     */
+    static final long PRICE_BYTES = 200;
+    static final long SEGMENT_BYTES = 120;
+    static final long GROUP_BYTES = 160;
+    
+    private final LongObjectHashMap<IntervalGroup> groups;
+    private final Map<PackedPriceKey.Wide, IntervalGroup> wideGroups;
+    private final int size;
+    private final long segmentCount;
+    
+    private PriceIntervalIndex(LongObjectHashMap<IntervalGroup> groups, Map<PackedPriceKey.Wide, IntervalGroup> wideGroups,
+                               int size, long segmentCount) {
+        this.groups = groups;
+        this.wideGroups = wideGroups;
+        this.size = size;
+        this.segmentCount = segmentCount;
+    }
+    
+    static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Busca los precios aplicables en la fecha indicada.
+     *
+     * @return Lista de precios aplicables ordenados por prioridad (mayor a menor)
+     */
+    List<BrandPrice> findApplicable(LocalDateTime applicationDate, long productId, long brandId) {
+        return findApplicable(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    /**
+     * Busca los precios aplicables en el instante indicado en microsegundos desde epoch.
+     *
+     * @return Lista de precios aplicables ordenados por prioridad (mayor a menor)
+     */
+    List<BrandPrice> findApplicable(long applicationEpochMicros, long productId, long brandId) {
+        IntervalGroup group = group(productId, brandId);
+        if (group == null) {
+            return Collections.emptyList();
+        }
+        return group.findApplicable(applicationEpochMicros);
+    }
+    
+    /**
+     * Busca los precios cuyo intervalo se solapa con el rango indicado.
+     *
+     * @return Lista de precios ordenados por fecha de inicio
+     */
+    List<BrandPrice> findBetween(long productId, long brandId, LocalDateTime from, LocalDateTime to) {
+        IntervalGroup group = group(productId, brandId);
+        if (group == null) {
+            return Collections.emptyList();
+        }
+        return group.findBetween(EpochMicros.of(from), EpochMicros.of(to));
+    }
+    
+    /**
+     * Busca el tramo de la línea temporal precalculada que contiene la fecha indicada.
+     */
+    Optional<PriceSegment> findSegment(LocalDateTime applicationDate, long productId, long brandId) {
+        return findSegment(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    /**
+     * Busca el tramo de la línea temporal precalculada que contiene el instante indicado.
+     */
+    Optional<PriceSegment> findSegment(long applicationEpochMicros, long productId, long brandId) {
+        IntervalGroup group = group(productId, brandId);
+        if (group == null) {
+            return Optional.empty();
+        }
+        return group.timeline.segmentAt(applicationEpochMicros);
+    }
+    
+    /**
+     * Busca el precio ganador en la fecha indicada en la línea temporal precalculada.
+     */
+    Optional<BrandPrice> findFinal(LocalDateTime applicationDate, long productId, long brandId) {
+        return findFinal(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    /**
+     * Busca el precio ganador en el instante indicado en la línea temporal precalculada.
+     */
+    Optional<BrandPrice> findFinal(long applicationEpochMicros, long productId, long brandId) {
+        return findSegment(applicationEpochMicros, productId, brandId).map(PriceSegment::price);
+    }
+    
+    /**
+     * Grupo del (brand, producto), o {@code null} si no hay precios. Los identificadores que
+     * no caben en la clave empaquetada se buscan en el mapa de respaldo.
+     */
+    private IntervalGroup group(long productId, long brandId) {
+        long key = PackedPriceKey.of(brandId, productId);
+        if (key != PackedPriceKey.NONE) {
+            return groups.get(key);
+        }
+        return wideGroups.isEmpty() ? null : wideGroups.get(new PackedPriceKey.Wide(brandId, productId));
+    }
+    
+    /**
+     * Número total de precios indexados.
+     */
+    int size() {
+        return size;
+    }
+    
+    /**
+     * Número de combinaciones (brand, producto) indexadas.
+     */
+    int groupCount() {
+        return groups.size() + wideGroups.size();
+    }
+    
+    /**
+     * Memoria estimada del índice en el heap. Es una aproximación para comparar
+     * particiones y vigilar su crecimiento, no una medida exacta.
+     */
+    long estimatedBytes() {
+        return size * PRICE_BYTES + segmentCount * SEGMENT_BYTES + (long) groupCount() * GROUP_BYTES;
+    }
+    
+    /**
+     * Intervalos de un mismo (brand, producto) ordenados por fecha de inicio.
+     * Las fechas se copian a arrays primitivos (microsegundos desde epoch) para que
+     * la búsqueda no cree objetos. {@code maxEndUpTo[i]} guarda la mayor fecha de fin
+     * entre los intervalos {@code 0..i}, lo que permite cortar el recorrido hacia atrás
+     * en cuanto ningún intervalo anterior puede cubrir la fecha buscada.
+     */
+    private static final class IntervalGroup {
+        
+        private final BrandPrice[] intervals;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEndUpTo;
+        private final PriceTimeline timeline;
+        
+        private IntervalGroup(List<BrandPrice> prices) {
+            this.intervals = prices.toArray(BrandPrice[]::new);
+            Arrays.sort(intervals, Comparator.comparingLong(BrandPrice::getStartEpochMicros));
+            this.starts = new long[intervals.length];
+            this.ends = new long[intervals.length];
+            this.maxEndUpTo = new long[intervals.length];
+            long maxEnd = Long.MIN_VALUE;
+            for (int i = 0; i < intervals.length; i++) {
+                starts[i] = intervals[i].getStartEpochMicros();
+                ends[i] = intervals[i].getEndEpochMicros();
+                maxEnd = Math.max(maxEnd, ends[i]);
+                maxEndUpTo[i] = maxEnd;
+            }
+            this.timeline = PriceTimeline.of(prices);
+        }
+        
+        private List<BrandPrice> findApplicable(long date) {
+            List<BrandPrice> applicable = new ArrayList<>();
+            for (int i = lastStartingAtOrBefore(date); i >= 0 && maxEndUpTo[i] >= date; i--) {
+                if (ends[i] >= date) {
+                    applicable.add(intervals[i]);
+                }
+            }
+            applicable.sort(BrandPrice.HIGHEST_PRIORITY_FIRST);
+            return applicable;
+        }
+        
+        private List<BrandPrice> findBetween(long from, long to) {
+            List<BrandPrice> overlapping = new ArrayList<>();
+            int last = lastStartingAtOrBefore(to);
+            for (int i = 0; i <= last; i++) {
+                if (ends[i] >= from) {
+                    overlapping.add(intervals[i]);
+                }
+            }
+            return overlapping;
+        }
+        
+        /**
+         * Búsqueda binaria del último intervalo cuya fecha de inicio es anterior
+         * o igual a la fecha indicada. Retorna -1 si no existe ninguno.
+         */
+        private int lastStartingAtOrBefore(long date) {
+            int low = 0;
+            int high = starts.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] > date) {
+                    high = mid - 1;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return high;
+        }
+    }
+    
+    /**
+     * Acumula precios en cualquier orden y construye el índice inmutable.
+     */
+    static final class Builder {
+        
+        private final LongObjectHashMap<List<BrandPrice>> pricesByKey = new LongObjectHashMap<>();
+        private final Map<PackedPriceKey.Wide, List<BrandPrice>> pricesByWideKey = new HashMap<>();
+        private int size;
+        
+        private Builder() {
+        }
+        
+        Builder add(BrandPrice price) {
+            long key = PackedPriceKey.of(price.getBrandId(), price.getProductId());
+            if (key != PackedPriceKey.NONE) {
+                pricesByKey.computeIfAbsent(key, ignored -> new ArrayList<>()).add(price);
+            } else {
+                pricesByWideKey.computeIfAbsent(new PackedPriceKey.Wide(price.getBrandId(), price.getProductId()),
+                                                ignored -> new ArrayList<>()).add(price);
+            }
+            size++;
+            return this;
+        }
+        
+        PriceIntervalIndex build() {
+            LongObjectHashMap<IntervalGroup> groups = new LongObjectHashMap<>(pricesByKey.size());
+            long[] segmentCount = new long[1];
+            pricesByKey.forEach((key, prices) -> {
+                IntervalGroup group = new IntervalGroup(prices);
+                groups.put(key, group);
+                segmentCount[0] += group.timeline.size();
+            });
+            Map<PackedPriceKey.Wide, IntervalGroup> wideGroups = new HashMap<>();
+            pricesByWideKey.forEach((key, prices) -> {
+                IntervalGroup group = new IntervalGroup(prices);
+                wideGroups.put(key, group);
+                segmentCount[0] += group.timeline.size();
+            });
+            return new PriceIntervalIndex(groups, wideGroups, size, segmentCount[0]);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.wolper.prices.adapter.out.persistence.offheap;
+
+import com.wolper.prices.adapter.out.persistence.JdbcPriceRepository;
+import com.wolper.prices.application.port.out.PriceRepository;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador de persistencia sobre un {@link OffHeapPriceStore} columnar fuera del heap,
+ * pensado para catálogos de decenas de millones de precios.
+ * <p>
+ * Las filas se copian a las columnas según se leen de la tabla, sin materializar la lista
+ * de precios, así que una reconstrucción solo reserva en el heap el directorio nuevo; las
+ * columnas nuevas se reservan fuera del heap y las anteriores se liberan cuando el almacén
+ * antiguo deja de estar referenciado. El almacén se publica con una sola escritura volátil.
+ * <p>
+ * La ocupación se publica en {@code prices.store.memory} (por área) y {@code prices.store.rows}.
+ * Se activa con {@code prices.repository.engine=offheap}.
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(prefix = "prices.repository", name = "engine", havingValue = "offheap")
+public class OffHeapPriceRepository implements PriceRepository {
+    
+    private final JdbcPriceRepository source;
+    private volatile OffHeapPriceStore store;
+    
+    public OffHeapPriceRepository(JdbcPriceRepository source, MeterRegistry meterRegistry) {
+        this.source = source;
+        this.store = loadStore(source.currentVersion().rowCount());
+        Gauge.builder("prices.store.memory", this, repository -> repository.footprint().offHeapBytes())
+                .tag("area", "off_heap")
+                .baseUnit(BaseUnits.BYTES)
+                .description("Memoria de las columnas de precios fuera del heap")
+                .register(meterRegistry);
+        Gauge.builder("prices.store.memory", this, repository -> repository.footprint().onHeapBytes())
+                .tag("area", "directory")
+                .baseUnit(BaseUnits.BYTES)
+                .description("Memoria del directorio (brand, producto) en el heap")
+                .register(meterRegistry);
+        Gauge.builder("prices.store.rows", this, repository -> repository.footprint().rows())
+                .description("Precios en el almacén fuera del heap")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public List<BrandPrice> findApplicablePrices(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return findApplicablePrices(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    @Override
+    public List<BrandPrice> findApplicablePrices(long applicationEpochMicros, long productId, long brandId) {
+        if (log.isDebugEnabled()) {
+            log.debug("Consultando almacén fuera del heap: productId={}, brandId={}, fecha={}",
+                      productId, brandId, EpochMicros.toLocalDateTime(applicationEpochMicros));
+        }
+        
+        return store.findApplicable(applicationEpochMicros, productId, brandId);
+    }
+    
+    @Override
+    public Optional<BrandPrice> findFinalPrice(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return findFinalPrice(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    @Override
+    public Optional<BrandPrice> findFinalPrice(long applicationEpochMicros, long productId, long brandId) {
+        return store.findFinal(applicationEpochMicros, productId, brandId);
+    }
+    
+    @Override
+    public List<BrandPrice> findPricesBetween(Long productId, Long brandId, LocalDateTime from, LocalDateTime to) {
+        return store.findBetween(productId, brandId, from, to);
+    }
+    
+    /**
+     * Memoria ocupada por el almacén activo.
+     */
+    OffHeapPriceStore.Footprint footprint() {
+        return store.footprint();
+    }
+    
+    /**
+     * Reconstruye el almacén con los datos actuales y lo sustituye de forma atómica.
+     * Se ejecuta antes que el resto de oyentes para que las cachés se vacíen
+     * cuando el almacén nuevo ya está publicado.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPriceDataChanged(PriceDataChangedEvent event) {
+        log.info("Reconstruyendo almacén de precios fuera del heap para la versión {}", event.version());
+        store = loadStore(event.version().rowCount());
+    }
+    
+    private OffHeapPriceStore loadStore(long expectedRows) {
+        long start = System.nanoTime();
+        
+        OffHeapPriceStore.Builder builder = OffHeapPriceStore.builder(
+                (int) Math.min(expectedRows, OffHeapPriceStore.MAX_ROWS));
+        source.forEachPrice(builder::add);
+        OffHeapPriceStore loaded = builder.build();
+        
+        OffHeapPriceStore.Footprint footprint = loaded.footprint();
+        log.info("Almacén de precios fuera del heap cargado: {} precios, {} productos, {} MB fuera del heap, "
+                 + "{} KB de directorio en {} ms", footprint.rows(), footprint.groups(),
+                 footprint.offHeapBytes() / (1024 * 1024), footprint.onHeapBytes() / 1024,
+                 (System.nanoTime() - start) / 1_000_000);
+        
+        return loaded;
+    }
+}
@@ -0,0 +1,409 @@
+package com.wolper.prices.adapter.out.persistence.offheap;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PackedPriceKey;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Almacén columnar de precios fuera del heap.
+ * <p>
+ * Cada atributo de precio es una columna en un {@link ByteBuffer} directo (id, brand, producto,
+ * inicio, fin, tarifa, importe en céntimos, prioridad y moneda codificada con diccionario), con las
+ * filas ordenadas por (brand, producto, fecha de inicio). En el heap solo queda un directorio
+ * de grupos en arrays primitivos: las claves {@link PackedPriceKey} ordenadas y la primera fila de cada grupo,
+ * así que el número de objetos no crece con el número de precios y el GC no los recorre.
+ * Los {@link BrandPrice} se crean solo para las filas devueltas.
+ * <p>
+ * Los precios cuyos identificadores no caben en la clave empaquetada no entran en las columnas:
+ * se guardan como objetos en un mapa de respaldo en el heap, normalmente vacío.
+ * <p>
+ * Las columnas se leen con accesos absolutos: la instancia es inmutable y segura entre hilos.
+ */
+final class OffHeapPriceStore {
+    
+    /** Bytes por fila sumando todas las columnas. */
+    static final int ROW_BYTES = 7 * Long.BYTES + Integer.BYTES + Short.BYTES;
+    
+    /** Un {@link ByteBuffer} direccionable por int limita las columnas de 8 bytes a este número de filas. */
+    static final int MAX_ROWS = Integer.MAX_VALUE / Long.BYTES;
+    
+    private static final short NO_CURRENCY = -1;
+    
+    private final ByteBuffer ids;
+    private final ByteBuffer brands;
+    private final ByteBuffer products;
+    private final ByteBuffer starts;
+    private final ByteBuffer ends;
+    private final ByteBuffer priceLists;
+    private final ByteBuffer prices;
+    private final ByteBuffer priorities;
+    private final ByteBuffer currencyCodes;
+    private final String[] currencies;
+    
+    /** Claves (brand, producto) empaquetadas de cada grupo, en orden ascendente. */
+    private final long[] groupKeys;
+    /** Primera fila de cada grupo; {@code groupFirstRows[groupCount]} es el número de filas. */
+    private final int[] groupFirstRows;
+    private final int groupCount;
+    private final int size;
+    /** Precios con identificadores fuera de rango, por (brand, producto) y ordenados por fecha de inicio. */
+    private final Map<PackedPriceKey.Wide, List<BrandPrice>> widePrices;
+    private final int wideSize;
+    
+    private OffHeapPriceStore(Builder builder) {
+        this.ids = builder.ids;
+        this.brands = builder.brands;
+        this.products = builder.products;
+        this.starts = builder.starts;
+        this.ends = builder.ends;
+        this.priceLists = builder.priceLists;
+        this.prices = builder.prices;
+        this.priorities = builder.priorities;
+        this.currencyCodes = builder.currencyCodes;
+        this.currencies = builder.currencies.toArray(String[]::new);
+        this.groupCount = builder.groupCount;
+        this.size = builder.size;
+        this.groupKeys = Arrays.copyOf(builder.groupKeys, groupCount);
+        this.groupFirstRows = Arrays.copyOf(builder.groupFirstRows, groupCount + 1);
+        this.groupFirstRows[groupCount] = size;
+        this.widePrices = builder.widePrices;
+        this.wideSize = builder.wideSize;
+    }
+    
+    /**
+     * @param expectedRows Filas previstas; las columnas se reservan una vez con ese tamaño
+     *                     y solo crecen si llegan más filas
+     */
+    static Builder builder(int expectedRows) {
+        return new Builder(expectedRows);
+    }
+    
+    /**
+     * Busca los precios aplicables en la fecha indicada.
+     *
+     * @return Lista de precios aplicables ordenados por prioridad (mayor a menor)
+     */
+    List<BrandPrice> findApplicable(LocalDateTime applicationDate, long productId, long brandId) {
+        return findApplicable(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    /**
+     * Busca los precios aplicables en el instante indicado en microsegundos desde epoch.
+     *
+     * @return Lista de precios aplicables ordenados por prioridad (mayor a menor)
+     */
+    List<BrandPrice> findApplicable(long date, long productId, long brandId) {
+        int group = findGroup(brandId, productId);
+        if (group < 0) {
+            return findWideApplicable(date, productId, brandId);
+        }
+        List<BrandPrice> applicable = new ArrayList<>();
+        for (int row = groupFirstRows[group]; row < groupFirstRows[group + 1] && start(row) <= date; row++) {
+            if (end(row) >= date) {
+                applicable.add(priceAt(row));
+            }
+        }
+        applicable.sort(BrandPrice.HIGHEST_PRIORITY_FIRST);
+        return applicable;
+    }
+    
+    /**
+     * Busca el precio ganador en la fecha indicada; solo se materializa la fila ganadora.
+     */
+    Optional<BrandPrice> findFinal(LocalDateTime applicationDate, long productId, long brandId) {
+        return findFinal(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    /**
+     * Busca el precio ganador en el instante indicado en microsegundos desde epoch.
+     */
+    Optional<BrandPrice> findFinal(long date, long productId, long brandId) {
+        int group = findGroup(brandId, productId);
+        if (group < 0) {
+            return findWideApplicable(date, productId, brandId).stream().findFirst();
+        }
+        int winner = -1;
+        for (int row = groupFirstRows[group]; row < groupFirstRows[group + 1] && start(row) <= date; row++) {
+            if (end(row) >= date && (winner < 0 || outranks(row, winner))) {
+                winner = row;
+            }
+        }
+        return winner < 0 ? Optional.empty() : Optional.of(priceAt(winner));
+    }
+    
+    /**
+     * Busca los precios cuyo intervalo se solapa con el rango indicado.
+     *
+     * @return Lista de precios ordenados por fecha de inicio
+     */
+    List<BrandPrice> findBetween(long productId, long brandId, LocalDateTime from, LocalDateTime to) {
+        long fromMicros = EpochMicros.of(from);
+        long toMicros = EpochMicros.of(to);
+        int group = findGroup(brandId, productId);
+        if (group < 0) {
+            return widePrices(productId, brandId).stream()
+                    .filter(price -> price.getStartEpochMicros() <= toMicros && price.getEndEpochMicros() >= fromMicros)
+                    .toList();
+        }
+        List<BrandPrice> overlapping = new ArrayList<>();
+        for (int row = groupFirstRows[group]; row < groupFirstRows[group + 1] && start(row) <= toMicros; row++) {
+            if (end(row) >= fromMicros) {
+                overlapping.add(priceAt(row));
+            }
+        }
+        return overlapping;
+    }
+    
+    /**
+     * Número total de precios almacenados.
+     */
+    int size() {
+        return size + wideSize;
+    }
+    
+    /**
+     * Número de combinaciones (brand, producto) del directorio.
+     */
+    int groupCount() {
+        return groupCount + widePrices.size();
+    }
+    
+    /**
+     * Memoria ocupada: columnas fuera del heap y directorio en el heap.
+     */
+    Footprint footprint() {
+        long offHeap = (long) ids.capacity() + brands.capacity() + products.capacity() + starts.capacity()
+                + ends.capacity() + priceLists.capacity() + prices.capacity() + priorities.capacity()
+                + currencyCodes.capacity();
+        long onHeap = (long) groupCount * (Long.BYTES + Integer.BYTES) + Integer.BYTES;
+        return new Footprint(size(), groupCount(), offHeap, onHeap);
+    }
+    
+    /**
+     * Precios aplicables del mapa de respaldo, ordenados por prioridad (mayor a menor).
+     */
+    private List<BrandPrice> findWideApplicable(long date, long productId, long brandId) {
+        return widePrices(productId, brandId).stream()
+                .filter(price -> price.getStartEpochMicros() <= date && price.getEndEpochMicros() >= date)
+                .sorted(BrandPrice.HIGHEST_PRIORITY_FIRST)
+                .toList();
+    }
+    
+    /**
+     * Precios del mapa de respaldo; vacío para las claves que caben empaquetadas.
+     */
+    private List<BrandPrice> widePrices(long productId, long brandId) {
+        if (widePrices.isEmpty() || PackedPriceKey.of(brandId, productId) != PackedPriceKey.NONE) {
+            return List.of();
+        }
+        return widePrices.getOrDefault(new PackedPriceKey.Wide(brandId, productId), List.of());
+    }
+    
+    /**
+     * Búsqueda binaria del grupo en el directorio. Retorna -1 si no existe.
+     */
+    private int findGroup(long brandId, long productId) {
+        long key = PackedPriceKey.of(brandId, productId);
+        if (key == PackedPriceKey.NONE) {
+            return -1;
+        }
+        int group = Arrays.binarySearch(groupKeys, 0, groupCount, key);
+        return group < 0 ? -1 : group;
+    }
+    
+    /**
+     * Mismo orden que {@link BrandPrice#HIGHEST_PRIORITY_FIRST} leído directamente de las columnas.
+     */
+    private boolean outranks(int candidate, int current) {
+        int byPriority = Integer.compare(priorities.getInt(candidate * Integer.BYTES),
+                                         priorities.getInt(current * Integer.BYTES));
+        return byPriority != 0
+                ? byPriority > 0
+                : priceLists.getLong(candidate * Long.BYTES) > priceLists.getLong(current * Long.BYTES);
+    }
+    
+    private long start(int row) {
+        return starts.getLong(row * Long.BYTES);
+    }
+    
+    private long end(int row) {
+        return ends.getLong(row * Long.BYTES);
+    }
+    
+    private BrandPrice priceAt(int row) {
+        int longOffset = row * Long.BYTES;
+        short currency = currencyCodes.getShort(row * Short.BYTES);
+        return BrandPrice.builder()
+                .id(ids.getLong(longOffset))
+                .brandId(brands.getLong(longOffset))
+                .productId(products.getLong(longOffset))
+                .startEpochMicros(starts.getLong(longOffset))
+                .endEpochMicros(ends.getLong(longOffset))
+                .priceList(priceLists.getLong(longOffset))
+                .priceMinorUnits(prices.getLong(longOffset))
+                .priority(priorities.getInt(row * Integer.BYTES))
+                .currency(currency == NO_CURRENCY ? null : currencies[currency])
+                .build();
+    }
+    
+    /**
+     * Memoria ocupada por el almacén.
+     *
+     * @param rows Precios almacenados, incluidos los del mapa de respaldo
+     * @param groups Combinaciones (brand, producto) del directorio y del mapa de respaldo
+     * @param offHeapBytes Bytes reservados para las columnas fuera del heap
+     * @param onHeapBytes Bytes del directorio en el heap
+     */
+    record Footprint(long rows, long groups, long offHeapBytes, long onHeapBytes) {
+    }
+    
+    /**
+     * Escribe en las columnas precios recibidos en orden (brand, producto, fecha de inicio),
+     * sin guardar los objetos: cada precio se copia a las columnas y se descarta.
+     */
+    static final class Builder {
+        
+        private ByteBuffer ids;
+        private ByteBuffer brands;
+        private ByteBuffer products;
+        private ByteBuffer starts;
+        private ByteBuffer ends;
+        private ByteBuffer priceLists;
+        private ByteBuffer prices;
+        private ByteBuffer priorities;
+        private ByteBuffer currencyCodes;
+        private final List<String> currencies = new ArrayList<>();
+        private final Map<String, Short> currencyIndexes = new HashMap<>();
+        private final Map<PackedPriceKey.Wide, List<BrandPrice>> widePrices = new HashMap<>();
+        private int wideSize;
+        
+        private long[] groupKeys = new long[16];
+        private int[] groupFirstRows = new int[17];
+        private int groupCount;
+        private int capacity;
+        private int size;
+        private long lastStart;
+        
+        private Builder(int expectedRows) {
+            allocate(Math.min(Math.max(expectedRows, 16), MAX_ROWS));
+        }
+        
+        /**
+         * Añade un precio a las columnas, o al mapa de respaldo si sus identificadores
+         * no caben en {@link PackedPriceKey}.
+         *
+         * @throws IllegalArgumentException si el precio llega fuera de orden
+         */
+        Builder add(BrandPrice price) {
+            long key = PackedPriceKey.of(price.getBrandId(), price.getProductId());
+            if (key == PackedPriceKey.NONE) {
+                addWide(price);
+                return this;
+            }
+            if (size == capacity) {
+                allocate((int) Math.min(MAX_ROWS, capacity + (capacity >> 1)));
+            }
+            if (groupCount == 0 || groupKeys[groupCount - 1] != key) {
+                startGroup(key, price);
+            } else if (price.getStartEpochMicros() < lastStart) {
+                throw outOfOrder(price);
+            }
+            lastStart = price.getStartEpochMicros();
+            
+            int longOffset = size * Long.BYTES;
+            ids.putLong(longOffset, price.getId());
+            brands.putLong(longOffset, price.getBrandId());
+            products.putLong(longOffset, price.getProductId());
+            starts.putLong(longOffset, price.getStartEpochMicros());
+            ends.putLong(longOffset, price.getEndEpochMicros());
+            priceLists.putLong(longOffset, price.getPriceList());
+            prices.putLong(longOffset, price.getPriceMinorUnits());
+            priorities.putInt(size * Integer.BYTES, price.getPriority());
+            currencyCodes.putShort(size * Short.BYTES, currencyCode(price.getCurrency()));
+            size++;
+            return this;
+        }
+        
+        OffHeapPriceStore build() {
+            return new OffHeapPriceStore(this);
+        }
+        
+        private void addWide(BrandPrice price) {
+            List<BrandPrice> group = widePrices.computeIfAbsent(
+                    new PackedPriceKey.Wide(price.getBrandId(), price.getProductId()), key -> new ArrayList<>());
+            if (!group.isEmpty() && price.getStartEpochMicros() < group.getLast().getStartEpochMicros()) {
+                throw outOfOrder(price);
+            }
+            group.add(price);
+            wideSize++;
+        }
+        
+        private void startGroup(long key, BrandPrice price) {
+            if (groupCount > 0 && key < groupKeys[groupCount - 1]) {
+                throw outOfOrder(price);
+            }
+            if (groupCount == groupKeys.length) {
+                groupKeys = Arrays.copyOf(groupKeys, groupCount * 2);
+                groupFirstRows = Arrays.copyOf(groupFirstRows, groupCount * 2 + 1);
+            }
+            groupKeys[groupCount] = key;
+            groupFirstRows[groupCount] = size;
+            groupCount++;
+        }
+        
+        private short currencyCode(String currency) {
+            if (currency == null) {
+                return NO_CURRENCY;
+            }
+            return currencyIndexes.computeIfAbsent(currency, code -> {
+                if (currencies.size() == Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("Demasiadas monedas distintas: " + currencies.size());
+                }
+                currencies.add(code);
+                return (short) (currencies.size() - 1);
+            });
+        }
+        
+        /**
+         * Reserva las columnas con la nueva capacidad y copia las filas ya escritas.
+         */
+        private void allocate(int rows) {
+            if (rows <= size) {
+                throw new IllegalArgumentException("El almacén supera el máximo de " + MAX_ROWS + " precios");
+            }
+            ids = grow(ids, rows, Long.BYTES);
+            brands = grow(brands, rows, Long.BYTES);
+            products = grow(products, rows, Long.BYTES);
+            starts = grow(starts, rows, Long.BYTES);
+            ends = grow(ends, rows, Long.BYTES);
+            priceLists = grow(priceLists, rows, Long.BYTES);
+            prices = grow(prices, rows, Long.BYTES);
+            priorities = grow(priorities, rows, Integer.BYTES);
+            currencyCodes = grow(currencyCodes, rows, Short.BYTES);
+            capacity = rows;
+        }
+        
+        private ByteBuffer grow(ByteBuffer column, int rows, int bytesPerValue) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(rows * bytesPerValue).order(ByteOrder.nativeOrder());
+            if (column != null) {
+                grown.put(0, column, 0, size * bytesPerValue);
+            }
+            return grown;
+        }
+        
+        private IllegalArgumentException outOfOrder(BrandPrice price) {
+            return new IllegalArgumentException("Precio fuera de orden (brand, producto, fecha de inicio): id "
+                    + price.getId());
+        }
+    }
+}
@@ -0,0 +1,452 @@
+package com.wolper.prices.adapter.out.persistence.snapshot;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceDataVersion;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Snapshot binario de todos los precios, proyectado en memoria con {@code mmap}.
+ * <p>
+ * Formato (big endian):
+ * <ul>
+ *   <li>Cabecera de {@value #HEADER_BYTES} bytes: magic, versión de formato, checksum CRC32C
+ *       del resto del fichero, número de registros, tamaño de registro, número de monedas
+ *       y la {@link PriceDataVersion} de los datos exportados.</li>
+ *   <li>Registros de tamaño fijo ({@value #RECORD_BYTES} bytes) ordenados por
+ *       (brand, producto, fecha de inicio): id, brand, producto, inicio, fin, tarifa,
+ *       importe en céntimos, prioridad e índice de moneda.</li>
+ *   <li>Diccionario de monedas: longitud y bytes UTF-8 de cada código.</li>
+ * </ul>
+ * Las consultas localizan el grupo (brand, producto) con una búsqueda binaria sobre
+ * los registros proyectados y solo crean {@link BrandPrice} para las filas devueltas:
+ * abrir el snapshot no recorre ni materializa la tabla, el sistema operativo carga
+ * las páginas bajo demanda. Las lecturas usan accesos absolutos, así que la instancia
+ * es inmutable y segura entre hilos.
+ */
+public final class PriceSnapshot {
+    
+    static final int MAGIC = 0x4250534E; // "BPSN"
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int RECORD_BYTES = 64;
+    
+    /** La proyección de un fichero está limitada a 2 GB, diccionario de monedas incluido. */
+    static final int MAX_RECORDS = (Integer.MAX_VALUE - HEADER_BYTES) / RECORD_BYTES - 1024;
+    
+    private static final int CHECKSUM_OFFSET = 8;
+    private static final int RECORD_COUNT_OFFSET = 16;
+    private static final int RECORD_BYTES_OFFSET = 20;
+    private static final int CURRENCY_COUNT_OFFSET = 24;
+    private static final int VERSION_ROW_COUNT_OFFSET = 32;
+    private static final int VERSION_MAX_ID_OFFSET = 40;
+    private static final int VERSION_LAST_MODIFIED_OFFSET = 48;
+    
+    private static final int ID = 0;
+    private static final int BRAND = 8;
+    private static final int PRODUCT = 16;
+    private static final int START = 24;
+    private static final int END = 32;
+    private static final int PRICE_LIST = 40;
+    private static final int PRICE = 48;
+    private static final int PRIORITY = 56;
+    private static final int CURRENCY = 60;
+    
+    private static final long NO_LAST_MODIFIED = Long.MIN_VALUE;
+    private static final int NO_CURRENCY = -1;
+    
+    private final ByteBuffer data;
+    private final int size;
+    private final String[] currencies;
+    private final PriceDataVersion version;
+    
+    private PriceSnapshot(ByteBuffer data, int size, String[] currencies, PriceDataVersion version) {
+        this.data = data;
+        this.size = size;
+        this.currencies = currencies;
+        this.version = version;
+    }
+    
+    /**
+     * Proyecta en memoria un snapshot existente y valida su cabecera.
+     *
+     * @param file Fichero de snapshot
+     * @param verifyChecksum Si se recalcula el checksum, lo que implica leer el fichero completo
+     * @throws PriceSnapshotException si el fichero no se puede leer o no es un snapshot válido
+     */
+    public static PriceSnapshot open(Path file, boolean verifyChecksum) {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new PriceSnapshotException("Tamaño de snapshot inválido: " + length + " bytes en " + file);
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ByteOrder.BIG_ENDIAN);
+        } catch (IOException e) {
+            throw new PriceSnapshotException("No se pudo abrir el snapshot " + file, e);
+        }
+        
+        if (data.getInt(0) != MAGIC) {
+            throw new PriceSnapshotException("El fichero " + file + " no es un snapshot de precios");
+        }
+        if (data.getInt(4) != FORMAT_VERSION || data.getInt(RECORD_BYTES_OFFSET) != RECORD_BYTES) {
+            throw new PriceSnapshotException("Versión de formato no soportada: " + data.getInt(4));
+        }
+        int size = data.getInt(RECORD_COUNT_OFFSET);
+        long dictionaryOffset = HEADER_BYTES + (long) size * RECORD_BYTES;
+        if (size < 0 || dictionaryOffset > data.capacity()) {
+            throw new PriceSnapshotException("Snapshot truncado: " + size + " registros en "
+                    + data.capacity() + " bytes");
+        }
+        if (verifyChecksum && checksum(data) != data.getLong(CHECKSUM_OFFSET)) {
+            throw new PriceSnapshotException("Checksum incorrecto en el snapshot " + file);
+        }
+        
+        String[] currencies = readCurrencies(data, (int) dictionaryOffset, data.getInt(CURRENCY_COUNT_OFFSET));
+        long lastModified = data.getLong(VERSION_LAST_MODIFIED_OFFSET);
+        PriceDataVersion version = new PriceDataVersion(data.getLong(VERSION_ROW_COUNT_OFFSET),
+                data.getLong(VERSION_MAX_ID_OFFSET),
+                lastModified == NO_LAST_MODIFIED ? null : EpochMicros.toLocalDateTime(lastModified));
+        return new PriceSnapshot(data, size, currencies, version);
+    }
+    
+    /**
+     * Crea un escritor de snapshot. El fichero destino solo se sustituye al confirmar.
+     */
+    public static Writer writer(Path file) {
+        return new Writer(file);
+    }
+    
+    /**
+     * Versión de los datos de precios exportados en el snapshot.
+     */
+    public PriceDataVersion version() {
+        return version;
+    }
+    
+    /**
+     * Número de precios del snapshot.
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Busca los precios aplicables en la fecha indicada.
+     *
+     * @return Lista de precios aplicables ordenados por prioridad (mayor a menor)
+     */
+    public List<BrandPrice> findApplicable(LocalDateTime applicationDate, long productId, long brandId) {
+        return findApplicable(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    /**
+     * Busca los precios aplicables en el instante indicado en microsegundos desde epoch.
+     *
+     * @return Lista de precios aplicables ordenados por prioridad (mayor a menor)
+     */
+    public List<BrandPrice> findApplicable(long date, long productId, long brandId) {
+        List<BrandPrice> applicable = new ArrayList<>();
+        for (int i = firstOf(brandId, productId); isInGroup(i, brandId, productId) && start(i) <= date; i++) {
+            if (end(i) >= date) {
+                applicable.add(priceAt(i));
+            }
+        }
+        applicable.sort(BrandPrice.HIGHEST_PRIORITY_FIRST);
+        return applicable;
+    }
+    
+    /**
+     * Busca el precio ganador en la fecha indicada; solo se materializa la fila ganadora.
+     */
+    public Optional<BrandPrice> findFinal(LocalDateTime applicationDate, long productId, long brandId) {
+        return findFinal(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    /**
+     * Busca el precio ganador en el instante indicado en microsegundos desde epoch.
+     */
+    public Optional<BrandPrice> findFinal(long date, long productId, long brandId) {
+        int winner = -1;
+        for (int i = firstOf(brandId, productId); isInGroup(i, brandId, productId) && start(i) <= date; i++) {
+            if (end(i) >= date && (winner < 0 || outranks(i, winner))) {
+                winner = i;
+            }
+        }
+        return winner < 0 ? Optional.empty() : Optional.of(priceAt(winner));
+    }
+    
+    /**
+     * Busca los precios cuyo intervalo se solapa con el rango indicado.
+     *
+     * @return Lista de precios ordenados por fecha de inicio
+     */
+    public List<BrandPrice> findBetween(long productId, long brandId, LocalDateTime from, LocalDateTime to) {
+        long fromMicros = EpochMicros.of(from);
+        long toMicros = EpochMicros.of(to);
+        List<BrandPrice> overlapping = new ArrayList<>();
+        for (int i = firstOf(brandId, productId); isInGroup(i, brandId, productId) && start(i) <= toMicros; i++) {
+            if (end(i) >= fromMicros) {
+                overlapping.add(priceAt(i));
+            }
+        }
+        return overlapping;
+    }
+    
+    /**
+     * Búsqueda binaria del primer registro cuya clave (brand, producto) es mayor o igual a la indicada.
+     */
+    private int firstOf(long brandId, long productId) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int offset = offset(mid);
+            long brand = data.getLong(offset + BRAND);
+            if (brand < brandId || (brand == brandId && data.getLong(offset + PRODUCT) < productId)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    private boolean isInGroup(int index, long brandId, long productId) {
+        if (index >= size) {
+            return false;
+        }
+        int offset = offset(index);
+        return data.getLong(offset + BRAND) == brandId && data.getLong(offset + PRODUCT) == productId;
+    }
+    
+    /**
+     * Mismo orden que {@link BrandPrice#HIGHEST_PRIORITY_FIRST} leído directamente de los registros.
+     */
+    private boolean outranks(int candidate, int current) {
+        int byPriority = Integer.compare(data.getInt(offset(candidate) + PRIORITY), data.getInt(offset(current) + PRIORITY));
+        return byPriority != 0
+                ? byPriority > 0
+                : data.getLong(offset(candidate) + PRICE_LIST) > data.getLong(offset(current) + PRICE_LIST);
+    }
+    
+    private long start(int index) {
+        return data.getLong(offset(index) + START);
+    }
+    
+    private long end(int index) {
+        return data.getLong(offset(index) + END);
+    }
+    
+    private BrandPrice priceAt(int index) {
+        int offset = offset(index);
+        int currency = data.getInt(offset + CURRENCY);
+        return BrandPrice.builder()
+                .id(data.getLong(offset + ID))
+                .brandId(data.getLong(offset + BRAND))
+                .productId(data.getLong(offset + PRODUCT))
+                .startEpochMicros(data.getLong(offset + START))
+                .endEpochMicros(data.getLong(offset + END))
+                .priceList(data.getLong(offset + PRICE_LIST))
+                .priceMinorUnits(data.getLong(offset + PRICE))
+                .priority(data.getInt(offset + PRIORITY))
+                .currency(currency == NO_CURRENCY ? null : currencies[currency])
+                .build();
+    }
+    
+    private static int offset(int index) {
+        return HEADER_BYTES + index * RECORD_BYTES;
+    }
+    
+    private static long checksum(ByteBuffer data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data.slice(HEADER_BYTES, data.capacity() - HEADER_BYTES));
+        return crc.getValue();
+    }
+    
+    private static String[] readCurrencies(ByteBuffer data, int offset, int count) {
+        try {
+            ByteBuffer dictionary = data.slice(offset, data.capacity() - offset);
+            String[] currencies = new String[count];
+            for (int i = 0; i < count; i++) {
+                byte[] code = new byte[dictionary.getShort()];
+                dictionary.get(code);
+                currencies[i] = new String(code, StandardCharsets.UTF_8);
+            }
+            return currencies;
+        } catch (RuntimeException e) {
+            throw new PriceSnapshotException("Diccionario de monedas inválido en el snapshot", e);
+        }
+    }
+    
+    /**
+     * Escribe un snapshot a partir de precios recibidos en orden (brand, producto, fecha de inicio),
+     * sin acumularlos en memoria. Los registros se escriben en un fichero temporal junto al destino,
+     * que se sustituye de forma atómica al confirmar; las proyecciones abiertas del fichero anterior
+     * siguen siendo válidas.
+     */
+    public static final class Writer implements AutoCloseable {
+        
+        private static final int BUFFER_BYTES = 64 * 1024;
+        
+        private final Path target;
+        private final Path temporary;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.BIG_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private final Map<String, Integer> currencyIndexes = new HashMap<>();
+        private final List<String> currencies = new ArrayList<>();
+        private BrandPrice previous;
+        private int size;
+        private boolean committed;
+        
+        private Writer(Path target) {
+            this.target = target.toAbsolutePath();
+            this.temporary = this.target.resolveSibling(this.target.getFileName() + ".tmp");
+            try {
+                Files.createDirectories(this.target.getParent());
+                this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                channel.position(HEADER_BYTES);
+            } catch (IOException e) {
+                throw new PriceSnapshotException("No se pudo crear el snapshot " + temporary, e);
+            }
+        }
+        
+        /**
+         * Añade un precio al snapshot.
+         *
+         * @throws PriceSnapshotException si el precio llega fuera de orden
+         */
+        public Writer add(BrandPrice price) {
+            if (previous != null && compare(previous, price) > 0) {
+                throw new PriceSnapshotException("Precios fuera de orden en el snapshot: id "
+                        + previous.getId() + " antes que id " + price.getId());
+            }
+            if (size == MAX_RECORDS) {
+                throw new PriceSnapshotException("El snapshot supera el máximo de " + MAX_RECORDS + " precios");
+            }
+            ensureRemaining(RECORD_BYTES);
+            buffer.putLong(price.getId())
+                  .putLong(price.getBrandId())
+                  .putLong(price.getProductId())
+                  .putLong(price.getStartEpochMicros())
+                  .putLong(price.getEndEpochMicros())
+                  .putLong(price.getPriceList())
+                  .putLong(price.getPriceMinorUnits())
+                  .putInt(price.getPriority())
+                  .putInt(currencyIndex(price.getCurrency()));
+            previous = price;
+            size++;
+            return this;
+        }
+        
+        /**
+         * Escribe el diccionario de monedas y la cabecera, y sustituye el fichero destino.
+         *
+         * @param version Versión de los datos exportados, leída antes de empezar a recorrerlos
+         */
+        public void commit(PriceDataVersion version) {
+            try {
+                for (String currency : currencies) {
+                    byte[] code = currency.getBytes(StandardCharsets.UTF_8);
+                    ensureRemaining(Short.BYTES + code.length);
+                    buffer.putShort((short) code.length).put(code);
+                }
+                flush();
+                
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.BIG_ENDIAN)
+                        .putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putLong(crc.getValue())
+                        .putInt(size)
+                        .putInt(RECORD_BYTES)
+                        .putInt(currencies.size())
+                        .putInt(0)
+                        .putLong(version.rowCount())
+                        .putLong(version.maxId())
+                        .putLong(version.lastModified() == null
+                                ? NO_LAST_MODIFIED : EpochMicros.of(version.lastModified()))
+                        .putLong(0)
+                        .flip();
+                channel.write(header, 0);
+                channel.force(true);
+                channel.close();
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                committed = true;
+            } catch (IOException e) {
+                throw new PriceSnapshotException("No se pudo escribir el snapshot " + target, e);
+            }
+        }
+        
+        /**
+         * Descarta el fichero temporal si el snapshot no se ha confirmado.
+         */
+        @Override
+        public void close() {
+            if (committed) {
+                return;
+            }
+            try {
+                channel.close();
+                Files.deleteIfExists(temporary);
+            } catch (IOException e) {
+                throw new PriceSnapshotException("No se pudo descartar el snapshot " + temporary, e);
+            }
+        }
+        
+        private int currencyIndex(String currency) {
+            if (currency == null) {
+                return NO_CURRENCY;
+            }
+            return currencyIndexes.computeIfAbsent(currency, code -> {
+                currencies.add(code);
+                return currencies.size() - 1;
+            });
+        }
+        
+        private void ensureRemaining(int bytes) {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+        
+        private void flush() {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new PriceSnapshotException("No se pudo escribir el snapshot " + temporary, e);
+            }
+            buffer.clear();
+        }
+        
+        private static int compare(BrandPrice first, BrandPrice second) {
+            int byBrand = Long.compare(first.getBrandId(), second.getBrandId());
+            if (byBrand != 0) {
+                return byBrand;
+            }
+            int byProduct = Long.compare(first.getProductId(), second.getProductId());
+            return byProduct != 0 ? byProduct : Long.compare(first.getStartEpochMicros(), second.getStartEpochMicros());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.wolper.prices.adapter.out.persistence.snapshot;
+
+/**
+ * Excepción lanzada cuando el fichero de snapshot no se puede leer o escribir,
+ * o su contenido no es válido (cabecera, versión de formato o checksum).
+ */
+public class PriceSnapshotException extends RuntimeException {
+    
+    public PriceSnapshotException(String message) {
+        super(message);
+    }
+    
+    public PriceSnapshotException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
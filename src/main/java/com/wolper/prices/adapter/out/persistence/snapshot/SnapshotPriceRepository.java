@@ -0,0 +1,136 @@
+package com.wolper.prices.adapter.out.persistence.snapshot;
+
+import com.wolper.prices.adapter.out.persistence.JdbcPriceRepository;
+import com.wolper.prices.application.port.out.PriceRepository;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Adaptador de persistencia que resuelve las consultas desde un {@link PriceSnapshot}
+ * proyectado en memoria.
+ * <p>
+ * Al arrancar compara la versión guardada en el snapshot con la versión actual de la tabla
+ * (una consulta barata): si coinciden, el servicio atiende peticiones sin recorrer la tabla
+ * por JDBC. Si el fichero no existe, está desactualizado o no es válido, se exporta de nuevo.
+ * Cuando cambian los datos se exporta un snapshot nuevo y se publica con una sola escritura
+ * volátil, igual que el índice en memoria.
+ * Se activa con {@code prices.repository.engine=snapshot}.
+ */
+@Slf4j
+public class SnapshotPriceRepository implements PriceRepository {
+    
+    private final JdbcPriceRepository source;
+    private final Path file;
+    private final boolean verifyChecksum;
+    private volatile PriceSnapshot snapshot;
+    
+    /**
+     * @param source Repositorio JDBC del que se exportan los precios y se lee la versión actual
+     * @param file Fichero de snapshot
+     * @param verifyChecksum Si se valida el checksum del snapshot existente al arrancar
+     */
+    public SnapshotPriceRepository(JdbcPriceRepository source, Path file, boolean verifyChecksum) {
+        this.source = source;
+        this.file = file;
+        this.verifyChecksum = verifyChecksum;
+        this.snapshot = openOrExport(source.currentVersion());
+    }
+    
+    @Override
+    public List<BrandPrice> findApplicablePrices(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return findApplicablePrices(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    @Override
+    public List<BrandPrice> findApplicablePrices(long applicationEpochMicros, long productId, long brandId) {
+        if (log.isDebugEnabled()) {
+            log.debug("Consultando snapshot: productId={}, brandId={}, fecha={}",
+                      productId, brandId, EpochMicros.toLocalDateTime(applicationEpochMicros));
+        }
+        
+        return snapshot.findApplicable(applicationEpochMicros, productId, brandId);
+    }
+    
+    @Override
+    public Optional<BrandPrice> findFinalPrice(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return findFinalPrice(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    @Override
+    public Optional<BrandPrice> findFinalPrice(long applicationEpochMicros, long productId, long brandId) {
+        return snapshot.findFinal(applicationEpochMicros, productId, brandId);
+    }
+    
+    @Override
+    public List<BrandPrice> findPricesBetween(Long productId, Long brandId, LocalDateTime from, LocalDateTime to) {
+        return snapshot.findBetween(productId, brandId, from, to);
+    }
+    
+    /**
+     * Versión de los datos servidos por el snapshot activo.
+     */
+    public PriceDataVersion loadedVersion() {
+        return snapshot.version();
+    }
+    
+    /**
+     * Exporta un snapshot con los datos nuevos y lo sustituye de forma atómica.
+     * Se ejecuta antes que el resto de oyentes para que las cachés se vacíen
+     * cuando el snapshot nuevo ya está publicado.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onPriceDataChanged(PriceDataChangedEvent event) {
+        log.info("Exportando snapshot de precios para la versión {}", event.version());
+        snapshot = export(event.version());
+    }
+    
+    private PriceSnapshot openOrExport(PriceDataVersion current) {
+        if (Files.exists(file)) {
+            long start = System.nanoTime();
+            try {
+                PriceSnapshot existing = PriceSnapshot.open(file, verifyChecksum);
+                if (existing.version().equals(current)) {
+                    log.info("Snapshot de precios reutilizado: {} precios en {} ms desde {}",
+                             existing.size(), (System.nanoTime() - start) / 1_000_000, file);
+                    return existing;
+                }
+                log.info("Snapshot de precios desactualizado: {} -> {}", existing.version(), current);
+            } catch (PriceSnapshotException e) {
+                log.warn("Snapshot de precios descartado: {}", e.getMessage());
+            }
+        }
+        return export(current);
+    }
+    
+    /**
+     * La versión se lee antes de recorrer la tabla: si los datos cambian durante la exportación,
+     * el snapshot queda marcado con la versión anterior y se vuelve a exportar.
+     */
+    private PriceSnapshot export(PriceDataVersion version) {
+        long start = System.nanoTime();
+        
+        try (PriceSnapshot.Writer writer = PriceSnapshot.writer(file)) {
+            source.forEachPrice(writer::add);
+            writer.commit(version);
+        }
+        PriceSnapshot exported = PriceSnapshot.open(file, false);
+        
+        log.info("Snapshot de precios exportado: {} precios en {} ms en {}",
+                 exported.size(), (System.nanoTime() - start) / 1_000_000, file);
+        
+        return exported;
+    }
+}
@@ -0,0 +1,155 @@
+package com.wolper.prices.application.cache;
+
+import com.wolper.prices.collection.ConcurrentLongObjectHashMap;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.event.PricePartitionReloadedEvent;
+import com.wolper.prices.domain.model.PackedPriceKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Caché de corta duración de huecos sin precio: periodos en los que una combinación
+ * (brand, producto) que sí tiene precios no tiene ninguno vigente.
+ * <p>
+ * Cada combinación guarda un solo hueco, en microsegundos desde epoch; cualquier consulta
+ * dentro de él se responde como no encontrada sin llegar al repositorio mientras no caduque.
+ * Al llenarse se vacía entera: las entradas viven poco y no compensa un desalojo más fino.
+ * Como en {@link PriceSegmentCache}, cada vaciado abre una nueva generación y los huecos
+ * calculados antes del vaciado se descartan al guardarse.
+ */
+@Slf4j
+public final class NegativePriceCache {
+    
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long windowMicros;
+    private final LongSupplier nanoClock;
+    
+    private final ConcurrentLongObjectHashMap<Gap> gaps = new ConcurrentLongObjectHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    
+    /**
+     * @param maxEntries Máximo de combinaciones con hueco guardado
+     * @param ttl Tiempo que se confía en un hueco; cero desactiva la caché
+     * @param window Longitud máxima del hueco que se mide tras un fallo
+     */
+    public NegativePriceCache(int maxEntries, Duration ttl, Duration window) {
+        this(maxEntries, ttl, window, System::nanoTime);
+    }
+    
+    NegativePriceCache(int maxEntries, Duration ttl, Duration window, LongSupplier nanoClock) {
+        if (maxEntries < 1 || ttl.isNegative() || window.isNegative()) {
+            throw new IllegalArgumentException("Límites de caché negativa inválidos: maxEntries=" + maxEntries
+                    + ", ttl=" + ttl + ", window=" + window);
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.windowMicros = window.toNanos() / 1_000;
+        this.nanoClock = nanoClock;
+    }
+    
+    /**
+     * Caché desactivada: no guarda huecos.
+     */
+    public static NegativePriceCache disabled() {
+        return new NegativePriceCache(1, Duration.ZERO, Duration.ZERO);
+    }
+    
+    public boolean isEnabled() {
+        return ttlNanos > 0 && windowMicros > 0;
+    }
+    
+    /**
+     * Longitud máxima del hueco que se mide tras un fallo, en microsegundos.
+     */
+    public long windowMicros() {
+        return windowMicros;
+    }
+    
+    /**
+     * @return {@code true} si el instante cae en un hueco sin precio aún vigente
+     */
+    public boolean isAbsent(long applicationEpochMicros, long productId, long brandId) {
+        if (!isEnabled()) {
+            return false;
+        }
+        long key = PackedPriceKey.of(brandId, productId);
+        Gap gap = key != PackedPriceKey.NONE ? gaps.get(key) : null;
+        if (gap == null || applicationEpochMicros < gap.fromMicros || applicationEpochMicros > gap.toMicros) {
+            return false;
+        }
+        if (nanoClock.getAsLong() - gap.expiresAtNanos > 0) {
+            gaps.remove(key, gap);
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+    
+    /**
+     * Guarda el hueco {@code [fromMicros, toMicros]}, ambos incluidos, salvo que la caché se
+     * haya vaciado desde la generación indicada.
+     */
+    public void put(long productId, long brandId, long fromMicros, long toMicros, long expectedGeneration) {
+        long key = PackedPriceKey.of(brandId, productId);
+        if (!isEnabled() || key == PackedPriceKey.NONE || fromMicros > toMicros) {
+            return;
+        }
+        if (gaps.size() >= maxEntries) {
+            log.debug("Caché negativa llena ({} entradas): se vacía", maxEntries);
+            gaps.clear();
+        }
+        if (generation.get() == expectedGeneration) {
+            gaps.put(key, new Gap(fromMicros, toMicros, nanoClock.getAsLong() + ttlNanos));
+        }
+    }
+    
+    /**
+     * Generación actual; se lee antes de consultar el repositorio y se pasa a {@link #put}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+    
+    public void clear() {
+        generation.incrementAndGet();
+        gaps.clear();
+    }
+    
+    /**
+     * Un hueco puede haber dejado de serlo con los datos nuevos.
+     */
+    @EventListener
+    public void onPriceDataChanged(PriceDataChangedEvent event) {
+        clear();
+    }
+    
+    /**
+     * Se vacía entera también al recargar una marca: los huecos caducan enseguida
+     * y no compensa recorrer la caché para descartar solo los de esa marca.
+     */
+    @EventListener
+    public void onPricePartitionReloaded(PricePartitionReloadedEvent event) {
+        clear();
+    }
+    
+    public int size() {
+        return gaps.size();
+    }
+    
+    /**
+     * Consultas respondidas desde la caché.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+    
+    private record Gap(long fromMicros, long toMicros, long expiresAtNanos) {
+    }
+}
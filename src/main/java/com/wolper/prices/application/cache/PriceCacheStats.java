@@ -0,0 +1,23 @@
+package com.wolper.prices.application.cache;
+
+/**
+ * Estadísticas acumuladas de la caché de tramos de precio.
+ *
+ * @param hits Consultas resueltas desde la caché
+ * @param misses Consultas que tuvieron que ir al repositorio
+ * @param evictions Entradas desalojadas por superar los límites
+ * @param entries Combinaciones (brand, producto) en caché
+ * @param segments Tramos en caché
+ * @param estimatedBytes Memoria estimada ocupada por la caché
+ */
+public record PriceCacheStats(long hits, long misses, long evictions,
+                              long entries, long segments, long estimatedBytes) {
+    
+    /**
+     * Proporción de aciertos sobre el total de consultas.
+     */
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,141 @@
+package com.wolper.prices.application.cache;
+
+import com.wolper.prices.application.port.out.PriceKeySource;
+import com.wolper.prices.collection.LongBloomFilter;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.event.PricePartitionReloadedEvent;
+import com.wolper.prices.domain.model.PackedPriceKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de existencia de combinaciones (brand, producto) construido a partir de los datos.
+ * Una consulta de un producto sin ningún precio (enlaces caducados, bots) se rechaza sin llegar
+ * al repositorio; un falso positivo solo significa que esa consulta sí llega.
+ * <p>
+ * El filtro se reconstruye cuando cambian los datos y se publica con una escritura volátil,
+ * así que las consultas nunca esperan a una reconstrucción. Entre un cambio en la base de datos
+ * y su detección, un producto nuevo se sigue rechazando, igual que en los motores en memoria.
+ * Las combinaciones que no caben en la clave empaquetada no se filtran.
+ */
+@Slf4j
+public class PriceKeyFilter {
+    
+    private static final int INITIAL_KEYS = 1024;
+    
+    private final PriceKeySource source;
+    private final double falsePositiveRate;
+    private final LongAdder rejections = new LongAdder();
+    /** {@code null} cuando el filtro está desactivado. */
+    private volatile LongBloomFilter filter;
+    private volatile int keys;
+    
+    /**
+     * @param falsePositiveRate Proporción de productos inexistentes que el filtro deja pasar
+     */
+    public PriceKeyFilter(PriceKeySource source, double falsePositiveRate) {
+        this.source = source;
+        this.falsePositiveRate = falsePositiveRate;
+        rebuild();
+    }
+    
+    private PriceKeyFilter() {
+        this.source = null;
+        this.falsePositiveRate = 0;
+    }
+    
+    /**
+     * Filtro desactivado: deja pasar todas las consultas.
+     */
+    public static PriceKeyFilter acceptAll() {
+        return new PriceKeyFilter();
+    }
+    
+    /**
+     * @return {@code false} si la combinación seguro que no tiene ningún precio
+     */
+    public boolean mightHavePrices(long productId, long brandId) {
+        LongBloomFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        long key = PackedPriceKey.of(brandId, productId);
+        if (key == PackedPriceKey.NONE || current.mightContain(key)) {
+            return true;
+        }
+        rejections.increment();
+        return false;
+    }
+    
+    /**
+     * Vuelve a leer las combinaciones con precios y publica un filtro nuevo.
+     */
+    public synchronized void rebuild() {
+        if (source == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        
+        // Las claves se acumulan primero para dimensionar el filtro con su número exacto
+        long[][] buffer = {new long[INITIAL_KEYS]};
+        int[] count = {0};
+        source.forEachProductKey(key -> {
+            if (count[0] == buffer[0].length) {
+                buffer[0] = Arrays.copyOf(buffer[0], buffer[0].length * 2);
+            }
+            buffer[0][count[0]++] = key;
+        });
+        LongBloomFilter rebuilt = new LongBloomFilter(count[0], falsePositiveRate);
+        for (int i = 0; i < count[0]; i++) {
+            rebuilt.put(buffer[0][i]);
+        }
+        filter = rebuilt;
+        keys = count[0];
+        
+        log.info("Filtro de existencia de productos construido: {} combinaciones, {} bytes en {} ms",
+                 count[0], rebuilt.estimatedBytes(), (System.nanoTime() - start) / 1_000_000);
+    }
+    
+    /**
+     * Los oyentes se ejecutan en orden, así que el filtro se reconstruye después de los índices.
+     */
+    @EventListener
+    public void onPriceDataChanged(PriceDataChangedEvent event) {
+        rebuild();
+    }
+    
+    /**
+     * Una marca recargada puede tener productos nuevos; el filtro no se puede reconstruir
+     * por marcas, así que se reconstruye entero.
+     */
+    @EventListener
+    public void onPricePartitionReloaded(PricePartitionReloadedEvent event) {
+        rebuild();
+    }
+    
+    public boolean isEnabled() {
+        return source != null;
+    }
+    
+    /**
+     * Combinaciones con precios en el filtro publicado.
+     */
+    public int keys() {
+        return keys;
+    }
+    
+    /**
+     * Consultas rechazadas por no tener la combinación ningún precio.
+     */
+    public long rejections() {
+        return rejections.sum();
+    }
+    
+    public long estimatedBytes() {
+        LongBloomFilter current = filter;
+        return current == null ? 0 : current.estimatedBytes();
+    }
+}
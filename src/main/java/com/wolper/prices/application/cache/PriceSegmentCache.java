@@ -0,0 +1,288 @@
+package com.wolper.prices.application.cache;
+
+import com.wolper.prices.collection.ConcurrentLongObjectHashMap;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PackedPriceKey;
+import com.wolper.prices.domain.model.PriceSegment;
+import com.wolper.prices.domain.model.PriceTimeline;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caché acotada de tramos de precio efectivo.
+ * La clave es la combinación (brand, producto) y cada entrada guarda los tramos de
+ * validez ya resueltos, de modo que cualquier fecha dentro de un tramo es un acierto
+ * aunque cada cliente envíe un instante distinto.
+ * <p>
+ * Las lecturas no toman locks ni crean objetos: la clave es un {@link PackedPriceKey} en un
+ * mapa primitivo y los límites de los tramos se comparan en microsegundos desde epoch.
+ * Las combinaciones cuyos identificadores no caben en la clave empaquetada no se cachean. El desalojo sigue el algoritmo CLOCK (segunda oportunidad):
+ * las entradas leídas desde su última revisión se conservan una vuelta más.
+ * <p>
+ * Cada vaciado abre una nueva generación: los tramos resueltos antes del vaciado
+ * se descartan al guardarse, para no reintroducir datos obsoletos.
+ */
+public final class PriceSegmentCache {
+    
+    /** Coste estimado de una clave: nodo del mapa, entrada y nodo de la cola de desalojo. */
+    static final long ESTIMATED_ENTRY_BYTES = 160;
+    
+    /** Coste estimado de un tramo: el propio tramo, sus dos fechas, sus límites y el precio compacto. */
+    static final long ESTIMATED_SEGMENT_BYTES = 256;
+    
+    private final long maxEntries;
+    private final long maxBytes;
+    
+    private final ConcurrentLongObjectHashMap<Entry> entries = new ConcurrentLongObjectHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> clock = new ConcurrentLinkedQueue<>();
+    private final AtomicLong segmentCount = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * @param maxEntries Máximo de combinaciones (brand, producto) en caché
+     * @param maxBytes Presupuesto de memoria estimada en bytes
+     */
+    public PriceSegmentCache(long maxEntries, long maxBytes) {
+        if (maxEntries < 1 || maxBytes < ESTIMATED_ENTRY_BYTES + ESTIMATED_SEGMENT_BYTES) {
+            throw new IllegalArgumentException(
+                    "Límites de caché inválidos: maxEntries=" + maxEntries + ", maxBytes=" + maxBytes);
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * Busca el tramo en caché que contiene la fecha indicada.
+     *
+     * @return El tramo, o {@code null} si no está en caché
+     */
+    public PriceSegment find(LocalDateTime applicationDate, long productId, long brandId) {
+        return find(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    /**
+     * Busca el tramo en caché que contiene el instante indicado en microsegundos desde epoch.
+     *
+     * @return El tramo, o {@code null} si no está en caché
+     */
+    public PriceSegment find(long applicationEpochMicros, long productId, long brandId) {
+        long key = PackedPriceKey.of(brandId, productId);
+        Entry entry = key != PackedPriceKey.NONE ? entries.get(key) : null;
+        PriceSegment segment = entry != null ? entry.find(applicationEpochMicros) : null;
+        if (segment == null) {
+            misses.increment();
+            return null;
+        }
+        entry.referenced = true;
+        hits.increment();
+        return segment;
+    }
+    
+    /**
+     * Generación actual. Debe leerse antes de resolver un fallo y pasarse a
+     * {@link #put(PriceSegment, long)}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+    
+    /**
+     * Guarda un tramo resuelto en la generación actual.
+     */
+    public void put(PriceSegment segment) {
+        put(segment, generation.get());
+    }
+    
+    /**
+     * Guarda un tramo resuelto y desaloja entradas si se superan los límites.
+     * Se ignora si la caché se ha vaciado desde que se leyó la generación indicada.
+     */
+    public void put(PriceSegment segment, long expectedGeneration) {
+        BrandPrice price = segment.price();
+        long key = PackedPriceKey.of(price.getBrandId(), price.getProductId());
+        if (key == PackedPriceKey.NONE) {
+            return;
+        }
+        
+        boolean[] added = new boolean[2];
+        Entry stored = entries.compute(key, (k, entry) -> {
+            if (generation.get() != expectedGeneration) {
+                return entry;
+            }
+            if (entry == null) {
+                entry = new Entry(k);
+                added[0] = true;
+            }
+            added[1] = entry.add(segment);
+            return entry;
+        });
+        if (added[0]) {
+            clock.offer(stored);
+        }
+        if (added[1]) {
+            segmentCount.incrementAndGet();
+        }
+        evictWhileOverBudget();
+    }
+    
+    /**
+     * Vacía la caché. Se usa cuando cambian los datos de precios.
+     */
+    public void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+        clock.clear();
+        segmentCount.set(0);
+    }
+    
+    /**
+     * Descarta las entradas de una marca y conserva las demás.
+     *
+     * @return Número de entradas descartadas
+     * @see #clearBrands(Set)
+     */
+    public int clearBrand(long brandId) {
+        return clearBrands(Set.of(brandId));
+    }
+    
+    /**
+     * Descarta las entradas de las marcas indicadas y conserva las demás. Se usa cuando se
+     * recargan solo las particiones de esas marcas. Abre una nueva generación igual que {@link #clear()},
+     * así que los tramos de otras marcas que se estén resolviendo en ese momento tampoco
+     * se guardan; es una pérdida puntual a cambio de no dejar pasar tramos obsoletos.
+     * <p>
+     * Las entradas descartadas salen también de la cola de desalojo: sin superar los límites
+     * nadie la recorre, y cada recarga dejaría en ella entradas muertas con sus tramos.
+     *
+     * @return Número de entradas descartadas
+     */
+    public int clearBrands(Set<Long> brandIds) {
+        generation.incrementAndGet();
+        int[] removed = new int[1];
+        entries.forEach((key, entry) -> {
+            if (brandIds.contains(PackedPriceKey.brandId(key)) && entries.remove(key, entry)) {
+                segmentCount.addAndGet(-entry.size());
+                removed[0]++;
+            }
+        });
+        if (removed[0] > 0) {
+            clock.removeIf(entry -> entries.get(entry.key) != entry);
+        }
+        return removed[0];
+    }
+    
+    public PriceCacheStats stats() {
+        long segments = segmentCount.get();
+        return new PriceCacheStats(hits.sum(), misses.sum(), evictions.sum(),
+                entries.size(), segments, estimatedBytes(entries.size(), segments));
+    }
+    
+    /**
+     * Entradas en la cola de desalojo, incluidas las que ya no están en el mapa.
+     */
+    int clockSize() {
+        return clock.size();
+    }
+    
+    private void evictWhileOverBudget() {
+        while (entries.size() > maxEntries || estimatedBytes(entries.size(), segmentCount.get()) > maxBytes) {
+            Entry candidate = clock.poll();
+            if (candidate == null) {
+                return;
+            }
+            if (entries.get(candidate.key) != candidate) {
+                continue;
+            }
+            if (candidate.referenced) {
+                candidate.referenced = false;
+                clock.offer(candidate);
+            } else if (entries.remove(candidate.key, candidate)) {
+                segmentCount.addAndGet(-candidate.size());
+                evictions.increment();
+            }
+        }
+    }
+    
+    private static long estimatedBytes(long entryCount, long segments) {
+        return entryCount * ESTIMATED_ENTRY_BYTES + segments * ESTIMATED_SEGMENT_BYTES;
+    }
+    
+    /**
+     * Tramos en caché de una combinación (brand, producto), ordenados por fecha de inicio.
+     * Los tramos y sus límites en microsegundos se reemplazan juntos en cada escritura
+     * para que las lecturas no necesiten lock.
+     */
+    private static final class Entry {
+        
+        private static final Segments EMPTY = new Segments(new PriceSegment[0], new long[0], new long[0]);
+        
+        private final long key;
+        private volatile Segments segments = EMPTY;
+        private volatile boolean referenced;
+        
+        private Entry(long key) {
+            this.key = key;
+        }
+        
+        private PriceSegment find(long epochMicros) {
+            Segments current = segments;
+            int index = PriceTimeline.indexOf(current.starts, current.ends, epochMicros);
+            return index < 0 ? null : current.segments[index];
+        }
+        
+        /**
+         * Inserta el tramo manteniendo el orden. Se invoca bajo el lock de la clave del mapa.
+         *
+         * @return {@code false} si el tramo ya estaba en caché
+         */
+        private boolean add(PriceSegment segment) {
+            Segments current = segments;
+            long start = segment.startEpochMicros();
+            int length = current.segments.length;
+            int position = 0;
+            while (position < length && current.starts[position] < start) {
+                position++;
+            }
+            if (position < length && current.starts[position] == start) {
+                return false;
+            }
+            segments = new Segments(insert(current.segments, position, segment),
+                                    insert(current.starts, position, start),
+                                    insert(current.ends, position, segment.endEpochMicros()));
+            return true;
+        }
+        
+        private int size() {
+            return segments.segments.length;
+        }
+        
+        private static PriceSegment[] insert(PriceSegment[] values, int position, PriceSegment value) {
+            PriceSegment[] updated = Arrays.copyOf(values, values.length + 1);
+            System.arraycopy(values, position, updated, position + 1, values.length - position);
+            updated[position] = value;
+            return updated;
+        }
+        
+        private static long[] insert(long[] values, int position, long value) {
+            long[] updated = Arrays.copyOf(values, values.length + 1);
+            System.arraycopy(values, position, updated, position + 1, values.length - position);
+            updated[position] = value;
+            return updated;
+        }
+    }
+    
+    /**
+     * Tramos de una entrada con sus límites en microsegundos en arrays paralelos.
+     */
+    private record Segments(PriceSegment[] segments, long[] starts, long[] ends) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.wolper.prices.application.port.in;
+
+import com.wolper.prices.domain.model.PriceArchiveResult;
+
+/**
+ * Puerto de entrada para archivar los precios que quedaron fuera de la ventana viva.
+ */
+public interface ArchiveExpiredPricesUseCase {
+    
+    /**
+     * Archiva por lotes todos los precios que terminaron antes del inicio de la ventana viva
+     * y, si se movió alguno, actualiza índices y cachés.
+     *
+     * @return Precios archivados y duración
+     */
+    PriceArchiveResult archiveExpiredPrices();
+}
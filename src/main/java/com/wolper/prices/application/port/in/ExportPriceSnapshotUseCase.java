@@ -0,0 +1,20 @@
+package com.wolper.prices.application.port.in;
+
+import com.wolper.prices.domain.model.BrandPrice;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Puerto de entrada para exportar el precio vigente de todos los productos de una marca.
+ */
+public interface ExportPriceSnapshotUseCase {
+    
+    /**
+     * Entrega al receptor, producto a producto, el precio aplicable en la fecha indicada.
+     * Los productos sin precio vigente en esa fecha no se entregan.
+     *
+     * @return Precios exportados
+     */
+    long exportSnapshot(long brandId, LocalDateTime date, Consumer<BrandPrice> consumer);
+}
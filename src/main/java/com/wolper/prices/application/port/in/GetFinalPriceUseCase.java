@@ -1,8 +1,13 @@
 package com.wolper.prices.application.port.in;
 
 import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceQuery;
+import com.wolper.prices.domain.model.PriceSegment;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Puerto de entrada para el caso de uso de obtener el precio final.
@@ -19,5 +24,55 @@ public interface GetFinalPriceUseCase {
      * @return El precio aplicable con mayor prioridad
      * @throws com.wolper.prices.domain.exception.PriceNotFoundException si no se encuentra precio aplicable
      */
-    BrandPrice getFinalPrice(LocalDateTime applicationDate, Long productId, Long brandId);
+    default BrandPrice getFinalPrice(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return getFinalPrice(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    /**
+     * Variante primitiva de {@link #getFinalPrice(LocalDateTime, Long, Long)}: la fecha llega en
+     * microsegundos desde epoch ({@link EpochMicros}) y los identificadores sin convertir a {@link Long}.
+     * 
+     * @param applicationEpochMicros Fecha de aplicación en microsegundos desde epoch
+     * @param productId Identificador del producto
+     * @param brandId Identificador de la marca
+     * @return El precio aplicable con mayor prioridad
+     * @throws com.wolper.prices.domain.exception.PriceNotFoundException si no se encuentra precio aplicable
+     */
+    BrandPrice getFinalPrice(long applicationEpochMicros, long productId, long brandId);
+    
+    /**
+     * Obtiene el tramo de precio efectivo que contiene la fecha: el precio final aplicable
+     * junto con el periodo en el que sigue siendo el ganador para ese producto y marca.
+     * 
+     * @param applicationDate Fecha de aplicación del precio
+     * @param productId Identificador del producto
+     * @param brandId Identificador de la marca
+     * @return El tramo que contiene la fecha
+     * @throws com.wolper.prices.domain.exception.PriceNotFoundException si no se encuentra precio aplicable
+     */
+    default PriceSegment getFinalPriceSegment(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return getFinalPriceSegment(EpochMicros.of(applicationDate), productId, brandId);
+    }
+    
+    /**
+     * Variante primitiva de {@link #getFinalPriceSegment(LocalDateTime, Long, Long)}. Es la que usa
+     * el controlador, de modo que la consulta no crea fechas, claves ni identificadores en caja
+     * hasta llegar al índice.
+     * 
+     * @param applicationEpochMicros Fecha de aplicación en microsegundos desde epoch
+     * @param productId Identificador del producto
+     * @param brandId Identificador de la marca
+     * @return El tramo que contiene la fecha
+     * @throws com.wolper.prices.domain.exception.PriceNotFoundException si no se encuentra precio aplicable
+     */
+    PriceSegment getFinalPriceSegment(long applicationEpochMicros, long productId, long brandId);
+    
+    /**
+     * Obtiene el precio final aplicable de varias consultas en una sola operación.
+     * 
+     * @param queries Consultas de producto, marca y fecha
+     * @return Precio aplicable con mayor prioridad por consulta; las consultas
+     *         sin precio aplicable no aparecen en el resultado
+     */
+    Map<PriceQuery, BrandPrice> getFinalPrices(List<PriceQuery> queries);
 }
@@ -0,0 +1,26 @@
+package com.wolper.prices.application.port.in;
+
+import com.wolper.prices.domain.model.PriceSegment;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Puerto de entrada para obtener la línea temporal de precio efectivo de un producto.
+ */
+public interface GetPriceTimelineUseCase {
+    
+    /**
+     * Obtiene los tramos de precio efectivo de un producto en una marca dentro de un rango.
+     * Los precios se leen antes de devolver el resultado; los tramos se calculan a medida
+     * que se consume el {@link Stream}, de modo que se pueden escribir sin acumularlos.
+     * 
+     * @param productId Identificador del producto
+     * @param brandId Identificador de la marca
+     * @param from Inicio del rango (inclusivo)
+     * @param to Fin del rango (inclusivo)
+     * @return Tramos consecutivos en orden cronológico, recortados al rango; vacío si no hay precios
+     * @throws com.wolper.prices.domain.exception.InvalidDateRangeException si el rango empieza después de terminar
+     */
+    Stream<PriceSegment> getPriceTimeline(long productId, long brandId, LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,23 @@
+package com.wolper.prices.application.port.in;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceImportMode;
+import com.wolper.prices.domain.model.PriceImportResult;
+
+import java.util.stream.Stream;
+
+/**
+ * Puerto de entrada para la importación masiva de precios.
+ */
+public interface ImportPricesUseCase {
+    
+    /**
+     * Importa los precios y, al terminar, actualiza índices y cachés.
+     * Los precios se consumen a medida que se escriben, sin materializarlos en memoria.
+     *
+     * @param prices Precios a importar
+     * @param mode Sustituir todos los precios o actualizar e insertar
+     * @return Filas importadas y rendimiento
+     */
+    PriceImportResult importPrices(Stream<BrandPrice> prices, PriceImportMode mode);
+}
@@ -0,0 +1,19 @@
+package com.wolper.prices.application.port.in;
+
+import com.wolper.prices.application.cache.PriceCacheStats;
+
+/**
+ * Puerto de entrada para la administración de la caché de precios.
+ */
+public interface PriceCacheUseCase {
+    
+    /**
+     * Obtiene las estadísticas acumuladas de la caché.
+     */
+    PriceCacheStats getCacheStats();
+    
+    /**
+     * Vacía la caché; las siguientes consultas se resuelven contra el repositorio.
+     */
+    void clearCache();
+}
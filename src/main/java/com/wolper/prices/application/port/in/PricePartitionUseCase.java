@@ -0,0 +1,24 @@
+package com.wolper.prices.application.port.in;
+
+import com.wolper.prices.domain.model.PricePartitionStats;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Puerto de entrada para la administración de las particiones de precios por marca.
+ */
+public interface PricePartitionUseCase {
+    
+    /**
+     * Obtiene el estado de las particiones que sirve la instancia.
+     */
+    List<PricePartitionStats> getPartitions();
+    
+    /**
+     * Recarga los precios de una marca; el resto de particiones siguen sirviendo sin cambios.
+     *
+     * @return El estado tras la recarga, o vacío si la instancia no sirve esa marca
+     */
+    Optional<PricePartitionStats> reloadPartition(long brandId);
+}
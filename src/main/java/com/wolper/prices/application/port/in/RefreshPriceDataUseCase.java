@@ -0,0 +1,28 @@
+package com.wolper.prices.application.port.in;
+
+import com.wolper.prices.domain.model.PriceDataVersion;
+
+/**
+ * Puerto de entrada para refrescar los datos de precios mantenidos en memoria.
+ */
+public interface RefreshPriceDataUseCase {
+    
+    /**
+     * Versión de los datos reflejada actualmente por índices y cachés.
+     */
+    PriceDataVersion getLoadedVersion();
+    
+    /**
+     * Comprueba si los datos han cambiado y, en ese caso, notifica la nueva versión.
+     *
+     * @return {@code true} si se detectó un cambio
+     */
+    boolean refreshIfChanged();
+    
+    /**
+     * Fuerza la recarga aunque la sonda no detecte cambios.
+     *
+     * @return La versión recargada
+     */
+    PriceDataVersion reload();
+}
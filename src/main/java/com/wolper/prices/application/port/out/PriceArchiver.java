@@ -0,0 +1,18 @@
+package com.wolper.prices.application.port.out;
+
+import java.time.LocalDateTime;
+
+/**
+ * Puerto de salida para mover precios caducados al almacenamiento frío.
+ */
+public interface PriceArchiver {
+    
+    /**
+     * Mueve un lote de precios que terminaron antes del instante indicado. El lote se mueve
+     * en una transacción: cada precio está en la tabla principal o en el archivo, nunca en ambas.
+     *
+     * @param cutoff Se archivan los precios con fecha de fin anterior
+     * @return Precios movidos; 0 cuando no queda ninguno por archivar
+     */
+    long archiveBatch(LocalDateTime cutoff);
+}
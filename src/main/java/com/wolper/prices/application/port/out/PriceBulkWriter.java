@@ -0,0 +1,29 @@
+package com.wolper.prices.application.port.out;
+
+import com.wolper.prices.domain.exception.PriceImportInterruptedException;
+import com.wolper.prices.domain.model.BrandPrice;
+
+import java.util.stream.Stream;
+
+/**
+ * Puerto de salida para la escritura masiva de precios.
+ */
+public interface PriceBulkWriter {
+    
+    /**
+     * Sustituye todos los precios por los indicados. Los lectores ven los precios
+     * anteriores hasta que la sustitución termina.
+     *
+     * @return Filas escritas
+     */
+    long replaceAll(Stream<BrandPrice> prices);
+    
+    /**
+     * Actualiza los precios que ya existen (misma marca, producto, tarifa y fecha de inicio)
+     * e inserta el resto. Cada lote se confirma por separado.
+     *
+     * @return Filas escritas
+     * @throws PriceImportInterruptedException si falla a mitad, con las filas ya confirmadas
+     */
+    long upsert(Stream<BrandPrice> prices);
+}
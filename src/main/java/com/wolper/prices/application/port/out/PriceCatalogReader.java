@@ -0,0 +1,21 @@
+package com.wolper.prices.application.port.out;
+
+import com.wolper.prices.domain.model.BrandPrice;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Puerto de salida para recorrer el catálogo de precios de una marca sin cargarlo en memoria.
+ */
+public interface PriceCatalogReader {
+    
+    /**
+     * Entrega, en orden de producto, el precio ganador de cada producto de la marca en la fecha
+     * indicada. Es síncrono: vuelve cuando el receptor ha recibido el último precio, y una
+     * excepción del receptor interrumpe el recorrido.
+     *
+     * @return Precios entregados
+     */
+    long forEachFinalPrice(long brandId, LocalDateTime date, Consumer<BrandPrice> consumer);
+}
@@ -0,0 +1,16 @@
+package com.wolper.prices.application.port.out;
+
+import com.wolper.prices.domain.model.PriceDataVersion;
+
+/**
+ * Puerto de salida para detectar cambios en los datos de precios
+ * sin necesidad de leerlos completos.
+ */
+public interface PriceDataChangeProbe {
+    
+    /**
+     * Obtiene la versión actual de los datos de precios.
+     * Debe ser una consulta barata: se invoca periódicamente.
+     */
+    PriceDataVersion currentVersion();
+}
@@ -0,0 +1,15 @@
+package com.wolper.prices.application.port.out;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Puerto de salida que enumera las combinaciones (brand, producto) con algún precio.
+ */
+public interface PriceKeySource {
+    
+    /**
+     * Entrega una vez cada combinación con precios, como {@link com.wolper.prices.domain.model.PackedPriceKey}.
+     * Las combinaciones cuyos identificadores no caben en la clave empaquetada no se entregan.
+     */
+    void forEachProductKey(LongConsumer consumer);
+}
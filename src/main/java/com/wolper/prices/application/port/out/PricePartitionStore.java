@@ -0,0 +1,33 @@
+package com.wolper.prices.application.port.out;
+
+import com.wolper.prices.domain.model.PricePartitionStats;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Puerto de salida de los motores que mantienen los precios en particiones por marca.
+ */
+public interface PricePartitionStore {
+    
+    /**
+     * Estado de las particiones servidas, ordenadas por marca.
+     */
+    List<PricePartitionStats> partitions();
+    
+    /**
+     * Recarga la partición de una marca sin tocar las demás.
+     *
+     * @return El estado tras la recarga, o vacío si la instancia no sirve esa marca
+     */
+    Optional<PricePartitionStats> reload(long brandId);
+    
+    /**
+     * Recarga solo las particiones cuya versión ha cambiado y da de alta o de baja las marcas
+     * que han aparecido o desaparecido.
+     *
+     * @return Marcas recargadas, añadidas o descartadas; vacío si ninguna ha cambiado
+     */
+    Set<Long> synchronize();
+}
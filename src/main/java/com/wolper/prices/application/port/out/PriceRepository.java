@@ -1,9 +1,17 @@
 package com.wolper.prices.application.port.out;
 
 import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceQuery;
+import com.wolper.prices.domain.model.PriceSegment;
+import com.wolper.prices.domain.model.PriceTimeline;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Puerto de salida para la persistencia de precios.
@@ -20,4 +28,91 @@ public interface PriceRepository {
      * @return Lista de precios aplicables ordenados por prioridad (mayor a menor)
      */
     List<BrandPrice> findApplicablePrices(LocalDateTime applicationDate, Long productId, Long brandId);
+    
+    /**
+     * Variante primitiva de {@link #findApplicablePrices(LocalDateTime, Long, Long)} con la fecha
+     * en microsegundos desde epoch ({@link EpochMicros}). Por defecto convierte los argumentos;
+     * los adaptadores en memoria la sobrescriben para consultar sin crear fechas ni claves.
+     */
+    default List<BrandPrice> findApplicablePrices(long applicationEpochMicros, long productId, long brandId) {
+        return findApplicablePrices(EpochMicros.toLocalDateTime(applicationEpochMicros), productId, brandId);
+    }
+    
+    /**
+     * Busca únicamente el precio ganador para un producto y marca en una fecha específica.
+     * Por defecto toma el primero de {@link #findApplicablePrices}; los adaptadores
+     * que pueden resolverlo directamente deben sobrescribirlo.
+     * 
+     * @param applicationDate Fecha de aplicación
+     * @param productId Identificador del producto
+     * @param brandId Identificador de la marca
+     * @return El precio aplicable con mayor prioridad, o vacío si no hay ninguno
+     */
+    default Optional<BrandPrice> findFinalPrice(LocalDateTime applicationDate, Long productId, Long brandId) {
+        List<BrandPrice> applicablePrices = findApplicablePrices(applicationDate, productId, brandId);
+        return applicablePrices.isEmpty() ? Optional.empty() : Optional.of(applicablePrices.getFirst());
+    }
+    
+    /**
+     * Variante primitiva de {@link #findFinalPrice(LocalDateTime, Long, Long)} con la fecha
+     * en microsegundos desde epoch. Por defecto convierte los argumentos.
+     */
+    default Optional<BrandPrice> findFinalPrice(long applicationEpochMicros, long productId, long brandId) {
+        return findFinalPrice(EpochMicros.toLocalDateTime(applicationEpochMicros), productId, brandId);
+    }
+    
+    /**
+     * Busca todos los precios de un producto y marca cuyo intervalo se solapa con el rango indicado.
+     * 
+     * @param productId Identificador del producto
+     * @param brandId Identificador de la marca
+     * @param from Inicio del rango (inclusivo)
+     * @param to Fin del rango (inclusivo)
+     * @return Lista de precios ordenados por fecha de inicio
+     */
+    List<BrandPrice> findPricesBetween(Long productId, Long brandId, LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Busca el tramo de precio efectivo que contiene la fecha: el precio ganador junto con
+     * el periodo, alrededor de la fecha, en el que sigue siendo el ganador.
+     * Por defecto resuelve el ganador y reconstruye la línea temporal con los precios que
+     * se solapan con su intervalo, que son los únicos que pueden acotarlo.
+     * 
+     * @param applicationDate Fecha de aplicación
+     * @param productId Identificador del producto
+     * @param brandId Identificador de la marca
+     * @return El tramo que contiene la fecha, o vacío si no hay precio aplicable
+     */
+    default Optional<PriceSegment> findFinalPriceSegment(LocalDateTime applicationDate, Long productId, Long brandId) {
+        return findFinalPrice(applicationDate, productId, brandId)
+                .flatMap(winner -> PriceTimeline.of(
+                        findPricesBetween(productId, brandId, winner.getStartDate(), winner.getEndDate()))
+                        .segmentAt(applicationDate));
+    }
+    
+    /**
+     * Variante primitiva de {@link #findFinalPriceSegment(LocalDateTime, Long, Long)} con la fecha
+     * en microsegundos desde epoch. Es la que usa el camino de lectura del precio final;
+     * por defecto convierte los argumentos.
+     */
+    default Optional<PriceSegment> findFinalPriceSegment(long applicationEpochMicros, long productId, long brandId) {
+        return findFinalPriceSegment(EpochMicros.toLocalDateTime(applicationEpochMicros), productId, brandId);
+    }
+    
+    /**
+     * Busca el precio ganador de varias consultas a la vez.
+     * Por defecto resuelve cada consulta con {@link #findFinalPrice}; los adaptadores
+     * que pueden resolver el lote completo en una sola operación deben sobrescribirlo.
+     * 
+     * @param queries Consultas a resolver
+     * @return Precio ganador por consulta; las consultas sin precio aplicable no aparecen
+     */
+    default Map<PriceQuery, BrandPrice> findFinalPrices(Collection<PriceQuery> queries) {
+        Map<PriceQuery, BrandPrice> prices = new HashMap<>();
+        for (PriceQuery query : queries) {
+            findFinalPrice(query.applicationDate(), query.productId(), query.brandId())
+                    .ifPresent(price -> prices.put(query, price));
+        }
+        return prices;
+    }
 }
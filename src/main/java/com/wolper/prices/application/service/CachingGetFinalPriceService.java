@@ -0,0 +1,117 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.cache.PriceCacheStats;
+import com.wolper.prices.application.cache.PriceSegmentCache;
+import com.wolper.prices.application.port.in.GetFinalPriceUseCase;
+import com.wolper.prices.application.port.in.PriceCacheUseCase;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.event.PricePartitionReloadedEvent;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceQuery;
+import com.wolper.prices.domain.model.PriceSegment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decorador del caso de uso que sirve los precios desde una caché de tramos.
+ * En un fallo resuelve el tramo completo en el que el precio ganador es válido,
+ * de modo que las siguientes consultas de cualquier fecha dentro de ese tramo
+ * no llegan al repositorio.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CachingGetFinalPriceService implements GetFinalPriceUseCase, PriceCacheUseCase {
+    
+    private final GetFinalPriceUseCase delegate;
+    private final PriceSegmentCache cache;
+    
+    @Override
+    public BrandPrice getFinalPrice(long applicationEpochMicros, long productId, long brandId) {
+        return getFinalPriceSegment(applicationEpochMicros, productId, brandId).price();
+    }
+    
+    @Override
+    public PriceSegment getFinalPriceSegment(long applicationEpochMicros, long productId, long brandId) {
+        PriceSegment cached = cache.find(applicationEpochMicros, productId, brandId);
+        if (cached != null) {
+            if (log.isDebugEnabled()) {
+                log.debug("Tramo en caché para productId={}, brandId={}, fecha={}",
+                          productId, brandId, EpochMicros.toLocalDateTime(applicationEpochMicros));
+            }
+            return cached;
+        }
+        
+        long generation = cache.generation();
+        PriceSegment segment = delegate.getFinalPriceSegment(applicationEpochMicros, productId, brandId);
+        cache.put(segment, generation);
+        return segment;
+    }
+    
+    /**
+     * Sirve desde caché las consultas que aciertan y resuelve el resto en un único lote.
+     * Los resultados del lote no se cachean porque no incluyen los límites del tramo.
+     */
+    @Override
+    public Map<PriceQuery, BrandPrice> getFinalPrices(List<PriceQuery> queries) {
+        Map<PriceQuery, BrandPrice> prices = new HashMap<>();
+        List<PriceQuery> misses = new ArrayList<>();
+        for (PriceQuery query : queries) {
+            PriceSegment cached = cache.find(query.applicationDate(), query.productId(), query.brandId());
+            if (cached != null) {
+                prices.put(query, cached.price());
+            } else {
+                misses.add(query);
+            }
+        }
+        
+        log.debug("Lote: {} consultas en caché, {} al repositorio", queries.size() - misses.size(), misses.size());
+        
+        if (!misses.isEmpty()) {
+            prices.putAll(delegate.getFinalPrices(misses));
+        }
+        return prices;
+    }
+    
+    @Override
+    public PriceCacheStats getCacheStats() {
+        return cache.stats();
+    }
+    
+    @Override
+    public void clearCache() {
+        log.info("Vaciando caché de precios");
+        cache.clear();
+    }
+    
+    /**
+     * Vacía la caché cuando cambian los datos de precios, o solo las entradas de las marcas
+     * afectadas si el cambio está acotado a ellas. Los oyentes se ejecutan en orden, así que
+     * el índice en memoria (si lo hay) ya está reconstruido.
+     */
+    @EventListener
+    public void onPriceDataChanged(PriceDataChangedEvent event) {
+        log.info("Datos de precios actualizados a la versión {}", event.version());
+        if (event.affectsAllBrands()) {
+            clearCache();
+        } else {
+            int removed = cache.clearBrands(event.brandIds());
+            log.info("Marcas {} actualizadas: {} entradas descartadas de la caché", event.brandIds(), removed);
+        }
+    }
+    
+    /**
+     * Descarta solo las entradas de la marca cuya partición se ha recargado.
+     */
+    @EventListener
+    public void onPricePartitionReloaded(PricePartitionReloadedEvent event) {
+        int removed = cache.clearBrand(event.brandId());
+        log.info("Partición de la marca {} recargada: {} entradas descartadas de la caché", event.brandId(), removed);
+    }
+}
@@ -0,0 +1,36 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.in.ExportPriceSnapshotUseCase;
+import com.wolper.prices.application.port.out.PriceCatalogReader;
+import com.wolper.prices.domain.model.BrandPrice;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Servicio de aplicación que exporta la foto de precios de una marca.
+ * Consulta siempre la base de datos, sea cual sea el motor de consulta configurado,
+ * y entrega cada precio según se lee.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ExportPriceSnapshotService implements ExportPriceSnapshotUseCase {
+    
+    private final PriceCatalogReader priceCatalogReader;
+    
+    @Override
+    public long exportSnapshot(long brandId, LocalDateTime date, Consumer<BrandPrice> consumer) {
+        log.debug("Exportando la foto de precios de la marca {} en {}", brandId, date);
+        
+        long start = System.nanoTime();
+        long exported = priceCatalogReader.forEachFinalPrice(brandId, date, consumer);
+        
+        log.info("Foto de precios de la marca {} en {} exportada: {} precios en {} ms",
+                 brandId, date, exported, (System.nanoTime() - start) / 1_000_000);
+        return exported;
+    }
+}
@@ -1,19 +1,30 @@
 package com.wolper.prices.application.service;
 
+import com.wolper.prices.application.cache.NegativePriceCache;
+import com.wolper.prices.application.cache.PriceKeyFilter;
 import com.wolper.prices.application.port.in.GetFinalPriceUseCase;
 import com.wolper.prices.application.port.out.PriceRepository;
 import com.wolper.prices.domain.exception.PriceNotFoundException;
 import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceQuery;
+import com.wolper.prices.domain.model.PriceSegment;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio de aplicación que implementa la lógica de negocio
  * para obtener el precio final aplicable.
+ * <p>
+ * Las consultas sin precio no llegan al repositorio si el {@link PriceKeyFilter} sabe que la
+ * combinación no tiene ninguno o si la fecha cae en un hueco recordado por la
+ * {@link NegativePriceCache}. El primer fallo de una combinación con precios hace una consulta
+ * de rango más para medir el hueco que empieza en esa fecha, hasta el siguiente precio.
  */
 @Slf4j
 @Service
@@ -21,28 +32,108 @@ import java.util.List;
 public class GetFinalPriceService implements GetFinalPriceUseCase {
     
     private final PriceRepository priceRepository;
+    private final PriceKeyFilter priceKeyFilter;
+    private final NegativePriceCache negativePriceCache;
     
     @Override
-    public BrandPrice getFinalPrice(LocalDateTime applicationDate, Long productId, Long brandId) {
-        log.debug("Buscando precio para productId={}, brandId={}, fecha={}", 
-                  productId, brandId, applicationDate);
+    public BrandPrice getFinalPrice(long applicationEpochMicros, long productId, long brandId) {
+        if (log.isDebugEnabled()) {
+            log.debug("Buscando precio para productId={}, brandId={}, fecha={}", 
+                      productId, brandId, EpochMicros.toLocalDateTime(applicationEpochMicros));
+        }
+        
+        rejectKnownAbsent(applicationEpochMicros, productId, brandId);
+        long generation = negativePriceCache.generation();
         
-        List<BrandPrice> applicablePrices = priceRepository.findApplicablePrices(
-                applicationDate, productId, brandId);
+        // El repositorio resuelve directamente el precio de mayor prioridad
+        BrandPrice finalPrice = priceRepository.findFinalPrice(applicationEpochMicros, productId, brandId)
+                .orElseThrow(() -> priceNotFound(applicationEpochMicros, productId, brandId, generation));
         
-        if (applicablePrices.isEmpty()) {
-            log.warn("No se encontró precio para productId={}, brandId={}, fecha={}", 
-                     productId, brandId, applicationDate);
-            throw new PriceNotFoundException(productId, brandId, applicationDate.toString());
+        if (log.isDebugEnabled()) {
+            log.debug("Precio encontrado: priceList={}, price={} {}", 
+                      finalPrice.getPriceList(), finalPrice.getPrice(), finalPrice.getCurrency());
         }
         
-        // El repositorio ya retorna los precios ordenados por prioridad descendente
-        // por lo que el primero es el de mayor prioridad
-        BrandPrice finalPrice = applicablePrices.get(0);
+        return finalPrice;
+    }
+    
+    @Override
+    public PriceSegment getFinalPriceSegment(long applicationEpochMicros, long productId, long brandId) {
+        if (log.isDebugEnabled()) {
+            log.debug("Buscando tramo de precio para productId={}, brandId={}, fecha={}", 
+                      productId, brandId, EpochMicros.toLocalDateTime(applicationEpochMicros));
+        }
         
-        log.info("Precio encontrado: priceList={}, price={} {}", 
-                 finalPrice.getPriceList(), finalPrice.getPrice(), finalPrice.getCurrency());
+        rejectKnownAbsent(applicationEpochMicros, productId, brandId);
+        long generation = negativePriceCache.generation();
         
-        return finalPrice;
+        PriceSegment segment = priceRepository.findFinalPriceSegment(applicationEpochMicros, productId, brandId)
+                .orElseThrow(() -> priceNotFound(applicationEpochMicros, productId, brandId, generation));
+        
+        if (log.isDebugEnabled()) {
+            log.debug("Tramo encontrado: priceList={}, desde={}, hasta={}", 
+                      segment.price().getPriceList(), segment.startDate(), segment.endDate());
+        }
+        
+        return segment;
+    }
+    
+    @Override
+    public Map<PriceQuery, BrandPrice> getFinalPrices(List<PriceQuery> queries) {
+        log.debug("Buscando precios en lote: {} consultas", queries.size());
+        
+        List<PriceQuery> candidates = new ArrayList<>(queries.size());
+        for (PriceQuery query : queries) {
+            if (!isKnownAbsent(EpochMicros.of(query.applicationDate()), query.productId(), query.brandId())) {
+                candidates.add(query);
+            }
+        }
+        Map<PriceQuery, BrandPrice> prices = candidates.isEmpty() ? Map.of() : priceRepository.findFinalPrices(candidates);
+        
+        log.debug("Lote resuelto: {} de {} precios encontrados", prices.size(), queries.size());
+        
+        return prices;
+    }
+    
+    private boolean isKnownAbsent(long applicationEpochMicros, long productId, long brandId) {
+        return !priceKeyFilter.mightHavePrices(productId, brandId)
+                || negativePriceCache.isAbsent(applicationEpochMicros, productId, brandId);
+    }
+    
+    private void rejectKnownAbsent(long applicationEpochMicros, long productId, long brandId) {
+        if (isKnownAbsent(applicationEpochMicros, productId, brandId)) {
+            throw new PriceNotFoundException(productId, brandId, applicationEpochMicros);
+        }
+    }
+    
+    private PriceNotFoundException priceNotFound(long applicationEpochMicros, long productId, long brandId,
+                                                 long generation) {
+        if (log.isDebugEnabled()) {
+            log.debug("No se encontró precio para productId={}, brandId={}, fecha={}", 
+                      productId, brandId, EpochMicros.toLocalDateTime(applicationEpochMicros));
+        }
+        rememberGap(applicationEpochMicros, productId, brandId, generation);
+        return new PriceNotFoundException(productId, brandId, applicationEpochMicros);
+    }
+    
+    /**
+     * Mide el hueco sin precio que empieza en la fecha consultada: termina justo antes del
+     * siguiente precio que empiece dentro de la ventana, o al final de la ventana si no hay.
+     */
+    private void rememberGap(long applicationEpochMicros, long productId, long brandId, long generation) {
+        if (!negativePriceCache.isEnabled()) {
+            return;
+        }
+        long windowEnd = applicationEpochMicros + negativePriceCache.windowMicros();
+        List<BrandPrice> upcoming = priceRepository.findPricesBetween(productId, brandId,
+                EpochMicros.toLocalDateTime(applicationEpochMicros), EpochMicros.toLocalDateTime(windowEnd));
+        long gapEnd = windowEnd;
+        for (BrandPrice price : upcoming) {
+            gapEnd = Math.min(gapEnd, price.getStartEpochMicros() - 1);
+        }
+        // Si los datos han cambiado entre las dos consultas, la fecha ya no cae en un hueco
+        if (gapEnd >= applicationEpochMicros) {
+            negativePriceCache.put(productId, brandId, applicationEpochMicros, gapEnd, generation);
+        }
     }
 }
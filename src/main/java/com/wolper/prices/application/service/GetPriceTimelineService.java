@@ -0,0 +1,46 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.in.GetPriceTimelineUseCase;
+import com.wolper.prices.application.port.out.PriceRepository;
+import com.wolper.prices.domain.exception.InvalidDateRangeException;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceSegment;
+import com.wolper.prices.domain.model.PriceTimeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Servicio de aplicación que calcula la línea temporal de precio de un producto.
+ * Lee una vez los precios que se solapan con el rango, ya ordenados por fecha de inicio,
+ * y los recorre con {@link PriceTimeline#scan} en una sola pasada.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GetPriceTimelineService implements GetPriceTimelineUseCase {
+    
+    private final PriceRepository priceRepository;
+    
+    @Override
+    public Stream<PriceSegment> getPriceTimeline(long productId, long brandId, LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException(from, to);
+        }
+        
+        List<BrandPrice> prices = priceRepository.findPricesBetween(productId, brandId, from, to);
+        log.debug("Línea temporal de productId={}, brandId={} entre {} y {}: {} precios", 
+                  productId, brandId, from, to, prices.size());
+        
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                PriceTimeline.scan(prices.iterator(), from, to),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+}
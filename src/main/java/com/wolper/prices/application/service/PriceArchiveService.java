@@ -0,0 +1,52 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.in.ArchiveExpiredPricesUseCase;
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.application.port.out.PriceArchiver;
+import com.wolper.prices.domain.model.PriceArchiveResult;
+import com.wolper.prices.domain.model.PriceLiveWindow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Servicio de aplicación que archiva los precios caducados por lotes.
+ * El corte se fija al empezar, de modo que una ejecución larga no persigue precios que
+ * caducan mientras tanto. Cada lote es una transacción corta: las consultas y escrituras
+ * concurrentes solo esperan, como mucho, a un lote.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PriceArchiveService implements ArchiveExpiredPricesUseCase {
+    
+    private final PriceArchiver priceArchiver;
+    private final PriceLiveWindow liveWindow;
+    private final RefreshPriceDataUseCase refreshPriceDataUseCase;
+    
+    @Override
+    public synchronized PriceArchiveResult archiveExpiredPrices() {
+        LocalDateTime cutoff = liveWindow.start();
+        log.info("Archivando precios que terminaron antes de {}", cutoff);
+        
+        long start = System.nanoTime();
+        long rows = 0;
+        int batches = 0;
+        for (long moved = priceArchiver.archiveBatch(cutoff); moved > 0; moved = priceArchiver.archiveBatch(cutoff)) {
+            rows += moved;
+            batches++;
+            log.debug("Lote {} archivado: {} precios", batches, moved);
+        }
+        PriceArchiveResult result = new PriceArchiveResult(cutoff, rows, batches,
+                Duration.ofNanos(System.nanoTime() - start));
+        
+        log.info("Archivado completado: {} precios en {} lotes y {} ms",
+                 result.rows(), result.batches(), result.duration().toMillis());
+        
+        if (rows > 0) {
+            refreshPriceDataUseCase.refreshIfChanged();
+        }
+        return result;
+    }
+}
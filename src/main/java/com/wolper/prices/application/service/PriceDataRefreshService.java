@@ -0,0 +1,94 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.application.port.out.PriceDataChangeProbe;
+import com.wolper.prices.application.port.out.PricePartitionStore;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Servicio que detecta cambios en los datos de precios y publica
+ * {@link PriceDataChangedEvent} para que índices y cachés se reconstruyan.
+ * <p>
+ * Las reconstrucciones se serializan entre sí; las consultas de precios no
+ * pasan por este servicio y nunca esperan a una recarga.
+ * <p>
+ * Con el motor particionado, un cambio detectado sincroniza primero las particiones y el evento
+ * lleva solo las marcas recargadas, de modo que las cachés conservan las entradas de las demás.
+ * Si ninguna marca servida ha cambiado no se publica nada. La recarga forzada sigue afectando
+ * a todas las marcas.
+ */
+@Slf4j
+@Service
+public class PriceDataRefreshService implements RefreshPriceDataUseCase {
+    
+    private final PriceDataChangeProbe probe;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<PricePartitionStore> partitionStore;
+    private volatile PriceDataVersion loadedVersion;
+    
+    public PriceDataRefreshService(PriceDataChangeProbe probe, ApplicationEventPublisher eventPublisher,
+                                   ObjectProvider<PricePartitionStore> partitionStore) {
+        this.probe = probe;
+        this.eventPublisher = eventPublisher;
+        this.partitionStore = partitionStore;
+        this.loadedVersion = probe.currentVersion();
+    }
+    
+    @Override
+    public PriceDataVersion getLoadedVersion() {
+        return loadedVersion;
+    }
+    
+    @Override
+    public synchronized boolean refreshIfChanged() {
+        PriceDataVersion current = probe.currentVersion();
+        if (current.equals(loadedVersion)) {
+            log.debug("Sin cambios en los datos de precios: {}", current);
+            return false;
+        }
+        
+        log.info("Cambio detectado en los datos de precios: {} -> {}", loadedVersion, current);
+        PricePartitionStore partitions = partitionStore.getIfAvailable();
+        if (partitions == null) {
+            publish(new PriceDataChangedEvent(current));
+            return true;
+        }
+        Set<Long> changedBrands = partitions.synchronize();
+        if (changedBrands.isEmpty()) {
+            log.info("Ninguna partición servida ha cambiado en la versión {}", current);
+            loadedVersion = current;
+        } else {
+            log.info("Particiones recargadas para la versión {}: marcas {}", current, changedBrands);
+            publish(new PriceDataChangedEvent(current, changedBrands));
+        }
+        return true;
+    }
+    
+    @Override
+    public synchronized PriceDataVersion reload() {
+        PriceDataVersion current = probe.currentVersion();
+        log.info("Recarga forzada de los datos de precios: {}", current);
+        PricePartitionStore partitions = partitionStore.getIfAvailable();
+        if (partitions != null) {
+            partitions.synchronize();
+        }
+        publish(new PriceDataChangedEvent(current));
+        return current;
+    }
+    
+    /**
+     * La versión se lee antes de publicar: si los datos cambian durante la reconstrucción,
+     * el siguiente sondeo lo detecta y vuelve a reconstruir.
+     */
+    private void publish(PriceDataChangedEvent event) {
+        eventPublisher.publishEvent(event);
+        loadedVersion = event.version();
+    }
+}
@@ -0,0 +1,66 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.in.ImportPricesUseCase;
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.application.port.out.PriceBulkWriter;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceImportMode;
+import com.wolper.prices.domain.model.PriceImportResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * Servicio de aplicación para la importación masiva de precios.
+ * Tras escribir los precios fuerza la comprobación de cambios para que índices
+ * y cachés reflejen los datos importados sin esperar al siguiente sondeo. La comprobación
+ * se hace también si la importación falla: un UPSERT interrumpido deja confirmados los lotes
+ * que ya escribió.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceImportService implements ImportPricesUseCase {
+    
+    private final PriceBulkWriter priceBulkWriter;
+    private final RefreshPriceDataUseCase refreshPriceDataUseCase;
+    
+    @Override
+    public PriceImportResult importPrices(Stream<BrandPrice> prices, PriceImportMode mode) {
+        log.info("Iniciando importación de precios en modo {}", mode);
+        
+        long start = System.nanoTime();
+        long rows;
+        try {
+            rows = switch (mode) {
+                case REPLACE -> priceBulkWriter.replaceAll(prices);
+                case UPSERT -> priceBulkWriter.upsert(prices);
+            };
+        } catch (RuntimeException ex) {
+            refreshAfterFailure(ex);
+            throw ex;
+        }
+        PriceImportResult result = new PriceImportResult(mode, rows, Duration.ofNanos(System.nanoTime() - start));
+        
+        log.info("Importación completada: {} filas en {} ms ({} filas/s)", 
+                 result.rows(), result.duration().toMillis(), result.rowsPerSecond());
+        
+        refreshPriceDataUseCase.refreshIfChanged();
+        return result;
+    }
+    
+    /**
+     * Un fallo de la comprobación no debe ocultar el de la importación: se añade como suprimido.
+     */
+    private void refreshAfterFailure(RuntimeException failure) {
+        log.warn("Importación fallida: {}", failure.getMessage());
+        try {
+            refreshPriceDataUseCase.refreshIfChanged();
+        } catch (RuntimeException refreshFailure) {
+            failure.addSuppressed(refreshFailure);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.in.PricePartitionUseCase;
+import com.wolper.prices.application.port.out.PricePartitionStore;
+import com.wolper.prices.domain.event.PricePartitionReloadedEvent;
+import com.wolper.prices.domain.model.PricePartitionStats;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Servicio de administración de las particiones de precios por marca.
+ * Tras recargar una marca publica {@link PricePartitionReloadedEvent} para que las
+ * cachés descarten solo las entradas de esa marca.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PricePartitionService implements PricePartitionUseCase {
+    
+    private final PricePartitionStore store;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Override
+    public List<PricePartitionStats> getPartitions() {
+        return store.partitions();
+    }
+    
+    @Override
+    public Optional<PricePartitionStats> reloadPartition(long brandId) {
+        log.info("Recarga forzada de la partición de la marca {}", brandId);
+        
+        Optional<PricePartitionStats> reloaded = store.reload(brandId);
+        reloaded.ifPresent(stats -> eventPublisher.publishEvent(
+                new PricePartitionReloadedEvent(stats.brandId(), stats.version())));
+        return reloaded;
+    }
+}
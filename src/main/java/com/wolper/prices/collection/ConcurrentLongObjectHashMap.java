@@ -0,0 +1,242 @@
+package com.wolper.prices.collection;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mapa concurrente de claves {@code long} con direccionamiento abierto, repartido en
+ * segmentos que se bloquean por separado al escribir.
+ * <p>
+ * Las lecturas no bloquean ni crean objetos: recorren la tabla del segmento, publicada en un
+ * campo volátil, cuyos nodos son inmutables. Las escrituras se serializan por segmento; un
+ * borrado deja una marca para no romper las secuencias de sondeo y la tabla se rehace
+ * (publicando una nueva) cuando huecos ocupados y marcas superan la carga máxima.
+ * Los valores no pueden ser {@code null}.
+ *
+ * @param <V> Tipo de los valores
+ */
+public final class ConcurrentLongObjectHashMap<V> {
+    
+    private static final int MIN_SEGMENT_CAPACITY = 8;
+    
+    private static final Node<Object> REMOVED = new Node<>(0L, null);
+    
+    private final Segment<V>[] segments;
+    private final int segmentShift;
+    
+    public ConcurrentLongObjectHashMap() {
+        this(0);
+    }
+    
+    /**
+     * @param expectedSize Entradas previstas, repartidas entre los segmentos
+     */
+    public ConcurrentLongObjectHashMap(int expectedSize) {
+        // Cuatro segmentos por procesador, en potencia de dos, reparten bien la contención de escritura
+        int segmentCount = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+        int segmentCapacity = LongHashing.capacityFor(expectedSize / segmentCount, MIN_SEGMENT_CAPACITY);
+        @SuppressWarnings("unchecked")
+        Segment<V>[] created = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            created[i] = new Segment<>(segmentCapacity);
+        }
+        this.segments = created;
+        this.segmentShift = Long.SIZE - Integer.numberOfTrailingZeros(segmentCount);
+    }
+    
+    /**
+     * @return El valor asociado, o {@code null} si la clave no está en el mapa
+     */
+    public V get(long key) {
+        long hash = LongHashing.mix(key);
+        return segmentFor(hash).get(key, hash);
+    }
+    
+    /**
+     * Asocia el valor a la clave.
+     *
+     * @return El valor anterior, o {@code null} si no había
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("El mapa no admite valores nulos");
+        }
+        long hash = LongHashing.mix(key);
+        return segmentFor(hash).compute(key, hash, (k, current) -> value, true);
+    }
+    
+    /**
+     * Calcula el nuevo valor de la clave de forma atómica respecto al resto de escrituras
+     * sobre ella. Si la función devuelve {@code null} la entrada se elimina; si devuelve el
+     * mismo valor actual no se escribe nada.
+     *
+     * @return El valor resultante, o {@code null} si la clave queda sin valor
+     */
+    public V compute(long key, Remapping<V> remapping) {
+        long hash = LongHashing.mix(key);
+        return segmentFor(hash).compute(key, hash, remapping, false);
+    }
+    
+    /**
+     * Elimina la entrada solo si la clave sigue asociada a ese mismo valor (por identidad).
+     *
+     * @return {@code true} si se eliminó
+     */
+    public boolean remove(long key, V value) {
+        long hash = LongHashing.mix(key);
+        V previous = segmentFor(hash).compute(key, hash, (k, current) -> current == value ? null : current, true);
+        return previous != null && previous == value;
+    }
+    
+    /**
+     * Número de entradas. Con escrituras concurrentes es una aproximación.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+    
+    /**
+     * Recorre las entradas sin bloquear. Es débilmente consistente: refleja cada segmento
+     * tal como estaba al empezar a recorrerlo y puede no ver escrituras concurrentes.
+     */
+    public void forEach(LongObjectConsumer<? super V> consumer) {
+        for (Segment<V> segment : segments) {
+            AtomicReferenceArray<Node<V>> table = segment.table;
+            for (int slot = 0; slot < table.length(); slot++) {
+                Node<V> node = table.get(slot);
+                if (node != null && node != REMOVED) {
+                    consumer.accept(node.key, node.value);
+                }
+            }
+        }
+    }
+    
+    public void clear() {
+        for (Segment<V> segment : segments) {
+            segment.clear();
+        }
+    }
+    
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) (hash >>> segmentShift)];
+    }
+    
+    /**
+     * Función de reasignación sin convertir la clave a {@link Long}.
+     */
+    @FunctionalInterface
+    public interface Remapping<V> {
+        /**
+         * @param current Valor actual, o {@code null} si no hay
+         */
+        V apply(long key, V current);
+    }
+    
+    private record Node<V>(long key, V value) {
+    }
+    
+    private static final class Segment<V> {
+        
+        private final int initialCapacity;
+        private volatile AtomicReferenceArray<Node<V>> table;
+        /** Entradas vivas; se escribe con el cerrojo y se lee sin él. */
+        private volatile int size;
+        /** Huecos con entrada o marca de borrado; solo con el cerrojo. */
+        private int used;
+        
+        Segment(int capacity) {
+            this.initialCapacity = capacity;
+            this.table = new AtomicReferenceArray<>(capacity);
+        }
+        
+        V get(long key, long hash) {
+            AtomicReferenceArray<Node<V>> current = table;
+            int mask = current.length() - 1;
+            for (int slot = (int) hash & mask; ; slot = (slot + 1) & mask) {
+                Node<V> node = current.get(slot);
+                if (node == null) {
+                    return null;
+                }
+                if (node != REMOVED && node.key == key) {
+                    return node.value;
+                }
+            }
+        }
+        
+        synchronized V compute(long key, long hash, Remapping<V> remapping, boolean returnPrevious) {
+            AtomicReferenceArray<Node<V>> current = table;
+            int mask = current.length() - 1;
+            int slot = (int) hash & mask;
+            int free = -1;
+            Node<V> node;
+            while ((node = current.get(slot)) != null) {
+                if (node == REMOVED) {
+                    if (free < 0) {
+                        free = slot;
+                    }
+                } else if (node.key == key) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            V previous = node == null ? null : node.value;
+            V updated = remapping.apply(key, previous);
+            if (updated != previous) {
+                if (node != null) {
+                    current.set(slot, updated == null ? removedNode() : new Node<>(key, updated));
+                    if (updated == null) {
+                        size--;
+                    }
+                } else if (updated != null) {
+                    if (free >= 0) {
+                        current.set(free, new Node<>(key, updated));
+                    } else {
+                        current.set(slot, new Node<>(key, updated));
+                        used++;
+                    }
+                    size++;
+                    if (used > LongHashing.maxFill(current.length())) {
+                        rehash(current);
+                    }
+                }
+            }
+            return returnPrevious ? previous : updated;
+        }
+        
+        synchronized void clear() {
+            table = new AtomicReferenceArray<>(initialCapacity);
+            size = 0;
+            used = 0;
+        }
+        
+        /**
+         * Copia las entradas vivas a una tabla nueva, descartando las marcas de borrado,
+         * y la publica. Los lectores que aún recorren la tabla anterior ven datos válidos.
+         */
+        private void rehash(AtomicReferenceArray<Node<V>> current) {
+            int capacity = LongHashing.capacityFor(size * 2, initialCapacity);
+            AtomicReferenceArray<Node<V>> rebuilt = new AtomicReferenceArray<>(capacity);
+            int mask = capacity - 1;
+            for (int i = 0; i < current.length(); i++) {
+                Node<V> node = current.get(i);
+                if (node != null && node != REMOVED) {
+                    int slot = LongHashing.slot(node.key, mask);
+                    while (rebuilt.get(slot) != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    rebuilt.set(slot, node);
+                }
+            }
+            used = size;
+            table = rebuilt;
+        }
+        
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V> removedNode() {
+            return (Node<V>) REMOVED;
+        }
+    }
+}
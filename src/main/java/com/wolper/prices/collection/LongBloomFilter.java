@@ -0,0 +1,77 @@
+package com.wolper.prices.collection;
+
+/**
+ * Filtro de Bloom de claves {@code long} sobre un array de bits primitivo.
+ * Responde si una clave puede estar en el conjunto: un {@code false} es seguro y un
+ * {@code true} puede ser un falso positivo, con la probabilidad elegida al dimensionarlo.
+ * Consultar no crea objetos.
+ * <p>
+ * Las posiciones de cada clave se obtienen por doble dispersión a partir de dos mezclas de
+ * sus bits. No es seguro entre hilos para escrituras: se construye una vez y después solo
+ * se lee, publicado de forma segura (campo final o volátil).
+ */
+public final class LongBloomFilter {
+    
+    private static final double LN2 = Math.log(2);
+    private static final int MAX_HASHES = 16;
+    
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+    
+    /**
+     * @param expectedKeys Claves previstas
+     * @param falsePositiveRate Probabilidad de falso positivo con ese número de claves, entre 0 y 1
+     */
+    public LongBloomFilter(long expectedKeys, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Probabilidad de falso positivo inválida: " + falsePositiveRate);
+        }
+        long keys = Math.max(expectedKeys, 1);
+        long bits = (long) Math.ceil(-keys * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE));
+        this.words = new long[wordCount];
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashCount = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bitCount / keys * LN2)));
+    }
+    
+    public void put(long key) {
+        long h1 = LongHashing.mix(key);
+        long h2 = LongHashing.mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+    
+    /**
+     * @return {@code false} si la clave seguro que no se ha añadido
+     */
+    public boolean mightContain(long key) {
+        long h1 = LongHashing.mix(key);
+        long h2 = LongHashing.mix(h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((words[(int) (bit >>> 6)] & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public int hashCount() {
+        return hashCount;
+    }
+    
+    /**
+     * Memoria ocupada por el array de bits.
+     */
+    public long estimatedBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+    
+    @Override
+    public String toString() {
+        return "LongBloomFilter[bits=" + bitCount + ", hashes=" + hashCount + "]";
+    }
+}
@@ -0,0 +1,46 @@
+package com.wolper.prices.collection;
+
+/**
+ * Dispersión y dimensionado compartidos por los mapas de claves {@code long}.
+ */
+final class LongHashing {
+    
+    /** Carga máxima de las tablas (3/4), contando huecos borrados. */
+    private static final int MAX_FILL_NUMERATOR = 3;
+    private static final int MAX_FILL_DENOMINATOR = 4;
+    
+    static final int MAX_CAPACITY = 1 << 30;
+    
+    private LongHashing() {
+    }
+    
+    /**
+     * Mezcla los bits de la clave para que claves consecutivas o empaquetadas
+     * (con los bits altos casi constantes) se repartan por toda la tabla.
+     */
+    static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 32);
+    }
+    
+    static int slot(long key, int mask) {
+        return (int) mix(key) & mask;
+    }
+    
+    static int maxFill(int capacity) {
+        return (int) ((long) capacity * MAX_FILL_NUMERATOR / MAX_FILL_DENOMINATOR);
+    }
+    
+    /**
+     * Menor potencia de dos, no inferior a {@code minCapacity}, en la que caben
+     * {@code expectedSize} entradas sin superar la carga máxima.
+     */
+    static int capacityFor(int expectedSize, int minCapacity) {
+        long needed = Math.max(minCapacity,
+                (long) Math.max(expectedSize, 0) * MAX_FILL_DENOMINATOR / MAX_FILL_NUMERATOR + 1);
+        if (needed > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Demasiadas entradas para el mapa: " + expectedSize);
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+}
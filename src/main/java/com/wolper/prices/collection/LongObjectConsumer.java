@@ -0,0 +1,12 @@
+package com.wolper.prices.collection;
+
+/**
+ * Receptor de una entrada de un mapa de claves {@code long} sin convertir la clave a {@link Long}.
+ *
+ * @param <V> Tipo de los valores
+ */
+@FunctionalInterface
+public interface LongObjectConsumer<V> {
+    
+    void accept(long key, V value);
+}
@@ -0,0 +1,144 @@
+package com.wolper.prices.collection;
+
+import java.util.function.LongFunction;
+
+/**
+ * Mapa de claves {@code long} con direccionamiento abierto y sondeo lineal.
+ * Las claves se guardan en un array primitivo, así que buscar no convierte la clave
+ * a {@link Long} ni crea objetos. Los valores no pueden ser {@code null}: un hueco
+ * vacío se reconoce por no tener valor, lo que permite cualquier clave.
+ * <p>
+ * No es seguro entre hilos para escrituras. Se usa en estructuras que se construyen
+ * una vez y después solo se leen, publicadas de forma segura (campo final o volátil).
+ *
+ * @param <V> Tipo de los valores
+ */
+public final class LongObjectHashMap<V> {
+    
+    private static final int MIN_CAPACITY = 16;
+    
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    
+    public LongObjectHashMap() {
+        this(MIN_CAPACITY);
+    }
+    
+    /**
+     * @param expectedSize Entradas previstas; la tabla se dimensiona para no crecer hasta superarlas
+     */
+    public LongObjectHashMap(int expectedSize) {
+        allocate(LongHashing.capacityFor(expectedSize, MIN_CAPACITY));
+    }
+    
+    /**
+     * @return El valor asociado, o {@code null} si la clave no está en el mapa
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        for (int slot = LongHashing.slot(key, mask); ; slot = (slot + 1) & mask) {
+            Object value = values[slot];
+            if (value == null) {
+                return null;
+            }
+            if (keys[slot] == key) {
+                return (V) value;
+            }
+        }
+    }
+    
+    /**
+     * Asocia el valor a la clave.
+     *
+     * @return El valor anterior, o {@code null} si no había
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("El mapa no admite valores nulos");
+        }
+        int slot = LongHashing.slot(key, mask);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > LongHashing.maxFill(mask + 1)) {
+            rehash((mask + 1) * 2);
+        }
+        return null;
+    }
+    
+    /**
+     * Devuelve el valor de la clave, creándolo con la función indicada si no existe.
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> factory) {
+        V value = get(key);
+        if (value == null) {
+            value = factory.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Recorre las entradas en el orden de la tabla.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(LongObjectConsumer<? super V> consumer) {
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                consumer.accept(keys[slot], (V) values[slot]);
+            }
+        }
+    }
+    
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+    
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = LongHashing.slot(oldKeys[i], mask);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "LongObjectHashMap[size=" + size + ", capacity=" + values.length + "]";
+    }
+    
+    /**
+     * Número de huecos de la tabla.
+     */
+    int capacity() {
+        return values.length;
+    }
+}
@@ -0,0 +1,32 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.in.web.FinalPriceResponses;
+import com.wolper.prices.adapter.in.web.PriceHttpCachePolicy;
+import com.wolper.prices.adapter.in.web.PriceResponseCache;
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.observability.PriceLookupMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de las cabeceras de caché HTTP (ETag, Last-Modified, max-age) y de la
+ * respuesta del precio final que comparten las pilas MVC y reactiva.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpCacheProperties.class)
+public class HttpCacheConfig {
+    
+    @Bean
+    public PriceHttpCachePolicy priceHttpCachePolicy(HttpCacheProperties properties) {
+        return new PriceHttpCachePolicy(properties.maxAge());
+    }
+    
+    @Bean
+    public FinalPriceResponses finalPriceResponses(PriceResponseCache priceResponseCache,
+                                                   PriceHttpCachePolicy priceHttpCachePolicy,
+                                                   RefreshPriceDataUseCase refreshPriceDataUseCase,
+                                                   PriceLookupMetrics metrics) {
+        return new FinalPriceResponses(priceResponseCache, priceHttpCachePolicy, refreshPriceDataUseCase, metrics);
+    }
+}
@@ -0,0 +1,16 @@
+package com.wolper.prices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché HTTP del precio final ({@code prices.http-cache.*}).
+ *
+ * @param maxAge {@code max-age} enviado a clientes y CDN; 0 envía {@code no-cache}
+ */
+@ConfigurationProperties(prefix = "prices.http-cache")
+public record HttpCacheProperties(
+        @DefaultValue("10m") Duration maxAge) {
+}
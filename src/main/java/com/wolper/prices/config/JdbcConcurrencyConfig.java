@@ -0,0 +1,56 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.out.persistence.JdbcConcurrencyGate;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración del límite de operaciones JDBC simultáneas.
+ * Por defecto se dimensiona al pool de conexiones, de modo que ninguna petición
+ * espera dentro del pool: las que sobran hacen cola en el semáforo.
+ * <p>
+ * Con réplicas de lectura, las consultas de precio tienen su propio límite, dimensionado a la
+ * suma de los pools de las réplicas: no compiten con las importaciones ni el archivado por los
+ * permisos del primario, y cada réplica añadida aumenta la concurrencia de lectura.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(JdbcConcurrencyProperties.class)
+public class JdbcConcurrencyConfig {
+    
+    /** Tamaño por defecto del pool de Hikari, si el DataSource no es Hikari. */
+    private static final int DEFAULT_POOL_SIZE = 10;
+    
+    @Bean
+    @Primary
+    public JdbcConcurrencyGate jdbcConcurrencyGate(DataSource dataSource, JdbcConcurrencyProperties properties) {
+        int maxConcurrency = properties.maxConcurrency() > 0 ? properties.maxConcurrency() : poolSize(dataSource);
+        log.info("Límite de operaciones JDBC simultáneas: {}", maxConcurrency);
+        return new JdbcConcurrencyGate(maxConcurrency, properties.acquireTimeout());
+    }
+    
+    /**
+     * Límite de las consultas de precio por petición. Sin réplicas se leen del primario y
+     * comparten su límite.
+     */
+    @Bean
+    public JdbcConcurrencyGate replicaReadGate(JdbcConcurrencyGate jdbcConcurrencyGate,
+                                               ReadReplicaProperties replicas, JdbcConcurrencyProperties properties) {
+        if (replicas.nodes().isEmpty()) {
+            return jdbcConcurrencyGate;
+        }
+        int maxConcurrency = replicas.nodes().size() * replicas.maxPoolSize();
+        log.info("Límite de consultas simultáneas en réplicas: {}", maxConcurrency);
+        return new JdbcConcurrencyGate(maxConcurrency, properties.acquireTimeout());
+    }
+    
+    private static int poolSize(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+    }
+}
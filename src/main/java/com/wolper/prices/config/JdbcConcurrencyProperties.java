@@ -0,0 +1,18 @@
+package com.wolper.prices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Propiedades del límite de concurrencia JDBC ({@code prices.jdbc.*}).
+ *
+ * @param maxConcurrency Operaciones JDBC simultáneas; 0 usa el tamaño del pool de conexiones
+ * @param acquireTimeout Espera máxima por un permiso antes de responder 503
+ */
+@ConfigurationProperties("prices.jdbc")
+public record JdbcConcurrencyProperties(
+        @DefaultValue("0") int maxConcurrency,
+        @DefaultValue("5s") Duration acquireTimeout) {
+}
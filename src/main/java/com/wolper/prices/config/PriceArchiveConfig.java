@@ -0,0 +1,53 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.out.persistence.JdbcConcurrencyGate;
+import com.wolper.prices.adapter.out.persistence.JdbcPriceArchiver;
+import com.wolper.prices.application.port.in.ArchiveExpiredPricesUseCase;
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.application.service.PriceArchiveService;
+import com.wolper.prices.domain.model.PriceLiveWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+/**
+ * Configuración del archivado de precios caducados.
+ * La ventana viva existe siempre: sin archivado no tiene límite y las consultas
+ * no leen la tabla de archivo.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(PriceArchiveProperties.class)
+public class PriceArchiveConfig {
+    
+    @Bean
+    public PriceLiveWindow priceLiveWindow(PriceArchiveProperties properties) {
+        if (!properties.enabled()) {
+            return PriceLiveWindow.unbounded();
+        }
+        log.info("Archivado de precios activo: ventana viva de {} ({})", properties.liveWindow(), properties.schedule());
+        return new PriceLiveWindow(Clock.systemDefaultZone(), properties.liveWindow());
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "prices.archive", name = "enabled", havingValue = "true")
+    public JdbcPriceArchiver jdbcPriceArchiver(NamedParameterJdbcTemplate jdbcTemplate, JdbcConcurrencyGate gate,
+                                               TransactionTemplate transactionTemplate,
+                                               PriceArchiveProperties properties) {
+        return new JdbcPriceArchiver(jdbcTemplate, gate, transactionTemplate, properties.batchSize());
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "prices.archive", name = "enabled", havingValue = "true")
+    public ArchiveExpiredPricesUseCase archiveExpiredPricesUseCase(JdbcPriceArchiver priceArchiver,
+                                                                   PriceLiveWindow priceLiveWindow,
+                                                                   RefreshPriceDataUseCase refreshPriceDataUseCase) {
+        return new PriceArchiveService(priceArchiver, priceLiveWindow, refreshPriceDataUseCase);
+    }
+}
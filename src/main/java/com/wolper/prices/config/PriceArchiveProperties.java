@@ -0,0 +1,22 @@
+package com.wolper.prices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración del archivado de precios caducados ({@code prices.archive.*}).
+ *
+ * @param enabled Archiva los precios caducados y consulta el archivo para fechas anteriores a la ventana viva
+ * @param liveWindow Antigüedad, desde el instante actual, de los precios que se conservan en la tabla principal
+ * @param batchSize Precios movidos en cada transacción
+ * @param schedule Expresión cron de la ejecución periódica
+ */
+@ConfigurationProperties(prefix = "prices.archive")
+public record PriceArchiveProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("365d") Duration liveWindow,
+        @DefaultValue("5000") int batchSize,
+        @DefaultValue("0 30 3 * * *") String schedule) {
+}
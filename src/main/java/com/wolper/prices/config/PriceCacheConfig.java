@@ -0,0 +1,32 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.application.cache.PriceSegmentCache;
+import com.wolper.prices.application.service.CachingGetFinalPriceService;
+import com.wolper.prices.application.service.GetFinalPriceService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Configuración de la caché de tramos de precio delante del caso de uso.
+ * Se activa con {@code prices.cache.enabled=true}.
+ */
+@Configuration
+@EnableConfigurationProperties(PriceCacheProperties.class)
+@ConditionalOnProperty(prefix = "prices.cache", name = "enabled", havingValue = "true")
+public class PriceCacheConfig {
+    
+    @Bean
+    public PriceSegmentCache priceSegmentCache(PriceCacheProperties properties) {
+        return new PriceSegmentCache(properties.maxEntries(), properties.maxSize().toBytes());
+    }
+    
+    @Bean
+    @Primary
+    public CachingGetFinalPriceService cachingGetFinalPriceService(GetFinalPriceService delegate,
+                                                                   PriceSegmentCache cache) {
+        return new CachingGetFinalPriceService(delegate, cache);
+    }
+}
@@ -0,0 +1,19 @@
+package com.wolper.prices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuración de la caché de tramos de precio ({@code prices.cache.*}).
+ *
+ * @param enabled Activa la caché delante del caso de uso
+ * @param maxEntries Máximo de combinaciones (brand, producto) en caché
+ * @param maxSize Presupuesto de memoria estimada de la caché
+ */
+@ConfigurationProperties(prefix = "prices.cache")
+public record PriceCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100000") long maxEntries,
+        @DefaultValue("64MB") DataSize maxSize) {
+}
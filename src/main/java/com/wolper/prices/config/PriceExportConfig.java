@@ -0,0 +1,46 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.in.web.PriceExportLimiter;
+import com.wolper.prices.adapter.out.persistence.JdbcPriceCatalogReader;
+import com.wolper.prices.adapter.out.persistence.ReadReplicaRouter;
+import com.wolper.prices.domain.model.PriceLiveWindow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración de la exportación de la foto de precios.
+ * Con réplicas de lectura, el cursor y su transacción se abren en las réplicas y una descarga
+ * larga no ocupa conexiones del primario.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(PriceExportProperties.class)
+public class PriceExportConfig {
+    
+    @Bean
+    public JdbcPriceCatalogReader jdbcPriceCatalogReader(DataSource dataSource,
+                                                         PlatformTransactionManager transactionManager,
+                                                         ReadReplicaRouter readReplicas,
+                                                         PriceExportProperties properties,
+                                                         PriceLiveWindow priceLiveWindow) {
+        if (readReplicas.hasReplicas()) {
+            DataSource replicas = readReplicas.readDataSource();
+            log.info("Exportaciones de la foto de precios desde las réplicas de lectura");
+            return new JdbcPriceCatalogReader(replicas, new DataSourceTransactionManager(replicas),
+                                              properties.fetchSize(), priceLiveWindow);
+        }
+        return new JdbcPriceCatalogReader(dataSource, transactionManager, properties.fetchSize(), priceLiveWindow);
+    }
+    
+    @Bean
+    public PriceExportLimiter priceExportLimiter(PriceExportProperties properties) {
+        log.info("Límite de exportaciones simultáneas: {}", properties.maxConcurrency());
+        return new PriceExportLimiter(properties.maxConcurrency());
+    }
+}
@@ -0,0 +1,16 @@
+package com.wolper.prices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuración de la exportación de la foto de precios ({@code prices.export.*}).
+ *
+ * @param fetchSize Filas que el cursor JDBC pide a la base de datos en cada viaje
+ * @param maxConcurrency Exportaciones simultáneas; las que exceden el cupo se rechazan con 503
+ */
+@ConfigurationProperties(prefix = "prices.export")
+public record PriceExportProperties(
+        @DefaultValue("1000") int fetchSize,
+        @DefaultValue("2") int maxConcurrency) {
+}
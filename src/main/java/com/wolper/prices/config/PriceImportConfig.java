@@ -0,0 +1,39 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.in.imports.PriceFileParser;
+import com.wolper.prices.adapter.in.imports.PriceImportFormat;
+import com.wolper.prices.adapter.in.imports.PriceImportRunner;
+import com.wolper.prices.adapter.out.persistence.JdbcConcurrencyGate;
+import com.wolper.prices.adapter.out.persistence.JdbcPriceBulkWriter;
+import com.wolper.prices.application.port.in.ImportPricesUseCase;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Configuración de la importación masiva de precios.
+ */
+@Configuration
+@EnableConfigurationProperties(PriceImportProperties.class)
+public class PriceImportConfig {
+    
+    @Bean
+    public JdbcPriceBulkWriter jdbcPriceBulkWriter(JdbcTemplate jdbcTemplate, JdbcConcurrencyGate gate,
+                                                   TransactionTemplate transactionTemplate,
+                                                   PriceImportProperties properties) {
+        return new JdbcPriceBulkWriter(jdbcTemplate, gate, transactionTemplate, properties.batchSize());
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "prices.import", name = "file")
+    public PriceImportRunner priceImportRunner(ImportPricesUseCase importPricesUseCase, PriceFileParser parser,
+                                               PriceImportProperties properties) {
+        PriceImportFormat format = properties.format() != null
+                ? properties.format()
+                : PriceImportFormat.fromFileName(properties.file().getFileName().toString());
+        return new PriceImportRunner(importPricesUseCase, parser, properties.file(), format, properties.mode());
+    }
+}
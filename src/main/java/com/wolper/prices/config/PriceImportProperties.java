@@ -0,0 +1,24 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.in.imports.PriceImportFormat;
+import com.wolper.prices.domain.model.PriceImportMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Configuración de la importación masiva de precios ({@code prices.import.*}).
+ *
+ * @param batchSize Filas por lote JDBC
+ * @param file Fichero a importar al arrancar; sin él no se importa nada
+ * @param format Formato del fichero; por defecto se deduce de la extensión
+ * @param mode Modo de la importación al arrancar
+ */
+@ConfigurationProperties(prefix = "prices.import")
+public record PriceImportProperties(
+        @DefaultValue("5000") int batchSize,
+        Path file,
+        PriceImportFormat format,
+        @DefaultValue("UPSERT") PriceImportMode mode) {
+}
@@ -0,0 +1,71 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.application.cache.NegativePriceCache;
+import com.wolper.prices.application.cache.PriceKeyFilter;
+import com.wolper.prices.application.port.out.PriceKeySource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del camino barato de las consultas sin precio: filtro de existencia
+ * y caché negativa. Publica {@code prices.not_found.shortcut}, con la etiqueta {@code reason},
+ * para las consultas que se responden sin llegar al repositorio.
+ * <p>
+ * El filtro solo se reconstruye al detectar un cambio de datos. Con el motor {@code jdbc}, que
+ * ve cada alta en cuanto se escribe, rechazaría los productos nuevos hasta el siguiente sondeo,
+ * así que por defecto solo se activa con los motores en memoria; con {@code jdbc} hay que pedirlo
+ * con {@code prices.not-found.key-filter=true}. Sin el sondeo de {@code prices.refresh.enabled}
+ * se desactiva siempre: no se reconstruiría nunca.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(PriceNotFoundProperties.class)
+public class PriceNotFoundConfig {
+    
+    private static final String SHORTCUT_COUNTER = "prices.not_found.shortcut";
+    
+    @Value("${prices.refresh.enabled:true}")
+    private boolean refreshEnabled;
+    
+    @Value("${prices.repository.engine:jdbc}")
+    private String engine;
+    
+    @Bean
+    public PriceKeyFilter priceKeyFilter(PriceKeySource source, PriceNotFoundProperties properties,
+                                         MeterRegistry meterRegistry) {
+        boolean keyFilter = properties.keyFilter() != null ? properties.keyFilter() : !"jdbc".equals(engine);
+        if (keyFilter && !refreshEnabled) {
+            log.warn("Filtro de existencia desactivado: sin prices.refresh.enabled no se reconstruiría");
+        }
+        PriceKeyFilter filter = keyFilter && refreshEnabled
+                ? new PriceKeyFilter(source, properties.falsePositiveRate())
+                : PriceKeyFilter.acceptAll();
+        FunctionCounter.builder(SHORTCUT_COUNTER, filter, PriceKeyFilter::rejections)
+                .tag("reason", "key_filter")
+                .description("Consultas sin precio respondidas sin llegar al repositorio")
+                .register(meterRegistry);
+        Gauge.builder("prices.key_filter.memory", filter, PriceKeyFilter::estimatedBytes)
+                .baseUnit(BaseUnits.BYTES)
+                .description("Memoria del filtro de existencia de productos")
+                .register(meterRegistry);
+        return filter;
+    }
+    
+    @Bean
+    public NegativePriceCache negativePriceCache(PriceNotFoundProperties properties, MeterRegistry meterRegistry) {
+        NegativePriceCache cache = new NegativePriceCache(properties.negativeMaxEntries(),
+                properties.negativeTtl(), properties.negativeWindow());
+        FunctionCounter.builder(SHORTCUT_COUNTER, cache, NegativePriceCache::hits)
+                .tag("reason", "negative_cache")
+                .description("Consultas sin precio respondidas sin llegar al repositorio")
+                .register(meterRegistry);
+        return cache;
+    }
+}
@@ -0,0 +1,25 @@
+package com.wolper.prices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de las consultas sin precio ({@code prices.not-found.*}).
+ *
+ * @param keyFilter Activa el filtro de existencia de combinaciones (brand, producto); sin valor, solo
+ *                  con los motores en memoria, que tampoco ven un producto nuevo hasta detectar el cambio
+ * @param falsePositiveRate Proporción de combinaciones sin precios que el filtro deja pasar
+ * @param negativeTtl Tiempo que se recuerda un hueco sin precio; cero desactiva la caché negativa
+ * @param negativeWindow Longitud máxima del hueco que se mide tras un fallo
+ * @param negativeMaxEntries Máximo de combinaciones con hueco recordado
+ */
+@ConfigurationProperties(prefix = "prices.not-found")
+public record PriceNotFoundProperties(
+        Boolean keyFilter,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("5s") Duration negativeTtl,
+        @DefaultValue("1h") Duration negativeWindow,
+        @DefaultValue("100000") int negativeMaxEntries) {
+}
@@ -0,0 +1,36 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.out.persistence.JdbcPriceRepository;
+import com.wolper.prices.adapter.out.persistence.memory.PartitionedPriceRepository;
+import com.wolper.prices.application.service.PricePartitionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Configuración del motor de precios particionado por marca.
+ * Se activa con {@code prices.repository.engine=partitioned}.
+ */
+@Configuration
+@EnableConfigurationProperties(PricePartitionProperties.class)
+@ConditionalOnProperty(prefix = "prices.repository", name = "engine", havingValue = "partitioned")
+public class PricePartitionConfig {
+    
+    @Bean
+    @Primary
+    public PartitionedPriceRepository partitionedPriceRepository(JdbcPriceRepository source,
+                                                                 PricePartitionProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        return new PartitionedPriceRepository(source, properties.brands(), meterRegistry);
+    }
+    
+    @Bean
+    public PricePartitionService pricePartitionService(PartitionedPriceRepository repository,
+                                                       ApplicationEventPublisher eventPublisher) {
+        return new PricePartitionService(repository, eventPublisher);
+    }
+}
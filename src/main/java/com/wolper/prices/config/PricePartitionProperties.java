@@ -0,0 +1,16 @@
+package com.wolper.prices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Set;
+
+/**
+ * Configuración del motor particionado por marca ({@code prices.partitions.*}).
+ *
+ * @param brands Marcas que sirve la instancia; vacío para todas las que tengan precios
+ */
+@ConfigurationProperties(prefix = "prices.partitions")
+public record PricePartitionProperties(
+        @DefaultValue Set<Long> brands) {
+}
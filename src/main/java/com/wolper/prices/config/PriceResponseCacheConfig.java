@@ -0,0 +1,23 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.in.web.PriceResponseCache;
+import com.wolper.prices.adapter.in.web.mapper.PriceMapper;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Configuración de las respuestas JSON preserializadas del endpoint de precio final.
+ * Se usa el mismo {@link JsonMapper} que los conversores HTTP para que el JSON sea idéntico.
+ */
+@Configuration
+@EnableConfigurationProperties(PriceResponseCacheProperties.class)
+public class PriceResponseCacheConfig {
+    
+    @Bean
+    public PriceResponseCache priceResponseCache(PriceMapper priceMapper, JsonMapper jsonMapper,
+                                                 PriceResponseCacheProperties properties) {
+        return new PriceResponseCache(priceMapper, jsonMapper, properties.maxEntries());
+    }
+}
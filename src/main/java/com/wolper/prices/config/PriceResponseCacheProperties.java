@@ -0,0 +1,14 @@
+package com.wolper.prices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuración de las respuestas JSON preserializadas ({@code prices.response-cache.*}).
+ *
+ * @param maxEntries Máximo de respuestas guardadas (una por fila de precio); 0 las desactiva
+ */
+@ConfigurationProperties(prefix = "prices.response-cache")
+public record PriceResponseCacheProperties(
+        @DefaultValue("100000") int maxEntries) {
+}
@@ -0,0 +1,26 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.out.persistence.JdbcPriceRepository;
+import com.wolper.prices.adapter.out.persistence.snapshot.SnapshotPriceRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Configuración del motor de precios sobre snapshot binario proyectado en memoria.
+ * Se activa con {@code prices.repository.engine=snapshot}.
+ */
+@Configuration
+@EnableConfigurationProperties(PriceSnapshotProperties.class)
+@ConditionalOnProperty(prefix = "prices.repository", name = "engine", havingValue = "snapshot")
+public class PriceSnapshotConfig {
+    
+    @Bean
+    @Primary
+    public SnapshotPriceRepository snapshotPriceRepository(JdbcPriceRepository source,
+                                                           PriceSnapshotProperties properties) {
+        return new SnapshotPriceRepository(source, properties.path(), properties.verifyChecksum());
+    }
+}
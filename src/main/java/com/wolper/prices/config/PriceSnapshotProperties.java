@@ -0,0 +1,18 @@
+package com.wolper.prices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Configuración del snapshot binario de precios ({@code prices.snapshot.*}).
+ *
+ * @param path Fichero de snapshot; debe sobrevivir a los despliegues para evitar la exportación
+ * @param verifyChecksum Valida el checksum del snapshot existente al arrancar
+ */
+@ConfigurationProperties(prefix = "prices.snapshot")
+public record PriceSnapshotProperties(
+        @DefaultValue("data/prices.snapshot") Path path,
+        @DefaultValue("true") boolean verifyChecksum) {
+}
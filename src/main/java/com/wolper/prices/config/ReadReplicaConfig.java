@@ -0,0 +1,65 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.out.persistence.ReadReplicaRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuración de las réplicas de lectura. Cada réplica tiene su propio pool Hikari, que no
+ * se registra como bean para no desplazar al {@code DataSource} primario autoconfigurado.
+ * Publica {@code prices.replicas.healthy} y {@code prices.replicas.primary_fallbacks}.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+    
+    @Bean
+    public ReadReplicaRouter readReplicaRouter(DataSource dataSource, ReadReplicaProperties properties,
+                                               MeterRegistry meterRegistry) {
+        List<ReadReplicaProperties.Node> nodes = properties.nodes();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.put(name, replicaPool(name, nodes.get(i), properties));
+        }
+        ReadReplicaRouter router = new ReadReplicaRouter(dataSource, replicas, properties.balancing(),
+                properties.healthCheckInterval(), properties.healthCheckTimeout(), properties.primaryReadsAfterChange());
+        
+        Gauge.builder("prices.replicas.healthy", router, ReadReplicaRouter::healthyReplicas)
+                .description("Réplicas de lectura en servicio")
+                .register(meterRegistry);
+        FunctionCounter.builder("prices.replicas.primary_fallbacks", router, ReadReplicaRouter::primaryFallbacks)
+                .description("Conexiones de lectura servidas por el primario sin réplicas en servicio o con conexiones libres")
+                .register(meterRegistry);
+        return router;
+    }
+    
+    /**
+     * El pool arranca aunque la réplica no responda (queda fuera de servicio) y no espera
+     * por una conexión más que la comprobación de salud, para desviar pronto al primario.
+     * Agotar el pool solo desvía esa petición: la réplica no sale del reparto.
+     */
+    private static HikariDataSource replicaPool(String name, ReadReplicaProperties.Node node,
+                                                ReadReplicaProperties properties) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(node.url());
+        pool.setUsername(node.username());
+        pool.setPassword(node.password());
+        pool.setReadOnly(true);
+        pool.setMaximumPoolSize(properties.maxPoolSize());
+        pool.setConnectionTimeout(properties.healthCheckTimeout().toMillis());
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
+}
@@ -0,0 +1,35 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.out.persistence.ReadReplicaRouter.Balancing;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Réplicas de solo lectura para las consultas de precio ({@code prices.replicas.*}).
+ *
+ * @param nodes Réplicas, en el orden del turno rotatorio; vacío para leer del primario
+ * @param balancing Reparto entre réplicas: {@code round-robin} o {@code least-connections}
+ * @param maxPoolSize Conexiones del pool de cada réplica
+ * @param healthCheckInterval Periodo entre comprobaciones de las réplicas
+ * @param healthCheckTimeout Espera máxima por una conexión válida antes de dar una réplica por caída
+ * @param primaryReadsAfterChange Tiempo que las lecturas van al primario tras detectar un cambio de datos,
+ *                                para no cachear lo que las réplicas aún no han recibido; 0 lo desactiva
+ */
+@ConfigurationProperties("prices.replicas")
+public record ReadReplicaProperties(
+        @DefaultValue List<Node> nodes,
+        @DefaultValue("round-robin") Balancing balancing,
+        @DefaultValue("10") int maxPoolSize,
+        @DefaultValue("10s") Duration healthCheckInterval,
+        @DefaultValue("2s") Duration healthCheckTimeout,
+        @DefaultValue("5s") Duration primaryReadsAfterChange) {
+    
+    /**
+     * Conexión a una réplica.
+     */
+    public record Node(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.observability.RequestLogSampler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del muestreo del log de peticiones.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(RequestLoggingProperties.class)
+public class RequestLoggingConfig {
+    
+    @Bean
+    public RequestLogSampler requestLogSampler(RequestLoggingProperties properties) {
+        log.info("Muestreo del log de peticiones correctas: {}", properties.successSampleRate());
+        return new RequestLogSampler(properties.successSampleRate());
+    }
+}
@@ -0,0 +1,16 @@
+package com.wolper.prices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Propiedades del log de peticiones ({@code prices.logging.*}).
+ *
+ * @param successSampleRate Proporción de consultas correctas que se registran (0 a 1); los errores se registran siempre
+ * @param asyncQueueSize Capacidad de la cola del appender asíncrono; lo lee {@code logback-spring.xml}
+ */
+@ConfigurationProperties("prices.logging")
+public record RequestLoggingProperties(
+        @DefaultValue("0.01") double successSampleRate,
+        @DefaultValue("8192") int asyncQueueSize) {
+}
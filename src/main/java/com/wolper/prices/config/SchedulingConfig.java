@@ -0,0 +1,13 @@
+package com.wolper.prices.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (detección de cambios y archivado de precios).
+ * Cada tarea se activa con su propia propiedad.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,27 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.in.web.PriceSnapshotFormat;
+import com.wolper.prices.adapter.in.web.RequestStartInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuración de Spring MVC.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebConfig implements WebMvcConfigurer {
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestStartInterceptor()).addPathPatterns("/prices/**");
+    }
+    
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(String.class, PriceSnapshotFormat.class, PriceSnapshotFormat::fromValue);
+    }
+}
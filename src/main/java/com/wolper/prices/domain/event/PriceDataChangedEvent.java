@@ -0,0 +1,32 @@
+package com.wolper.prices.domain.event;
+
+import com.wolper.prices.domain.model.PriceDataVersion;
+
+import java.util.Set;
+
+/**
+ * Evento publicado cuando cambian los datos de precios.
+ * Los índices y cachés en memoria lo escuchan para reconstruirse.
+ *
+ * @param version Versión de los datos que deben reflejar tras el evento
+ * @param brandIds Marcas cuyos datos han cambiado, o vacío si el cambio puede afectar a todas.
+ *                 Solo el motor particionado lo acota: sus particiones ya se han recargado
+ *                 y las cachés pueden descartar únicamente las entradas de esas marcas
+ */
+public record PriceDataChangedEvent(PriceDataVersion version, Set<Long> brandIds) {
+    
+    public PriceDataChangedEvent {
+        brandIds = Set.copyOf(brandIds);
+    }
+    
+    /**
+     * Cambio que puede afectar a todas las marcas.
+     */
+    public PriceDataChangedEvent(PriceDataVersion version) {
+        this(version, Set.of());
+    }
+    
+    public boolean affectsAllBrands() {
+        return brandIds.isEmpty();
+    }
+}
@@ -0,0 +1,13 @@
+package com.wolper.prices.domain.event;
+
+import com.wolper.prices.domain.model.PriceDataVersion;
+
+/**
+ * Evento publicado cuando se recarga la partición de precios de una sola marca.
+ * Las cachés lo escuchan para descartar únicamente las entradas de esa marca.
+ *
+ * @param brandId Marca recargada
+ * @param version Versión de los datos de la marca tras la recarga
+ */
+public record PricePartitionReloadedEvent(long brandId, PriceDataVersion version) {
+}
@@ -0,0 +1,26 @@
+package com.wolper.prices.domain.exception;
+
+import java.time.LocalDateTime;
+
+/**
+ * Excepción lanzada cuando un rango de fechas empieza después de terminar.
+ */
+public class InvalidDateRangeException extends RuntimeException {
+    
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    
+    public InvalidDateRangeException(LocalDateTime from, LocalDateTime to) {
+        super(String.format("La fecha inicial %s es posterior a la fecha final %s", from, to));
+        this.from = from;
+        this.to = to;
+    }
+    
+    public LocalDateTime getFrom() {
+        return from;
+    }
+    
+    public LocalDateTime getTo() {
+        return to;
+    }
+}
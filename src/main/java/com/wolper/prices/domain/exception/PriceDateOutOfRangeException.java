@@ -0,0 +1,20 @@
+package com.wolper.prices.domain.exception;
+
+import java.time.LocalDateTime;
+
+/**
+ * Excepción lanzada cuando una fecha no cabe en la codificación en microsegundos de los precios.
+ */
+public class PriceDateOutOfRangeException extends RuntimeException {
+    
+    private final LocalDateTime date;
+    
+    public PriceDateOutOfRangeException(LocalDateTime date, LocalDateTime min, LocalDateTime max) {
+        super(String.format("La fecha %s está fuera del rango admitido (%s a %s)", date, min, max));
+        this.date = date;
+    }
+    
+    public LocalDateTime getDate() {
+        return date;
+    }
+}
@@ -0,0 +1,20 @@
+package com.wolper.prices.domain.exception;
+
+/**
+ * Excepción lanzada cuando una importación UPSERT falla a mitad del fichero.
+ * Los lotes escritos antes del fallo ya están confirmados y no se deshacen: el mensaje
+ * añade al de la causa cuántas filas quedaron importadas.
+ */
+public class PriceImportInterruptedException extends RuntimeException {
+    
+    private final long committedRows;
+    
+    public PriceImportInterruptedException(long committedRows, RuntimeException cause) {
+        super(String.format("%s (%d filas ya importadas)", cause.getMessage(), committedRows), cause);
+        this.committedRows = committedRows;
+    }
+    
+    public long getCommittedRows() {
+        return committedRows;
+    }
+}
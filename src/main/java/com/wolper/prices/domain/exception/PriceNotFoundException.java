@@ -1,23 +1,46 @@
 package com.wolper.prices.domain.exception;
 
+import com.wolper.prices.domain.model.EpochMicros;
+
 /**
  * Excepción lanzada cuando no se encuentra un precio aplicable
  * para los criterios especificados.
+ * <p>
+ * Es un resultado esperado (enlaces caducados, bots), no un fallo: no captura la traza
+ * de pila y el mensaje solo se construye si alguien lo pide.
  */
 public class PriceNotFoundException extends RuntimeException {
     
     private final Long productId;
     private final Long brandId;
+    private final long applicationEpochMicros;
     private final String applicationDate;
     
     public PriceNotFoundException(Long productId, Long brandId, String applicationDate) {
-        super(String.format("No se encontró precio para productId=%d, brandId=%d, fecha=%s",
-                productId, brandId, applicationDate));
+        super(null, null, false, false);
         this.productId = productId;
         this.brandId = brandId;
+        this.applicationEpochMicros = 0;
         this.applicationDate = applicationDate;
     }
     
+    /**
+     * Variante con la fecha en microsegundos desde epoch; se convierte al leerla.
+     */
+    public PriceNotFoundException(long productId, long brandId, long applicationEpochMicros) {
+        super(null, null, false, false);
+        this.productId = productId;
+        this.brandId = brandId;
+        this.applicationEpochMicros = applicationEpochMicros;
+        this.applicationDate = null;
+    }
+    
+    @Override
+    public String getMessage() {
+        return "No se encontró precio para productId=" + productId + ", brandId=" + brandId
+                + ", fecha=" + getApplicationDate();
+    }
+    
     public Long getProductId() {
         return productId;
     }
@@ -27,6 +50,8 @@ public class PriceNotFoundException extends RuntimeException {
     }
     
     public String getApplicationDate() {
-        return applicationDate;
+        return applicationDate != null
+                ? applicationDate
+                : EpochMicros.toLocalDateTime(applicationEpochMicros).toString();
     }
 }
@@ -1,38 +1,76 @@
 package com.wolper.prices.domain.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Entidad de dominio que representa un precio aplicable a un producto
  * en un rango de fechas específico.
+ * <p>
+ * Representación compacta e inmutable para la ruta de consulta: identificadores
+ * primitivos, fechas en microsegundos desde epoch, importe en unidades mínimas
+ * (céntimos) y código de moneda canónico compartido entre instancias. Los tipos
+ * ricos ({@link LocalDateTime}, {@link BigDecimal}) se crean solo al pedirlos,
+ * en el borde del mapeo a DTO.
  */
-@Data
+@Value
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
 public class BrandPrice {
     
-    private Long id;
-    private Long brandId;
-    private LocalDateTime startDate;
-    private LocalDateTime endDate;
-    private Long priceList;
-    private Long productId;
-    private Integer priority;
-    private BigDecimal price;
-    private String currency;
+    /** Decimales del importe, los mismos que la columna {@code price DECIMAL(10, 2)}. */
+    public static final int PRICE_SCALE = 2;
+    
+    /**
+     * Orden de precedencia entre precios solapados: mayor prioridad primero
+     * y, a igual prioridad, mayor tarifa (price_list) primero.
+     */
+    public static final Comparator<BrandPrice> HIGHEST_PRIORITY_FIRST = (first, second) -> {
+        int byPriority = Integer.compare(second.priority, first.priority);
+        return byPriority != 0 ? byPriority : Long.compare(second.priceList, first.priceList);
+    };
+    
+    private static final Map<String, String> CURRENCY_CODES = new ConcurrentHashMap<>();
+    
+    long id;
+    long brandId;
+    long startEpochMicros;
+    long endEpochMicros;
+    long priceList;
+    long productId;
+    int priority;
+    long priceMinorUnits;
+    String currency;
+    
+    public LocalDateTime getStartDate() {
+        return EpochMicros.toLocalDateTime(startEpochMicros);
+    }
+    
+    public LocalDateTime getEndDate() {
+        return EpochMicros.toLocalDateTime(endEpochMicros);
+    }
+    
+    public BigDecimal getPrice() {
+        return BigDecimal.valueOf(priceMinorUnits, PRICE_SCALE);
+    }
     
     /**
      * Verifica si este precio es aplicable en la fecha especificada
      */
     public boolean isApplicableAt(LocalDateTime date) {
-        return !date.isBefore(startDate) && !date.isAfter(endDate);
+        return isApplicableAt(EpochMicros.of(date));
+    }
+    
+    /**
+     * Verifica si este precio es aplicable en el instante indicado en microsegundos desde epoch
+     */
+    public boolean isApplicableAt(long epochMicros) {
+        return epochMicros >= startEpochMicros && epochMicros <= endEpochMicros;
     }
     
     /**
@@ -44,4 +82,36 @@ public class BrandPrice {
         }
         return this.priority > other.priority;
     }
+    
+    /**
+     * Builder con setters para los tipos ricos además de los primitivos generados.
+     */
+    public static class BrandPriceBuilder {
+        
+        public BrandPriceBuilder startDate(LocalDateTime startDate) {
+            this.startEpochMicros = EpochMicros.of(startDate);
+            return this;
+        }
+        
+        public BrandPriceBuilder endDate(LocalDateTime endDate) {
+            this.endEpochMicros = EpochMicros.of(endDate);
+            return this;
+        }
+        
+        /**
+         * @throws ArithmeticException si el importe tiene más de {@link #PRICE_SCALE} decimales
+         */
+        public BrandPriceBuilder price(BigDecimal price) {
+            this.priceMinorUnits = price.setScale(PRICE_SCALE).unscaledValue().longValueExact();
+            return this;
+        }
+        
+        /**
+         * Guarda la instancia canónica del código para que todos los precios la compartan.
+         */
+        public BrandPriceBuilder currency(String currency) {
+            this.currency = currency == null ? null : CURRENCY_CODES.computeIfAbsent(currency, code -> code);
+            return this;
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package com.wolper.prices.domain.model;
+
+import com.wolper.prices.domain.exception.PriceDateOutOfRangeException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Conversión entre fechas locales y microsegundos desde epoch.
+ * Las fechas de precio no tienen zona horaria, así que se interpretan en UTC
+ * únicamente como codificación; la precisión es la de la columna TIMESTAMP.
+ * Un {@code long} cubre unos 292.000 años a cada lado de 1970; las fechas fuera de ese
+ * rango, que ISO-8601 sí admite, se rechazan con {@link PriceDateOutOfRangeException}.
+ */
+public final class EpochMicros {
+    
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final int NANOS_PER_MICRO = 1_000;
+    
+    /** Primera fecha que se puede codificar. */
+    public static final LocalDateTime MIN = toLocalDateTime(Long.MIN_VALUE);
+    
+    /** Última fecha que se puede codificar. */
+    public static final LocalDateTime MAX = toLocalDateTime(Long.MAX_VALUE);
+    
+    private static final LocalDateTime AFTER_MAX = MAX.plusNanos(NANOS_PER_MICRO);
+    
+    private EpochMicros() {
+    }
+    
+    /**
+     * Codifica la fecha en microsegundos, descartando la fracción inferior al microsegundo.
+     *
+     * @throws PriceDateOutOfRangeException si la fecha queda fuera de [{@link #MIN}, {@link #MAX}]
+     */
+    public static long of(LocalDateTime dateTime) {
+        if (!isInRange(dateTime)) {
+            throw new PriceDateOutOfRangeException(dateTime, MIN, MAX);
+        }
+        // Dentro del rango el resultado cabe en un long aunque el producto desborde al acercarse a MIN
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + dateTime.getNano() / NANOS_PER_MICRO;
+    }
+    
+    /**
+     * Indica si la fecha, descartada la fracción inferior al microsegundo, se puede codificar.
+     */
+    public static boolean isInRange(LocalDateTime dateTime) {
+        return !dateTime.isBefore(MIN) && dateTime.isBefore(AFTER_MAX);
+    }
+    
+    /**
+     * Codifica la fecha en microsegundos, redondeando hacia arriba la fracción inferior al
+     * microsegundo. Sirve para el inicio de un tramo que empieza justo después de un fin,
+     * de modo que tramos contiguos no compartan microsegundo.
+     */
+    public static long ofCeiling(LocalDateTime dateTime) {
+        long micros = of(dateTime);
+        if (dateTime.getNano() % NANOS_PER_MICRO == 0) {
+            return micros;
+        }
+        if (micros == Long.MAX_VALUE) {
+            throw new PriceDateOutOfRangeException(dateTime, MIN, MAX);
+        }
+        return micros + 1;
+    }
+    
+    /**
+     * Decodifica microsegundos desde epoch a fecha local.
+     */
+    public static LocalDateTime toLocalDateTime(long epochMicros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, MICROS_PER_SECOND),
+                (int) Math.floorMod(epochMicros, MICROS_PER_SECOND) * NANOS_PER_MICRO, ZoneOffset.UTC);
+    }
+}
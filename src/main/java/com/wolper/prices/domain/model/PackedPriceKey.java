@@ -0,0 +1,53 @@
+package com.wolper.prices.domain.model;
+
+/**
+ * Clave compuesta (brand, producto) empaquetada en un único {@code long}: la marca en los
+ * {@value #BRAND_BITS} bits altos (sin el de signo) y el producto en los {@value #PRODUCT_BITS}
+ * bits bajos. Los índices y cachés en memoria la usan en mapas primitivos, de modo que una
+ * consulta no crea objetos clave ni convierte identificadores a {@link Long}.
+ * <p>
+ * Las claves válidas son no negativas y se ordenan igual que el par (brand, producto).
+ * Los identificadores que no caben se indexan aparte con {@link Wide}.
+ */
+public final class PackedPriceKey {
+    
+    public static final int PRODUCT_BITS = 40;
+    public static final int BRAND_BITS = Long.SIZE - 1 - PRODUCT_BITS;
+    
+    public static final long MAX_PRODUCT_ID = (1L << PRODUCT_BITS) - 1;
+    public static final long MAX_BRAND_ID = (1L << BRAND_BITS) - 1;
+    
+    /** Resultado de {@link #of} cuando los identificadores no caben en la clave. */
+    public static final long NONE = -1L;
+    
+    private PackedPriceKey() {
+    }
+    
+    /**
+     * Empaqueta la marca y el producto.
+     *
+     * @return La clave, o {@link #NONE} si algún identificador es negativo o supera su máximo
+     */
+    public static long of(long brandId, long productId) {
+        if (brandId < 0 || brandId > MAX_BRAND_ID || productId < 0 || productId > MAX_PRODUCT_ID) {
+            return NONE;
+        }
+        return brandId << PRODUCT_BITS | productId;
+    }
+    
+    public static long brandId(long key) {
+        return key >>> PRODUCT_BITS;
+    }
+    
+    public static long productId(long key) {
+        return key & MAX_PRODUCT_ID;
+    }
+    
+    /**
+     * Clave sin empaquetar para los pocos precios cuyos identificadores no caben en un {@code long}
+     * empaquetado. Los índices la usan en un mapa de respaldo, normalmente vacío, en lugar de
+     * rechazar la carga completa por una fila.
+     */
+    public record Wide(long brandId, long productId) {
+    }
+}
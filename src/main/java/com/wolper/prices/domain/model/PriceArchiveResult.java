@@ -0,0 +1,15 @@
+package com.wolper.prices.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de una ejecución del archivado de precios caducados.
+ *
+ * @param cutoff Se archivaron los precios que terminaron antes de este instante
+ * @param rows Precios archivados
+ * @param batches Lotes con precios que se movieron, cada uno en su propia transacción
+ * @param duration Duración total
+ */
+public record PriceArchiveResult(LocalDateTime cutoff, long rows, int batches, Duration duration) {
+}
@@ -0,0 +1,37 @@
+package com.wolper.prices.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Huella barata del contenido de la tabla de precios.
+ * Dos versiones distintas indican que los datos han cambiado desde la última carga.
+ *
+ * @param rowCount Número de precios
+ * @param maxId Mayor identificador asignado
+ * @param lastModified Última fecha de modificación de cualquier precio ({@code null} si no hay datos)
+ */
+public record PriceDataVersion(long rowCount, long maxId, LocalDateTime lastModified) {
+    
+    /** Versión de un conjunto de precios vacío. */
+    public static final PriceDataVersion EMPTY = new PriceDataVersion(0, 0, null);
+    
+    /**
+     * Combina las versiones de varias particiones en la versión del conjunto:
+     * suma de precios, mayor identificador y última modificación más reciente.
+     */
+    public static PriceDataVersion combine(Collection<PriceDataVersion> versions) {
+        long rowCount = 0;
+        long maxId = 0;
+        LocalDateTime lastModified = null;
+        for (PriceDataVersion version : versions) {
+            rowCount += version.rowCount();
+            maxId = Math.max(maxId, version.maxId());
+            if (version.lastModified() != null
+                    && (lastModified == null || version.lastModified().isAfter(lastModified))) {
+                lastModified = version.lastModified();
+            }
+        }
+        return new PriceDataVersion(rowCount, maxId, lastModified);
+    }
+}
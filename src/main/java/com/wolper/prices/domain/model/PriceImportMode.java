@@ -0,0 +1,16 @@
+package com.wolper.prices.domain.model;
+
+/**
+ * Modo de una importación masiva de precios.
+ */
+public enum PriceImportMode {
+    
+    /** Sustituye todos los precios por los importados. */
+    REPLACE,
+    
+    /**
+     * Actualiza los precios existentes e inserta los nuevos. Un precio existe si coincide
+     * en marca, producto, tarifa y fecha de inicio.
+     */
+    UPSERT
+}
@@ -0,0 +1,21 @@
+package com.wolper.prices.domain.model;
+
+import java.time.Duration;
+
+/**
+ * Resultado de una importación masiva de precios.
+ *
+ * @param mode Modo de la importación
+ * @param rows Filas importadas
+ * @param duration Duración total
+ */
+public record PriceImportResult(PriceImportMode mode, long rows, Duration duration) {
+    
+    /**
+     * Rendimiento de la importación en filas por segundo.
+     */
+    public long rowsPerSecond() {
+        long nanos = duration.toNanos();
+        return nanos > 0 ? rows * 1_000_000_000L / nanos : rows;
+    }
+}
@@ -0,0 +1,58 @@
+package com.wolper.prices.domain.model;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Ventana viva de precios: el periodo más reciente, de longitud fija, cuyos precios se
+ * conservan en la tabla principal. Los precios que terminaron antes de su inicio se archivan.
+ * <p>
+ * Como el archivado solo mueve precios que terminaron antes del inicio de la ventana en ese
+ * momento, y el inicio solo avanza, una fecha dentro de la ventana actual no puede caer en
+ * ningún precio archivado: su consulta se resuelve solo con la tabla principal.
+ */
+public final class PriceLiveWindow {
+    
+    private static final PriceLiveWindow UNBOUNDED = new PriceLiveWindow(null, null);
+    
+    private final Clock clock;
+    private final Duration length;
+    
+    /**
+     * @param clock Reloj del que se toma el instante actual
+     * @param length Longitud de la ventana hacia atrás desde el instante actual
+     */
+    public PriceLiveWindow(Clock clock, Duration length) {
+        if (clock != null && (length == null || length.isNegative() || length.isZero())) {
+            throw new IllegalArgumentException("Longitud de la ventana viva inválida: " + length);
+        }
+        this.clock = clock;
+        this.length = length;
+    }
+    
+    /**
+     * Ventana sin límite: nada se archiva y todas las fechas están dentro.
+     */
+    public static PriceLiveWindow unbounded() {
+        return UNBOUNDED;
+    }
+    
+    public boolean isUnbounded() {
+        return clock == null;
+    }
+    
+    /**
+     * @return Primer instante de la ventana; {@link LocalDateTime#MIN} si no tiene límite
+     */
+    public LocalDateTime start() {
+        return isUnbounded() ? LocalDateTime.MIN : LocalDateTime.now(clock).minus(length);
+    }
+    
+    /**
+     * @return {@code true} si los precios de la fecha están todos en la tabla principal
+     */
+    public boolean contains(LocalDateTime date) {
+        return isUnbounded() || !date.isBefore(start());
+    }
+}
@@ -0,0 +1,18 @@
+package com.wolper.prices.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado de la partición de precios de una marca.
+ *
+ * @param brandId Marca de la partición
+ * @param version Versión de los datos de la marca reflejada por la partición
+ * @param rows Precios cargados
+ * @param products Productos con precio
+ * @param estimatedBytes Memoria estimada del índice de la partición en el heap
+ * @param loadedAt Fecha de la última carga
+ * @param loadMillis Duración de la última carga
+ */
+public record PricePartitionStats(long brandId, PriceDataVersion version, long rows, long products,
+                                  long estimatedBytes, LocalDateTime loadedAt, long loadMillis) {
+}
@@ -0,0 +1,13 @@
+package com.wolper.prices.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criterios de búsqueda de un precio final: producto y marca en una fecha.
+ *
+ * @param applicationDate Fecha de aplicación del precio
+ * @param productId Identificador del producto
+ * @param brandId Identificador de la marca
+ */
+public record PriceQuery(LocalDateTime applicationDate, Long productId, Long brandId) {
+}
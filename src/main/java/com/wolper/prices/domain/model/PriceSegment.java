@@ -0,0 +1,36 @@
+package com.wolper.prices.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tramo de la línea temporal de un producto en el que un único precio es el aplicable.
+ * Ambos extremos son inclusivos, igual que las fechas de {@link BrandPrice}.
+ *
+ * @param startDate Inicio del tramo
+ * @param endDate Fin del tramo
+ * @param price Precio ganador durante todo el tramo
+ */
+public record PriceSegment(LocalDateTime startDate, LocalDateTime endDate, BrandPrice price) {
+    
+    /**
+     * Verifica si la fecha cae dentro del tramo
+     */
+    public boolean contains(LocalDateTime date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate);
+    }
+    
+    /**
+     * Inicio del tramo en microsegundos desde epoch. Un tramo que empieza un nanosegundo
+     * después del fin de otro se redondea al microsegundo siguiente.
+     */
+    public long startEpochMicros() {
+        return EpochMicros.ofCeiling(startDate);
+    }
+    
+    /**
+     * Fin del tramo en microsegundos desde epoch.
+     */
+    public long endEpochMicros() {
+        return EpochMicros.of(endDate);
+    }
+}
@@ -0,0 +1,269 @@
+package com.wolper.prices.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Línea temporal de precio efectivo de un producto en una marca.
+ * Colapsa los intervalos solapados de distinta prioridad en una lista de tramos
+ * consecutivos que no se solapan, cada uno con su único precio ganador, de modo
+ * que cualquier fecha se resuelve con una búsqueda binaria.
+ */
+public final class PriceTimeline {
+    
+    private static final PriceTimeline EMPTY = new PriceTimeline(new PriceSegment[0]);
+    
+    private final PriceSegment[] segments;
+    private final long[] startMicros;
+    private final long[] endMicros;
+    
+    private PriceTimeline(PriceSegment[] segments) {
+        this.segments = segments;
+        this.startMicros = new long[segments.length];
+        this.endMicros = new long[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            startMicros[i] = segments[i].startEpochMicros();
+            endMicros[i] = segments[i].endEpochMicros();
+        }
+    }
+    
+    /**
+     * Construye la línea temporal a partir de los precios de un mismo producto y marca.
+     * El ganador de cada tramo sigue el orden {@link BrandPrice#HIGHEST_PRIORITY_FIRST}.
+     */
+    public static PriceTimeline of(Collection<BrandPrice> prices) {
+        if (prices.isEmpty()) {
+            return EMPTY;
+        }
+        
+        BrandPrice[] byStart = prices.toArray(BrandPrice[]::new);
+        Arrays.sort(byStart, Comparator.comparingLong(BrandPrice::getStartEpochMicros));
+        
+        List<PriceSegment> segments = new ArrayList<>();
+        scan(Arrays.asList(byStart).iterator(), LocalDateTime.MIN, LocalDateTime.MAX).forEachRemaining(segments::add);
+        return new PriceTimeline(segments.toArray(PriceSegment[]::new));
+    }
+    
+    /**
+     * Recorre la línea temporal de unos precios en una sola pasada, generando cada tramo
+     * cuando se pide. Solo mantiene los precios vigentes en cada punto, de modo que un
+     * rango largo no obliga a construir la línea completa en memoria.
+     * Los tramos se recortan al rango indicado.
+     *
+     * @param byStart Precios de un mismo producto y marca ordenados por fecha de inicio
+     * @param from Inicio del rango (inclusivo)
+     * @param to Fin del rango (inclusivo)
+     * @return Tramos consecutivos del rango en orden cronológico
+     */
+    public static Iterator<PriceSegment> scan(Iterator<BrandPrice> byStart, LocalDateTime from, LocalDateTime to) {
+        return new Scan(byStart, from, to);
+    }
+    
+    /**
+     * Busca el tramo que contiene la fecha indicada.
+     */
+    public Optional<PriceSegment> segmentAt(LocalDateTime date) {
+        int low = 0;
+        int high = segments.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            PriceSegment segment = segments[mid];
+            if (date.isBefore(segment.startDate())) {
+                high = mid - 1;
+            } else if (date.isAfter(segment.endDate())) {
+                low = mid + 1;
+            } else {
+                return Optional.of(segment);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Busca el tramo que contiene el instante indicado en microsegundos desde epoch,
+     * sin crear fechas intermedias.
+     */
+    public Optional<PriceSegment> segmentAt(long epochMicros) {
+        int index = indexOf(startMicros, endMicros, epochMicros);
+        return index < 0 ? Optional.empty() : Optional.of(segments[index]);
+    }
+    
+    /**
+     * Búsqueda binaria de un instante entre tramos ordenados que no se solapan.
+     *
+     * @param starts Inicios de los tramos en microsegundos
+     * @param ends Fines de los tramos en microsegundos
+     * @return Posición del tramo que contiene el instante, o -1 si ninguno lo contiene
+     */
+    public static int indexOf(long[] starts, long[] ends, long epochMicros) {
+        int low = 0;
+        int high = starts.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (epochMicros < starts[mid]) {
+                high = mid - 1;
+            } else if (epochMicros > ends[mid]) {
+                low = mid + 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Busca el precio ganador en la fecha indicada.
+     */
+    public Optional<BrandPrice> priceAt(LocalDateTime date) {
+        return segmentAt(date).map(PriceSegment::price);
+    }
+    
+    /**
+     * Número de tramos de la línea temporal.
+     */
+    public int size() {
+        return segments.length;
+    }
+    
+    /**
+     * Tramos de la línea temporal ordenados cronológicamente.
+     */
+    public List<PriceSegment> segments() {
+        return List.of(segments);
+    }
+    
+    private static LocalDateTime exclusiveEnd(BrandPrice price) {
+        return price.getEndDate().plusNanos(1);
+    }
+    
+    /**
+     * Barrido por los puntos de cambio (inicios y el instante siguiente a cada fin) con los
+     * precios vigentes en una cola por prioridad y sus fines en otra por fecha.
+     * Los tramos contiguos con el mismo ganador se fusionan antes de entregarse.
+     */
+    private static final class Scan implements Iterator<PriceSegment> {
+        
+        private final Iterator<BrandPrice> byStart;
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final PriorityQueue<BrandPrice> active = new PriorityQueue<>(BrandPrice.HIGHEST_PRIORITY_FIRST);
+        private final PriorityQueue<LocalDateTime> ends = new PriorityQueue<>();
+        /** Siguiente precio que aún no ha empezado. */
+        private BrandPrice pending;
+        /** Punto del barrido: el tramo siguiente empieza aquí. */
+        private LocalDateTime point;
+        /** Tramo en curso, que puede crecer con el siguiente si tiene el mismo ganador. */
+        private PriceSegment open;
+        private PriceSegment next;
+        
+        private Scan(Iterator<BrandPrice> byStart, LocalDateTime from, LocalDateTime to) {
+            this.byStart = byStart;
+            this.from = from;
+            this.to = to;
+            this.pending = byStart.hasNext() ? byStart.next() : null;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = nextMerged();
+            }
+            return next != null;
+        }
+        
+        @Override
+        public PriceSegment next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            PriceSegment segment = next;
+            next = null;
+            return segment;
+        }
+        
+        private PriceSegment nextMerged() {
+            while (true) {
+                PriceSegment piece = nextPiece();
+                if (piece == null) {
+                    PriceSegment last = open;
+                    open = null;
+                    return last;
+                }
+                if (open != null && open.price() == piece.price()
+                        && open.endDate().plusNanos(1).equals(piece.startDate())) {
+                    open = new PriceSegment(open.startDate(), piece.endDate(), open.price());
+                    continue;
+                }
+                PriceSegment completed = open;
+                open = piece;
+                if (completed != null) {
+                    return completed;
+                }
+            }
+        }
+        
+        /**
+         * Avanza hasta el siguiente punto de cambio y devuelve el tramo elemental que deja
+         * atrás, ya recortado al rango, o {@code null} si no quedan tramos en el rango.
+         */
+        private PriceSegment nextPiece() {
+            while (true) {
+                discardEnded();
+                if (active.isEmpty()) {
+                    if (pending == null) {
+                        return null;
+                    }
+                    point = pending.getStartDate();
+                }
+                while (pending != null && !pending.getStartDate().isAfter(point)) {
+                    active.add(pending);
+                    ends.add(exclusiveEnd(pending));
+                    pending = byStart.hasNext() ? byStart.next() : null;
+                }
+                
+                LocalDateTime nextPoint = ends.peek();
+                if (pending != null && pending.getStartDate().isBefore(nextPoint)) {
+                    nextPoint = pending.getStartDate();
+                }
+                LocalDateTime start = point;
+                LocalDateTime end = nextPoint.minusNanos(1);
+                point = nextPoint;
+                
+                if (start.isAfter(to)) {
+                    pending = null;
+                    active.clear();
+                    ends.clear();
+                    return null;
+                }
+                if (!end.isBefore(from)) {
+                    return new PriceSegment(start.isBefore(from) ? from : start, end.isAfter(to) ? to : end,
+                            active.peek());
+                }
+            }
+        }
+        
+        /**
+         * Los fines se descartan en cuanto el barrido los alcanza; los precios terminados,
+         * solo cuando llegan a la cima de la cola por prioridad.
+         */
+        private void discardEnded() {
+            if (point == null) {
+                return;
+            }
+            while (!ends.isEmpty() && !ends.peek().isAfter(point)) {
+                ends.poll();
+            }
+            while (!active.isEmpty() && !exclusiveEnd(active.peek()).isAfter(point)) {
+                active.poll();
+            }
+        }
+    }
+}
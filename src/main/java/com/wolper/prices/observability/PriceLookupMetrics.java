@@ -0,0 +1,126 @@
+package com.wolper.prices.observability;
+
+import com.wolper.prices.domain.exception.PriceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Temporizadores por etapa de la consulta de precio, etiquetados por etapa y resultado.
+ * Publica histogramas de percentiles para poder localizar en Prometheus de qué etapa
+ * procede una regresión de p99 (base de datos, mapeo, serialización, errores...).
+ * <p>
+ * Los temporizadores se crean una vez por combinación (etapa, resultado) y se reutilizan,
+ * así que registrar una medida no reserva memoria.
+ */
+@Component
+public class PriceLookupMetrics {
+    
+    /** Nombre del temporizador; en Prometheus {@code prices_lookup_stage_seconds}. */
+    public static final String TIMER_NAME = "prices.lookup.stage";
+    
+    /** Atributo de la petición con el instante (System.nanoTime) en que empezó a procesarse. */
+    public static final String REQUEST_START_ATTRIBUTE = "com.wolper.prices.observability.requestStart";
+    
+    private static final Duration MIN_EXPECTED = Duration.ofNanos(1_000);
+    private static final Duration MAX_EXPECTED = Duration.ofSeconds(10);
+    
+    /**
+     * Etapas de la consulta de un precio.
+     */
+    public enum Stage {
+        /** Binding y validación de parámetros hasta entrar en el controlador. */
+        BINDING("binding"),
+        /** Caso de uso completo (servicio y repositorio). */
+        USE_CASE("use_case"),
+        /** Ejecución de la consulta SQL hasta tener el ResultSet. */
+        DB_QUERY("db_query"),
+        /** Lectura del ResultSet y construcción de los precios. */
+        ROW_MAPPING("row_mapping"),
+        /** Mapeo MapStruct de dominio a DTO. */
+        RESPONSE_MAPPING("response_mapping"),
+        /** Construcción de la respuesta de error. */
+        ERROR_HANDLING("error_handling");
+        
+        private final String tag;
+        
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+    
+    /**
+     * Resultado de la consulta.
+     */
+    public enum Outcome {
+        FOUND("found"),
+        NOT_FOUND("not_found"),
+        NOT_MODIFIED("not_modified"),
+        INVALID("invalid"),
+        UNAVAILABLE("unavailable"),
+        ERROR("error");
+        
+        private final String tag;
+        
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+        
+        /**
+         * Resultado que corresponde a una consulta terminada con la excepción indicada.
+         */
+        public static Outcome of(Throwable failure) {
+            if (failure instanceof PriceNotFoundException) {
+                return NOT_FOUND;
+            }
+            if (failure instanceof TransientDataAccessException) {
+                return UNAVAILABLE;
+            }
+            return ERROR;
+        }
+    }
+    
+    private final MeterRegistry registry;
+    private final Timer[][] timers = new Timer[Stage.values().length][Outcome.values().length];
+    
+    public PriceLookupMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+    
+    /**
+     * Registra la duración de una etapa que empezó en {@code startNanos} y termina ahora.
+     */
+    public void record(Stage stage, Outcome outcome, long startNanos) {
+        record(stage, outcome, startNanos, System.nanoTime());
+    }
+    
+    /**
+     * Registra la duración de una etapa entre dos instantes de {@link System#nanoTime()}.
+     */
+    public void record(Stage stage, Outcome outcome, long startNanos, long endNanos) {
+        timer(stage, outcome).record(endNanos - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Creación perezosa; si dos hilos compiten, el registro devuelve el mismo temporizador.
+     */
+    private Timer timer(Stage stage, Outcome outcome) {
+        Timer timer = timers[stage.ordinal()][outcome.ordinal()];
+        if (timer == null) {
+            timer = Timer.builder(TIMER_NAME)
+                    .description("Duración de cada etapa de la consulta de precio")
+                    .tag("stage", stage.tag)
+                    .tag("outcome", outcome.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_EXPECTED)
+                    .maximumExpectedValue(MAX_EXPECTED)
+                    .register(registry);
+            timers[stage.ordinal()][outcome.ordinal()] = timer;
+        }
+        return timer;
+    }
+}
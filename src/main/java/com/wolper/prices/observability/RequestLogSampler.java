@@ -0,0 +1,49 @@
+package com.wolper.prices.observability;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decide qué peticiones correctas se registran en el log y genera sus identificadores.
+ * Los errores no pasan por aquí: se registran siempre.
+ * <p>
+ * Ambas operaciones usan {@link ThreadLocalRandom}, sin estado compartido entre hilos.
+ * Los identificadores conservan el formato UUID v4, pero no son criptográficamente
+ * aleatorios: solo sirven para correlacionar líneas de log.
+ */
+public final class RequestLogSampler {
+    
+    private final double successSampleRate;
+    
+    /**
+     * @param successSampleRate Proporción de peticiones correctas que se registran, entre 0 y 1
+     */
+    public RequestLogSampler(double successSampleRate) {
+        if (!(successSampleRate >= 0 && successSampleRate <= 1)) {
+            throw new IllegalArgumentException("Tasa de muestreo inválida: " + successSampleRate);
+        }
+        this.successSampleRate = successSampleRate;
+    }
+    
+    /**
+     * @return {@code true} si esta petición correcta debe registrarse
+     */
+    public boolean sampleSuccess() {
+        return successSampleRate >= 1
+                || (successSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < successSampleRate);
+    }
+    
+    /**
+     * Genera un identificador de petición con formato UUID v4 sin pasar por SecureRandom.
+     */
+    public String nextRequestId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+    
+    public double getSuccessSampleRate() {
+        return successSampleRate;
+    }
+}
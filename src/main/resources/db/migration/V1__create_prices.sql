@@ -0,0 +1,37 @@
+-- Esquema inicial de la tabla PRICES
+
+CREATE TABLE prices (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    brand_id BIGINT NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    price_list BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    priority INT NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    curr VARCHAR(3) NOT NULL,
+    last_modified TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT chk_dates CHECK (end_date >= start_date),
+    CONSTRAINT chk_price CHECK (price >= 0),
+    CONSTRAINT chk_priority CHECK (priority >= 0)
+);
+
+-- Índices para optimizar las consultas
+CREATE INDEX idx_product_brand_date ON prices(product_id, brand_id, start_date, end_date);
+CREATE INDEX idx_priority ON prices(priority DESC);
+-- Carga por marca del motor particionado, ya en orden (producto, inicio)
+CREATE INDEX idx_brand_product_date ON prices(brand_id, product_id, start_date);
+-- Sonda de cambios: MAX(last_modified) se resuelve sobre el índice
+CREATE INDEX idx_last_modified ON prices(last_modified);
+
+-- Tabla de carga para la importación masiva con sustitución completa
+CREATE TABLE prices_staging (
+    brand_id BIGINT NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    price_list BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    priority INT NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    curr VARCHAR(3) NOT NULL
+);
@@ -0,0 +1,13 @@
+-- Índice de cobertura para la consulta de precio aplicable.
+-- Las columnas de igualdad (producto, brand) van delante y les siguen las del ORDER BY, así que
+-- las filas candidatas salen del índice ya ordenadas por prioridad y tarifa: la consulta no ordena
+-- y la del precio final se detiene en la primera fila. El resto de columnas de la consulta están en
+-- el índice (id es la clave de fila en H2), de modo que no se lee la tabla.
+-- En PostgreSQL las tres últimas columnas irían en INCLUDE.
+
+CREATE INDEX idx_price_lookup
+    ON prices(product_id, brand_id, priority DESC, price_list DESC, start_date, end_date, price, curr);
+
+-- Los cubre el nuevo índice; idx_priority nunca servía a la consulta, que filtra por producto
+DROP INDEX idx_product_brand_date;
+DROP INDEX idx_priority;
@@ -0,0 +1,28 @@
+-- Almacenamiento frío de los precios caducados.
+-- El archivado mueve aquí por lotes los precios que terminaron antes del inicio de la ventana viva,
+-- así que PRICES y sus índices solo crecen con los precios vigentes y recientes. Las consultas de
+-- fechas anteriores a la ventana leen las dos tablas.
+
+CREATE TABLE prices_archive (
+    archive_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    -- Identificador que tenía en PRICES; un precio reimportado y vuelto a archivar aparece dos veces
+    id BIGINT NOT NULL,
+    brand_id BIGINT NOT NULL,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    price_list BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    priority INT NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    curr VARCHAR(3) NOT NULL,
+    last_modified TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+-- Mismos índices de consulta que PRICES: precio aplicable y recorridos por marca y producto
+CREATE INDEX idx_archive_lookup
+    ON prices_archive(product_id, brand_id, priority DESC, price_list DESC, start_date, end_date, price, curr, id);
+CREATE INDEX idx_archive_brand_product_date ON prices_archive(brand_id, product_id, start_date);
+
+-- Selección de los precios caducados de cada lote sin recorrer la tabla
+CREATE INDEX idx_end_date ON prices(end_date);
@@ -0,0 +1,151 @@
+package com.wolper.prices.adapter.in.reactive;
+
+import com.wolper.prices.adapter.in.web.dto.ErrorResponse;
+import com.wolper.prices.adapter.in.web.exception.ErrorResponses;
+import com.wolper.prices.domain.exception.PriceDateOutOfRangeException;
+import com.wolper.prices.domain.exception.PriceNotFoundException;
+import com.wolper.prices.observability.PriceLookupMetrics;
+import com.wolper.prices.observability.PriceLookupMetrics.Outcome;
+import com.wolper.prices.observability.PriceLookupMetrics.Stage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.method.ParameterValidationResult;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Manejador de excepciones de la pila reactiva.
+ * Construye los mismos cuerpos de {@link ErrorResponses} que {@code GlobalExceptionHandler},
+ * adaptado a las excepciones que lanza WebFlux al enlazar y validar los parámetros.
+ * La espera agotada por una conexión R2DBC llega como {@link TransientDataAccessException}
+ * y se responde con 503, igual que el límite de concurrencia JDBC.
+ */
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+    
+    private final PriceLookupMetrics metrics;
+    
+    /**
+     * Maneja excepciones cuando no se encuentra un precio.
+     */
+    @ExceptionHandler(PriceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handlePriceNotFound(
+            PriceNotFoundException ex, ServerHttpRequest request) {
+        long start = System.nanoTime();
+        
+        // Resultado habitual (enlaces caducados, bots): se registra solo en DEBUG
+        String message = ex.getMessage();
+        log.debug("Precio no encontrado: {}", message);
+        
+        ResponseEntity<ErrorResponse> response = ErrorResponses.of(HttpStatus.NOT_FOUND, message, path(request));
+        
+        metrics.record(Stage.ERROR_HANDLING, Outcome.NOT_FOUND, start);
+        return response;
+    }
+    
+    /**
+     * Maneja las restricciones incumplidas por los parámetros del método.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleMethodValidation(
+            HandlerMethodValidationException ex, ServerHttpRequest request) {
+        long start = System.nanoTime();
+        
+        log.warn("Violación de constraints: {}", ex.getMessage());
+        
+        Map<String, String> fieldErrors = new HashMap<>();
+        for (ParameterValidationResult result : ex.getParameterValidationResults()) {
+            String fieldName = result.getMethodParameter().getParameterName();
+            for (MessageSourceResolvable violation : result.getResolvableErrors()) {
+                fieldErrors.put(fieldName, violation.getDefaultMessage());
+            }
+        }
+        
+        ResponseEntity<ErrorResponse> response = ErrorResponses.validation(fieldErrors, path(request));
+        
+        metrics.record(Stage.ERROR_HANDLING, Outcome.INVALID, start);
+        return response;
+    }
+    
+    /**
+     * Maneja parámetros ausentes o que no se pueden convertir al tipo esperado.
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInput(
+            ServerWebInputException ex, ServerHttpRequest request) {
+        long start = System.nanoTime();
+        
+        log.warn("Parámetro inválido: {}", ex.getReason());
+        
+        ResponseEntity<ErrorResponse> response = ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getReason(), path(request));
+        
+        metrics.record(Stage.ERROR_HANDLING, Outcome.INVALID, start);
+        return response;
+    }
+    
+    /**
+     * Maneja fechas que ISO-8601 admite pero que quedan fuera del rango de los precios.
+     */
+    @ExceptionHandler(PriceDateOutOfRangeException.class)
+    public ResponseEntity<ErrorResponse> handlePriceDateOutOfRange(
+            PriceDateOutOfRangeException ex, ServerHttpRequest request) {
+        long start = System.nanoTime();
+        
+        log.warn("Fecha fuera de rango: {}", ex.getMessage());
+        
+        ResponseEntity<ErrorResponse> response = ErrorResponses.of(HttpStatus.BAD_REQUEST, ex.getMessage(), path(request));
+        
+        metrics.record(Stage.ERROR_HANDLING, Outcome.INVALID, start);
+        return response;
+    }
+    
+    /**
+     * Maneja la saturación temporal de la base de datos: el cliente puede reintentar.
+     */
+    @ExceptionHandler(TransientDataAccessException.class)
+    public ResponseEntity<ErrorResponse> handleTransientDataAccess(
+            TransientDataAccessException ex, ServerHttpRequest request) {
+        long start = System.nanoTime();
+        
+        log.warn("Base de datos no disponible temporalmente: {}", ex.getMessage());
+        
+        ResponseEntity<ErrorResponse> response = ErrorResponses.unavailable(path(request));
+        
+        metrics.record(Stage.ERROR_HANDLING, Outcome.UNAVAILABLE, start);
+        return response;
+    }
+    
+    /**
+     * Maneja excepciones genéricas no controladas.
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGenericException(
+            Exception ex, ServerHttpRequest request) {
+        long start = System.nanoTime();
+        
+        log.error("Error interno del servidor", ex);
+        
+        ResponseEntity<ErrorResponse> response = ErrorResponses.internalError(path(request));
+        
+        metrics.record(Stage.ERROR_HANDLING, Outcome.ERROR, start);
+        return response;
+    }
+    
+    private static String path(ServerHttpRequest request) {
+        return request.getPath().value();
+    }
+}
@@ -0,0 +1,75 @@
+package com.wolper.prices.adapter.in.reactive;
+
+import com.wolper.prices.adapter.in.web.FinalPriceResponses;
+import com.wolper.prices.application.port.in.ReactiveGetFinalPriceUseCase;
+import com.wolper.prices.observability.RequestLogSampler;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión WebFlux del endpoint de precio final, para la pila reactiva sobre Netty y R2DBC.
+ * Responde y mide exactamente lo mismo que {@code PriceController}, porque ambos construyen la
+ * respuesta con {@link FinalPriceResponses}.
+ * Los parámetros se validan con la validación de métodos integrada de WebFlux.
+ * Solo se registra cuando la aplicación arranca como aplicación web reactiva.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/prices")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePriceController {
+    
+    private final ReactiveGetFinalPriceUseCase getFinalPriceUseCase;
+    private final RequestLogSampler requestLogSampler;
+    private final FinalPriceResponses finalPriceResponses;
+    
+    @GetMapping("/final")
+    public Mono<ResponseEntity<byte[]>> getFinalPrice(
+            @RequestParam
+            @NotNull(message = "La fecha es obligatoria")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime date,
+            
+            @RequestParam
+            @NotNull(message = "El productId es obligatorio")
+            @Min(value = 1, message = "El productId debe ser mayor que 0")
+            Long productId,
+            
+            @RequestParam
+            @NotNull(message = "El brandId es obligatorio")
+            @Min(value = 1, message = "El brandId debe ser mayor que 0")
+            Long brandId,
+            
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+            String ifNoneMatch
+    ) {
+        // WebFlux no tiene interceptor previo al binding: las métricas empiezan en el caso de uso
+        long useCaseStart = System.nanoTime();
+        String requestId = requestLogSampler.nextRequestId();
+        boolean logged = requestLogSampler.sampleSuccess();
+        if (logged) {
+            log.info("[{}] GET /prices/final (reactivo) - date={}, productId={}, brandId={}", 
+                     requestId, date, productId, brandId);
+        }
+        
+        return getFinalPriceUseCase.getFinalPriceSegment(date, productId, brandId)
+                .doOnError(ex -> finalPriceResponses.recordFailure(ex, null, useCaseStart))
+                .map(segment -> finalPriceResponses.toResponse(segment, ifNoneMatch, requestId, logged,
+                                                               null, useCaseStart, System.nanoTime()));
+    }
+}
@@ -0,0 +1,128 @@
+package com.wolper.prices.adapter.out.reactive;
+
+import com.wolper.prices.application.port.out.ReactivePriceRepository;
+import com.wolper.prices.domain.model.BrandPrice;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Adaptador de persistencia no bloqueante sobre R2DBC.
+ * Ejecuta las mismas consultas que {@code JdbcPriceRepository}, pero las conexiones se
+ * obtienen de un pool R2DBC y las filas llegan como eventos, de modo que ningún hilo
+ * queda esperando a la base de datos. No necesita un límite de concurrencia propio:
+ * las peticiones que no encuentran conexión libre esperan en la cola del pool sin ocupar hilos.
+ * Si la espera supera {@code prices.reactive.acquire-timeout}, el fallo se traduce a la misma
+ * excepción transitoria que lanza el límite de concurrencia JDBC, que se responde con 503.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class R2dbcPriceRepository implements ReactivePriceRepository {
+    
+    private final DatabaseClient databaseClient;
+    
+    private static final String FIND_FINAL_PRICE_QUERY = """
+        SELECT
+            id,
+            brand_id,
+            start_date,
+            end_date,
+            price_list,
+            product_id,
+            priority,
+            price,
+            curr
+        FROM prices
+        WHERE product_id = :productId
+          AND brand_id = :brandId
+          AND :applicationDate BETWEEN start_date AND end_date
+        ORDER BY product_id, brand_id, priority DESC, price_list DESC
+        FETCH FIRST 1 ROW ONLY
+        """;
+    
+    private static final String FIND_PRICES_BETWEEN_QUERY = """
+        SELECT
+            id,
+            brand_id,
+            start_date,
+            end_date,
+            price_list,
+            product_id,
+            priority,
+            price,
+            curr
+        FROM prices
+        WHERE product_id = :productId
+          AND brand_id = :brandId
+          AND start_date <= :to
+          AND end_date >= :from
+        ORDER BY brand_id, product_id, start_date
+        """;
+    
+    @Override
+    public Mono<BrandPrice> findFinalPrice(LocalDateTime applicationDate, long productId, long brandId) {
+        log.debug("Ejecutando consulta reactiva del precio final: productId={}, brandId={}, fecha={}",
+                  productId, brandId, applicationDate);
+        
+        return databaseClient.sql(FIND_FINAL_PRICE_QUERY)
+                .bind("productId", productId)
+                .bind("brandId", brandId)
+                .bind("applicationDate", applicationDate)
+                .map(R2dbcPriceRepository::toPrice)
+                .one()
+                .onErrorMap(R2dbcPriceRepository::translateAcquireTimeout);
+    }
+    
+    @Override
+    public Flux<BrandPrice> findPricesBetween(long productId, long brandId, LocalDateTime from, LocalDateTime to) {
+        log.debug("Ejecutando consulta reactiva por rango: productId={}, brandId={}, desde={}, hasta={}",
+                  productId, brandId, from, to);
+        
+        return databaseClient.sql(FIND_PRICES_BETWEEN_QUERY)
+                .bind("productId", productId)
+                .bind("brandId", brandId)
+                .bind("from", from)
+                .bind("to", to)
+                .map(R2dbcPriceRepository::toPrice)
+                .all()
+                .onErrorMap(R2dbcPriceRepository::translateAcquireTimeout);
+    }
+    
+    /**
+     * {@code DatabaseClient} envuelve el agotamiento del pool en un fallo no transitorio al obtener
+     * la conexión; aquí se recupera como transitorio para que el cliente sepa que puede reintentar.
+     */
+    static Throwable translateAcquireTimeout(Throwable failure) {
+        if (failure instanceof DataAccessResourceFailureException && failure.getCause() instanceof R2dbcTimeoutException timeout) {
+            return new TransientDataAccessResourceException("Sin conexión R2DBC libre: " + timeout.getMessage(), timeout);
+        }
+        return failure;
+    }
+    
+    /**
+     * Convierte una fila en precio leyendo las columnas por nombre,
+     * con los tipos que entrega el driver R2DBC.
+     */
+    private static BrandPrice toPrice(Readable row) {
+        return BrandPrice.builder()
+                .id(row.get("id", Long.class))
+                .brandId(row.get("brand_id", Long.class))
+                .startDate(row.get("start_date", LocalDateTime.class))
+                .endDate(row.get("end_date", LocalDateTime.class))
+                .priceList(row.get("price_list", Long.class))
+                .productId(row.get("product_id", Long.class))
+                .priority(row.get("priority", Integer.class))
+                .price(row.get("price", BigDecimal.class))
+                .currency(row.get("curr", String.class))
+                .build();
+    }
+}
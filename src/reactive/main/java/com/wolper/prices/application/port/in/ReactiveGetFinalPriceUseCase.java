@@ -0,0 +1,38 @@
+package com.wolper.prices.application.port.in;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceSegment;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Variante no bloqueante de {@link GetFinalPriceUseCase} para la pila reactiva.
+ * Los resultados se entregan como {@link Mono}; si no hay precio aplicable el {@code Mono}
+ * termina con {@link com.wolper.prices.domain.exception.PriceNotFoundException}.
+ */
+public interface ReactiveGetFinalPriceUseCase {
+    
+    /**
+     * Obtiene el precio final aplicable para un producto en una fecha específica.
+     *
+     * @param applicationDate Fecha de aplicación del precio
+     * @param productId Identificador del producto
+     * @param brandId Identificador de la marca
+     * @return El precio aplicable con mayor prioridad
+     */
+    default Mono<BrandPrice> getFinalPrice(LocalDateTime applicationDate, long productId, long brandId) {
+        return getFinalPriceSegment(applicationDate, productId, brandId).map(PriceSegment::price);
+    }
+    
+    /**
+     * Obtiene el tramo de precio efectivo que contiene la fecha: el precio final aplicable
+     * junto con el periodo en el que sigue siendo el ganador para ese producto y marca.
+     *
+     * @param applicationDate Fecha de aplicación del precio
+     * @param productId Identificador del producto
+     * @param brandId Identificador de la marca
+     * @return El tramo que contiene la fecha
+     */
+    Mono<PriceSegment> getFinalPriceSegment(LocalDateTime applicationDate, long productId, long brandId);
+}
@@ -0,0 +1,44 @@
+package com.wolper.prices.application.port.out;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceSegment;
+import com.wolper.prices.domain.model.PriceTimeline;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Variante no bloqueante de {@link PriceRepository} para la pila reactiva.
+ * Las implementaciones no deben bloquear el hilo que se suscribe.
+ */
+public interface ReactivePriceRepository {
+    
+    /**
+     * Busca el precio de mayor prioridad aplicable en la fecha indicada.
+     *
+     * @return El precio ganador, o un {@code Mono} vacío si no hay precio aplicable
+     */
+    Mono<BrandPrice> findFinalPrice(LocalDateTime applicationDate, long productId, long brandId);
+    
+    /**
+     * Busca los precios cuyo intervalo se solapa con el rango indicado.
+     *
+     * @return Precios ordenados por fecha de inicio
+     */
+    Flux<BrandPrice> findPricesBetween(long productId, long brandId, LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Busca el tramo de precio efectivo que contiene la fecha. Igual que
+     * {@link PriceRepository#findFinalPriceSegment(LocalDateTime, Long, Long)}, resuelve el ganador
+     * y reconstruye la línea temporal con los precios que se solapan con su intervalo.
+     *
+     * @return El tramo que contiene la fecha, o un {@code Mono} vacío si no hay precio aplicable
+     */
+    default Mono<PriceSegment> findFinalPriceSegment(LocalDateTime applicationDate, long productId, long brandId) {
+        return findFinalPrice(applicationDate, productId, brandId)
+                .flatMap(winner -> findPricesBetween(productId, brandId, winner.getStartDate(), winner.getEndDate())
+                        .collectList()
+                        .flatMap(prices -> Mono.justOrEmpty(PriceTimeline.of(prices).segmentAt(applicationDate))));
+    }
+}
@@ -0,0 +1,45 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.in.ReactiveGetFinalPriceUseCase;
+import com.wolper.prices.application.port.out.ReactivePriceRepository;
+import com.wolper.prices.domain.exception.PriceDateOutOfRangeException;
+import com.wolper.prices.domain.exception.PriceNotFoundException;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceSegment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Servicio de aplicación no bloqueante para obtener el precio final.
+ * Aplica las mismas reglas que {@link GetFinalPriceService} sobre un {@link ReactivePriceRepository}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveGetFinalPriceService implements ReactiveGetFinalPriceUseCase {
+    
+    private final ReactivePriceRepository priceRepository;
+    
+    @Override
+    public Mono<PriceSegment> getFinalPriceSegment(LocalDateTime applicationDate, long productId, long brandId) {
+        log.debug("Buscando tramo de precio para productId={}, brandId={}, fecha={}", 
+                  productId, brandId, applicationDate);
+        
+        // Mismo rango de fechas que la pila MVC, que codifica la fecha en microsegundos
+        if (!EpochMicros.isInRange(applicationDate)) {
+            return Mono.error(new PriceDateOutOfRangeException(applicationDate, EpochMicros.MIN, EpochMicros.MAX));
+        }
+        return priceRepository.findFinalPriceSegment(applicationDate, productId, brandId)
+                .switchIfEmpty(Mono.error(() -> priceNotFound(applicationDate, productId, brandId)))
+                .doOnNext(segment -> log.debug("Tramo encontrado: priceList={}, desde={}, hasta={}", 
+                        segment.price().getPriceList(), segment.startDate(), segment.endDate()));
+    }
+    
+    private PriceNotFoundException priceNotFound(LocalDateTime applicationDate, long productId, long brandId) {
+        log.debug("No se encontró precio para productId={}, brandId={}, fecha={}", 
+                  productId, brandId, applicationDate);
+        return new PriceNotFoundException(productId, brandId, applicationDate.toString());
+    }
+}
@@ -0,0 +1,76 @@
+package com.wolper.prices.config;
+
+import com.wolper.prices.adapter.out.reactive.R2dbcPriceRepository;
+import com.wolper.prices.application.port.in.ReactiveGetFinalPriceUseCase;
+import com.wolper.prices.application.port.out.ReactivePriceRepository;
+import com.wolper.prices.application.service.ReactiveGetFinalPriceService;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.reactor.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Configuración de la pila reactiva: Netty con un bucle de eventos de tamaño fijo y
+ * acceso a datos por R2DBC. El pool R2DBC se crea aquí y no con la autoconfiguración
+ * de Spring Boot, para reutilizar la base de datos que ya inicializa la parte JDBC.
+ * No es candidato por defecto: un {@code ConnectionFactory} visible desactivaría la
+ * autoconfiguración del {@code DataSource}, que siguen usando la recarga y la administración.
+ * Se compila con el perfil Maven {@code reactive} y solo se carga con
+ * {@code spring.main.web-application-type=reactive}.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReactiveProperties.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveConfig {
+    
+    @Bean(destroyMethod = "dispose")
+    public LoopResources priceLoopResources(ReactiveProperties properties) {
+        log.info("Bucle de eventos reactivo con {} hilos", properties.eventLoopThreads());
+        return LoopResources.create("prices-reactive", properties.eventLoopThreads(), true);
+    }
+    
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(LoopResources priceLoopResources) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.addServerCustomizers(server -> server.runOn(priceLoopResources));
+        return factory;
+    }
+    
+    @Bean(destroyMethod = "dispose", defaultCandidate = false)
+    public ConnectionPool priceConnectionPool(ReactiveProperties properties) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(properties.r2dbcUrl()).mutate()
+                .option(ConnectionFactoryOptions.USER, properties.username())
+                .option(ConnectionFactoryOptions.PASSWORD, properties.password())
+                .build();
+        log.info("Pool R2DBC de hasta {} conexiones (espera máxima {})",
+                 properties.maxConnections(), properties.acquireTimeout());
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(properties.maxConnections())
+                .maxAcquireTime(properties.acquireTimeout())
+                // Entregar la conexión en otro hilo: H2 ejecuta la consulta en el hilo que la recibe y,
+                // si es el que reparte conexiones, bajo carga continua no vuelve a su bucle de eventos
+                .customizer(pool -> pool.acquisitionScheduler(Schedulers.parallel()))
+                .build());
+    }
+    
+    @Bean
+    public ReactivePriceRepository reactivePriceRepository(@Qualifier("priceConnectionPool") ConnectionPool connectionPool) {
+        return new R2dbcPriceRepository(DatabaseClient.create(connectionPool));
+    }
+    
+    @Bean
+    public ReactiveGetFinalPriceUseCase reactiveGetFinalPriceUseCase(ReactivePriceRepository repository) {
+        return new ReactiveGetFinalPriceService(repository);
+    }
+}
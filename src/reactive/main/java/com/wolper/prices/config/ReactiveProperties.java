@@ -0,0 +1,27 @@
+package com.wolper.prices.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la pila reactiva ({@code prices.reactive.*}), activa cuando la aplicación
+ * arranca con {@code spring.main.web-application-type=reactive}.
+ *
+ * @param eventLoopThreads Hilos del bucle de eventos de Netty; fijos, no crecen con la carga
+ * @param r2dbcUrl URL R2DBC de la base de datos; por defecto la misma H2 en memoria que usa JDBC
+ * @param username Usuario de la base de datos
+ * @param password Contraseña de la base de datos
+ * @param maxConnections Tamaño máximo del pool de conexiones R2DBC
+ * @param acquireTimeout Espera máxima por una conexión libre; después se responde 503
+ */
+@ConfigurationProperties(prefix = "prices.reactive")
+public record ReactiveProperties(
+        @DefaultValue("4") int eventLoopThreads,
+        @DefaultValue("r2dbc:h2:mem:///pricesdb") String r2dbcUrl,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("10") int maxConnections,
+        @DefaultValue("5s") Duration acquireTimeout) {
+}
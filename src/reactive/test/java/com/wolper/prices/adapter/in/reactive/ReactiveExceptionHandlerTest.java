@@ -0,0 +1,59 @@
+package com.wolper.prices.adapter.in.reactive;
+
+import com.wolper.prices.adapter.in.web.dto.ErrorResponse;
+import com.wolper.prices.observability.PriceLookupMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios de ReactiveExceptionHandler.
+ */
+class ReactiveExceptionHandlerTest {
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private ReactiveExceptionHandler handler;
+    
+    @BeforeEach
+    void setUp() {
+        handler = new ReactiveExceptionHandler(new PriceLookupMetrics(meterRegistry));
+    }
+    
+    @Test
+    void shouldAnswer503WithRetryAfterWhenNoConnectionIsFree() {
+        // Given
+        MockServerHttpRequest request = MockServerHttpRequest.get("/prices/final").build();
+        
+        // When
+        ResponseEntity<ErrorResponse> response = handler.handleTransientDataAccess(
+                new TransientDataAccessResourceException("Sin conexión R2DBC libre"), request);
+        
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(503);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getPath()).isEqualTo("/prices/final");
+    }
+    
+    @Test
+    void shouldAnswer500ForUnexpectedFailures() {
+        // Given
+        MockServerHttpRequest request = MockServerHttpRequest.get("/prices/final").build();
+        
+        // When
+        ResponseEntity<ErrorResponse> response = handler.handleGenericException(
+                new IllegalStateException("fallo"), request);
+        
+        // Then
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getStatus()).isEqualTo(500);
+    }
+}
@@ -0,0 +1,145 @@
+package com.wolper.prices.adapter.in.reactive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración de la pila reactiva: Netty con bucle de eventos fijo y R2DBC
+ * sobre la misma base de datos H2 que inicializa la parte JDBC.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = {"spring.main.web-application-type=reactive", "prices.reactive.event-loop-threads=2"})
+class ReactivePriceControllerIT {
+    
+    private static final int CONCURRENT_REQUESTS = 300;
+    
+    @LocalServerPort
+    private int port;
+    
+    private final HttpClient client = HttpClient.newHttpClient();
+    
+    @ParameterizedTest(name = "{0} -> priceList {1}")
+    @DisplayName("Los 5 escenarios del enunciado devuelven la misma tarifa que la pila MVC")
+    @CsvSource({
+            "2020-06-14T10:00:00, 1, 35.50",
+            "2020-06-14T16:00:00, 2, 25.45",
+            "2020-06-14T21:00:00, 1, 35.50",
+            "2020-06-15T10:00:00, 3, 30.50",
+            "2020-06-16T21:00:00, 4, 38.95"
+    })
+    void testReferenceScenarios(String date, long priceList, String price) throws Exception {
+        HttpResponse<String> response = get("/prices/final?date=" + date + "&productId=35455&brandId=1");
+        
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("application/json"));
+        assertThat(response.headers().firstValue("X-Request-ID")).isPresent();
+        assertThat(response.body())
+                .contains("\"productId\":35455", "\"brandId\":1", "\"priceList\":" + priceList,
+                          "\"price\":" + price, "\"curr\":\"EUR\"");
+    }
+    
+    @Test
+    @DisplayName("Con el ETag vigente en If-None-Match responde 304 sin cuerpo")
+    void testConditionalRequestReturnsNotModified() throws Exception {
+        String path = "/prices/final?date=2020-06-14T16:00:00&productId=35455&brandId=1";
+        HttpResponse<String> first = get(path);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        
+        HttpResponse<String> second = client.send(HttpRequest.newBuilder(uri(path))
+                .header("If-None-Match", etag).GET().build(), HttpResponse.BodyHandlers.ofString());
+        
+        assertThat(first.headers().firstValue("Cache-Control")).isPresent();
+        assertThat(second.statusCode()).isEqualTo(304);
+        assertThat(second.body()).isEmpty();
+        assertThat(second.headers().firstValue("ETag")).contains(etag);
+    }
+    
+    @Test
+    @DisplayName("Sin precio aplicable responde 404 con el cuerpo de error habitual")
+    void testPriceNotFound() throws Exception {
+        HttpResponse<String> response = get("/prices/final?date=2020-06-14T10:00:00&productId=99999&brandId=1");
+        
+        assertThat(response.statusCode()).isEqualTo(404);
+        assertThat(response.body())
+                .contains("\"status\":404", "\"path\":\"/prices/final\"", "productId=99999");
+    }
+    
+    @Test
+    @DisplayName("Un identificador no positivo responde 400 con el error por campo")
+    void testInvalidIdentifier() throws Exception {
+        HttpResponse<String> response = get("/prices/final?date=2020-06-14T10:00:00&productId=0&brandId=1");
+        
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body())
+                .contains("\"message\":\"Error de validación\"", "\"productId\":\"El productId debe ser mayor que 0\"");
+    }
+    
+    @Test
+    @DisplayName("Un parámetro ausente o mal formado responde 400")
+    void testMissingOrMalformedParameter() throws Exception {
+        HttpResponse<String> missing = get("/prices/final?date=2020-06-14T10:00:00&productId=35455");
+        HttpResponse<String> malformed = get("/prices/final?date=ayer&productId=35455&brandId=1");
+        
+        assertThat(missing.statusCode()).isEqualTo(400);
+        assertThat(missing.body()).contains("brandId");
+        assertThat(malformed.statusCode()).isEqualTo(400);
+        assertThat(malformed.body()).contains("\"status\":400");
+    }
+    
+    @Test
+    @DisplayName("Una fecha ISO válida fuera del rango de los precios responde 400")
+    void testDateOutOfRange() throws Exception {
+        HttpResponse<String> response = get("/prices/final?date=%2B300000-01-01T00:00:00&productId=35455&brandId=1");
+        
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body()).contains("\"status\":400", "fuera del rango admitido");
+    }
+    
+    @Test
+    @DisplayName("Una ráfaga mayor que el pool R2DBC se atiende entera con dos hilos de bucle de eventos")
+    void testBurstIsServedByFixedEventLoop() throws Exception {
+        URI uri = uri("/prices/final?date=2020-06-14T16:00:00&productId=35455&brandId=1");
+        
+        List<CompletableFuture<HttpResponse<String>>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            futures.add(client.sendAsync(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString()));
+        }
+        List<HttpResponse<String>> responses = new ArrayList<>();
+        for (CompletableFuture<HttpResponse<String>> future : futures) {
+            responses.add(future.get(30, TimeUnit.SECONDS));
+        }
+        
+        assertThat(responses).allSatisfy(response -> {
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.body()).contains("\"priceList\":2");
+        });
+        assertThat(Thread.getAllStackTraces().keySet())
+                .filteredOn(thread -> thread.getName().startsWith("prices-reactive-"))
+                .hasSizeLessThanOrEqualTo(2)
+                .isNotEmpty();
+    }
+    
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+    
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
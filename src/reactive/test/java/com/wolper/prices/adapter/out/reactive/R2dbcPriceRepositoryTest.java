@@ -0,0 +1,42 @@
+package com.wolper.prices.adapter.out.reactive;
+
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios de la traducción de errores de R2dbcPriceRepository.
+ */
+class R2dbcPriceRepositoryTest {
+    
+    @Test
+    void shouldTranslatePoolAcquireTimeoutToTransientFailure() {
+        // Given
+        R2dbcTimeoutException timeout = new R2dbcTimeoutException("Timeout on blocking read");
+        DataAccessResourceFailureException failure =
+                new DataAccessResourceFailureException("Failed to obtain R2DBC Connection", timeout);
+        
+        // When
+        Throwable translated = R2dbcPriceRepository.translateAcquireTimeout(failure);
+        
+        // Then
+        assertThat(translated).isInstanceOf(TransientDataAccessResourceException.class).hasCause(timeout);
+    }
+    
+    @Test
+    void shouldKeepOtherConnectionFailures() {
+        // Given
+        DataAccessResourceFailureException failure =
+                new DataAccessResourceFailureException("Failed to obtain R2DBC Connection",
+                                                       new IllegalStateException("Connection refused"));
+        
+        // When
+        Throwable translated = R2dbcPriceRepository.translateAcquireTimeout(failure);
+        
+        // Then
+        assertThat(translated).isSameAs(failure);
+    }
+}
@@ -0,0 +1,118 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.out.ReactivePriceRepository;
+import com.wolper.prices.domain.exception.PriceDateOutOfRangeException;
+import com.wolper.prices.domain.exception.PriceNotFoundException;
+import com.wolper.prices.domain.model.BrandPrice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para ReactiveGetFinalPriceService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactiveGetFinalPriceServiceTest {
+    
+    private static final LocalDateTime AT_16 = LocalDateTime.of(2020, 6, 14, 16, 0);
+    
+    // El método por defecto del puerto (findFinalPriceSegment) delega en las dos consultas
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private ReactivePriceRepository priceRepository;
+    
+    private ReactiveGetFinalPriceService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveGetFinalPriceService(priceRepository);
+    }
+    
+    @Test
+    void shouldReturnSegmentOfWinningPrice() {
+        // Given
+        BrandPrice base = price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59");
+        BrandPrice promotion = price(2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00");
+        when(priceRepository.findFinalPrice(AT_16, 35455L, 1L)).thenReturn(Mono.just(promotion));
+        when(priceRepository.findPricesBetween(35455L, 1L, promotion.getStartDate(), promotion.getEndDate()))
+                .thenReturn(Flux.just(base, promotion));
+        
+        // When / Then
+        StepVerifier.create(service.getFinalPriceSegment(AT_16, 35455L, 1L))
+                .assertNext(segment -> {
+                    assertThat(segment.price().getPriceList()).isEqualTo(2L);
+                    assertThat(segment.startDate()).isEqualTo(promotion.getStartDate());
+                    assertThat(segment.endDate()).isEqualTo(promotion.getEndDate());
+                })
+                .verifyComplete();
+    }
+    
+    @Test
+    void shouldReturnPriceOfSegment() {
+        // Given
+        BrandPrice base = price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59");
+        when(priceRepository.findFinalPrice(AT_16, 35455L, 1L)).thenReturn(Mono.just(base));
+        when(priceRepository.findPricesBetween(35455L, 1L, base.getStartDate(), base.getEndDate()))
+                .thenReturn(Flux.just(base));
+        
+        // When / Then
+        StepVerifier.create(service.getFinalPrice(AT_16, 35455L, 1L))
+                .assertNext(price -> assertThat(price.getId()).isEqualTo(1L))
+                .verifyComplete();
+    }
+    
+    @Test
+    void shouldFailWithPriceNotFoundWhenNoPriceApplies() {
+        // Given
+        when(priceRepository.findFinalPrice(AT_16, 35455L, 9L)).thenReturn(Mono.empty());
+        
+        // When / Then
+        StepVerifier.create(service.getFinalPriceSegment(AT_16, 35455L, 9L))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(PriceNotFoundException.class)
+                        .hasMessageContaining("35455"))
+                .verify();
+        verify(priceRepository, never()).findPricesBetween(anyLong(), anyLong(), any(), any());
+    }
+    
+    @Test
+    void shouldRejectDatesOutsideTheRangeOfTheMvcStack() {
+        // Given
+        LocalDateTime farFuture = LocalDateTime.of(300_000, 1, 1, 0, 0);
+        
+        // When / Then
+        StepVerifier.create(service.getFinalPriceSegment(farFuture, 35455L, 1L))
+                .expectError(PriceDateOutOfRangeException.class)
+                .verify();
+        verify(priceRepository, never()).findFinalPrice(any(), anyLong(), anyLong());
+    }
+    
+    private static BrandPrice price(long priceList, int priority, String start, String end) {
+        return BrandPrice.builder()
+                .id(priceList)
+                .brandId(1L)
+                .productId(35455L)
+                .priceList(priceList)
+                .priority(priority)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .price(new BigDecimal("35.50"))
+                .currency("EUR")
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.wolper.prices.adapter.in.imports;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceFileParserTest {
+    
+    private final PriceFileParser parser = new PriceFileParser(JsonMapper.builder().build());
+    
+    @Test
+    void shouldParseCsvWithHeaderAndBothDateFormats() {
+        // Given
+        String csv = """
+                brand_id,start_date,end_date,price_list,product_id,priority,price,curr
+                1,2020-06-14 00:00:00,2020-12-31 23:59:59,1,35455,0,35.50,EUR
+                
+                1, 2020-06-14T15:00:00, 2020-06-14T18:30:00, 2, 35455, 1, 25.45, EUR
+                """;
+        
+        // When
+        List<BrandPrice> prices = parse(csv, PriceImportFormat.CSV);
+        
+        // Then
+        assertThat(prices).hasSize(2);
+        assertThat(prices.get(0).getStartDate()).isEqualTo(LocalDateTime.of(2020, 6, 14, 0, 0));
+        assertThat(prices.get(0).getPrice()).isEqualByComparingTo("35.50");
+        assertThat(prices.get(1).getPriceList()).isEqualTo(2L);
+        assertThat(prices.get(1).getPriority()).isEqualTo(1);
+        assertThat(prices.get(1).getCurrency()).isEqualTo("EUR");
+    }
+    
+    @Test
+    void shouldParseNdjson() {
+        // Given
+        String ndjson = """
+                {"brandId":1,"startDate":"2020-06-14T00:00:00","endDate":"2020-12-31T23:59:59","priceList":1,"productId":35455,"priority":0,"price":35.50,"curr":"EUR"}
+                {"brandId":1,"startDate":"2020-06-15T16:00:00","endDate":"2020-12-31T23:59:59","priceList":4,"productId":35455,"priority":1,"price":38.95,"curr":"EUR"}
+                """;
+        
+        // When
+        List<BrandPrice> prices = parse(ndjson, PriceImportFormat.NDJSON);
+        
+        // Then
+        assertThat(prices).extracting(BrandPrice::getPriceList).containsExactly(1L, 4L);
+        assertThat(prices.get(1).getEndDate()).isEqualTo(LocalDateTime.of(2020, 12, 31, 23, 59, 59));
+    }
+    
+    @Test
+    void shouldAcceptUpperCaseHeaderUnderTurkishLocale() {
+        // Given: en turco "I" pasa a "ı" sin punto con toLowerCase()
+        String csv = """
+                BRAND_ID,START_DATE,END_DATE,PRICE_LIST,PRODUCT_ID,PRIORITY,PRICE,CURR
+                1,2020-06-14 00:00:00,2020-12-31 23:59:59,1,35455,0,35.50,EUR
+                """;
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            // When
+            List<BrandPrice> prices = parse(csv, PriceImportFormat.CSV);
+            
+            // Then
+            assertThat(prices).hasSize(1);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+    
+    @Test
+    void shouldRejectCsvWithoutHeader() {
+        String csv = "1,2020-06-14 00:00:00,2020-12-31 23:59:59,1,35455,0,35.50,EUR\n";
+        
+        assertThatThrownBy(() -> parse(csv, PriceImportFormat.CSV))
+                .isInstanceOf(PriceImportException.class)
+                .hasMessageContaining("Línea 1");
+    }
+    
+    @Test
+    void shouldReportTheInvalidLine() {
+        // Given
+        String csv = """
+                brand_id,start_date,end_date,price_list,product_id,priority,price,curr
+                1,2020-06-14 00:00:00,2020-12-31 23:59:59,1,35455,0,35.50,EUR
+                1,2020-06-14 00:00:00,2020-12-31 23:59:59,1,35455,0,35.505,EUR
+                """;
+        
+        // Then
+        assertThatThrownBy(() -> parse(csv, PriceImportFormat.CSV))
+                .isInstanceOf(PriceImportException.class)
+                .hasMessageContaining("Línea 3");
+    }
+    
+    @Test
+    void shouldRejectCsvLineWithMissingColumns() {
+        String csv = PriceFileParser.CSV_HEADER + "\n1,2020-06-14 00:00:00,35455\n";
+        
+        assertThatThrownBy(() -> parse(csv, PriceImportFormat.CSV))
+                .isInstanceOf(PriceImportException.class)
+                .hasMessageContaining("Línea 2")
+                .hasMessageContaining("columnas");
+    }
+    
+    @Test
+    void shouldRejectNdjsonWithMissingFields() {
+        String ndjson = "{\"brandId\":1,\"startDate\":\"2020-06-14T00:00:00\"}\n";
+        
+        assertThatThrownBy(() -> parse(ndjson, PriceImportFormat.NDJSON))
+                .isInstanceOf(PriceImportException.class)
+                .hasMessageContaining("Línea 1");
+    }
+    
+    @Test
+    void shouldRejectMalformedJson() {
+        assertThatThrownBy(() -> parse("{no es json\n", PriceImportFormat.NDJSON))
+                .isInstanceOf(PriceImportException.class);
+    }
+    
+    @Test
+    void shouldDeduceFormatFromFileName() {
+        assertThat(PriceImportFormat.fromFileName("precios.CSV")).isEqualTo(PriceImportFormat.CSV);
+        assertThat(PriceImportFormat.fromFileName("precios.ndjson")).isEqualTo(PriceImportFormat.NDJSON);
+        assertThat(PriceImportFormat.fromFileName("precios.jsonl")).isEqualTo(PriceImportFormat.NDJSON);
+        assertThatThrownBy(() -> PriceImportFormat.fromFileName("precios.xlsx"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private List<BrandPrice> parse(String content, PriceImportFormat format) {
+        return parser.parse(new BufferedReader(new StringReader(content)), format).toList();
+    }
+}
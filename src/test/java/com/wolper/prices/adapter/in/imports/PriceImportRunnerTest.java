@@ -0,0 +1,50 @@
+package com.wolper.prices.adapter.in.imports;
+
+import com.wolper.prices.application.port.in.ImportPricesUseCase;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceImportMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PriceImportRunnerTest {
+    
+    @TempDir
+    private Path tempDir;
+    
+    @Test
+    void shouldImportTheConfiguredFileOnStartup() throws Exception {
+        // Given
+        Path file = tempDir.resolve("precios.csv");
+        Files.writeString(file, PriceFileParser.CSV_HEADER + "\n"
+                + "1,2020-06-14 00:00:00,2020-12-31 23:59:59,1,35455,0,35.50,EUR\n");
+        ImportPricesUseCase useCase = mock(ImportPricesUseCase.class);
+        List<BrandPrice> imported = new ArrayList<>();
+        when(useCase.importPrices(any(), eq(PriceImportMode.REPLACE))).thenAnswer(invocation -> {
+            Stream<BrandPrice> prices = invocation.getArgument(0);
+            prices.forEach(imported::add);
+            return null;
+        });
+        PriceImportRunner runner = new PriceImportRunner(useCase, new PriceFileParser(JsonMapper.builder().build()),
+                file, PriceImportFormat.CSV, PriceImportMode.REPLACE);
+        
+        // When
+        runner.run(new DefaultApplicationArguments());
+        
+        // Then
+        assertThat(imported).singleElement().satisfies(price -> assertThat(price.getProductId()).isEqualTo(35455L));
+    }
+}
@@ -0,0 +1,45 @@
+package com.wolper.prices.adapter.in.scheduling;
+
+import com.wolper.prices.application.port.in.ArchiveExpiredPricesUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para el archivado periódico de precios caducados.
+ */
+@ExtendWith(MockitoExtension.class)
+class PriceArchiveJobTest {
+    
+    @Mock
+    private ArchiveExpiredPricesUseCase archiveExpiredPricesUseCase;
+    
+    @InjectMocks
+    private PriceArchiveJob job;
+    
+    @Test
+    void shouldArchiveOnEachRun() {
+        // When
+        job.archiveExpiredPrices();
+        
+        // Then
+        verify(archiveExpiredPricesUseCase).archiveExpiredPrices();
+    }
+    
+    @Test
+    void shouldKeepScheduleWhenDatabaseIsUnavailable() {
+        // Given
+        when(archiveExpiredPricesUseCase.archiveExpiredPrices())
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        
+        // When & Then
+        assertThatCode(job::archiveExpiredPrices).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,45 @@
+package com.wolper.prices.adapter.in.scheduling;
+
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para el sondeo periódico de cambios en los precios.
+ */
+@ExtendWith(MockitoExtension.class)
+class PriceDataChangeWatcherTest {
+    
+    @Mock
+    private RefreshPriceDataUseCase refreshPriceDataUseCase;
+    
+    @InjectMocks
+    private PriceDataChangeWatcher watcher;
+    
+    @Test
+    void shouldCheckForChangesOnEachPoll() {
+        // When
+        watcher.pollForChanges();
+        
+        // Then
+        verify(refreshPriceDataUseCase).refreshIfChanged();
+    }
+    
+    @Test
+    void shouldKeepPollingWhenDatabaseIsUnavailable() {
+        // Given
+        when(refreshPriceDataUseCase.refreshIfChanged())
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        
+        // When & Then
+        assertThatCode(watcher::pollForChanges).doesNotThrowAnyException();
+    }
+}
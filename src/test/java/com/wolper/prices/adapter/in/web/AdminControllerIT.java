@@ -0,0 +1,189 @@
+package com.wolper.prices.adapter.in.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración de las operaciones de administración con la caché activada.
+ */
+@SpringBootTest(properties = "prices.cache.enabled=true")
+@AutoConfigureMockMvc
+class AdminControllerIT {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    @DisplayName("La caché sirve cualquier instante del tramo ya resuelto y expone sus estadísticas")
+    void testCacheServesSegmentAndExposesStats() throws Exception {
+        mockMvc.perform(delete("/admin/price-cache"))
+                .andExpect(status().isNoContent());
+        
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList").value(2));
+        
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-14T17:59:31")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList").value(2));
+        
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-14T21:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList").value(1));
+        
+        mockMvc.perform(get("/admin/price-cache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hits").value(greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.entries").value(1))
+                .andExpect(jsonPath("$.segments").value(2))
+                .andExpect(jsonPath("$.estimatedBytes").isNumber());
+    }
+    
+    @Test
+    @DisplayName("Los 5 escenarios devuelven la tarifa correcta con la caché activada")
+    void testReferenceScenariosWithCache() throws Exception {
+        String[][] scenarios = {
+            {"2020-06-14T10:00:00", "1"},
+            {"2020-06-14T16:00:00", "2"},
+            {"2020-06-14T21:00:00", "1"},
+            {"2020-06-15T10:00:00", "3"},
+            {"2020-06-16T21:00:00", "4"}
+        };
+        for (int round = 0; round < 2; round++) {
+            for (String[] scenario : scenarios) {
+                mockMvc.perform(get("/prices/final")
+                                .param("date", scenario[0])
+                                .param("productId", "35455")
+                                .param("brandId", "1"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.priceList").value(Integer.parseInt(scenario[1])));
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Tras una recarga la caché deja de servir el precio anterior")
+    void testReloadInvalidatesCachedPrices() throws Exception {
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(jsonPath("$.price").value(25.45));
+        
+        jdbcTemplate.update("UPDATE prices SET price = 19.99 WHERE price_list = 2");
+        try {
+            mockMvc.perform(post("/admin/price-data/reload"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.rowCount").value(4))
+                    .andExpect(jsonPath("$.lastModified").isNotEmpty());
+            
+            mockMvc.perform(get("/prices/final")
+                            .param("date", "2020-06-14T16:00:00")
+                            .param("productId", "35455")
+                            .param("brandId", "1"))
+                    .andExpect(jsonPath("$.price").value(19.99));
+        } finally {
+            jdbcTemplate.update("UPDATE prices SET price = 25.45 WHERE price_list = 2");
+            mockMvc.perform(post("/admin/price-data/reload"));
+        }
+        
+        mockMvc.perform(get("/admin/price-data"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowCount").value(4))
+                .andExpect(jsonPath("$.maxId").isNumber());
+    }
+    
+    @Test
+    @DisplayName("La importación en modo UPSERT actualiza precios y los sirve sin esperar al sondeo")
+    void testImportUpsertIsServedImmediately() throws Exception {
+        String csv = """
+                brand_id,start_date,end_date,price_list,product_id,priority,price,curr
+                1,2020-06-14 15:00:00,2020-06-14 18:30:00,2,35455,1,19.99,EUR
+                """;
+        try {
+            mockMvc.perform(post("/admin/price-data/import")
+                            .param("format", "CSV")
+                            .param("mode", "UPSERT")
+                            .contentType("text/csv")
+                            .content(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.mode").value("UPSERT"))
+                    .andExpect(jsonPath("$.rows").value(1))
+                    .andExpect(jsonPath("$.rowsPerSecond").isNumber());
+            
+            mockMvc.perform(get("/prices/final")
+                            .param("date", "2020-06-14T16:00:00")
+                            .param("productId", "35455")
+                            .param("brandId", "1"))
+                    .andExpect(jsonPath("$.price").value(19.99));
+        } finally {
+            jdbcTemplate.update("UPDATE prices SET price = 25.45 WHERE price_list = 2");
+            mockMvc.perform(post("/admin/price-data/reload"));
+        }
+    }
+    
+    @Test
+    @DisplayName("Una línea inválida rechaza la importación con 400 e indica la línea")
+    void testImportRejectsInvalidLine() throws Exception {
+        mockMvc.perform(post("/admin/price-data/import")
+                        .param("format", "NDJSON")
+                        .param("mode", "REPLACE")
+                        .contentType("application/x-ndjson")
+                        .content("{\"brandId\":1}\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Línea 1")));
+        
+        mockMvc.perform(get("/admin/price-data"))
+                .andExpect(jsonPath("$.rowCount").value(4));
+    }
+    
+    @Test
+    @DisplayName("Una línea inválida en modo UPSERT responde 400 con la línea y las filas ya importadas")
+    void testImportUpsertReportsCommittedRowsOnInvalidLine() throws Exception {
+        mockMvc.perform(post("/admin/price-data/import")
+                        .param("format", "NDJSON")
+                        .param("mode", "UPSERT")
+                        .contentType("application/x-ndjson")
+                        .content("{\"brandId\":1}\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("Línea 1")))
+                .andExpect(jsonPath("$.message").value(containsString("0 filas ya importadas")));
+        
+        mockMvc.perform(get("/admin/price-data"))
+                .andExpect(jsonPath("$.rowCount").value(4));
+    }
+    
+    @Test
+    @DisplayName("Sin archivado activado la operación de archivo no existe y no mueve precios")
+    void testArchiveNotFoundWhenDisabled() throws Exception {
+        mockMvc.perform(post("/admin/price-data/archive"))
+                .andExpect(status().isNotFound());
+        
+        mockMvc.perform(get("/admin/price-data"))
+                .andExpect(jsonPath("$.rowCount").value(4));
+    }
+}
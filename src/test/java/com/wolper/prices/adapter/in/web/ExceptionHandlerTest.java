@@ -1,8 +1,12 @@
 package com.wolper.prices.adapter.in.web;
 
+import com.wolper.prices.adapter.in.imports.PriceImportException;
 import com.wolper.prices.adapter.in.web.dto.ErrorResponse;
 import com.wolper.prices.adapter.in.web.exception.GlobalExceptionHandler;
+import com.wolper.prices.domain.exception.PriceImportInterruptedException;
 import com.wolper.prices.domain.exception.PriceNotFoundException;
+import com.wolper.prices.observability.PriceLookupMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -10,6 +14,7 @@ import jakarta.validation.Path;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.MethodParameter;
+import org.springframework.dao.TransientDataAccessResourceException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -33,7 +38,7 @@ class ExceptionHandlerTest {
 
     @BeforeEach
     void setUp() {
-        handler = new GlobalExceptionHandler();
+        handler = new GlobalExceptionHandler(new PriceLookupMetrics(new SimpleMeterRegistry()));
         httpServletRequest = mock(HttpServletRequest.class);
     }
 
@@ -183,6 +188,53 @@ class ExceptionHandlerTest {
         assertEquals("Error interno del servidor", body.getMessage());
     }
 
+    // ---------------------------------------------------------------
+    // 7) TransientDataAccessException
+    // ---------------------------------------------------------------
+    @Test
+    void testHandleTransientDataAccess() {
+        TransientDataAccessResourceException ex =
+                new TransientDataAccessResourceException("Base de datos saturada");
+
+        ResponseEntity<ErrorResponse> response = handler.handleTransientDataAccess(ex, httpServletRequest);
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+
+        ErrorResponse body = response.getBody();
+        assertNotNull(body);
+        assertEquals(503, body.getStatus());
+        assertEquals("Service Unavailable", body.getError());
+    }
+
+    // ---------------------------------------------------------------
+    // 8) PriceImportInterruptedException
+    // ---------------------------------------------------------------
+    @Test
+    void testHandlePriceImportInterruptedByInvalidLine() {
+        PriceImportInterruptedException ex = new PriceImportInterruptedException(
+                10_000, new PriceImportException(10_001, "precio vacío", null));
+
+        ResponseEntity<ErrorResponse> response = handler.handlePriceImportInterrupted(ex, httpServletRequest);
+
+        assertEquals(400, response.getStatusCode().value());
+
+        ErrorResponse body = response.getBody();
+        assertNotNull(body);
+        assertEquals("Línea 10001 inválida: precio vacío (10000 filas ya importadas)", body.getMessage());
+    }
+
+    @Test
+    void testHandlePriceImportInterruptedBySaturatedDatabase() {
+        PriceImportInterruptedException ex = new PriceImportInterruptedException(
+                10_000, new TransientDataAccessResourceException("Base de datos saturada"));
+
+        ResponseEntity<ErrorResponse> response = handler.handlePriceImportInterrupted(ex, httpServletRequest);
+
+        assertEquals(503, response.getStatusCode().value());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+    }
+
     // ---------------------------------------------------------------
     // helper
     // ---------------------------------------------------------------
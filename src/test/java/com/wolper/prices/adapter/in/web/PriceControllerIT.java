@@ -6,9 +6,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -23,6 +31,9 @@ class PriceControllerIT {
     @Autowired
     private MockMvc mockMvc;
     
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
     @Test
     @DisplayName("Test 1: petición a las 10:00 del día 14 del producto 35455 para la brand 1 (ZARA)")
     void test1_At10amOn14th_ShouldReturnPriceList1() throws Exception {
@@ -158,7 +169,26 @@ class PriceControllerIT {
     }
     
     @Test
-    @DisplayName("Test de headers: debe incluir X-Request-ID y Cache-Control")
+    @DisplayName("Test de alta: con el motor jdbc un producto nuevo se encuentra sin esperar al sondeo de cambios")
+    void testProductAddedAfterStartupIsFoundImmediately() throws Exception {
+        jdbcTemplate.update("""
+            INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, curr)
+            VALUES (1, '2020-06-01 00:00:00', '2020-12-31 23:59:59', 1, 99002, 0, 12.00, 'EUR')
+            """);
+        try {
+            mockMvc.perform(get("/prices/final")
+                            .param("date", "2020-06-14T10:00:00")
+                            .param("productId", "99002")
+                            .param("brandId", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.price").value(12.00));
+        } finally {
+            jdbcTemplate.update("DELETE FROM prices WHERE product_id = 99002");
+        }
+    }
+    
+    @Test
+    @DisplayName("Test de headers: debe incluir X-Request-ID, ETag y el Cache-Control configurado")
     void testResponseHeaders() throws Exception {
         mockMvc.perform(get("/prices/final")
                         .param("date", "2020-06-14T10:00:00")
@@ -167,6 +197,172 @@ class PriceControllerIT {
                 .andDo(print())
                 .andExpect(status().isOk())
                 .andExpect(header().exists("X-Request-ID"))
-                .andExpect(header().string("Cache-Control", "no-cache"));
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "max-age=600, public"));
+    }
+    
+    @Test
+    @DisplayName("Test de caché HTTP: max-age no depende de cuándo termina el tramo de la fecha consultada")
+    void testMaxAgeDoesNotEndWithTheSegment() throws Exception {
+        // La promoción de mayor prioridad empieza a las 15:00, pero la respuesta de las 14:58 no cambia
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-14T14:58:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList").value(1))
+                .andExpect(header().string("Cache-Control", "max-age=600, public"));
+    }
+    
+    @Test
+    @DisplayName("Test de caché HTTP: If-None-Match con la ETag vigente devuelve 304 sin cuerpo")
+    void testIfNoneMatchReturnsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+        
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-15T10:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceList").value(3));
+    }
+    
+    @Test
+    @DisplayName("Test de lote: resuelve los 5 escenarios en una sola petición")
+    void testBatch_ShouldResolveAllScenariosInOneRequest() throws Exception {
+        mockMvc.perform(post("/prices/final/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"items": [
+                                  {"date": "2020-06-14T10:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2020-06-14T16:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2020-06-14T21:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2020-06-15T10:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2020-06-16T21:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2025-01-01T10:00:00", "productId": 35455, "brandId": 1}
+                                ]}
+                                """)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(6))
+                .andExpect(jsonPath("$.items[0].price.priceList").value(1))
+                .andExpect(jsonPath("$.items[1].price.priceList").value(2))
+                .andExpect(jsonPath("$.items[2].price.priceList").value(1))
+                .andExpect(jsonPath("$.items[3].price.priceList").value(3))
+                .andExpect(jsonPath("$.items[4].price.priceList").value(4))
+                .andExpect(jsonPath("$.items[4].price.price").value(38.95))
+                .andExpect(jsonPath("$.items[5].found").value(false))
+                .andExpect(jsonPath("$.items[5].date").value("2025-01-01T10:00:00"));
+    }
+    
+    @Test
+    @DisplayName("Test de histórico: tramos del producto 35455 entre los días 14 y 16 en NDJSON")
+    void testTimeline_ShouldStreamWinningPricePerSegment() throws Exception {
+        MvcResult result = mockMvc.perform(get("/prices/timeline")
+                        .param("brandId", "1")
+                        .param("productId", "35455")
+                        .param("from", "2020-06-14T00:00:00")
+                        .param("to", "2020-06-16T23:59:59"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+        
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).containsExactly(
+                segment(1, "2020-06-14T00:00:00", "2020-06-14T14:59:59", "35.50"),
+                segment(2, "2020-06-14T15:00:00", "2020-06-14T18:30:00", "25.45"),
+                segment(1, "2020-06-14T18:30:01", "2020-06-14T23:59:59", "35.50"),
+                segment(3, "2020-06-15T00:00:00", "2020-06-15T11:00:00", "30.50"),
+                segment(1, "2020-06-15T11:00:01", "2020-06-15T15:59:59", "35.50"),
+                segment(4, "2020-06-15T16:00:00", "2020-06-16T23:59:59", "38.95"));
+    }
+    
+    @Test
+    @DisplayName("Test de histórico: un rango invertido devuelve 400")
+    void testTimelineInvertedRange_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/prices/timeline")
+                        .param("brandId", "1")
+                        .param("productId", "35455")
+                        .param("from", "2020-06-16T00:00:00")
+                        .param("to", "2020-06-14T00:00:00"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value(400));
+    }
+    
+    @Test
+    @DisplayName("Test de validación: una fecha ISO válida fuera del rango de los precios devuelve 400")
+    void testDateOutOfRange_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "+300000-01-01T00:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value(containsString("fuera del rango admitido")));
+    }
+    
+    private static String segment(int priceList, String start, String end, String price) {
+        return ("{\"productId\":35455,\"brandId\":1,\"priceList\":%d,\"startDate\":\"%s\","
+                + "\"endDate\":\"%s\",\"price\":%s,\"curr\":\"EUR\"}").formatted(priceList, start, end, price);
+    }
+    
+    @Test
+    @DisplayName("Test de foto: precio vigente de cada producto de la marca en NDJSON")
+    void testSnapshot_ShouldStreamWinningPriceOfEachProductAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/prices/snapshot")
+                        .param("brandId", "1")
+                        .param("date", "2020-06-14T16:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+        
+        assertThat(result.getResponse().getContentAsString().lines()).containsExactly(
+                "{\"productId\":35455,\"brandId\":1,\"priceList\":2,\"startDate\":\"2020-06-14T15:00:00\","
+                        + "\"endDate\":\"2020-06-14T18:30:00\",\"price\":25.45,\"curr\":\"EUR\"}");
+    }
+    
+    @Test
+    @DisplayName("Test de foto: precio vigente de cada producto de la marca en CSV")
+    void testSnapshot_ShouldStreamWinningPriceOfEachProductAsCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/prices/snapshot")
+                        .param("brandId", "1")
+                        .param("date", "2020-06-15T10:00:00")
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"));
+        
+        assertThat(result.getResponse().getContentAsString().lines()).containsExactly(
+                "product_id,brand_id,price_list,start_date,end_date,price,curr",
+                "35455,1,3,2020-06-15T00:00:00,2020-06-15T11:00:00,30.50,EUR");
     }
 }
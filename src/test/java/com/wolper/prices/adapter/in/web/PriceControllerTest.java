@@ -1,25 +1,53 @@
 package com.wolper.prices.adapter.in.web;
 
 import com.wolper.prices.adapter.in.web.dto.PriceResponse;
+import com.wolper.prices.adapter.in.web.dto.PriceTimelineSegmentResponse;
 import com.wolper.prices.adapter.in.web.mapper.PriceMapper;
+import com.wolper.prices.application.port.in.ExportPriceSnapshotUseCase;
 import com.wolper.prices.application.port.in.GetFinalPriceUseCase;
+import com.wolper.prices.application.port.in.GetPriceTimelineUseCase;
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.config.HttpCacheConfig;
+import com.wolper.prices.config.PriceResponseCacheConfig;
+import com.wolper.prices.config.RequestLoggingConfig;
+import com.wolper.prices.domain.exception.InvalidDateRangeException;
 import com.wolper.prices.domain.exception.PriceNotFoundException;
 import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import com.wolper.prices.domain.model.PriceQuery;
+import com.wolper.prices.domain.model.PriceSegment;
+import com.wolper.prices.observability.PriceLookupMetrics;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.TransientDataAccessResourceException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PriceController.class)
+@Import({RequestLoggingConfig.class, PriceResponseCacheConfig.class, HttpCacheConfig.class})
 class PriceControllerTest {
 
     @Autowired
@@ -31,6 +59,30 @@ class PriceControllerTest {
     @MockitoBean
     private PriceMapper priceMapper;
 
+    @MockitoBean
+    private PriceLookupMetrics metrics;
+
+    @MockitoBean
+    private RefreshPriceDataUseCase refreshPriceDataUseCase;
+
+    @MockitoBean
+    private GetPriceTimelineUseCase getPriceTimelineUseCase;
+
+    @MockitoBean
+    private ExportPriceSnapshotUseCase exportPriceSnapshotUseCase;
+
+    @MockitoBean
+    private PriceExportLimiter priceExportLimiter;
+
+    @Autowired
+    private PriceResponseCache priceResponseCache;
+
+    @BeforeEach
+    void clearResponseCache() {
+        // El contexto se comparte entre tests: cada uno stubea su propio mapeo
+        priceResponseCache.clear();
+    }
+
     // =====================
     // 200 OK
     // =====================
@@ -44,8 +96,8 @@ class PriceControllerTest {
                 date.plusDays(1), BigDecimal.valueOf(35.50), "EUR"
         );
 
-        when(getFinalPriceUseCase.getFinalPrice(date, 35455L, 1L))
-                .thenReturn(price);
+        when(getFinalPriceUseCase.getFinalPriceSegment(EpochMicros.of(date), 35455L, 1L))
+                .thenReturn(new PriceSegment(price.getStartDate(), price.getEndDate(), price));
 
         when(priceMapper.toResponse(price)).thenReturn(response);
 
@@ -60,6 +112,61 @@ class PriceControllerTest {
                 .andExpect(jsonPath("$.price").value(35.50));
     }
 
+    // =====================
+    // 200 OK — cabeceras de caché con el max-age configurado
+    // =====================
+    @Test
+    void testGetFinalPriceSendsCacheHeadersWithConfiguredMaxAge() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2026, 1, 9, 10, 0);
+
+        BrandPrice price = getPriceForTest(date);
+        when(getFinalPriceUseCase.getFinalPriceSegment(EpochMicros.of(date), 35455L, 1L))
+                .thenReturn(new PriceSegment(date.minusHours(1), date.plusSeconds(90).minusNanos(1), price));
+        when(refreshPriceDataUseCase.getLoadedVersion())
+                .thenReturn(new PriceDataVersion(4, 4, LocalDateTime.of(2026, 1, 1, 0, 0)));
+
+        mockMvc.perform(get("/prices/final")
+                        .param("date", date.toString())
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=600, public"))
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"));
+    }
+
+    // =====================
+    // 304 Not Modified
+    // =====================
+    @Test
+    void testGetFinalPriceReturns304WhenETagMatches() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2026, 1, 9, 10, 0);
+
+        BrandPrice price = getPriceForTest(date);
+        when(getFinalPriceUseCase.getFinalPriceSegment(EpochMicros.of(date), 35455L, 1L))
+                .thenReturn(new PriceSegment(price.getStartDate(), price.getEndDate(), price));
+
+        String etag = mockMvc.perform(get("/prices/final")
+                        .param("date", date.toString())
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        reset(priceMapper);
+
+        mockMvc.perform(get("/prices/final")
+                        .param("date", date.toString())
+                        .param("productId", "35455")
+                        .param("brandId", "1")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(priceMapper);
+    }
+
     // =====================
     // 404 Not Found
     // =====================
@@ -67,7 +174,7 @@ class PriceControllerTest {
     void testGetFinalPriceReturns404WhenNotFound() throws Exception {
         LocalDateTime date = LocalDateTime.of(2026, 1, 9, 10, 0);
 
-        when(getFinalPriceUseCase.getFinalPrice(date, 35455L, 1L))
+        when(getFinalPriceUseCase.getFinalPriceSegment(EpochMicros.of(date), 35455L, 1L))
                 .thenThrow(new PriceNotFoundException(0L, 0L, "Price not found"));
 
         mockMvc.perform(get("/prices/final")
@@ -119,7 +226,7 @@ class PriceControllerTest {
     void testGetFinalPriceThrowsGenericException() throws Exception {
         LocalDateTime date = LocalDateTime.of(2026, 1, 9, 10, 0);
 
-        when(getFinalPriceUseCase.getFinalPrice(date, 35455L, 1L))
+        when(getFinalPriceUseCase.getFinalPriceSegment(EpochMicros.of(date), 35455L, 1L))
                 .thenThrow(new RuntimeException("Unexpected"));
 
         mockMvc.perform(get("/prices/final")
@@ -129,6 +236,205 @@ class PriceControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    // =====================
+    // POST /final/batch — 200 OK con encontrados y no encontrados
+    // =====================
+    @Test
+    void testGetFinalPricesReturnsResultsInRequestOrder() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2026, 1, 9, 10, 0);
+        PriceQuery found = new PriceQuery(date, 35455L, 1L);
+        PriceQuery missing = new PriceQuery(date, 99999L, 1L);
+
+        BrandPrice price = getPriceForTest(date);
+        PriceResponse response = new PriceResponse(
+                35455L, 1L, 1L, date.minusDays(1),
+                date.plusDays(1), BigDecimal.valueOf(35.50), "EUR"
+        );
+
+        when(priceMapper.toQuery(any())).thenReturn(found, missing);
+        when(getFinalPriceUseCase.getFinalPrices(List.of(found, missing)))
+                .thenReturn(Map.of(found, price));
+        when(priceMapper.toResponse(price)).thenReturn(response);
+
+        mockMvc.perform(post("/prices/final/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"items": [
+                                  {"date": "2026-01-09T10:00:00", "productId": 35455, "brandId": 1},
+                                  {"date": "2026-01-09T10:00:00", "productId": 99999, "brandId": 1}
+                                ]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Request-ID"))
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].found").value(true))
+                .andExpect(jsonPath("$.items[0].price.price").value(35.50))
+                .andExpect(jsonPath("$.items[1].found").value(false))
+                .andExpect(jsonPath("$.items[1].productId").value(99999))
+                .andExpect(jsonPath("$.items[1].price").doesNotExist());
+    }
+
+    // =====================
+    // POST /final/batch — 400 Bad Request
+    // =====================
+    @Test
+    void testGetFinalPricesRejectsEmptyBatch() throws Exception {
+        mockMvc.perform(post("/prices/final/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields.items").exists());
+
+        verifyNoInteractions(getFinalPriceUseCase);
+    }
+
+    @Test
+    void testGetFinalPricesRejectsInvalidItem() throws Exception {
+        mockMvc.perform(post("/prices/final/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"items": [{"date": "2026-01-09T10:00:00", "productId": 0, "brandId": 1}]}
+                                """))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fields['items[0].productId']").exists());
+
+        verifyNoInteractions(getFinalPriceUseCase);
+    }
+
+    // =====================
+    // GET /timeline — 200 OK en NDJSON
+    // =====================
+    @Test
+    void testGetPriceTimelineStreamsOneSegmentPerLine() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2026, 1, 9, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 1, 9, 23, 59, 59);
+
+        BrandPrice price = getPriceForTest(from);
+        PriceSegment morning = new PriceSegment(from, from.plusHours(12).minusNanos(1), price);
+        PriceSegment evening = new PriceSegment(from.plusHours(12), to, price);
+        when(getPriceTimelineUseCase.getPriceTimeline(35455L, 1L, from, to))
+                .thenReturn(Stream.of(morning, evening));
+        when(priceMapper.toResponse(any(PriceSegment.class))).thenAnswer(invocation -> {
+            PriceSegment segment = invocation.getArgument(0);
+            return PriceTimelineSegmentResponse.builder()
+                    .productId(35455L)
+                    .brandId(1L)
+                    .priceList(1L)
+                    .startDate(segment.startDate())
+                    .endDate(segment.endDate())
+                    .price(BigDecimal.valueOf(35.50))
+                    .curr("EUR")
+                    .build();
+        });
+
+        MvcResult result = mockMvc.perform(get("/prices/timeline")
+                        .param("brandId", "1")
+                        .param("productId", "35455")
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Request-ID"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString(
+                        "\"startDate\":\"2026-01-09T00:00:00\",\"endDate\":\"2026-01-09T11:59:59\"")))
+                .andExpect(content().string(containsString(
+                        "\"startDate\":\"2026-01-09T12:00:00\",\"endDate\":\"2026-01-09T23:59:59\"")));
+
+        assertThat(result.getResponse().getContentAsString().lines()).hasSize(2);
+    }
+
+    // =====================
+    // GET /timeline — 400 Bad Request
+    // =====================
+    @Test
+    void testGetPriceTimelineRejectsInvertedRange() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2026, 1, 10, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2026, 1, 9, 0, 0);
+        when(getPriceTimelineUseCase.getPriceTimeline(35455L, 1L, from, to))
+                .thenThrow(new InvalidDateRangeException(from, to));
+
+        mockMvc.perform(get("/prices/timeline")
+                        .param("brandId", "1")
+                        .param("productId", "35455")
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("posterior")));
+    }
+
+    @Test
+    void testGetPriceTimelineRejectsMissingRange() throws Exception {
+        mockMvc.perform(get("/prices/timeline")
+                        .param("brandId", "1")
+                        .param("productId", "35455"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(getPriceTimelineUseCase);
+    }
+
+    // =====================
+    // GET /snapshot — CSV
+    // =====================
+    @Test
+    void testGetPriceSnapshotWritesCsvHeaderAndOneLinePerProduct() throws Exception {
+        LocalDateTime date = LocalDateTime.of(2026, 1, 9, 10, 0);
+        BrandPrice price = getPriceForTest(date);
+        when(exportPriceSnapshotUseCase.exportSnapshot(eq(1L), eq(date), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<BrandPrice>>getArgument(2).accept(price);
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/prices/snapshot")
+                        .param("brandId", "1")
+                        .param("date", date.toString())
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Request-ID"))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"));
+
+        assertThat(result.getResponse().getContentAsString().lines()).containsExactly(
+                PriceSnapshotFormat.CSV_HEADER,
+                "35455,1,1,2026-01-08T10:00:00,2026-01-10T10:00:00,35.50,EUR");
+        verify(priceExportLimiter).acquire();
+        verify(priceExportLimiter).release();
+    }
+
+    @Test
+    void testGetPriceSnapshotReturns503WhenTooManyExportsAreRunning() throws Exception {
+        doThrow(new TransientDataAccessResourceException("Demasiadas exportaciones en curso"))
+                .when(priceExportLimiter).acquire();
+
+        mockMvc.perform(get("/prices/snapshot")
+                        .param("brandId", "1")
+                        .param("date", "2026-01-09T10:00:00"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(503));
+
+        verifyNoInteractions(exportPriceSnapshotUseCase);
+        verify(priceExportLimiter, never()).release();
+    }
+
+    @Test
+    void testGetPriceSnapshotRejectsUnknownFormat() throws Exception {
+        mockMvc.perform(get("/prices/snapshot")
+                        .param("brandId", "1")
+                        .param("date", "2026-01-09T10:00:00")
+                        .param("format", "XML"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(exportPriceSnapshotUseCase);
+    }
+
     // helper
     private static BrandPrice getPriceForTest(LocalDateTime date) {
         return BrandPrice.builder()
@@ -0,0 +1,86 @@
+package com.wolper.prices.adapter.in.web;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceHttpCachePolicyTest {
+    
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 10, 0);
+    private static final PriceDataVersion VERSION = new PriceDataVersion(4, 4, LocalDateTime.of(2020, 1, 1, 0, 0));
+    
+    private final PriceHttpCachePolicy policy = new PriceHttpCachePolicy(Duration.ofMinutes(10));
+    
+    @Test
+    void shouldSendConfiguredMaxAge() {
+        assertThat(policy.cacheControl().getHeaderValue()).isEqualTo("max-age=600, public");
+    }
+    
+    @Test
+    void shouldSendNoCacheWhenDisabled() {
+        PriceHttpCachePolicy disabled = new PriceHttpCachePolicy(Duration.ZERO);
+        
+        assertThat(disabled.cacheControl().getHeaderValue()).isEqualTo("no-cache");
+    }
+    
+    @Test
+    void shouldChangeETagWithThePriceOrTheDataVersion() {
+        // Given
+        String etag = policy.etag(price(1L, "35.50"), VERSION);
+        
+        // Then
+        assertThat(policy.etag(price(1L, "35.50"), VERSION)).isEqualTo(etag);
+        assertThat(policy.etag(price(1L, "30.00"), VERSION)).isNotEqualTo(etag);
+        assertThat(policy.etag(price(2L, "35.50"), VERSION)).isNotEqualTo(etag);
+        assertThat(policy.etag(price(1L, "35.50"), new PriceDataVersion(5, 5, VERSION.lastModified()))).isNotEqualTo(etag);
+        assertThat(etag).startsWith("\"").endsWith("\"");
+    }
+    
+    @Test
+    void shouldMatchIfNoneMatch() {
+        // Given
+        String etag = policy.etag(price(1L, "35.50"), VERSION);
+        
+        // Then
+        assertThat(policy.isNotModified(etag, etag)).isTrue();
+        assertThat(policy.isNotModified("\"otra\", W/" + etag, etag)).isTrue();
+        assertThat(policy.isNotModified("*", etag)).isTrue();
+        assertThat(policy.isNotModified("\"otra\"", etag)).isFalse();
+        assertThat(policy.isNotModified(null, etag)).isFalse();
+        assertThat(policy.isNotModified(" ", etag)).isFalse();
+    }
+    
+    @Test
+    void shouldExposeLastModifiedWhenKnown() {
+        assertThat(policy.lastModified(VERSION)).isNotNull();
+        assertThat(policy.lastModified(new PriceDataVersion(0, 0, null))).isNull();
+        assertThat(policy.lastModified(null)).isNull();
+    }
+    
+    @Test
+    void shouldRejectNegativeMaxAge() {
+        assertThatThrownBy(() -> new PriceHttpCachePolicy(Duration.ofSeconds(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private static BrandPrice price(long id, String amount) {
+        return BrandPrice.builder()
+                .id(id)
+                .brandId(1L)
+                .productId(35455L)
+                .priceList(id)
+                .priority(0)
+                .startDate(DATE.minusDays(1))
+                .endDate(DATE.plusDays(1))
+                .price(new BigDecimal(amount))
+                .currency("EUR")
+                .build();
+    }
+}
@@ -0,0 +1,177 @@
+package com.wolper.prices.adapter.in.web;
+
+import com.wolper.prices.adapter.in.web.mapper.PriceMapper;
+import com.wolper.prices.adapter.in.web.mapper.PriceMapperImpl;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.event.PricePartitionReloadedEvent;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PriceResponseCacheTest {
+    
+    private PriceMapper priceMapper;
+    private PriceResponseCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        priceMapper = spy(new PriceMapperImpl());
+        cache = new PriceResponseCache(priceMapper, JsonMapper.builder().build(), 2);
+    }
+    
+    @Test
+    void shouldSerializeOnceAndReuseTheBytes() {
+        // Given
+        BrandPrice price = price(1L, "35.50");
+        
+        // When
+        byte[] first = cache.toJson(price);
+        byte[] second = cache.toJson(price(1L, "35.50"));
+        
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first, StandardCharsets.UTF_8))
+                .contains("\"priceList\":1", "\"price\":35.50", "\"curr\":\"EUR\"", "\"startDate\":\"2020-06-14T00:00:00\"");
+        verify(priceMapper, times(1)).toResponse(price);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldNotReuseBytesOfAModifiedRow() {
+        // Given
+        cache.toJson(price(1L, "35.50"));
+        
+        // When
+        byte[] json = cache.toJson(price(1L, "30.00"));
+        
+        // Then
+        assertThat(new String(json, StandardCharsets.UTF_8)).contains("\"price\":30.00");
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+    
+    @Test
+    void shouldClearWhenFullAndKeepCachingNewRows() {
+        // Given
+        cache.toJson(price(1L, "1.00"));
+        cache.toJson(price(2L, "2.00"));
+        
+        // When
+        cache.toJson(price(3L, "3.00"));
+        byte[] first = cache.toJson(price(4L, "4.00"));
+        byte[] second = cache.toJson(price(4L, "4.00"));
+        
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(second).isSameAs(first);
+    }
+    
+    @Test
+    void shouldReplaceModifiedRowWithoutClearing() {
+        // Given
+        cache.toJson(price(1L, "1.00"));
+        cache.toJson(price(2L, "2.00"));
+        
+        // When
+        cache.toJson(price(2L, "2.50"));
+        
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+    }
+    
+    @Test
+    void shouldNotRetainAnythingWithoutEntries() {
+        // Given
+        PriceResponseCache disabled = new PriceResponseCache(priceMapper, JsonMapper.builder().build(), 0);
+        
+        // When
+        disabled.toJson(price(1L, "1.00"));
+        
+        // Then
+        assertThat(disabled.size()).isZero();
+    }
+    
+    @Test
+    void shouldClearWhenPriceDataChanges() {
+        // Given
+        cache.toJson(price(1L, "35.50"));
+        
+        // When
+        cache.onPriceDataChanged(new PriceDataChangedEvent(new PriceDataVersion(4, 4, LocalDateTime.now())));
+        
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+    
+    @Test
+    void shouldDropOnlyChangedBrandsWhenDataChangeIsScopedToBrands() {
+        // Given
+        cache.toJson(price(1L, "35.50"));
+        PriceDataVersion version = new PriceDataVersion(4, 4, LocalDateTime.now());
+        
+        // When
+        cache.onPriceDataChanged(new PriceDataChangedEvent(version, Set.of(2L, 3L)));
+        
+        // Then
+        assertThat(cache.size()).isEqualTo(1);
+        
+        // When
+        cache.onPriceDataChanged(new PriceDataChangedEvent(version, Set.of(1L)));
+        
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+    
+    @Test
+    void shouldDropOnlyTheReloadedBrand() {
+        // Given
+        cache.toJson(price(1L, "35.50"));
+        cache.toJson(price(2L, "25.45"));
+        
+        // When
+        cache.onPricePartitionReloaded(new PricePartitionReloadedEvent(2L, PriceDataVersion.EMPTY));
+        
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        
+        // When
+        cache.onPricePartitionReloaded(new PricePartitionReloadedEvent(1L, PriceDataVersion.EMPTY));
+        
+        // Then
+        assertThat(cache.size()).isZero();
+    }
+    
+    @Test
+    void shouldRejectNegativeMaxEntries() {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        assertThatThrownBy(() -> new PriceResponseCache(priceMapper, jsonMapper, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private static BrandPrice price(long id, String amount) {
+        return BrandPrice.builder()
+                .id(id)
+                .brandId(1L)
+                .productId(35455L)
+                .priceList(id)
+                .priority(0)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+                .price(new BigDecimal(amount))
+                .currency("EUR")
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.wolper.prices.adapter.in.web;
+
+import com.wolper.prices.adapter.out.persistence.JdbcConcurrencyGate;
+import com.wolper.prices.adapter.out.persistence.JdbcPriceCatalogReader;
+import com.wolper.prices.application.port.out.PriceCatalogReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de integración de la exportación frente a las consultas de precio.
+ * Un lector de test detiene la exportación tras el primer precio, con el cursor abierto, como
+ * un cliente que deja de leer. El límite JDBC tiene un solo permiso y una espera corta: si la
+ * exportación lo retuviera, las consultas responderían 503.
+ */
+@SpringBootTest(properties = {
+        "prices.jdbc.max-concurrency=1",
+        "prices.jdbc.acquire-timeout=100ms",
+        "prices.export.max-concurrency=1"
+})
+@AutoConfigureMockMvc
+class PriceSnapshotExportIT {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private StallingCatalogReader stallingReader;
+    
+    @Autowired
+    private JdbcConcurrencyGate gate;
+    
+    @Autowired
+    private PriceExportLimiter exportLimiter;
+    
+    @AfterEach
+    void resumeExport() {
+        stallingReader.resume.countDown();
+    }
+    
+    @Test
+    @DisplayName("Una exportación detenida no bloquea las consultas de precio y la siguiente recibe 503")
+    void testStalledExportDoesNotStarveLookups() throws Exception {
+        // Given: una exportación detenida con el cursor abierto
+        MvcResult export = mockMvc.perform(get("/prices/snapshot")
+                        .param("brandId", "1")
+                        .param("date", "2020-06-14T16:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(stallingReader.stalled.await(10, TimeUnit.SECONDS)).isTrue();
+        
+        // When / Then: las consultas siguen teniendo el permiso JDBC
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/prices/final")
+                            .param("date", "2020-06-14T16:00:00")
+                            .param("productId", "35455")
+                            .param("brandId", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.priceList").value(2));
+        }
+        assertThat(gate.getAvailablePermits()).isEqualTo(1);
+        
+        // When / Then: el cupo de exportaciones está agotado y la segunda se rechaza sin esperar
+        mockMvc.perform(get("/prices/snapshot")
+                        .param("brandId", "1")
+                        .param("date", "2020-06-14T16:00:00"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+        
+        // When / Then: la exportación detenida termina y devuelve su permiso
+        stallingReader.resume.countDown();
+        mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk());
+        assertThat(export.getResponse().getContentAsString().lines()).hasSize(1);
+        assertThat(exportLimiter.getAvailablePermits()).isEqualTo(exportLimiter.getMaxConcurrency());
+    }
+    
+    @TestConfiguration
+    static class StallingCatalogReader {
+        
+        private final CountDownLatch stalled = new CountDownLatch(1);
+        private final CountDownLatch resume = new CountDownLatch(1);
+        
+        @Bean
+        @Primary
+        PriceCatalogReader stallingPriceCatalogReader(JdbcPriceCatalogReader reader) {
+            return (brandId, date, consumer) -> reader.forEachFinalPrice(brandId, date, price -> {
+                consumer.accept(price);
+                stalled.countDown();
+                try {
+                    resume.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+    }
+}
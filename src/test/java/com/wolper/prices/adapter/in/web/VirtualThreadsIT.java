@@ -0,0 +1,95 @@
+package com.wolper.prices.adapter.in.web;
+
+import com.wolper.prices.adapter.out.persistence.JdbcConcurrencyGate;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración con Tomcat real atendiendo en hilos virtuales.
+ * Un interceptor de test anota el tipo de hilo que atiende cada consulta de precios.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadsIT {
+    
+    private static final int CONCURRENT_REQUESTS = 300;
+    
+    @LocalServerPort
+    private int port;
+    
+    @Autowired
+    private JdbcConcurrencyGate gate;
+    
+    @Autowired
+    private ThreadRecorder threadRecorder;
+    
+    @Test
+    @DisplayName("Una ráfaga mayor que el pool se atiende entera y el límite JDBC queda libre")
+    void testBurstLargerThanPoolIsServed() throws Exception {
+        URI uri = URI.create("http://localhost:" + port
+                + "/prices/final?date=2020-06-14T16:00:00&productId=35455&brandId=1");
+        
+        List<HttpResponse<String>> responses = new ArrayList<>();
+        try (HttpClient client = HttpClient.newHttpClient();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<HttpResponse<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                futures.add(executor.submit(() ->
+                        client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString())));
+            }
+            for (Future<HttpResponse<String>> future : futures) {
+                responses.add(future.get(30, TimeUnit.SECONDS));
+            }
+        }
+        
+        assertThat(responses).hasSize(CONCURRENT_REQUESTS)
+                .allSatisfy(response -> {
+                    assertThat(response.statusCode()).isEqualTo(200);
+                    assertThat(response.body()).contains("\"priceList\":2");
+                });
+        assertThat(threadRecorder.virtual).hasSize(CONCURRENT_REQUESTS).containsOnly(true);
+        assertThat(gate.getMaxConcurrency()).isEqualTo(10);
+        assertThat(gate.getAvailablePermits()).isEqualTo(gate.getMaxConcurrency());
+    }
+    
+    @TestConfiguration
+    static class ThreadRecorder implements WebMvcConfigurer {
+        
+        private final Queue<Boolean> virtual = new ConcurrentLinkedQueue<>();
+        
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new HandlerInterceptor() {
+                @Override
+                public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                    virtual.add(Thread.currentThread().isVirtual());
+                    return true;
+                }
+            }).addPathPatterns("/prices/**");
+        }
+    }
+}
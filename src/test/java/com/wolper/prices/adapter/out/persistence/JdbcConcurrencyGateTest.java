@@ -0,0 +1,122 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para el límite de operaciones JDBC simultáneas.
+ */
+class JdbcConcurrencyGateTest {
+    
+    @Test
+    void shouldNeverRunMoreOperationsThanPermits() throws Exception {
+        // Given
+        JdbcConcurrencyGate gate = new JdbcConcurrencyGate(3, Duration.ofSeconds(10));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        
+        // When: 200 hilos virtuales compiten por 3 permisos
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> gate.call(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(2);
+                    running.decrementAndGet();
+                    return 1;
+                })));
+            }
+            for (Future<Integer> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        }
+        
+        // Then
+        assertThat(maxRunning.get()).isEqualTo(3);
+        assertThat(gate.getAvailablePermits()).isEqualTo(3);
+    }
+    
+    @Test
+    void shouldRejectWhenNoPermitIsFreedInTime() throws Exception {
+        // Given
+        JdbcConcurrencyGate gate = new JdbcConcurrencyGate(1, Duration.ofMillis(50));
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> gate.run(() -> {
+            holding.countDown();
+            await(release);
+        }));
+        holding.await();
+        
+        // When & Then
+        assertThatThrownBy(() -> gate.call(() -> 1))
+                .isInstanceOf(TransientDataAccessResourceException.class);
+        
+        release.countDown();
+        holder.join();
+        assertThat(gate.getAvailablePermits()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldReleasePermitWhenOperationFails() {
+        // Given
+        JdbcConcurrencyGate gate = new JdbcConcurrencyGate(2, Duration.ofSeconds(1));
+        
+        // When
+        assertThatThrownBy(() -> gate.run(() -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        
+        // Then
+        assertThat(gate.getAvailablePermits()).isEqualTo(2);
+        assertThat(gate.getMaxConcurrency()).isEqualTo(2);
+    }
+    
+    @Test
+    void shouldRestoreInterruptFlagWhenInterruptedWhileWaiting() {
+        // Given
+        JdbcConcurrencyGate gate = new JdbcConcurrencyGate(1, Duration.ofSeconds(1));
+        Thread.currentThread().interrupt();
+        
+        // When & Then
+        assertThatThrownBy(() -> gate.call(() -> 1))
+                .isInstanceOf(TransientDataAccessResourceException.class);
+        assertThat(Thread.interrupted()).isTrue();
+    }
+    
+    @Test
+    void shouldRejectNonPositiveLimit() {
+        assertThatThrownBy(() -> new JdbcConcurrencyGate(0, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    // helpers
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integración del archivado de precios caducados y de las consultas que leen el archivo.
+ * Los precios de ejemplo son de 2020, así que con la ventana viva por defecto se archivan todos;
+ * cada test añade un precio vigente, que empezó antes de la ventana, y restaura los datos al terminar.
+ * La ejecución programada se desactiva para que solo archiven los tests.
+ */
+@SpringBootTest(properties = {
+    "prices.archive.enabled=true",
+    "prices.archive.batch-size=3",
+    "prices.archive.schedule=-"
+})
+@AutoConfigureMockMvc
+class JdbcPriceArchiverIT {
+    
+    private static final LocalDateTime AT_16 = LocalDateTime.of(2020, 6, 14, 16, 0);
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JdbcPriceRepository repository;
+    
+    @Autowired
+    private JdbcPriceCatalogReader catalogReader;
+    
+    @Autowired
+    private JdbcPriceBulkWriter bulkWriter;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    
+    @BeforeEach
+    void addCurrentPrice() {
+        jdbcTemplate.update("""
+            INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, curr)
+            VALUES (1, ?, ?, 5, 35455, 0, 40.00, 'EUR')
+            """, now.minusDays(400), now.plusDays(30));
+    }
+    
+    @AfterEach
+    void restoreSampleData() {
+        jdbcTemplate.update("DELETE FROM prices");
+        jdbcTemplate.update("DELETE FROM prices_archive");
+        new ResourceDatabasePopulator(new ClassPathResource("db/sample/V1_1__sample_prices.sql")).execute(dataSource);
+    }
+    
+    @Test
+    void shouldMoveExpiredPricesToArchiveInBatches() throws Exception {
+        // Given
+        List<Long> expiredIds = jdbcTemplate.queryForList(
+                "SELECT id FROM prices WHERE price_list <> 5 ORDER BY id", Long.class);
+        
+        // When: 4 precios caducados en lotes de 3
+        archive();
+        
+        // Then
+        assertThat(jdbcTemplate.queryForList("SELECT price_list FROM prices", Long.class)).containsExactly(5L);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM prices_archive ORDER BY id", Long.class))
+                .isEqualTo(expiredIds);
+        
+        // Y una segunda ejecución no encuentra nada más
+        mockMvc.perform(post("/admin/price-data/archive"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(0))
+                .andExpect(jsonPath("$.batches").value(0));
+    }
+    
+    @Test
+    void shouldServeArchivedPricesForDatesBeforeLiveWindow() throws Exception {
+        // Given
+        archive();
+        String[][] scenarios = {
+            {"2020-06-14T10:00:00", "1"},
+            {"2020-06-14T16:00:00", "2"},
+            {"2020-06-14T21:00:00", "1"},
+            {"2020-06-15T10:00:00", "3"},
+            {"2020-06-16T21:00:00", "4"}
+        };
+        
+        // When & Then: el filtro de existencia incluye el producto aunque sus precios de 2020 estén archivados
+        for (String[] scenario : scenarios) {
+            mockMvc.perform(get("/prices/final")
+                            .param("date", scenario[0])
+                            .param("productId", "35455")
+                            .param("brandId", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.priceList").value(Integer.parseInt(scenario[1])));
+        }
+        assertThat(repository.findApplicablePrices(AT_16, 35455L, 1L))
+                .extracting(BrandPrice::getPriceList)
+                .containsExactly(2L, 1L);
+    }
+    
+    @Test
+    void shouldCombineLiveAndArchivedPricesBeforeLiveWindow() throws Exception {
+        // Given
+        archive();
+        LocalDateTime beforeWindow = now.minusDays(390);
+        
+        // When
+        List<BrandPrice> history = repository.findPricesBetween(35455L, 1L, AT_16, now);
+        Map<PriceQuery, BrandPrice> batch = repository.findFinalPrices(List.of(
+                new PriceQuery(AT_16, 35455L, 1L),
+                new PriceQuery(beforeWindow, 35455L, 1L),
+                new PriceQuery(now, 35455L, 1L)));
+        
+        // Then
+        assertThat(history).extracting(BrandPrice::getPriceList).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(batch.get(new PriceQuery(AT_16, 35455L, 1L)).getPriceList()).isEqualTo(2L);
+        assertThat(batch.get(new PriceQuery(beforeWindow, 35455L, 1L)).getPriceList()).isEqualTo(5L);
+        assertThat(batch.get(new PriceQuery(now, 35455L, 1L)).getPriceList()).isEqualTo(5L);
+        assertThat(repository.findFinalPrice(now, 35455L, 1L)).map(BrandPrice::getPrice)
+                .contains(new BigDecimal("40.00"));
+    }
+    
+    @Test
+    void shouldExportArchivedCatalogForDatesBeforeLiveWindow() throws Exception {
+        // Given
+        archive();
+        List<BrandPrice> delivered = new ArrayList<>();
+        
+        // When
+        long rows = catalogReader.forEachFinalPrice(1L, AT_16, delivered::add);
+        
+        // Then
+        assertThat(rows).isEqualTo(1);
+        assertThat(delivered.getFirst().getPriceList()).isEqualTo(2L);
+    }
+    
+    @Test
+    void shouldEmptyArchiveWhenReplacingAllPrices() throws Exception {
+        // Given
+        archive();
+        BrandPrice price = BrandPrice.builder()
+                .brandId(1L).productId(1L).priceList(1L).priority(0)
+                .startDate(now).endDate(now.plusDays(1))
+                .price(new BigDecimal("1.00")).currency("EUR")
+                .build();
+        
+        // When
+        bulkWriter.replaceAll(Stream.of(price));
+        
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prices", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prices_archive", Long.class)).isZero();
+        assertThat(repository.findFinalPrice(AT_16, 35455L, 1L)).isEmpty();
+    }
+    
+    private void archive() throws Exception {
+        mockMvc.perform(post("/admin/price-data/archive"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(4))
+                .andExpect(jsonPath("$.batches").value(2))
+                .andExpect(jsonPath("$.cutoff").isNotEmpty());
+    }
+}
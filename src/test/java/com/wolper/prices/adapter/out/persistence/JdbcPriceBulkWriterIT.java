@@ -0,0 +1,127 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import com.wolper.prices.domain.exception.PriceImportInterruptedException;
+import com.wolper.prices.domain.model.BrandPrice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests de integración de la escritura masiva de precios.
+ * Cada test restaura los datos de ejemplo al terminar.
+ */
+@SpringBootTest(properties = "prices.import.batch-size=3")
+class JdbcPriceBulkWriterIT {
+    
+    @Autowired
+    private JdbcPriceBulkWriter writer;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @AfterEach
+    void restoreSampleData() {
+        jdbcTemplate.update("DELETE FROM prices");
+        new ResourceDatabasePopulator(new ClassPathResource("db/sample/V1_1__sample_prices.sql")).execute(dataSource);
+    }
+    
+    @Test
+    void shouldReplaceAllPricesInSeveralBatches() {
+        // When: 10 filas en lotes de 3
+        long rows = writer.replaceAll(IntStream.rangeClosed(1, 10).mapToObj(i -> price(i, "10.00")));
+        
+        // Then
+        assertThat(rows).isEqualTo(10);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prices", Long.class)).isEqualTo(10);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prices WHERE product_id = 35455", Long.class))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prices_staging", Long.class)).isZero();
+    }
+    
+    @Test
+    void shouldKeepCurrentPricesWhenReplaceFails() {
+        // Given: el stream falla después de haber cargado un lote en staging
+        Stream<BrandPrice> failing = IntStream.rangeClosed(1, 5).mapToObj(i -> {
+            if (i == 5) {
+                throw new IllegalStateException("fichero truncado");
+            }
+            return price(i, "10.00");
+        });
+        
+        // Then
+        assertThatThrownBy(() -> writer.replaceAll(failing)).isInstanceOf(IllegalStateException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prices", Long.class)).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prices_staging", Long.class)).isZero();
+    }
+    
+    @Test
+    void shouldUpdateExistingPricesAndInsertNewOnes() {
+        // Given: la tarifa 2 existente con nuevo precio y un producto nuevo
+        BrandPrice updated = BrandPrice.builder()
+                .brandId(1L).productId(35455L).priceList(2L).priority(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 19, 0))
+                .price(new BigDecimal("19.99")).currency("EUR")
+                .build();
+        
+        // When
+        long rows = writer.upsert(Stream.of(updated, price(1, "10.00")));
+        
+        // Then
+        assertThat(rows).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prices", Long.class)).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT price FROM prices WHERE price_list = 2", BigDecimal.class))
+                .isEqualByComparingTo("19.99");
+        assertThat(jdbcTemplate.queryForObject("SELECT end_date FROM prices WHERE price_list = 2", LocalDateTime.class))
+                .isEqualTo(LocalDateTime.of(2020, 6, 14, 19, 0));
+    }
+    
+    @Test
+    void shouldKeepCommittedBatchesAndReportThemWhenUpsertFails() {
+        // Given: el stream falla después de confirmar un lote de 3
+        IllegalStateException truncated = new IllegalStateException("fichero truncado");
+        Stream<BrandPrice> failing = IntStream.rangeClosed(1, 5).mapToObj(i -> {
+            if (i == 5) {
+                throw truncated;
+            }
+            return price(i, "10.00");
+        });
+        
+        // Then
+        assertThatThrownBy(() -> writer.upsert(failing))
+                .isInstanceOfSatisfying(PriceImportInterruptedException.class,
+                                        ex -> assertThat(ex.getCommittedRows()).isEqualTo(3))
+                .hasCause(truncated)
+                .hasMessage("fichero truncado (3 filas ya importadas)");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM prices", Long.class)).isEqualTo(7);
+    }
+    
+    private static BrandPrice price(long productId, String amount) {
+        return BrandPrice.builder()
+                .brandId(1L)
+                .productId(productId)
+                .priceList(1L)
+                .priority(0)
+                .startDate(LocalDateTime.of(2021, 1, 1, 0, 0))
+                .endDate(LocalDateTime.of(2021, 12, 31, 23, 59, 59))
+                .price(new BigDecimal(amount))
+                .currency("EUR")
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests de integración del recorrido del catálogo con cursor JDBC.
+ * El fetch size es menor que el número de filas para que el driver pida varios bloques.
+ */
+@SpringBootTest(properties = "prices.export.fetch-size=2")
+class JdbcPriceCatalogReaderIT {
+    
+    private static final LocalDateTime AT_16 = LocalDateTime.of(2020, 6, 14, 16, 0);
+    
+    @Autowired
+    private JdbcPriceCatalogReader reader;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private DataSource dataSource;
+    
+    @BeforeEach
+    void addCatalog() {
+        jdbcTemplate.update("""
+            INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, curr)
+            VALUES
+                (1, '2020-06-01 00:00:00', '2020-12-31 23:59:59', 1, 10, 0, 10.00, 'EUR'),
+                (1, '2020-06-01 00:00:00', '2020-06-30 23:59:59', 5, 10, 2, 8.00, 'EUR'),
+                (1, '2020-06-01 00:00:00', '2020-12-31 23:59:59', 1, 20, 0, 20.00, 'EUR'),
+                (1, '2020-07-01 00:00:00', '2020-12-31 23:59:59', 1, 30, 0, 30.00, 'EUR'),
+                (2, '2020-06-01 00:00:00', '2020-12-31 23:59:59', 1, 10, 0, 99.00, 'EUR')
+            """);
+    }
+    
+    @AfterEach
+    void restoreSampleData() {
+        jdbcTemplate.update("DELETE FROM prices");
+        new ResourceDatabasePopulator(new ClassPathResource("db/sample/V1_1__sample_prices.sql")).execute(dataSource);
+    }
+    
+    @Test
+    void shouldDeliverWinningPriceOfEveryProductOfTheBrandInProductOrder() {
+        // Given
+        List<BrandPrice> delivered = new ArrayList<>();
+        
+        // When
+        long rows = reader.forEachFinalPrice(1L, AT_16, delivered::add);
+        
+        // Then: el producto 30 aún no tiene precio y la marca 2 no se lee
+        assertThat(rows).isEqualTo(3);
+        assertThat(delivered).extracting(BrandPrice::getProductId).containsExactly(10L, 20L, 35455L);
+        assertThat(delivered).extracting(BrandPrice::getPriceList).containsExactly(5L, 1L, 2L);
+        assertThat(delivered).allSatisfy(price -> assertThat(price.getBrandId()).isEqualTo(1L));
+    }
+    
+    @Test
+    void shouldDeliverNothingForBrandWithoutPrices() {
+        // Given
+        List<BrandPrice> delivered = new ArrayList<>();
+        
+        // When
+        long rows = reader.forEachFinalPrice(9L, AT_16, delivered::add);
+        
+        // Then
+        assertThat(rows).isZero();
+        assertThat(delivered).isEmpty();
+    }
+    
+    @Test
+    void shouldStopAndReleaseConnectionWhenConsumerFails() {
+        // Given: el receptor falla al segundo precio, como cuando el cliente cierra la conexión
+        List<BrandPrice> delivered = new ArrayList<>();
+        
+        // Then
+        assertThatThrownBy(() -> reader.forEachFinalPrice(1L, AT_16, price -> {
+            if (!delivered.isEmpty()) {
+                throw new IllegalStateException("cliente desconectado");
+            }
+            delivered.add(price);
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(delivered).hasSize(1);
+        assertThat(((HikariDataSource) dataSource).getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+}
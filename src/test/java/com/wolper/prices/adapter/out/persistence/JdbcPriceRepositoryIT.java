@@ -1,12 +1,20 @@
 package com.wolper.prices.adapter.out.persistence;
 
 import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import com.wolper.prices.domain.model.PriceQuery;
+import com.wolper.prices.domain.model.PriceSegment;
+import com.wolper.prices.observability.PriceLookupMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -19,6 +27,12 @@ class JdbcPriceRepositoryIT {
     @Autowired
     private JdbcPriceRepository repository;
     
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Test
     void shouldFindApplicablePrices() {
         // Given
@@ -65,6 +79,23 @@ class JdbcPriceRepositoryIT {
         assertThat(prices).isEmpty();
     }
     
+    @Test
+    void shouldFindOnlyTheWinningPrice() {
+        // When
+        Optional<BrandPrice> price = repository.findFinalPrice(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L);
+        
+        // Then
+        assertThat(price).hasValueSatisfying(p -> {
+            assertThat(p.getPriceList()).isEqualTo(2L);
+            assertThat(p.getPrice()).isEqualByComparingTo("25.45");
+        });
+    }
+    
+    @Test
+    void shouldReturnEmptyFinalPriceWhenNoPriceFound() {
+        assertThat(repository.findFinalPrice(LocalDateTime.of(2025, 1, 1, 10, 0), 35455L, 1L)).isEmpty();
+    }
+    
     @Test
     void shouldFindPriceAtExactStartDate() {
         // Given
@@ -90,6 +121,96 @@ class JdbcPriceRepositoryIT {
         List<BrandPrice> prices = repository.findApplicablePrices(applicationDate, productId, brandId);
         
         // Then
-        assertThat(prices).isNotEmpty().anyMatch(p -> p.getPriceList().equals(2L));
+        assertThat(prices).isNotEmpty().anyMatch(p -> p.getPriceList() == 2L);
+    }
+    
+    @Test
+    void shouldResolveBatchWithOneWinnerPerQuery() {
+        // Given
+        PriceQuery at10 = new PriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0), 35455L, 1L);
+        PriceQuery at16 = new PriceQuery(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L);
+        PriceQuery at21On16th = new PriceQuery(LocalDateTime.of(2020, 6, 16, 21, 0), 35455L, 1L);
+        PriceQuery outOfRange = new PriceQuery(LocalDateTime.of(2025, 1, 1, 10, 0), 35455L, 1L);
+        PriceQuery unknownProduct = new PriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0), 99999L, 1L);
+        
+        // When
+        Map<PriceQuery, BrandPrice> prices = repository.findFinalPrices(
+                List.of(at10, at16, at21On16th, outOfRange, unknownProduct, at16));
+        
+        // Then
+        assertThat(prices).containsOnlyKeys(at10, at16, at21On16th);
+        assertThat(prices.get(at10).getPriceList()).isEqualTo(1L);
+        assertThat(prices.get(at16).getPriceList()).isEqualTo(2L);
+        assertThat(prices.get(at21On16th).getPriceList()).isEqualTo(4L);
+    }
+    
+    @Test
+    void shouldReturnEmptyMapForEmptyBatch() {
+        assertThat(repository.findFinalPrices(List.of())).isEmpty();
+    }
+    
+    @Test
+    void shouldFindPricesOverlappingARange() {
+        // When
+        List<BrandPrice> prices = repository.findPricesBetween(35455L, 1L,
+                LocalDateTime.of(2020, 6, 14, 12, 0), LocalDateTime.of(2020, 6, 15, 5, 0));
+        
+        // Then
+        assertThat(prices).extracting(BrandPrice::getPriceList).containsExactly(1L, 2L, 3L);
+    }
+    
+    @Test
+    void shouldResolveSegmentBoundedByCompetingPromotions() {
+        // When: la tarifa 1 gana a las 21:00 del 14 hasta que empieza la tarifa 3
+        Optional<PriceSegment> segment = repository.findFinalPriceSegment(
+                LocalDateTime.of(2020, 6, 14, 21, 0), 35455L, 1L);
+        
+        // Then
+        assertThat(segment).hasValueSatisfying(s -> {
+            assertThat(s.price().getPriceList()).isEqualTo(1L);
+            assertThat(s.startDate()).isAfter(LocalDateTime.of(2020, 6, 14, 18, 30));
+            assertThat(s.endDate()).isBefore(LocalDateTime.of(2020, 6, 15, 0, 0));
+        });
+    }
+    
+    @Test
+    void shouldResolveSegmentInASingleTimedQuery() {
+        // Given
+        long before = dbQueries();
+        
+        // When
+        Optional<PriceSegment> segment = repository.findFinalPriceSegment(
+                LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L);
+        
+        // Then
+        assertThat(segment).hasValueSatisfying(s -> assertThat(s.price().getPriceList()).isEqualTo(2L));
+        assertThat(dbQueries() - before).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldReportDataVersionThatChangesWithTheData() {
+        // Given
+        PriceDataVersion before = repository.currentVersion();
+        
+        // When
+        jdbcTemplate.update("INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, curr) "
+                + "VALUES (1, '2020-06-14 12:00:00', '2020-06-14 13:00:00', 5, 35455, 9, 19.99, 'EUR')");
+        try {
+            PriceDataVersion after = repository.currentVersion();
+            
+            // Then
+            assertThat(before.rowCount()).isEqualTo(4);
+            assertThat(before.lastModified()).isNotNull();
+            assertThat(after.rowCount()).isEqualTo(5);
+            assertThat(after.maxId()).isGreaterThan(before.maxId());
+            assertThat(after).isNotEqualTo(before);
+        } finally {
+            jdbcTemplate.update("DELETE FROM prices WHERE price_list = 5");
+        }
+    }
+    
+    private long dbQueries() {
+        return meterRegistry.get(PriceLookupMetrics.TIMER_NAME)
+                .tag("stage", "db_query").tag("outcome", "found").timer().count();
     }
 }
@@ -0,0 +1,163 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de regresión de los planes de ejecución sobre el esquema que crean las migraciones.
+ * Un cambio en los índices que haga recorrer la tabla de precios u ordenar las filas
+ * de una consulta por petición rompe estos tests en lugar de pasar inadvertido.
+ */
+@SpringBootTest
+class PriceQueryPlanIT {
+    
+    private static final String TABLE_SCAN = "tableScan";
+    /** H2 marca un orden parcial como "index sorted: 2 of 4 columns", que sí ordena las filas. */
+    private static final String INDEX_SORTED = "/* index sorted */";
+    private static final LocalDateTime AT_16 = LocalDateTime.of(2020, 6, 14, 16, 0);
+    
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    
+    @Test
+    void shouldResolveApplicablePricesFromCoveringIndexWithoutSorting() {
+        // When
+        String plan = explain(JdbcPriceRepository.FIND_APPLICABLE_PRICES_QUERY, lookupParams());
+        
+        // Then
+        assertThat(plan).contains("PUBLIC.IDX_PRICE_LOOKUP:")
+                .contains(INDEX_SORTED)
+                .doesNotContain(TABLE_SCAN);
+    }
+    
+    @Test
+    void shouldStopFinalPriceLookupAtFirstIndexEntry() {
+        // When
+        String plan = explain(JdbcPriceRepository.FIND_FINAL_PRICE_QUERY, lookupParams());
+        
+        // Then
+        assertThat(plan).contains("PUBLIC.IDX_PRICE_LOOKUP:")
+                .contains(INDEX_SORTED)
+                .contains("FETCH FIRST ROW ONLY")
+                .doesNotContain(TABLE_SCAN);
+    }
+    
+    @Test
+    void shouldResolveFinalPriceSegmentThroughIndexesInOneQuery() {
+        // When
+        String plan = explain(JdbcPriceRepository.FIND_FINAL_PRICE_SEGMENT_QUERY, lookupParams());
+        
+        // Then: el ganador se detiene en su primera entrada y los que lo acotan se buscan por índice
+        assertThat(plan).containsPattern("(?s)IDX_PRICE_LOOKUP: PRODUCT_ID.*IDX_PRICE_LOOKUP: BRAND_ID")
+                .contains("FETCH FIRST ROW ONLY")
+                .doesNotContain(TABLE_SCAN);
+    }
+    
+    @Test
+    void shouldJoinBatchQueriesThroughIndex() {
+        // Given
+        String values = JdbcPriceRepository.BATCH_VALUES_ROW.formatted(0) + ", "
+                + JdbcPriceRepository.BATCH_VALUES_ROW.formatted(1);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        for (int i = 0; i < 2; i++) {
+            params.addValue("applicationDate" + i, AT_16)
+                  .addValue("productId" + i, 35455L + i)
+                  .addValue("brandId" + i, 1L);
+        }
+        
+        // When
+        String plan = explain(JdbcPriceRepository.FIND_FINAL_PRICES_BATCH_QUERY.formatted(values), params);
+        
+        // Then: solo se recorre la tabla VALUES de las consultas; los precios se buscan por índice
+        assertThat(plan).containsPattern("INNER JOIN PUBLIC\\.PRICES P\\s+/\\* PUBLIC\\.IDX_")
+                .doesNotContain(TABLE_SCAN);
+    }
+    
+    @Test
+    void shouldReadPriceRangeInIndexOrder() {
+        // Given
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("productId", 35455L)
+                .addValue("brandId", 1L)
+                .addValue("from", AT_16)
+                .addValue("to", AT_16.plusDays(30));
+        
+        // When
+        String plan = explain(JdbcPriceRepository.FIND_PRICES_BETWEEN_QUERY, params);
+        
+        // Then
+        assertThat(plan).contains("PUBLIC.IDX_BRAND_PRODUCT_DATE")
+                .contains(INDEX_SORTED)
+                .doesNotContain(TABLE_SCAN);
+    }
+    
+    @Test
+    void shouldLoadBrandPartitionInIndexOrder() {
+        // When
+        String plan = explain(JdbcPriceRepository.FIND_BRAND_PRICES_QUERY, new MapSqlParameterSource("brandId", 1L));
+        
+        // Then
+        assertThat(plan).contains("PUBLIC.IDX_BRAND_PRODUCT_DATE: BRAND_ID = ?1")
+                .contains(INDEX_SORTED)
+                .doesNotContain(TABLE_SCAN);
+    }
+    
+    @Test
+    void shouldResolveArchivedFinalPriceFromBothLookupIndexes() {
+        // When
+        String plan = explain(JdbcPriceRepository.FIND_FINAL_PRICE_WITH_ARCHIVE_QUERY, lookupParams());
+        
+        // Then: cada tabla se detiene en su primera entrada del índice
+        assertThat(plan).contains("PUBLIC.IDX_PRICE_LOOKUP:")
+                .contains("PUBLIC.IDX_ARCHIVE_LOOKUP:")
+                .doesNotContain(TABLE_SCAN);
+        assertThat(plan.split("/\\* index sorted \\*/", -1)).hasSize(3);
+    }
+    
+    @Test
+    void shouldResolveArchivedApplicablePricesFromBothLookupIndexes() {
+        // When
+        String plan = explain(JdbcPriceRepository.FIND_APPLICABLE_PRICES_WITH_ARCHIVE_QUERY, lookupParams());
+        
+        // Then
+        assertThat(plan).contains("PUBLIC.IDX_PRICE_LOOKUP:")
+                .contains("PUBLIC.IDX_ARCHIVE_LOOKUP:")
+                .doesNotContain(TABLE_SCAN);
+    }
+    
+    @Test
+    void shouldReadArchivedPriceRangeThroughIndexes() {
+        // Given
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("productId", 35455L)
+                .addValue("brandId", 1L)
+                .addValue("from", AT_16)
+                .addValue("to", AT_16.plusDays(30));
+        
+        // When
+        String plan = explain(JdbcPriceRepository.FIND_PRICES_BETWEEN_WITH_ARCHIVE_QUERY, params);
+        
+        // Then: sin orden en cada rama, las dos tablas se leen de su índice de cobertura
+        assertThat(plan).contains("PUBLIC.IDX_PRICE_LOOKUP:")
+                .contains("PUBLIC.IDX_ARCHIVE_LOOKUP:")
+                .doesNotContain(TABLE_SCAN);
+    }
+    
+    private String explain(String sql, MapSqlParameterSource params) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, params, String.class);
+    }
+    
+    private static MapSqlParameterSource lookupParams() {
+        return new MapSqlParameterSource()
+                .addValue("productId", 35455L)
+                .addValue("brandId", 1L)
+                .addValue("applicationDate", AT_16);
+    }
+}
@@ -0,0 +1,226 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import com.wolper.prices.adapter.out.persistence.ReadReplicaRouter.Balancing;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para el reparto de lecturas entre réplicas.
+ */
+class ReadReplicaRouterTest {
+    
+    private static final Duration INTERVAL = Duration.ofHours(1);
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+    
+    private final DataSource primary = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    
+    @Test
+    void shouldReadFromPrimaryWithoutReplicas() {
+        // When
+        ReadReplicaRouter router = ReadReplicaRouter.primaryOnly(primary);
+        
+        // Then
+        assertThat(router.hasReplicas()).isFalse();
+        assertThat(router.readDataSource()).isSameAs(primary);
+    }
+    
+    @Test
+    void shouldRotateConnectionsBetweenReplicas() throws Exception {
+        // Given
+        Map<String, DataSource> replicas = replicas(healthyReplica(), healthyReplica());
+        
+        try (ReadReplicaRouter router = new ReadReplicaRouter(primary, replicas, Balancing.ROUND_ROBIN,
+                INTERVAL, TIMEOUT, Duration.ZERO)) {
+            // When
+            Connection first = router.readDataSource().getConnection();
+            Connection second = router.readDataSource().getConnection();
+            Connection third = router.readDataSource().getConnection();
+            
+            // Then
+            assertThat(router.healthyReplicas()).isEqualTo(2);
+            assertThat(first).isNotSameAs(second).isSameAs(third);
+            assertThat(router.primaryFallbacks()).isZero();
+        }
+    }
+    
+    @Test
+    void shouldSkipReplicaThatFailsHealthCheck() throws Exception {
+        // Given
+        DataSource down = mock(DataSource.class);
+        when(down.getConnection()).thenThrow(connectionFailure());
+        DataSource up = healthyReplica();
+        Connection upConnection = up.getConnection();
+        
+        try (ReadReplicaRouter router = new ReadReplicaRouter(primary, replicas(down, up), Balancing.ROUND_ROBIN,
+                INTERVAL, TIMEOUT, Duration.ZERO)) {
+            // When / Then
+            assertThat(router.healthyReplicas()).isEqualTo(1);
+            assertThat(router.readDataSource().getConnection()).isSameAs(upConnection);
+            assertThat(router.readDataSource().getConnection()).isSameAs(upConnection);
+        }
+    }
+    
+    @Test
+    void shouldFallBackToPrimaryWhenNoReplicaDeliversConnection() throws Exception {
+        // Given
+        DataSource flaky = mock(DataSource.class);
+        Connection valid = validConnection();
+        when(flaky.getConnection()).thenReturn(valid).thenThrow(connectionFailure());
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        
+        try (ReadReplicaRouter router = new ReadReplicaRouter(primary, replicas(flaky), Balancing.ROUND_ROBIN,
+                INTERVAL, TIMEOUT, Duration.ZERO)) {
+            // When
+            Connection connection = router.readDataSource().getConnection();
+            
+            // Then
+            assertThat(connection).isSameAs(primaryConnection);
+            assertThat(router.healthyReplicas()).isZero();
+            assertThat(router.primaryFallbacks()).isEqualTo(1);
+        }
+    }
+    
+    @Test
+    void shouldKeepReplicaInRotationWhenItsPoolIsExhausted() throws Exception {
+        // Given: una réplica real con su única conexión en uso
+        HikariDataSource busy = pool("exhausted");
+        busy.setMaximumPoolSize(1);
+        busy.setConnectionTimeout(250);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        
+        try (ReadReplicaRouter router = new ReadReplicaRouter(primary, replicas(busy), Balancing.ROUND_ROBIN,
+                INTERVAL, TIMEOUT, Duration.ZERO);
+             Connection held = router.readDataSource().getConnection()) {
+            // When
+            Connection connection = router.readDataSource().getConnection();
+            router.checkHealth();
+            
+            // Then
+            assertThat(connection).isSameAs(primaryConnection);
+            assertThat(router.primaryFallbacks()).isEqualTo(1);
+            assertThat(router.healthyReplicas()).isEqualTo(1);
+        }
+    }
+    
+    @Test
+    void shouldReturnReplicaToRotationWhenItRecovers() throws Exception {
+        // Given
+        DataSource recovering = mock(DataSource.class);
+        Connection valid = validConnection();
+        when(recovering.getConnection()).thenThrow(connectionFailure()).thenReturn(valid);
+        
+        try (ReadReplicaRouter router = new ReadReplicaRouter(primary, replicas(recovering), Balancing.ROUND_ROBIN,
+                INTERVAL, TIMEOUT, Duration.ZERO)) {
+            assertThat(router.healthyReplicas()).isZero();
+            
+            // When
+            router.checkHealth();
+            
+            // Then
+            assertThat(router.healthyReplicas()).isEqualTo(1);
+            assertThat(router.readDataSource().getConnection()).isSameAs(valid);
+        }
+    }
+    
+    @Test
+    void shouldPreferReplicaWithFewestConnectionsInUse() throws Exception {
+        // Given
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", pool("least-connections-1"));
+        replicas.put("replica-2", pool("least-connections-2"));
+        
+        try (ReadReplicaRouter router = new ReadReplicaRouter(primary, replicas, Balancing.LEAST_CONNECTIONS,
+                INTERVAL, TIMEOUT, Duration.ZERO);
+             Connection busy = router.readDataSource().getConnection()) {
+            // When
+            String busyUrl = busy.getMetaData().getURL();
+            String nextUrl;
+            String afterUrl;
+            try (Connection next = router.readDataSource().getConnection()) {
+                nextUrl = next.getMetaData().getURL();
+            }
+            try (Connection after = router.readDataSource().getConnection()) {
+                afterUrl = after.getMetaData().getURL();
+            }
+            
+            // Then
+            assertThat(nextUrl).isNotEqualTo(busyUrl);
+            assertThat(afterUrl).isEqualTo(nextUrl);
+        }
+    }
+    
+    @Test
+    void shouldReadFromPrimaryRightAfterADataChange() throws Exception {
+        // Given
+        DataSource replica = healthyReplica();
+        Connection replicaConnection = replica.getConnection();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        
+        try (ReadReplicaRouter router = new ReadReplicaRouter(primary, replicas(replica), Balancing.ROUND_ROBIN,
+                INTERVAL, TIMEOUT, Duration.ofHours(1))) {
+            Connection before = router.readDataSource().getConnection();
+            
+            // When: la sonda del primario detecta un cambio que la réplica quizá no tiene aún
+            router.onPriceDataChanged(new PriceDataChangedEvent(new PriceDataVersion(5, 5, null)));
+            Connection after = router.readDataSource().getConnection();
+            
+            // Then
+            assertThat(before).isSameAs(replicaConnection);
+            assertThat(after).isSameAs(primaryConnection);
+            assertThat(router.isReadingFromPrimary()).isTrue();
+            assertThat(router.healthyReplicas()).isEqualTo(1);
+        }
+    }
+    
+    private static Map<String, DataSource> replicas(DataSource... dataSources) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < dataSources.length; i++) {
+            replicas.put("replica-" + (i + 1), dataSources[i]);
+        }
+        return replicas;
+    }
+    
+    /**
+     * Como la lanza Hikari cuando no consigue abrir conexiones: con el último fallo como causa.
+     */
+    private static SQLException connectionFailure() {
+        return new SQLTransientConnectionException("Connection is not available, request timed out",
+                                                   new SQLException("Connection refused"));
+    }
+    
+    private static DataSource healthyReplica() throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        Connection connection = validConnection();
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+    
+    private static Connection validConnection() throws SQLException {
+        Connection connection = mock(Connection.class);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        return connection;
+    }
+    
+    private static HikariDataSource pool(String database) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + database);
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+}
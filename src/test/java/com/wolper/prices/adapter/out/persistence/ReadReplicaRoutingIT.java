@@ -0,0 +1,218 @@
+package com.wolper.prices.adapter.out.persistence;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración del reparto de lecturas con dos H2 en memoria como réplicas.
+ * Cada réplica tiene el precio de 10:00 con un importe distinto para saber quién responde;
+ * se abren con {@code IFEXISTS} para que una réplica apagada no se recree vacía.
+ * Los tests que apagan réplicas van al final porque no se vuelven a levantar.
+ * El primario tiene un solo permiso JDBC, que las consultas servidas por réplicas no necesitan.
+ * El sondeo de cambios no llega a ejecutarse: desviaría las lecturas al primario tras cada escritura.
+ */
+@SpringBootTest(properties = {
+        "prices.jdbc.max-concurrency=1",
+        "prices.jdbc.acquire-timeout=100ms",
+        "prices.refresh.interval=1h"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReadReplicaRoutingIT {
+    
+    private static final LocalDateTime AT_10 = LocalDateTime.of(2020, 6, 14, 10, 0);
+    private static final BigDecimal PRIMARY_PRICE = new BigDecimal("35.50");
+    private static final BigDecimal REPLICA_A_PRICE = new BigDecimal("10.00");
+    private static final BigDecimal REPLICA_B_PRICE = new BigDecimal("20.00");
+    
+    @Autowired
+    private JdbcPriceRepository repository;
+    
+    @Autowired
+    private ReadReplicaRouter router;
+    
+    @Autowired
+    private JdbcPriceCatalogReader catalogReader;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private JdbcConcurrencyGate primaryGate;
+    
+    @Autowired
+    @Qualifier("replicaReadGate")
+    private JdbcConcurrencyGate replicaReadGate;
+    
+    @DynamicPropertySource
+    static void replicas(DynamicPropertyRegistry registry) {
+        seedReplica("replica-a", REPLICA_A_PRICE);
+        seedReplica("replica-b", REPLICA_B_PRICE);
+        registry.add("prices.replicas.nodes[0].url", () -> "jdbc:h2:mem:replica-a;IFEXISTS=TRUE");
+        registry.add("prices.replicas.nodes[0].username", () -> "sa");
+        registry.add("prices.replicas.nodes[1].url", () -> "jdbc:h2:mem:replica-b;IFEXISTS=TRUE");
+        registry.add("prices.replicas.nodes[1].username", () -> "sa");
+        registry.add("prices.replicas.health-check-interval", () -> "1h");
+        registry.add("prices.replicas.health-check-timeout", () -> "1s");
+    }
+    
+    @Test
+    @Order(1)
+    void shouldSpreadLookupsAcrossReplicas() {
+        // When
+        Set<BigDecimal> answers = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            answers.add(finalPriceAt10());
+        }
+        
+        // Then
+        assertThat(router.healthyReplicas()).isEqualTo(2);
+        assertThat(answers).containsExactlyInAnyOrder(REPLICA_A_PRICE, REPLICA_B_PRICE);
+    }
+    
+    @Test
+    @Order(2)
+    void shouldKeepWritesAndChangeProbeOnPrimary() {
+        // Given
+        PriceDataVersion before = repository.currentVersion();
+        
+        // When
+        jdbcTemplate.update("UPDATE prices SET price = 1.00 WHERE price_list = 1");
+        
+        // Then
+        assertThat(repository.currentVersion()).isNotEqualTo(before);
+        assertThat(finalPriceAt10()).isIn(REPLICA_A_PRICE, REPLICA_B_PRICE);
+        jdbcTemplate.update("UPDATE prices SET price = 35.50 WHERE price_list = 1");
+    }
+    
+    @Test
+    @Order(3)
+    void shouldNotTakePrimaryPermitsForReplicaLookups() throws Exception {
+        // Given: una operación sobre el primario retiene su único permiso
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread primaryOperation = Thread.ofVirtual().start(() -> primaryGate.run(() -> {
+            holding.countDown();
+            awaitQuietly(release);
+        }));
+        assertThat(holding.await(10, TimeUnit.SECONDS)).isTrue();
+        
+        try {
+            // When / Then: las consultas no esperan por el primario
+            assertThat(finalPriceAt10()).isIn(REPLICA_A_PRICE, REPLICA_B_PRICE);
+            assertThat(replicaReadGate).isNotSameAs(primaryGate);
+            assertThat(replicaReadGate.getMaxConcurrency()).isEqualTo(2 * 10);
+        } finally {
+            release.countDown();
+            primaryOperation.join();
+        }
+    }
+    
+    @Test
+    @Order(4)
+    void shouldExportSnapshotFromReplicas() {
+        // Given
+        List<BrandPrice> exported = new ArrayList<>();
+        
+        // When
+        catalogReader.forEachFinalPrice(1L, AT_10, exported::add);
+        
+        // Then
+        assertThat(exported).singleElement()
+                .extracting(BrandPrice::getPrice).isIn(REPLICA_A_PRICE, REPLICA_B_PRICE);
+    }
+    
+    @Test
+    @Order(5)
+    void shouldDivertLookupsFromReplicaThatGoesDown() {
+        // Given
+        shutDownReplica("replica-a");
+        
+        // When
+        router.checkHealth();
+        
+        // Then
+        assertThat(router.healthyReplicas()).isEqualTo(1);
+        for (int i = 0; i < 4; i++) {
+            assertThat(finalPriceAt10()).isEqualTo(REPLICA_B_PRICE);
+        }
+    }
+    
+    @Test
+    @Order(6)
+    void shouldFallBackToPrimaryWhenEveryReplicaIsDown() {
+        // Given
+        long fallbacks = router.primaryFallbacks();
+        shutDownReplica("replica-b");
+        router.checkHealth();
+        
+        // When
+        BigDecimal price = finalPriceAt10();
+        
+        // Then
+        assertThat(price).isEqualByComparingTo(PRIMARY_PRICE);
+        assertThat(router.healthyReplicas()).isZero();
+        assertThat(router.primaryFallbacks()).isGreaterThan(fallbacks);
+    }
+    
+    private BigDecimal finalPriceAt10() {
+        return repository.findFinalPrice(AT_10, 35455L, 1L).map(BrandPrice::getPrice).orElseThrow();
+    }
+    
+    /**
+     * Crea la réplica con los datos de ejemplo y la mantiene abierta sin conexiones.
+     */
+    private static void seedReplica(String name, BigDecimal price) {
+        SingleConnectionDataSource dataSource = replica(name);
+        try {
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/migration", "classpath:db/sample")
+                    .load().migrate();
+            new JdbcTemplate(dataSource).update("UPDATE prices SET price = ? WHERE price_list = 1", price);
+        } finally {
+            dataSource.destroy();
+        }
+    }
+    
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private static void shutDownReplica(String name) {
+        SingleConnectionDataSource dataSource = replica(name);
+        try {
+            new JdbcTemplate(dataSource).execute("SHUTDOWN");
+        } finally {
+            dataSource.destroy();
+        }
+    }
+    
+    private static SingleConnectionDataSource replica(String name) {
+        return new SingleConnectionDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "", true);
+    }
+}
@@ -0,0 +1,104 @@
+package com.wolper.prices.adapter.out.persistence.memory;
+
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.application.port.out.PriceRepository;
+import com.wolper.prices.domain.model.BrandPrice;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración para el motor de precios en memoria.
+ */
+@SpringBootTest(properties = "prices.repository.engine=memory")
+class InMemoryPriceRepositoryIT {
+    
+    @Autowired
+    private PriceRepository repository;
+    
+    @Autowired
+    private RefreshPriceDataUseCase refreshPriceDataUseCase;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void shouldBeTheActivePriceRepository() {
+        assertThat(repository).isInstanceOf(InMemoryPriceRepository.class);
+    }
+    
+    @Test
+    void shouldFindApplicablePrices() {
+        // When
+        List<BrandPrice> prices = repository.findApplicablePrices(
+                LocalDateTime.of(2020, 6, 14, 10, 0), 35455L, 1L);
+        
+        // Then
+        assertThat(prices).hasSize(1);
+        assertThat(prices.getFirst().getPriceList()).isEqualTo(1L);
+    }
+    
+    @Test
+    void shouldReturnPricesOrderedByPriority() {
+        // When
+        List<BrandPrice> prices = repository.findApplicablePrices(
+                LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L);
+        
+        // Then
+        assertThat(prices).extracting(BrandPrice::getPriceList).containsExactly(2L, 1L);
+    }
+    
+    @Test
+    void shouldReturnEmptyListWhenNoPriceFound() {
+        assertThat(repository.findApplicablePrices(LocalDateTime.of(2025, 1, 1, 10, 0), 35455L, 1L)).isEmpty();
+    }
+    
+    @Test
+    void shouldResolveFinalPriceFromTimeline() {
+        assertThat(repository.findFinalPrice(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(2L);
+        assertThat(repository.findFinalPrice(LocalDateTime.of(2020, 6, 16, 21, 0), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(4L);
+        assertThat(repository.findFinalPrice(LocalDateTime.of(2025, 1, 1, 10, 0), 35455L, 1L)).isEmpty();
+    }
+    
+    @Test
+    void shouldResolveSegmentsAndRangesFromIndex() {
+        assertThat(repository.findFinalPriceSegment(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L))
+                .hasValueSatisfying(segment -> {
+                    assertThat(segment.startDate()).isEqualTo(LocalDateTime.of(2020, 6, 14, 15, 0));
+                    assertThat(segment.endDate()).isEqualTo(LocalDateTime.of(2020, 6, 14, 18, 30));
+                });
+        assertThat(repository.findPricesBetween(35455L, 1L,
+                LocalDateTime.of(2020, 6, 14, 12, 0), LocalDateTime.of(2020, 6, 15, 5, 0)))
+                .extracting(BrandPrice::getPriceList).containsExactly(1L, 2L, 3L);
+    }
+    
+    @Test
+    void shouldSwapInRebuiltIndexWhenDataChanges() {
+        // Given
+        LocalDateTime noon = LocalDateTime.of(2020, 6, 14, 12, 30);
+        jdbcTemplate.update("INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, curr) "
+                + "VALUES (1, '2020-06-14 12:00:00', '2020-06-14 13:00:00', 5, 35455, 9, 19.99, 'EUR')");
+        try {
+            // When
+            boolean changed = refreshPriceDataUseCase.refreshIfChanged();
+            
+            // Then
+            assertThat(changed).isTrue();
+            assertThat(repository.findFinalPrice(noon, 35455L, 1L))
+                    .hasValueSatisfying(price -> assertThat(price.getPriceList()).isEqualTo(5L));
+        } finally {
+            jdbcTemplate.update("DELETE FROM prices WHERE price_list = 5");
+            refreshPriceDataUseCase.reload();
+        }
+        assertThat(repository.findFinalPrice(noon, 35455L, 1L))
+                .hasValueSatisfying(price -> assertThat(price.getPriceList()).isEqualTo(1L));
+    }
+}
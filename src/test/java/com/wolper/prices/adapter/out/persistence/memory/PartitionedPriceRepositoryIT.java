@@ -0,0 +1,130 @@
+package com.wolper.prices.adapter.out.persistence.memory;
+
+import com.wolper.prices.adapter.in.web.PriceResponseCache;
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.application.port.out.PriceRepository;
+import com.wolper.prices.domain.model.BrandPrice;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integración para el motor de precios particionado por marca.
+ */
+@SpringBootTest(properties = "prices.repository.engine=partitioned")
+@AutoConfigureMockMvc
+class PartitionedPriceRepositoryIT {
+    
+    private static final LocalDateTime NOON = LocalDateTime.of(2020, 6, 14, 12, 30);
+    
+    @Autowired
+    private PriceRepository repository;
+    
+    @Autowired
+    private RefreshPriceDataUseCase refreshPriceDataUseCase;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private PriceResponseCache responseCache;
+    
+    @Test
+    void shouldServeLookupsFromBrandPartition() {
+        assertThat(repository).isInstanceOf(PartitionedPriceRepository.class);
+        assertThat(repository.findFinalPrice(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(2L);
+        assertThat(repository.findApplicablePrices(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L))
+                .extracting(BrandPrice::getPriceList).containsExactly(2L, 1L);
+        assertThat(repository.findFinalPrice(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 2L)).isEmpty();
+        assertThat(meterRegistry.get("prices.partition.rows").tag("brand", "1").gauge().value()).isEqualTo(4);
+    }
+    
+    @Test
+    void shouldExposePartitionsThroughAdminEndpoint() throws Exception {
+        mockMvc.perform(get("/admin/price-partitions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].brandId").value(1))
+                .andExpect(jsonPath("$[0].rows").value(4))
+                .andExpect(jsonPath("$[0].products").value(1))
+                .andExpect(jsonPath("$[0].estimatedBytes").isNumber())
+                .andExpect(jsonPath("$[0].version.rowCount").value(4));
+        
+        mockMvc.perform(post("/admin/price-partitions/{brandId}/reload", 9))
+                .andExpect(status().isNotFound());
+    }
+    
+    @Test
+    void shouldReloadSingleBrandOnDemand() throws Exception {
+        // Given
+        jdbcTemplate.update("INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, curr) "
+                + "VALUES (1, '2020-06-14 12:00:00', '2020-06-14 13:00:00', 5, 35455, 9, 19.99, 'EUR')");
+        try {
+            // When & Then
+            mockMvc.perform(post("/admin/price-partitions/{brandId}/reload", 1))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.brandId").value(1))
+                    .andExpect(jsonPath("$.rows").value(5));
+            
+            mockMvc.perform(get("/prices/final")
+                            .param("date", "2020-06-14T12:30:00")
+                            .param("productId", "35455")
+                            .param("brandId", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.priceList").value(5));
+        } finally {
+            jdbcTemplate.update("DELETE FROM prices WHERE price_list = 5");
+            refreshPriceDataUseCase.reload();
+        }
+        assertThat(repository.findFinalPrice(NOON, 35455L, 1L))
+                .hasValueSatisfying(price -> assertThat(price.getPriceList()).isEqualTo(1L));
+    }
+    
+    @Test
+    void shouldAddPartitionWhenNewBrandAppears() throws Exception {
+        // Given
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-14T12:30:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk());
+        int cachedResponses = responseCache.size();
+        jdbcTemplate.update("INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, curr) "
+                + "VALUES (2, '2020-06-14 12:00:00', '2020-06-14 13:00:00', 5, 35455, 0, 12.00, 'USD')");
+        try {
+            // When
+            boolean changed = refreshPriceDataUseCase.refreshIfChanged();
+            
+            // Then
+            assertThat(changed).isTrue();
+            assertThat(repository.findFinalPrice(NOON, 35455L, 2L))
+                    .hasValueSatisfying(price -> assertThat(price.getCurrency()).isEqualTo("USD"));
+            assertThat(meterRegistry.get("prices.partition.rows").tag("brand", "2").gauge().value()).isEqualTo(1);
+            assertThat(responseCache.size()).as("las respuestas de la marca 1 se conservan")
+                    .isPositive().isEqualTo(cachedResponses);
+        } finally {
+            jdbcTemplate.update("DELETE FROM prices WHERE price_list = 5");
+            refreshPriceDataUseCase.reload();
+        }
+        assertThat(repository.findFinalPrice(NOON, 35455L, 2L)).isEmpty();
+        assertThat(meterRegistry.find("prices.partition.rows").tag("brand", "2").gauge()).isNull();
+    }
+}
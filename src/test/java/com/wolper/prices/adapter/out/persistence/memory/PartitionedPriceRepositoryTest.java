@@ -0,0 +1,210 @@
+package com.wolper.prices.adapter.out.persistence.memory;
+
+import com.wolper.prices.adapter.out.persistence.JdbcPriceRepository;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import com.wolper.prices.domain.model.PricePartitionStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para el repositorio particionado por marca: carga, recarga independiente
+ * de cada marca y contabilidad de memoria.
+ */
+@ExtendWith(MockitoExtension.class)
+class PartitionedPriceRepositoryTest {
+    
+    private static final LocalDateTime AT_16 = LocalDateTime.of(2020, 6, 14, 16, 0);
+    private static final PriceDataVersion BRAND_1 = new PriceDataVersion(2, 2, LocalDateTime.of(2020, 6, 14, 8, 0));
+    private static final PriceDataVersion BRAND_2 = new PriceDataVersion(1, 3, LocalDateTime.of(2020, 6, 14, 9, 0));
+    
+    @Mock
+    private JdbcPriceRepository source;
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<Long, PriceDataVersion> versions = new HashMap<>();
+    private final Map<Long, List<BrandPrice>> prices = new HashMap<>();
+    
+    @BeforeEach
+    void setUp() {
+        when(source.currentVersionsByBrand(anyCollection())).thenAnswer(invocation -> {
+            List<Long> requested = List.copyOf(invocation.<Collection<Long>>getArgument(0));
+            Map<Long, PriceDataVersion> found = new HashMap<>(versions);
+            if (!requested.isEmpty()) {
+                found.keySet().retainAll(requested);
+            }
+            return found;
+        });
+        doAnswer(invocation -> {
+            Consumer<BrandPrice> consumer = invocation.getArgument(1);
+            prices.getOrDefault(invocation.<Long>getArgument(0), List.of()).forEach(consumer);
+            return null;
+        }).when(source).forEachPrice(anyLong(), any());
+        givenBrand(1L, BRAND_1, price(1L, 1L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"),
+                                price(2L, 1L, 2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00"));
+        givenBrand(2L, BRAND_2, price(3L, 2L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"));
+    }
+    
+    @Test
+    void shouldLoadOnePartitionPerBrandWhenNoBrandsAreConfigured() {
+        // When
+        PartitionedPriceRepository repository = new PartitionedPriceRepository(source, Set.of(), meterRegistry);
+        
+        // Then
+        assertThat(repository.partitions()).extracting(PricePartitionStats::brandId).containsExactly(1L, 2L);
+        assertThat(repository.partitions().getFirst()).satisfies(stats -> {
+            assertThat(stats.version()).isEqualTo(BRAND_1);
+            assertThat(stats.rows()).isEqualTo(2);
+            assertThat(stats.products()).isEqualTo(1);
+            assertThat(stats.estimatedBytes()).isPositive();
+            assertThat(stats.loadedAt()).isNotNull();
+        });
+        assertThat(repository.findFinalPrice(AT_16, 35455L, 1L)).map(BrandPrice::getPriceList).contains(2L);
+        assertThat(repository.findApplicablePrices(AT_16, 35455L, 1L)).hasSize(2);
+        assertThat(repository.findPricesBetween(35455L, 1L, AT_16, AT_16)).hasSize(2);
+        assertThat(repository.findFinalPriceSegment(AT_16, 35455L, 2L))
+                .hasValueSatisfying(segment -> assertThat(segment.price().getId()).isEqualTo(3L));
+    }
+    
+    @Test
+    void shouldServeOnlyConfiguredBrands() {
+        // When
+        PartitionedPriceRepository repository = new PartitionedPriceRepository(source, Set.of(2L), meterRegistry);
+        
+        // Then
+        assertThat(repository.partitions()).extracting(PricePartitionStats::brandId).containsExactly(2L);
+        assertThat(repository.findFinalPrice(AT_16, 35455L, 1L)).isEmpty();
+        assertThat(repository.findApplicablePrices(AT_16, 35455L, 1L)).isEmpty();
+        assertThat(repository.findPricesBetween(35455L, 1L, AT_16, AT_16)).isEmpty();
+        assertThat(repository.findFinalPriceSegment(AT_16, 35455L, 1L)).isEmpty();
+        assertThat(repository.findFinalPrice(AT_16, 35455L, 2L)).isPresent();
+        verify(source, never()).forEachPrice(eq(1L), any());
+    }
+    
+    @Test
+    void shouldReloadOnlyBrandsWhoseVersionChanged() {
+        // Given
+        PartitionedPriceRepository repository = new PartitionedPriceRepository(source, Set.of(), meterRegistry);
+        PriceDataVersion changed = new PriceDataVersion(2, 4, LocalDateTime.of(2020, 6, 15, 8, 0));
+        givenBrand(2L, changed, price(3L, 2L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"),
+                                price(4L, 2L, 2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00"));
+        
+        // When
+        Set<Long> reloaded = repository.synchronize();
+        
+        // Then
+        assertThat(reloaded).containsExactly(2L);
+        verify(source, times(1)).forEachPrice(eq(1L), any());
+        verify(source, times(2)).forEachPrice(eq(2L), any());
+        assertThat(repository.findFinalPrice(AT_16, 35455L, 2L)).map(BrandPrice::getId).contains(4L);
+        assertThat(repository.partitions().getLast().version()).isEqualTo(changed);
+    }
+    
+    @Test
+    void shouldAddAndDropPartitionsAsBrandsAppearAndDisappear() {
+        // Given
+        PartitionedPriceRepository repository = new PartitionedPriceRepository(source, Set.of(), meterRegistry);
+        versions.remove(2L);
+        givenBrand(3L, BRAND_2, price(5L, 3L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"));
+        
+        // When
+        Set<Long> changed = repository.synchronize();
+        
+        // Then
+        assertThat(changed).containsExactly(2L, 3L);
+        assertThat(repository.partitions()).extracting(PricePartitionStats::brandId).containsExactly(1L, 3L);
+        assertThat(repository.findFinalPrice(AT_16, 35455L, 2L)).isEmpty();
+        assertThat(meterRegistry.find("prices.partition.rows").tag("brand", "2").gauge()).isNull();
+        assertThat(meterRegistry.get("prices.partition.rows").tag("brand", "3").gauge().value()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldReloadSingleBrandOnDemand() {
+        // Given
+        PartitionedPriceRepository repository = new PartitionedPriceRepository(source, Set.of(), meterRegistry);
+        PriceDataVersion changed = new PriceDataVersion(1, 5, LocalDateTime.of(2020, 6, 15, 8, 0));
+        givenBrand(1L, changed, price(5L, 1L, 3L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"));
+        
+        // When
+        Optional<PricePartitionStats> reloaded = repository.reload(1L);
+        
+        // Then
+        assertThat(reloaded).hasValueSatisfying(stats -> {
+            assertThat(stats.version()).isEqualTo(changed);
+            assertThat(stats.rows()).isEqualTo(1);
+        });
+        assertThat(repository.findFinalPrice(AT_16, 35455L, 1L)).map(BrandPrice::getPriceList).contains(3L);
+        verify(source, times(1)).forEachPrice(eq(2L), any());
+        assertThat(repository.reload(9L)).isEmpty();
+    }
+    
+    @Test
+    void shouldKeepEmptyPartitionForConfiguredBrandWithoutPrices() {
+        // When
+        PartitionedPriceRepository repository = new PartitionedPriceRepository(source, Set.of(7L), meterRegistry);
+        
+        // Then
+        assertThat(repository.partitions()).singleElement().satisfies(stats -> {
+            assertThat(stats.brandId()).isEqualTo(7L);
+            assertThat(stats.version()).isEqualTo(PriceDataVersion.EMPTY);
+            assertThat(stats.rows()).isZero();
+        });
+        assertThat(repository.findFinalPrice(AT_16, 35455L, 7L)).isEmpty();
+    }
+    
+    @Test
+    void shouldPublishRowsAndMemoryPerBrand() {
+        // When
+        new PartitionedPriceRepository(source, Set.of(), meterRegistry);
+        
+        // Then
+        assertThat(meterRegistry.get("prices.partition.rows").tag("brand", "1").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("prices.partition.memory").tag("brand", "1").gauge().value())
+                .isGreaterThan(meterRegistry.get("prices.partition.memory").tag("brand", "2").gauge().value());
+    }
+    
+    private void givenBrand(long brandId, PriceDataVersion version, BrandPrice... brandPrices) {
+        versions.put(brandId, version);
+        prices.put(brandId, List.of(brandPrices));
+    }
+    
+    private static BrandPrice price(long id, long brandId, long priceList, int priority, String start, String end) {
+        return BrandPrice.builder()
+                .id(id)
+                .brandId(brandId)
+                .productId(35455L)
+                .priceList(priceList)
+                .priority(priority)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .price(new BigDecimal("35.50"))
+                .currency("EUR")
+                .build();
+    }
+}
@@ -0,0 +1,155 @@
+package com.wolper.prices.adapter.out.persistence.memory;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PackedPriceKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para el índice de intervalos en memoria.
+ */
+class PriceIntervalIndexTest {
+    
+    private PriceIntervalIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        // Mismos datos que data.sql, añadidos en desorden
+        index = PriceIntervalIndex.builder()
+                .add(price(4L, 1, "2020-06-15T16:00:00", "2020-12-31T23:59:59", "38.95"))
+                .add(price(2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00", "25.45"))
+                .add(price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50"))
+                .add(price(3L, 1, "2020-06-15T00:00:00", "2020-06-15T11:00:00", "30.50"))
+                .build();
+    }
+    
+    @Test
+    void shouldIndexAllPricesGroupedByProductAndBrand() {
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.groupCount()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldFindSinglePriceOutsidePromotions() {
+        // When
+        List<BrandPrice> prices = index.findApplicable(LocalDateTime.parse("2020-06-14T10:00:00"), 35455L, 1L);
+        
+        // Then
+        assertThat(prices).extracting(BrandPrice::getPriceList).containsExactly(1L);
+    }
+    
+    @Test
+    void shouldReturnPricesOrderedByPriority() {
+        // When
+        List<BrandPrice> prices = index.findApplicable(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 1L);
+        
+        // Then
+        assertThat(prices).extracting(BrandPrice::getPriceList).containsExactly(2L, 1L);
+    }
+    
+    @Test
+    void shouldIncludeBoundariesOfTheInterval() {
+        assertThat(index.findApplicable(LocalDateTime.parse("2020-06-14T15:00:00"), 35455L, 1L))
+                .extracting(BrandPrice::getPriceList).containsExactly(2L, 1L);
+        assertThat(index.findApplicable(LocalDateTime.parse("2020-06-14T18:30:00"), 35455L, 1L))
+                .extracting(BrandPrice::getPriceList).containsExactly(2L, 1L);
+        assertThat(index.findApplicable(LocalDateTime.parse("2020-06-14T18:30:01"), 35455L, 1L))
+                .extracting(BrandPrice::getPriceList).containsExactly(1L);
+    }
+    
+    @Test
+    void shouldFindLongIntervalsStartedBeforeShorterOnes() {
+        // El intervalo de la tarifa 1 empieza antes que la 3, que ya terminó
+        List<BrandPrice> prices = index.findApplicable(LocalDateTime.parse("2020-06-15T12:00:00"), 35455L, 1L);
+        
+        assertThat(prices).extracting(BrandPrice::getPriceList).containsExactly(1L);
+    }
+    
+    @Test
+    void shouldResolveFinalPriceFromPrecomputedTimeline() {
+        assertThat(index.findFinal(LocalDateTime.parse("2020-06-14T10:00:00"), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(1L);
+        assertThat(index.findFinal(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(2L);
+        assertThat(index.findFinal(LocalDateTime.parse("2020-06-15T10:00:00"), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(3L);
+        assertThat(index.findFinal(LocalDateTime.parse("2020-06-16T21:00:00"), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(4L);
+        assertThat(index.findFinal(LocalDateTime.parse("2025-01-01T10:00:00"), 35455L, 1L)).isEmpty();
+        assertThat(index.findFinal(LocalDateTime.parse("2020-06-14T10:00:00"), 99999L, 1L)).isEmpty();
+    }
+    
+    @Test
+    void shouldBreakPriorityTiesByPriceList() {
+        // Given
+        PriceIntervalIndex tied = PriceIntervalIndex.builder()
+                .add(price(1L, 1, "2020-01-01T00:00:00", "2020-12-31T23:59:59", "10.00"))
+                .add(price(7L, 1, "2020-01-01T00:00:00", "2020-12-31T23:59:59", "12.00"))
+                .build();
+        
+        // When
+        List<BrandPrice> prices = tied.findApplicable(LocalDateTime.parse("2020-06-01T00:00:00"), 35455L, 1L);
+        
+        // Then
+        assertThat(prices).extracting(BrandPrice::getPriceList).containsExactly(7L, 1L);
+    }
+    
+    @Test
+    void shouldReturnEmptyListWhenNoPriceFound() {
+        assertThat(index.findApplicable(LocalDateTime.parse("2025-01-01T10:00:00"), 35455L, 1L)).isEmpty();
+        assertThat(index.findApplicable(LocalDateTime.parse("2020-01-01T10:00:00"), 35455L, 1L)).isEmpty();
+        assertThat(index.findApplicable(LocalDateTime.parse("2020-06-14T10:00:00"), 99999L, 1L)).isEmpty();
+        assertThat(index.findApplicable(LocalDateTime.parse("2020-06-14T10:00:00"), 35455L, 2L)).isEmpty();
+    }
+    
+    @Test
+    void shouldIndexPricesWithIdsOutOfPackedRange() {
+        // Given
+        long wideProduct = PackedPriceKey.MAX_PRODUCT_ID + 1;
+        PriceIntervalIndex wide = PriceIntervalIndex.builder()
+                .add(price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50"))
+                .add(BrandPrice.builder()
+                        .id(9L)
+                        .brandId(1L)
+                        .productId(wideProduct)
+                        .priceList(1L)
+                        .startDate(LocalDateTime.parse("2020-06-14T00:00:00"))
+                        .endDate(LocalDateTime.parse("2020-12-31T23:59:59"))
+                        .price(new BigDecimal("9.00"))
+                        .currency("EUR")
+                        .build())
+                .build();
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T10:00:00");
+        
+        // Then
+        assertThat(wide.size()).isEqualTo(2);
+        assertThat(wide.groupCount()).isEqualTo(2);
+        assertThat(wide.findFinal(date, wideProduct, 1L)).map(BrandPrice::getPrice).hasValueSatisfying(
+                price -> assertThat(price).isEqualByComparingTo("9.00"));
+        assertThat(wide.findApplicable(date, wideProduct, 1L)).hasSize(1);
+        assertThat(wide.findFinal(date, 35455L, 1L)).map(BrandPrice::getPrice).hasValueSatisfying(
+                price -> assertThat(price).isEqualByComparingTo("35.50"));
+        assertThat(wide.findFinal(date, wideProduct + 1, 1L)).isEmpty();
+    }
+    
+    // helper
+    private static BrandPrice price(Long priceList, int priority, String start, String end, String amount) {
+        return BrandPrice.builder()
+                .id(priceList)
+                .brandId(1L)
+                .productId(35455L)
+                .priceList(priceList)
+                .priority(priority)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .price(new BigDecimal(amount))
+                .currency("EUR")
+                .build();
+    }
+}
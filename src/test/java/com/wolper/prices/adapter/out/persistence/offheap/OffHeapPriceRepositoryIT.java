@@ -0,0 +1,76 @@
+package com.wolper.prices.adapter.out.persistence.offheap;
+
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.application.port.out.PriceRepository;
+import com.wolper.prices.domain.model.BrandPrice;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración para el motor de precios columnar fuera del heap.
+ */
+@SpringBootTest(properties = "prices.repository.engine=offheap")
+class OffHeapPriceRepositoryIT {
+    
+    @Autowired
+    private PriceRepository repository;
+    
+    @Autowired
+    private RefreshPriceDataUseCase refreshPriceDataUseCase;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Test
+    void shouldServeLookupsFromOffHeapColumns() {
+        assertThat(repository).isInstanceOf(OffHeapPriceRepository.class);
+        assertThat(repository.findFinalPrice(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(2L);
+        assertThat(repository.findApplicablePrices(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L))
+                .extracting(BrandPrice::getPriceList).containsExactly(2L, 1L);
+        assertThat(repository.findFinalPriceSegment(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L))
+                .hasValueSatisfying(segment -> assertThat(segment.endDate())
+                        .isEqualTo(LocalDateTime.of(2020, 6, 14, 18, 30)));
+    }
+    
+    @Test
+    void shouldPublishMemoryFootprint() {
+        assertThat(meterRegistry.get("prices.store.rows").gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.get("prices.store.memory").tag("area", "off_heap").gauge().value())
+                .isGreaterThanOrEqualTo(4.0 * OffHeapPriceStore.ROW_BYTES);
+        assertThat(meterRegistry.get("prices.store.memory").tag("area", "directory").gauge().value())
+                .isPositive();
+    }
+    
+    @Test
+    void shouldSwapInRebuiltStoreWhenDataChanges() {
+        // Given
+        LocalDateTime noon = LocalDateTime.of(2020, 6, 14, 12, 30);
+        jdbcTemplate.update("INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, curr) "
+                + "VALUES (1, '2020-06-14 12:00:00', '2020-06-14 13:00:00', 5, 35455, 9, 19.99, 'EUR')");
+        try {
+            // When
+            boolean changed = refreshPriceDataUseCase.refreshIfChanged();
+            
+            // Then
+            assertThat(changed).isTrue();
+            assertThat(repository.findFinalPrice(noon, 35455L, 1L))
+                    .hasValueSatisfying(price -> assertThat(price.getPriceList()).isEqualTo(5L));
+        } finally {
+            jdbcTemplate.update("DELETE FROM prices WHERE price_list = 5");
+            refreshPriceDataUseCase.reload();
+        }
+        assertThat(repository.findFinalPrice(noon, 35455L, 1L))
+                .hasValueSatisfying(price -> assertThat(price.getPriceList()).isEqualTo(1L));
+    }
+}
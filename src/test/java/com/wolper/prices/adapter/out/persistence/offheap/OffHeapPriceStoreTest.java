@@ -0,0 +1,164 @@
+package com.wolper.prices.adapter.out.persistence.offheap;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PackedPriceKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para el almacén columnar de precios fuera del heap.
+ */
+class OffHeapPriceStoreTest {
+    
+    private OffHeapPriceStore store;
+    
+    @BeforeEach
+    void setUp() {
+        // Mismos datos que data.sql en orden (brand, producto, inicio) y un producto de otra marca
+        store = OffHeapPriceStore.builder(5)
+                .add(price(1L, 1L, 35455L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50", "EUR"))
+                .add(price(2L, 1L, 35455L, 2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00", "25.45", "EUR"))
+                .add(price(3L, 1L, 35455L, 3L, 1, "2020-06-15T00:00:00", "2020-06-15T11:00:00", "30.50", "EUR"))
+                .add(price(4L, 1L, 35455L, 4L, 1, "2020-06-15T16:00:00", "2020-12-31T23:59:59", "38.95", "EUR"))
+                .add(price(5L, 2L, 35455L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "12.00", "USD"))
+                .build();
+    }
+    
+    @Test
+    void shouldStoreAllPricesGroupedByProductAndBrand() {
+        assertThat(store.size()).isEqualTo(5);
+        assertThat(store.groupCount()).isEqualTo(2);
+    }
+    
+    @Test
+    void shouldFindApplicablePricesOrderedByPriority() {
+        assertThat(store.findApplicable(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 1L))
+                .extracting(BrandPrice::getPriceList).containsExactly(2L, 1L);
+        assertThat(store.findApplicable(LocalDateTime.parse("2020-06-14T18:30:01"), 35455L, 1L))
+                .extracting(BrandPrice::getPriceList).containsExactly(1L);
+    }
+    
+    @Test
+    void shouldResolveWinningPriceWithAllColumns() {
+        assertThat(store.findFinal(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(2L);
+        assertThat(store.findFinal(LocalDateTime.parse("2020-06-16T21:00:00"), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(4L);
+        assertThat(store.findFinal(LocalDateTime.parse("2020-06-14T10:00:00"), 35455L, 2L))
+                .hasValueSatisfying(price -> {
+                    assertThat(price.getId()).isEqualTo(5L);
+                    assertThat(price.getBrandId()).isEqualTo(2L);
+                    assertThat(price.getStartDate()).isEqualTo(LocalDateTime.parse("2020-06-14T00:00:00"));
+                    assertThat(price.getEndDate()).isEqualTo(LocalDateTime.parse("2020-12-31T23:59:59"));
+                    assertThat(price.getPrice()).isEqualByComparingTo("12.00");
+                    assertThat(price.getCurrency()).isEqualTo("USD");
+                });
+    }
+    
+    @Test
+    void shouldFindPricesOverlappingARange() {
+        assertThat(store.findBetween(35455L, 1L,
+                LocalDateTime.parse("2020-06-14T12:00:00"), LocalDateTime.parse("2020-06-15T05:00:00")))
+                .extracting(BrandPrice::getPriceList).containsExactly(1L, 2L, 3L);
+    }
+    
+    @Test
+    void shouldReturnNothingForUnknownKeysOrDates() {
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T10:00:00");
+        
+        assertThat(store.findApplicable(date, 99999L, 1L)).isEmpty();
+        assertThat(store.findFinal(date, 35455L, 3L)).isEmpty();
+        assertThat(store.findBetween(35455L, 0L, date, date)).isEmpty();
+        assertThat(store.findFinal(LocalDateTime.parse("2025-01-01T10:00:00"), 35455L, 1L)).isEmpty();
+    }
+    
+    @Test
+    void shouldGrowColumnsWhenMoreRowsArriveThanExpected() {
+        // Given
+        OffHeapPriceStore.Builder builder = OffHeapPriceStore.builder(1);
+        for (long product = 1; product <= 100; product++) {
+            builder.add(price(product, 1L, product, 1L, 0, "2020-01-01T00:00:00", "2020-12-31T23:59:59", "1.00", null));
+        }
+        
+        // When
+        OffHeapPriceStore grown = builder.build();
+        
+        // Then
+        assertThat(grown.size()).isEqualTo(100);
+        assertThat(grown.groupCount()).isEqualTo(100);
+        assertThat(grown.findFinal(LocalDateTime.parse("2020-06-01T00:00:00"), 73L, 1L))
+                .hasValueSatisfying(price -> {
+                    assertThat(price.getId()).isEqualTo(73L);
+                    assertThat(price.getCurrency()).isNull();
+                });
+    }
+    
+    @Test
+    void shouldReportOffHeapColumnsAndOnHeapDirectory() {
+        // When
+        OffHeapPriceStore.Footprint footprint = store.footprint();
+        
+        // Then
+        assertThat(footprint.rows()).isEqualTo(5);
+        assertThat(footprint.groups()).isEqualTo(2);
+        assertThat(footprint.offHeapBytes()).isEqualTo(16L * OffHeapPriceStore.ROW_BYTES);
+        assertThat(footprint.onHeapBytes()).isEqualTo(2L * 12 + 4);
+    }
+    
+    @Test
+    void shouldKeepPricesWithIdsOutOfPackedRangeOnHeap() {
+        // Given
+        long wideBrand = PackedPriceKey.MAX_BRAND_ID + 1;
+        OffHeapPriceStore wide = OffHeapPriceStore.builder(2)
+                .add(price(1L, 1L, 35455L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50", "EUR"))
+                .add(price(8L, wideBrand, 35455L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "9.00", "EUR"))
+                .add(price(9L, wideBrand, 35455L, 2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00", "7.00", "EUR"))
+                .add(price(2L, 1L, 35455L, 2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00", "25.45", "EUR"))
+                .build();
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T16:00:00");
+        
+        // Then
+        assertThat(wide.size()).isEqualTo(4);
+        assertThat(wide.groupCount()).isEqualTo(2);
+        assertThat(wide.findApplicable(date, 35455L, wideBrand)).extracting(BrandPrice::getId).containsExactly(9L, 8L);
+        assertThat(wide.findFinal(date, 35455L, wideBrand)).map(BrandPrice::getId).contains(9L);
+        assertThat(wide.findBetween(35455L, wideBrand, date, date)).extracting(BrandPrice::getId).containsExactly(8L, 9L);
+        assertThat(wide.findFinal(date, 35455L, 1L)).map(BrandPrice::getId).contains(2L);
+        assertThat(wide.findFinal(date, 35455L, wideBrand + 1)).isEmpty();
+    }
+    
+    @Test
+    void shouldRejectPricesOutOfOrder() {
+        OffHeapPriceStore.Builder builder = OffHeapPriceStore.builder(4)
+                .add(price(4L, 1L, 35455L, 4L, 1, "2020-06-15T16:00:00", "2020-12-31T23:59:59", "38.95", "EUR"));
+        
+        assertThatThrownBy(() -> builder.add(
+                price(1L, 1L, 35455L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50", "EUR")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("fuera de orden");
+        assertThatThrownBy(() -> builder.add(
+                price(5L, 1L, 1L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50", "EUR")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    private static BrandPrice price(long id, long brandId, long productId, long priceList, int priority,
+                                    String start, String end, String amount, String currency) {
+        return BrandPrice.builder()
+                .id(id)
+                .brandId(brandId)
+                .productId(productId)
+                .priceList(priceList)
+                .priority(priority)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .price(new BigDecimal(amount))
+                .currency(currency)
+                .build();
+    }
+}
@@ -0,0 +1,180 @@
+package com.wolper.prices.adapter.out.persistence.snapshot;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para el formato binario del snapshot de precios.
+ */
+class PriceSnapshotTest {
+    
+    private static final PriceDataVersion VERSION =
+            new PriceDataVersion(5, 5, LocalDateTime.parse("2020-06-14T08:00:00.123456"));
+    
+    @TempDir
+    private Path directory;
+    
+    private Path file;
+    
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("prices.snapshot");
+        // Mismos datos que data.sql en orden (brand, producto, inicio) y un producto de otra marca
+        try (PriceSnapshot.Writer writer = PriceSnapshot.writer(file)) {
+            writer.add(price(1L, 1L, 35455L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50", "EUR"))
+                  .add(price(2L, 1L, 35455L, 2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00", "25.45", "EUR"))
+                  .add(price(3L, 1L, 35455L, 3L, 1, "2020-06-15T00:00:00", "2020-06-15T11:00:00", "30.50", "EUR"))
+                  .add(price(4L, 1L, 35455L, 4L, 1, "2020-06-15T16:00:00", "2020-12-31T23:59:59", "38.95", "EUR"))
+                  .add(price(5L, 2L, 35455L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "12.00", "USD"));
+            writer.commit(VERSION);
+        }
+    }
+    
+    @Test
+    void shouldRoundTripHeaderAndPrices() {
+        // When
+        PriceSnapshot snapshot = PriceSnapshot.open(file, true);
+        
+        // Then
+        assertThat(snapshot.size()).isEqualTo(5);
+        assertThat(snapshot.version()).isEqualTo(VERSION);
+        assertThat(snapshot.findFinal(LocalDateTime.parse("2020-06-14T10:00:00"), 35455L, 2L))
+                .hasValueSatisfying(price -> {
+                    assertThat(price.getId()).isEqualTo(5L);
+                    assertThat(price.getPrice()).isEqualByComparingTo("12.00");
+                    assertThat(price.getCurrency()).isEqualTo("USD");
+                    assertThat(price.getEndDate()).isEqualTo(LocalDateTime.parse("2020-12-31T23:59:59"));
+                });
+    }
+    
+    @Test
+    void shouldFindApplicablePricesOrderedByPriority() {
+        PriceSnapshot snapshot = PriceSnapshot.open(file, true);
+        
+        assertThat(snapshot.findApplicable(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 1L))
+                .extracting(BrandPrice::getPriceList).containsExactly(2L, 1L);
+        assertThat(snapshot.findApplicable(LocalDateTime.parse("2020-06-14T18:30:01"), 35455L, 1L))
+                .extracting(BrandPrice::getPriceList).containsExactly(1L);
+    }
+    
+    @Test
+    void shouldResolveWinningPriceOnly() {
+        PriceSnapshot snapshot = PriceSnapshot.open(file, true);
+        
+        assertThat(snapshot.findFinal(LocalDateTime.parse("2020-06-14T10:00:00"), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(1L);
+        assertThat(snapshot.findFinal(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(2L);
+        assertThat(snapshot.findFinal(LocalDateTime.parse("2020-06-16T21:00:00"), 35455L, 1L))
+                .map(BrandPrice::getPriceList).contains(4L);
+        assertThat(snapshot.findFinal(LocalDateTime.parse("2025-01-01T10:00:00"), 35455L, 1L)).isEmpty();
+    }
+    
+    @Test
+    void shouldFindPricesOverlappingARange() {
+        PriceSnapshot snapshot = PriceSnapshot.open(file, true);
+        
+        assertThat(snapshot.findBetween(35455L, 1L,
+                LocalDateTime.parse("2020-06-14T12:00:00"), LocalDateTime.parse("2020-06-15T05:00:00")))
+                .extracting(BrandPrice::getPriceList).containsExactly(1L, 2L, 3L);
+    }
+    
+    @Test
+    void shouldReturnNothingForUnknownKeys() {
+        PriceSnapshot snapshot = PriceSnapshot.open(file, true);
+        LocalDateTime date = LocalDateTime.parse("2020-06-14T10:00:00");
+        
+        assertThat(snapshot.findApplicable(date, 99999L, 1L)).isEmpty();
+        assertThat(snapshot.findFinal(date, 35455L, 3L)).isEmpty();
+        assertThat(snapshot.findFinal(date, 1L, 0L)).isEmpty();
+    }
+    
+    @Test
+    void shouldKeepNullCurrencyAndLastModified() {
+        // Given
+        Path empty = directory.resolve("empty.snapshot");
+        try (PriceSnapshot.Writer writer = PriceSnapshot.writer(empty)) {
+            writer.add(price(1L, 1L, 1L, 1L, 0, "2020-01-01T00:00:00", "2020-12-31T23:59:59", "1.00", null));
+            writer.commit(new PriceDataVersion(1, 1, null));
+        }
+        
+        // When
+        PriceSnapshot snapshot = PriceSnapshot.open(empty, true);
+        
+        // Then
+        assertThat(snapshot.version().lastModified()).isNull();
+        assertThat(snapshot.findFinal(LocalDateTime.parse("2020-06-01T00:00:00"), 1L, 1L))
+                .hasValueSatisfying(price -> assertThat(price.getCurrency()).isNull());
+    }
+    
+    @Test
+    void shouldDetectCorruptedRecords() throws IOException {
+        // Given
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(PriceSnapshot.HEADER_BYTES + 50);
+            raf.write(0x7F);
+        }
+        
+        // When / Then
+        assertThatThrownBy(() -> PriceSnapshot.open(file, true))
+                .isInstanceOf(PriceSnapshotException.class)
+                .hasMessageContaining("Checksum");
+        assertThat(PriceSnapshot.open(file, false).size()).isEqualTo(5);
+    }
+    
+    @Test
+    void shouldRejectFilesThatAreNotSnapshots() throws IOException {
+        // Given
+        Path other = directory.resolve("other.bin");
+        Files.write(other, new byte[PriceSnapshot.HEADER_BYTES]);
+        
+        // When / Then
+        assertThatThrownBy(() -> PriceSnapshot.open(other, true))
+                .isInstanceOf(PriceSnapshotException.class)
+                .hasMessageContaining("no es un snapshot");
+        assertThatThrownBy(() -> PriceSnapshot.open(directory.resolve("missing.snapshot"), true))
+                .isInstanceOf(PriceSnapshotException.class);
+    }
+    
+    @Test
+    void shouldRejectPricesOutOfOrderAndKeepPreviousFile() {
+        // When / Then
+        assertThatThrownBy(() -> {
+            try (PriceSnapshot.Writer writer = PriceSnapshot.writer(file)) {
+                writer.add(price(4L, 1L, 35455L, 4L, 1, "2020-06-15T16:00:00", "2020-12-31T23:59:59", "38.95", "EUR"))
+                      .add(price(1L, 1L, 35455L, 1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59", "35.50", "EUR"));
+            }
+        }).isInstanceOf(PriceSnapshotException.class).hasMessageContaining("fuera de orden");
+        
+        assertThat(directory.resolve("prices.snapshot.tmp")).doesNotExist();
+        assertThat(PriceSnapshot.open(file, true).size()).isEqualTo(5);
+    }
+    
+    private static BrandPrice price(long id, long brandId, long productId, long priceList, int priority,
+                                    String start, String end, String amount, String currency) {
+        return BrandPrice.builder()
+                .id(id)
+                .brandId(brandId)
+                .productId(productId)
+                .priceList(priceList)
+                .priority(priority)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .price(new BigDecimal(amount))
+                .currency(currency)
+                .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.wolper.prices.adapter.out.persistence.snapshot;
+
+import com.wolper.prices.adapter.out.persistence.JdbcPriceRepository;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para el repositorio sobre snapshot: reutilización al arrancar y reexportación.
+ */
+@ExtendWith(MockitoExtension.class)
+class SnapshotPriceRepositoryTest {
+    
+    private static final PriceDataVersion VERSION = new PriceDataVersion(2, 2, LocalDateTime.of(2020, 6, 14, 8, 0));
+    private static final LocalDateTime AT_16 = LocalDateTime.of(2020, 6, 14, 16, 0);
+    
+    @Mock
+    private JdbcPriceRepository source;
+    
+    @TempDir
+    private Path directory;
+    
+    private Path file;
+    
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("prices.snapshot");
+    }
+    
+    @Test
+    void shouldExportSnapshotWhenFileDoesNotExist() {
+        // Given
+        givenTable(VERSION, price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"),
+                            price(2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00"));
+        
+        // When
+        SnapshotPriceRepository repository = new SnapshotPriceRepository(source, file, true);
+        
+        // Then
+        assertThat(file).exists();
+        assertThat(repository.loadedVersion()).isEqualTo(VERSION);
+        assertThat(repository.findFinalPrice(AT_16, 35455L, 1L)).map(BrandPrice::getPriceList).contains(2L);
+        assertThat(repository.findApplicablePrices(AT_16, 35455L, 1L)).hasSize(2);
+        assertThat(repository.findPricesBetween(35455L, 1L, AT_16, AT_16)).hasSize(2);
+        assertThat(repository.findFinalPriceSegment(AT_16, 35455L, 1L))
+                .hasValueSatisfying(segment -> assertThat(segment.endDate())
+                        .isEqualTo(LocalDateTime.of(2020, 6, 14, 18, 30)));
+    }
+    
+    @Test
+    void shouldReuseUpToDateSnapshotWithoutReadingTheTable() {
+        // Given
+        givenTable(VERSION, price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"));
+        new SnapshotPriceRepository(source, file, true);
+        
+        // When
+        SnapshotPriceRepository restarted = new SnapshotPriceRepository(source, file, true);
+        
+        // Then
+        verify(source, times(1)).forEachPrice(any());
+        assertThat(restarted.findFinalPrice(AT_16, 35455L, 1L)).isPresent();
+    }
+    
+    @Test
+    void shouldExportAgainWhenSnapshotIsStale() {
+        // Given
+        givenTable(VERSION, price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"));
+        new SnapshotPriceRepository(source, file, true);
+        PriceDataVersion changed = new PriceDataVersion(3, 3, LocalDateTime.of(2020, 6, 15, 8, 0));
+        when(source.currentVersion()).thenReturn(changed);
+        
+        // When
+        SnapshotPriceRepository restarted = new SnapshotPriceRepository(source, file, true);
+        
+        // Then
+        verify(source, times(2)).forEachPrice(any());
+        assertThat(restarted.loadedVersion()).isEqualTo(changed);
+    }
+    
+    @Test
+    void shouldExportAgainWhenSnapshotIsCorrupted() throws IOException {
+        // Given
+        givenTable(VERSION, price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"));
+        Files.write(file, new byte[]{1, 2, 3});
+        
+        // When
+        SnapshotPriceRepository repository = new SnapshotPriceRepository(source, file, true);
+        
+        // Then
+        verify(source, times(1)).forEachPrice(any());
+        assertThat(repository.findFinalPrice(AT_16, 35455L, 1L)).isPresent();
+    }
+    
+    @Test
+    void shouldSwapInNewSnapshotWhenDataChanges() {
+        // Given
+        givenTable(VERSION, price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"));
+        SnapshotPriceRepository repository = new SnapshotPriceRepository(source, file, true);
+        PriceDataVersion changed = new PriceDataVersion(2, 2, LocalDateTime.of(2020, 6, 15, 8, 0));
+        givenPrices(price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59"),
+                    price(2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00"));
+        
+        // When
+        repository.onPriceDataChanged(new PriceDataChangedEvent(changed));
+        
+        // Then
+        assertThat(repository.loadedVersion()).isEqualTo(changed);
+        assertThat(repository.findFinalPrice(AT_16, 35455L, 1L)).map(BrandPrice::getPriceList).contains(2L);
+        verify(source, never()).findFinalPrice(any(), any(), any());
+    }
+    
+    private void givenTable(PriceDataVersion version, BrandPrice... prices) {
+        when(source.currentVersion()).thenReturn(version);
+        givenPrices(prices);
+    }
+    
+    private void givenPrices(BrandPrice... prices) {
+        doAnswer(invocation -> {
+            Consumer<BrandPrice> consumer = invocation.getArgument(0);
+            List.of(prices).forEach(consumer);
+            return null;
+        }).when(source).forEachPrice(any());
+    }
+    
+    private static BrandPrice price(long priceList, int priority, String start, String end) {
+        return BrandPrice.builder()
+                .id(priceList)
+                .brandId(1L)
+                .productId(35455L)
+                .priceList(priceList)
+                .priority(priority)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .price(new BigDecimal("35.50"))
+                .currency("EUR")
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.wolper.prices.application.cache;
+
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para la caché de huecos sin precio.
+ */
+class NegativePriceCacheTest {
+    
+    private static final Duration TTL = Duration.ofSeconds(5);
+    private static final Duration WINDOW = Duration.ofHours(1);
+    
+    private final AtomicLong nanos = new AtomicLong();
+    
+    @Test
+    void shouldAnswerOnlyInsideTheRememberedGap() {
+        // Given
+        NegativePriceCache cache = new NegativePriceCache(10, TTL, WINDOW, nanos::get);
+        
+        // When
+        cache.put(35455L, 1L, 1_000, 2_000, cache.generation());
+        
+        // Then
+        assertThat(cache.isAbsent(1_000, 35455L, 1L)).isTrue();
+        assertThat(cache.isAbsent(2_000, 35455L, 1L)).isTrue();
+        assertThat(cache.isAbsent(999, 35455L, 1L)).isFalse();
+        assertThat(cache.isAbsent(2_001, 35455L, 1L)).isFalse();
+        assertThat(cache.isAbsent(1_500, 35455L, 2L)).isFalse();
+        assertThat(cache.hits()).isEqualTo(2);
+    }
+    
+    @Test
+    void shouldForgetGapsAfterTheirTtl() {
+        // Given
+        NegativePriceCache cache = new NegativePriceCache(10, TTL, WINDOW, nanos::get);
+        cache.put(35455L, 1L, 1_000, 2_000, cache.generation());
+        
+        // When
+        nanos.addAndGet(TTL.toNanos() + 1);
+        
+        // Then
+        assertThat(cache.isAbsent(1_500, 35455L, 1L)).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+    
+    @Test
+    void shouldDiscardGapsComputedBeforeADataChange() {
+        // Given: el hueco se midió antes de que cambiaran los datos
+        NegativePriceCache cache = new NegativePriceCache(10, TTL, WINDOW, nanos::get);
+        cache.put(1L, 1L, 1_000, 2_000, cache.generation());
+        long generation = cache.generation();
+        
+        // When
+        cache.onPriceDataChanged(new PriceDataChangedEvent(PriceDataVersion.EMPTY));
+        cache.put(35455L, 1L, 1_000, 2_000, generation);
+        
+        // Then
+        assertThat(cache.isAbsent(1_500, 1L, 1L)).isFalse();
+        assertThat(cache.isAbsent(1_500, 35455L, 1L)).isFalse();
+    }
+    
+    @Test
+    void shouldStartOverWhenFull() {
+        // Given
+        NegativePriceCache cache = new NegativePriceCache(2, TTL, WINDOW, nanos::get);
+        cache.put(1L, 1L, 1_000, 2_000, cache.generation());
+        cache.put(2L, 1L, 1_000, 2_000, cache.generation());
+        
+        // When
+        cache.put(3L, 1L, 1_000, 2_000, cache.generation());
+        
+        // Then
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.isAbsent(1_500, 3L, 1L)).isTrue();
+        assertThat(cache.isAbsent(1_500, 1L, 1L)).isFalse();
+    }
+    
+    @Test
+    void shouldIgnoreEverythingWhenDisabled() {
+        // Given
+        NegativePriceCache cache = NegativePriceCache.disabled();
+        
+        // When
+        cache.put(35455L, 1L, 1_000, 2_000, cache.generation());
+        
+        // Then
+        assertThat(cache.isEnabled()).isFalse();
+        assertThat(cache.isAbsent(1_500, 35455L, 1L)).isFalse();
+        assertThatThrownBy(() -> new NegativePriceCache(0, TTL, WINDOW)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package com.wolper.prices.application.cache;
+
+import com.wolper.prices.application.port.in.GetFinalPriceUseCase;
+import com.wolper.prices.domain.model.BrandPrice;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración del filtro de existencia sin el sondeo de cambios.
+ * Con el motor {@code jdbc} nada reconstruiría el filtro, así que aunque se pida, un producto
+ * dado de alta después del arranque tiene que llegar a la base de datos en lugar de rechazarse.
+ */
+@SpringBootTest(properties = {
+        "prices.refresh.enabled=false",
+        "prices.not-found.key-filter=true"
+})
+class PriceKeyFilterIT {
+    
+    private static final long NEW_PRODUCT = 99001L;
+    
+    @Autowired
+    private PriceKeyFilter keyFilter;
+    
+    @Autowired
+    private GetFinalPriceUseCase getFinalPriceUseCase;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @AfterEach
+    void removeNewProduct() {
+        jdbcTemplate.update("DELETE FROM prices WHERE product_id = ?", NEW_PRODUCT);
+    }
+    
+    @Test
+    void shouldFindProductAddedAfterStartupWhenRefreshIsDisabled() {
+        // Given
+        jdbcTemplate.update("""
+            INSERT INTO prices (brand_id, start_date, end_date, price_list, product_id, priority, price, curr)
+            VALUES (1, '2020-06-01 00:00:00', '2020-12-31 23:59:59', 1, ?, 0, 12.00, 'EUR')
+            """, NEW_PRODUCT);
+        
+        // When
+        BrandPrice price = getFinalPriceUseCase.getFinalPriceSegment(
+                LocalDateTime.of(2020, 6, 14, 10, 0), NEW_PRODUCT, 1L).price();
+        
+        // Then
+        assertThat(keyFilter.isEnabled()).isFalse();
+        assertThat(price.getPrice()).isEqualByComparingTo(new BigDecimal("12.00"));
+    }
+}
@@ -0,0 +1,69 @@
+package com.wolper.prices.application.cache;
+
+import com.wolper.prices.application.port.out.PriceKeySource;
+import com.wolper.prices.domain.event.PricePartitionReloadedEvent;
+import com.wolper.prices.domain.model.PackedPriceKey;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para el filtro de existencia de combinaciones (brand, producto).
+ */
+class PriceKeyFilterTest {
+    
+    private final List<Long> keys = new ArrayList<>();
+    private final PriceKeySource source = consumer -> keys.forEach(consumer::accept);
+    
+    @Test
+    void shouldRejectOnlyCombinationsWithoutPrices() {
+        // Given: más claves que el búfer inicial para que crezca
+        for (long product = 1; product <= 5_000; product++) {
+            keys.add(PackedPriceKey.of(1L, product));
+        }
+        
+        // When
+        PriceKeyFilter filter = new PriceKeyFilter(source, 0.001);
+        
+        // Then
+        assertThat(filter.keys()).isEqualTo(5_000);
+        assertThat(filter.mightHavePrices(35L, 1L)).isTrue();
+        assertThat(filter.mightHavePrices(5_000L, 1L)).isTrue();
+        assertThat(filter.mightHavePrices(35L, 2L)).isFalse();
+        assertThat(filter.rejections()).isEqualTo(1);
+        assertThat(filter.estimatedBytes()).isPositive();
+    }
+    
+    @Test
+    void shouldSeeNewProductsAfterRebuild() {
+        // Given
+        keys.add(PackedPriceKey.of(1L, 35455L));
+        PriceKeyFilter filter = new PriceKeyFilter(source, 0.01);
+        keys.add(PackedPriceKey.of(2L, 35455L));
+        
+        // When
+        filter.onPricePartitionReloaded(new PricePartitionReloadedEvent(2L, PriceDataVersion.EMPTY));
+        
+        // Then
+        assertThat(filter.mightHavePrices(35455L, 2L)).isTrue();
+        assertThat(filter.keys()).isEqualTo(2);
+    }
+    
+    @Test
+    void shouldLetThroughWhatItCannotFilter() {
+        // Given
+        PriceKeyFilter filter = new PriceKeyFilter(source, 0.01);
+        PriceKeyFilter disabled = PriceKeyFilter.acceptAll();
+        
+        // Then: identificadores fuera de la clave empaquetada y filtro desactivado
+        assertThat(filter.mightHavePrices(PackedPriceKey.MAX_PRODUCT_ID + 1, 1L)).isTrue();
+        assertThat(filter.mightHavePrices(35455L, 1L)).isFalse();
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.mightHavePrices(35455L, 1L)).isTrue();
+        assertThat(disabled.estimatedBytes()).isZero();
+    }
+}
@@ -0,0 +1,245 @@
+package com.wolper.prices.application.cache;
+
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PackedPriceKey;
+import com.wolper.prices.domain.model.PriceSegment;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para la caché de tramos de precio.
+ */
+class PriceSegmentCacheTest {
+    
+    private static final long UNLIMITED_BYTES = Long.MAX_VALUE;
+    
+    @Test
+    void shouldHitForAnyDateInsideTheCachedSegment() {
+        // Given
+        PriceSegmentCache cache = new PriceSegmentCache(10, UNLIMITED_BYTES);
+        PriceSegment segment = segment(35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00");
+        cache.put(segment);
+        
+        // When & Then
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T15:00:00"), 35455L, 1L)).isSameAs(segment);
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T16:17:23"), 35455L, 1L)).isSameAs(segment);
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T18:30:00"), 35455L, 1L)).isSameAs(segment);
+        assertThat(cache.stats().hits()).isEqualTo(3);
+        assertThat(cache.stats().misses()).isZero();
+    }
+    
+    @Test
+    void shouldMissOutsideCachedSegmentsAndForOtherProducts() {
+        // Given
+        PriceSegmentCache cache = new PriceSegmentCache(10, UNLIMITED_BYTES);
+        cache.put(segment(35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00"));
+        
+        // When & Then
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T18:30:01"), 35455L, 1L)).isNull();
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T16:00:00"), 99999L, 1L)).isNull();
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 2L)).isNull();
+        assertThat(cache.stats().misses()).isEqualTo(3);
+        assertThat(cache.stats().hitRatio()).isZero();
+    }
+    
+    @Test
+    void shouldKeepSeveralSegmentsPerProductInOrder() {
+        // Given
+        PriceSegmentCache cache = new PriceSegmentCache(10, UNLIMITED_BYTES);
+        PriceSegment late = segment(35455L, "2020-06-15T16:00:00", "2020-12-31T23:59:59");
+        PriceSegment morning = segment(35455L, "2020-06-15T00:00:00", "2020-06-15T11:00:00");
+        PriceSegment afternoon = segment(35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00");
+        
+        // When
+        cache.put(late);
+        cache.put(morning);
+        cache.put(afternoon);
+        cache.put(morning);
+        
+        // Then
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 1L)).isSameAs(afternoon);
+        assertThat(cache.find(LocalDateTime.parse("2020-06-15T10:00:00"), 35455L, 1L)).isSameAs(morning);
+        assertThat(cache.find(LocalDateTime.parse("2020-06-16T21:00:00"), 35455L, 1L)).isSameAs(late);
+        assertThat(cache.stats().entries()).isEqualTo(1);
+        assertThat(cache.stats().segments()).isEqualTo(3);
+    }
+    
+    @Test
+    void shouldEvictWhenEntryLimitIsExceeded() {
+        // Given
+        PriceSegmentCache cache = new PriceSegmentCache(2, UNLIMITED_BYTES);
+        cache.put(segment(1L, "2020-06-14T00:00:00", "2020-06-14T23:59:59"));
+        cache.put(segment(2L, "2020-06-14T00:00:00", "2020-06-14T23:59:59"));
+        
+        // When
+        cache.put(segment(3L, "2020-06-14T00:00:00", "2020-06-14T23:59:59"));
+        
+        // Then
+        assertThat(cache.stats().entries()).isEqualTo(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T10:00:00"), 3L, 1L)).isNotNull();
+    }
+    
+    @Test
+    void shouldGiveRecentlyReadEntriesASecondChance() {
+        // Given
+        PriceSegmentCache cache = new PriceSegmentCache(2, UNLIMITED_BYTES);
+        cache.put(segment(1L, "2020-06-14T00:00:00", "2020-06-14T23:59:59"));
+        cache.put(segment(2L, "2020-06-14T00:00:00", "2020-06-14T23:59:59"));
+        cache.find(LocalDateTime.parse("2020-06-14T10:00:00"), 1L, 1L);
+        
+        // When
+        cache.put(segment(3L, "2020-06-14T00:00:00", "2020-06-14T23:59:59"));
+        
+        // Then: el producto 1 se leyó y sobrevive; el 2 se desaloja
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T10:00:00"), 1L, 1L)).isNotNull();
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T10:00:00"), 2L, 1L)).isNull();
+    }
+    
+    @Test
+    void shouldEvictWhenByteBudgetIsExceeded() {
+        // Given: presupuesto para dos productos con un tramo cada uno
+        long budget = 2 * (PriceSegmentCache.ESTIMATED_ENTRY_BYTES + PriceSegmentCache.ESTIMATED_SEGMENT_BYTES);
+        PriceSegmentCache cache = new PriceSegmentCache(100, budget);
+        
+        // When
+        for (long productId = 1; productId <= 5; productId++) {
+            cache.put(segment(productId, "2020-06-14T00:00:00", "2020-06-14T23:59:59"));
+        }
+        
+        // Then
+        assertThat(cache.stats().entries()).isEqualTo(2);
+        assertThat(cache.stats().estimatedBytes()).isLessThanOrEqualTo(budget);
+        assertThat(cache.stats().evictions()).isEqualTo(3);
+    }
+    
+    @Test
+    void shouldBeEmptyAfterClear() {
+        // Given
+        PriceSegmentCache cache = new PriceSegmentCache(10, UNLIMITED_BYTES);
+        cache.put(segment(35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00"));
+        
+        // When
+        cache.clear();
+        
+        // Then
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 1L)).isNull();
+        assertThat(cache.stats().entries()).isZero();
+        assertThat(cache.stats().estimatedBytes()).isZero();
+    }
+    
+    @Test
+    void shouldClearOnlyTheReloadedBrand() {
+        // Given
+        PriceSegmentCache cache = new PriceSegmentCache(10, UNLIMITED_BYTES);
+        cache.put(segment(35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00"));
+        cache.put(segment(35455L, "2020-06-15T00:00:00", "2020-06-15T11:00:00"));
+        PriceSegment otherBrand = segment(2L, 35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00");
+        cache.put(otherBrand);
+        
+        // When
+        int removed = cache.clearBrand(1L);
+        
+        // Then
+        assertThat(removed).isEqualTo(1);
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 1L)).isNull();
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 2L)).isSameAs(otherBrand);
+        assertThat(cache.stats().entries()).isEqualTo(1);
+        assertThat(cache.stats().segments()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldNotRetainClearedEntriesAcrossReloadsWithinBudget() {
+        // Given
+        PriceSegmentCache cache = new PriceSegmentCache(10, UNLIMITED_BYTES);
+        PriceSegment otherBrand = segment(2L, 35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00");
+        cache.put(otherBrand);
+        
+        // When: la marca 1 se recarga muchas veces sin llegar nunca al límite
+        for (int i = 0; i < 100; i++) {
+            cache.put(segment(35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00"));
+            cache.put(segment(35456L, "2020-06-14T15:00:00", "2020-06-14T18:30:00"));
+            cache.clearBrand(1L);
+        }
+        
+        // Then: en la cola de desalojo solo queda la entrada viva
+        assertThat(cache.clockSize()).isEqualTo(1);
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 2L)).isSameAs(otherBrand);
+    }
+    
+    @Test
+    void shouldRejectInvalidLimits() {
+        assertThatThrownBy(() -> new PriceSegmentCache(0, UNLIMITED_BYTES))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PriceSegmentCache(10, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    // helper
+    private static PriceSegment segment(Long productId, String start, String end) {
+        return segment(1L, productId, start, end);
+    }
+    
+    private static PriceSegment segment(long brandId, Long productId, String start, String end) {
+        BrandPrice price = BrandPrice.builder()
+                .id(productId)
+                .brandId(brandId)
+                .productId(productId)
+                .priceList(1L)
+                .priority(0)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .price(BigDecimal.TEN)
+                .currency("EUR")
+                .build();
+        return new PriceSegment(price.getStartDate(), price.getEndDate(), price);
+    }
+    
+    @Test
+    void shouldDiscardSegmentsResolvedBeforeAClear() {
+        // Given: un fallo empieza a resolverse y mientras tanto cambian los datos
+        PriceSegmentCache cache = new PriceSegmentCache(10, UNLIMITED_BYTES);
+        long generation = cache.generation();
+        cache.clear();
+        
+        // When
+        cache.put(segment(35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00"), generation);
+        
+        // Then
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T16:00:00"), 35455L, 1L)).isNull();
+        assertThat(cache.stats().entries()).isZero();
+    }
+    
+    @Test
+    void shouldFindByEpochMicros() {
+        // Given
+        PriceSegmentCache cache = new PriceSegmentCache(10, UNLIMITED_BYTES);
+        PriceSegment segment = segment(35455L, "2020-06-14T15:00:00", "2020-06-14T18:30:00");
+        cache.put(segment);
+        long end = EpochMicros.of(LocalDateTime.parse("2020-06-14T18:30:00"));
+        
+        // When & Then
+        assertThat(cache.find(end, 35455L, 1L)).isSameAs(segment);
+        assertThat(cache.find(end + 1, 35455L, 1L)).isNull();
+    }
+    
+    @Test
+    void shouldNotCacheIdsThatDoNotFitThePackedKey() {
+        // Given
+        PriceSegmentCache cache = new PriceSegmentCache(10, UNLIMITED_BYTES);
+        long productId = PackedPriceKey.MAX_PRODUCT_ID + 1;
+        
+        // When
+        cache.put(segment(productId, "2020-06-14T15:00:00", "2020-06-14T18:30:00"));
+        
+        // Then
+        assertThat(cache.find(LocalDateTime.parse("2020-06-14T16:00:00"), productId, 1L)).isNull();
+        assertThat(cache.stats().entries()).isZero();
+    }
+}
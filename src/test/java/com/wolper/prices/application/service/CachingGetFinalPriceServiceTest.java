@@ -0,0 +1,181 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.cache.PriceSegmentCache;
+import com.wolper.prices.application.port.in.GetFinalPriceUseCase;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.event.PricePartitionReloadedEvent;
+import com.wolper.prices.domain.exception.PriceNotFoundException;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import com.wolper.prices.domain.model.PriceQuery;
+import com.wolper.prices.domain.model.PriceSegment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para el decorador con caché de tramos.
+ */
+@ExtendWith(MockitoExtension.class)
+class CachingGetFinalPriceServiceTest {
+    
+    private static final BrandPrice PROMOTION = BrandPrice.builder()
+            .id(2L)
+            .brandId(1L)
+            .productId(35455L)
+            .priceList(2L)
+            .priority(1)
+            .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+            .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+            .price(new BigDecimal("25.45"))
+            .currency("EUR")
+            .build();
+    
+    private static final PriceSegment SEGMENT =
+            new PriceSegment(PROMOTION.getStartDate(), PROMOTION.getEndDate(), PROMOTION);
+    
+    @Mock
+    private GetFinalPriceUseCase delegate;
+    
+    private CachingGetFinalPriceService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new CachingGetFinalPriceService(delegate, new PriceSegmentCache(100, Long.MAX_VALUE));
+    }
+    
+    @Test
+    void shouldResolveOnceAndServeOtherDatesOfTheSegmentFromCache() {
+        // Given
+        when(delegate.getFinalPriceSegment(EpochMicros.of(LocalDateTime.of(2020, 6, 14, 16, 0)), 35455L, 1L))
+                .thenReturn(SEGMENT);
+        
+        // When
+        BrandPrice first = service.getFinalPrice(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L);
+        BrandPrice second = service.getFinalPrice(LocalDateTime.of(2020, 6, 14, 17, 42, 5), 35455L, 1L);
+        
+        // Then
+        assertThat(first).isSameAs(PROMOTION);
+        assertThat(second).isSameAs(PROMOTION);
+        verify(delegate, times(1)).getFinalPriceSegment(anyLong(), anyLong(), anyLong());
+        assertThat(service.getCacheStats().hits()).isEqualTo(1);
+        assertThat(service.getCacheStats().misses()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldNotCacheNotFound() {
+        // Given
+        LocalDateTime date = LocalDateTime.of(2025, 1, 1, 10, 0);
+        when(delegate.getFinalPriceSegment(EpochMicros.of(date), 35455L, 1L))
+                .thenThrow(new PriceNotFoundException(35455L, 1L, date.toString()));
+        
+        // When & Then
+        assertThatThrownBy(() -> service.getFinalPrice(date, 35455L, 1L))
+                .isInstanceOf(PriceNotFoundException.class);
+        assertThatThrownBy(() -> service.getFinalPrice(date, 35455L, 1L))
+                .isInstanceOf(PriceNotFoundException.class);
+        verify(delegate, times(2)).getFinalPriceSegment(EpochMicros.of(date), 35455L, 1L);
+    }
+    
+    @Test
+    void shouldResolveOnlyBatchMissesThroughDelegate() {
+        // Given
+        when(delegate.getFinalPriceSegment(EpochMicros.of(LocalDateTime.of(2020, 6, 14, 16, 0)), 35455L, 1L))
+                .thenReturn(SEGMENT);
+        service.getFinalPriceSegment(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L);
+        
+        PriceQuery cached = new PriceQuery(LocalDateTime.of(2020, 6, 14, 18, 0), 35455L, 1L);
+        PriceQuery missing = new PriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0), 35455L, 1L);
+        BrandPrice base = BrandPrice.builder().id(1L).priceList(1L).priority(0).build();
+        when(delegate.getFinalPrices(List.of(missing))).thenReturn(Map.of(missing, base));
+        
+        // When
+        Map<PriceQuery, BrandPrice> prices = service.getFinalPrices(List.of(cached, missing));
+        
+        // Then
+        assertThat(prices).containsEntry(cached, PROMOTION).containsEntry(missing, base);
+    }
+    
+    @Test
+    void shouldGoBackToDelegateAfterClear() {
+        // Given
+        when(delegate.getFinalPriceSegment(anyLong(), anyLong(), anyLong())).thenReturn(SEGMENT);
+        service.getFinalPrice(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L);
+        
+        // When
+        service.clearCache();
+        service.getFinalPrice(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L);
+        
+        // Then
+        verify(delegate, times(2)).getFinalPriceSegment(anyLong(), anyLong(), anyLong());
+        assertThat(service.getCacheStats().entries()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldClearCacheWhenPriceDataChanges() {
+        // Given
+        when(delegate.getFinalPriceSegment(anyLong(), anyLong(), anyLong())).thenReturn(SEGMENT);
+        service.getFinalPrice(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L);
+        
+        // When
+        service.onPriceDataChanged(new PriceDataChangedEvent(new PriceDataVersion(5, 5, null)));
+        
+        // Then
+        assertThat(service.getCacheStats().entries()).isZero();
+    }
+    
+    @Test
+    void shouldKeepOtherBrandsWhenDataChangeIsScopedToBrands() {
+        // Given
+        when(delegate.getFinalPriceSegment(anyLong(), anyLong(), anyLong())).thenReturn(SEGMENT);
+        service.getFinalPrice(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L);
+        PriceDataVersion version = new PriceDataVersion(5, 5, null);
+        
+        // When
+        service.onPriceDataChanged(new PriceDataChangedEvent(version, Set.of(2L)));
+        
+        // Then
+        assertThat(service.getCacheStats().entries()).isEqualTo(1);
+        
+        // When
+        service.onPriceDataChanged(new PriceDataChangedEvent(version, Set.of(1L, 2L)));
+        
+        // Then
+        assertThat(service.getCacheStats().entries()).isZero();
+    }
+    
+    @Test
+    void shouldClearOnlyTheReloadedBrandWhenAPartitionIsReloaded() {
+        // Given
+        when(delegate.getFinalPriceSegment(anyLong(), anyLong(), anyLong())).thenReturn(SEGMENT);
+        service.getFinalPrice(LocalDateTime.of(2020, 6, 14, 16, 0), 35455L, 1L);
+        
+        // When
+        service.onPricePartitionReloaded(new PricePartitionReloadedEvent(2L, PriceDataVersion.EMPTY));
+        
+        // Then
+        assertThat(service.getCacheStats().entries()).isEqualTo(1);
+        
+        // When
+        service.onPricePartitionReloaded(new PricePartitionReloadedEvent(1L, PriceDataVersion.EMPTY));
+        
+        // Then
+        assertThat(service.getCacheStats().entries()).isZero();
+    }
+}
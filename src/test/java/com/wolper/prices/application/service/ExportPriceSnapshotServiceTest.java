@@ -0,0 +1,74 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.out.PriceCatalogReader;
+import com.wolper.prices.domain.model.BrandPrice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para ExportPriceSnapshotService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ExportPriceSnapshotServiceTest {
+    
+    private static final LocalDateTime DATE = LocalDateTime.of(2020, 6, 14, 16, 0);
+    
+    @Mock
+    private PriceCatalogReader priceCatalogReader;
+    
+    private ExportPriceSnapshotService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new ExportPriceSnapshotService(priceCatalogReader);
+    }
+    
+    @Test
+    void shouldHandEachPriceToTheConsumerAsItIsRead() {
+        // Given
+        BrandPrice first = price(10L);
+        BrandPrice second = price(20L);
+        when(priceCatalogReader.forEachFinalPrice(eq(1L), eq(DATE), any())).thenAnswer(invocation -> {
+            Consumer<BrandPrice> consumer = invocation.getArgument(2);
+            consumer.accept(first);
+            consumer.accept(second);
+            return 2L;
+        });
+        List<BrandPrice> exported = new ArrayList<>();
+        
+        // When
+        long rows = service.exportSnapshot(1L, DATE, exported::add);
+        
+        // Then
+        assertThat(rows).isEqualTo(2);
+        assertThat(exported).containsExactly(first, second);
+    }
+    
+    private static BrandPrice price(long productId) {
+        return BrandPrice.builder()
+                .id(productId)
+                .brandId(1L)
+                .productId(productId)
+                .priceList(1L)
+                .priority(0)
+                .startDate(LocalDateTime.parse("2020-06-14T00:00:00"))
+                .endDate(LocalDateTime.parse("2020-12-31T23:59:59"))
+                .price(new BigDecimal("35.50"))
+                .currency("EUR")
+                .build();
+    }
+}
@@ -1,23 +1,37 @@
 package com.wolper.prices.application.service;
 
+import com.wolper.prices.application.cache.NegativePriceCache;
+import com.wolper.prices.application.cache.PriceKeyFilter;
+import com.wolper.prices.application.port.out.PriceKeySource;
 import com.wolper.prices.application.port.out.PriceRepository;
 import com.wolper.prices.domain.exception.PriceNotFoundException;
 import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.EpochMicros;
+import com.wolper.prices.domain.model.PackedPriceKey;
+import com.wolper.prices.domain.model.PriceQuery;
+import com.wolper.prices.domain.model.PriceSegment;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -26,14 +40,15 @@ import static org.mockito.Mockito.when;
 @ExtendWith(MockitoExtension.class)
 class GetFinalPriceServiceTest {
     
-    @Mock
+    // Los métodos por defecto del puerto (findFinalPrice) delegan en findApplicablePrices
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private PriceRepository priceRepository;
     
     private GetFinalPriceService service;
     
     @BeforeEach
     void setUp() {
-        service = new GetFinalPriceService(priceRepository);
+        service = new GetFinalPriceService(priceRepository, PriceKeyFilter.acceptAll(), NegativePriceCache.disabled());
     }
     
     @Test
@@ -119,4 +134,140 @@ class GetFinalPriceServiceTest {
                 .hasMessageContaining("productId=99999")
                 .hasMessageContaining("brandId=1");
     }
+    
+    @Test
+    void shouldUseWinningPriceResolvedByRepository() {
+        // Given
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 16, 0);
+        BrandPrice winner = BrandPrice.builder()
+                .id(2L)
+                .priority(1)
+                .price(new BigDecimal("25.45"))
+                .priceList(2L)
+                .build();
+        
+        when(priceRepository.findFinalPrice(EpochMicros.of(applicationDate), 35455L, 1L))
+                .thenReturn(Optional.of(winner));
+        
+        // When
+        BrandPrice result = service.getFinalPrice(applicationDate, 35455L, 1L);
+        
+        // Then
+        assertThat(result).isSameAs(winner);
+        verify(priceRepository, never()).findApplicablePrices(any(), any(), any());
+    }
+    
+    @Test
+    void shouldResolveBatchThroughRepository() {
+        // Given
+        PriceQuery found = new PriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0), 35455L, 1L);
+        PriceQuery missing = new PriceQuery(LocalDateTime.of(2025, 1, 1, 10, 0), 35455L, 1L);
+        BrandPrice price = BrandPrice.builder().id(1L).priceList(1L).priority(0).build();
+        
+        when(priceRepository.findFinalPrices(List.of(found, missing)))
+                .thenReturn(Map.of(found, price));
+        
+        // When
+        Map<PriceQuery, BrandPrice> result = service.getFinalPrices(List.of(found, missing));
+        
+        // Then
+        assertThat(result).containsOnlyKeys(found).containsEntry(found, price);
+    }
+    
+    @Test
+    void shouldResolveBatchQueryByQueryByDefault() {
+        // Given
+        PriceQuery found = new PriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0), 35455L, 1L);
+        PriceQuery missing = new PriceQuery(LocalDateTime.of(2025, 1, 1, 10, 0), 35455L, 1L);
+        BrandPrice price = BrandPrice.builder().id(1L).priceList(1L).priority(0).build();
+        
+        when(priceRepository.findApplicablePrices(found.applicationDate(), 35455L, 1L))
+                .thenReturn(List.of(price));
+        when(priceRepository.findApplicablePrices(missing.applicationDate(), 35455L, 1L))
+                .thenReturn(Collections.emptyList());
+        
+        // When
+        Map<PriceQuery, BrandPrice> result = service.getFinalPrices(List.of(found, missing));
+        
+        // Then
+        assertThat(result).containsOnlyKeys(found);
+    }
+    
+    @Test
+    void shouldResolveSegmentBoundedByOverlappingPrices() {
+        // Given
+        LocalDateTime applicationDate = LocalDateTime.of(2020, 6, 14, 21, 0);
+        BrandPrice base = BrandPrice.builder()
+                .id(1L).brandId(1L).productId(35455L).priceList(1L).priority(0)
+                .startDate(LocalDateTime.of(2020, 6, 14, 0, 0))
+                .endDate(LocalDateTime.of(2020, 12, 31, 23, 59, 59))
+                .build();
+        BrandPrice afternoon = BrandPrice.builder()
+                .id(2L).brandId(1L).productId(35455L).priceList(2L).priority(1)
+                .startDate(LocalDateTime.of(2020, 6, 14, 15, 0))
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+                .build();
+        
+        when(priceRepository.findApplicablePrices(applicationDate, 35455L, 1L)).thenReturn(List.of(base));
+        when(priceRepository.findPricesBetween(35455L, 1L, base.getStartDate(), base.getEndDate()))
+                .thenReturn(List.of(base, afternoon));
+        
+        // When
+        PriceSegment segment = service.getFinalPriceSegment(applicationDate, 35455L, 1L);
+        
+        // Then
+        assertThat(segment.price()).isSameAs(base);
+        assertThat(segment.startDate()).isEqualTo(LocalDateTime.of(2020, 6, 14, 18, 30).plusNanos(1));
+        assertThat(segment.endDate()).isEqualTo(base.getEndDate());
+    }
+    
+    @Test
+    void shouldThrowPriceNotFoundExceptionWhenNoSegmentFound() {
+        when(priceRepository.findApplicablePrices(any(), any(), any())).thenReturn(Collections.emptyList());
+        
+        assertThatThrownBy(() -> service.getFinalPriceSegment(LocalDateTime.of(2025, 1, 1, 10, 0), 35455L, 1L))
+                .isInstanceOf(PriceNotFoundException.class);
+    }
+    
+    @Test
+    void shouldRejectProductsWithoutAnyPriceBeforeTheRepository() {
+        // Given: el filtro solo conoce el producto 35455 de la marca 1
+        PriceKeySource keys = consumer -> consumer.accept(PackedPriceKey.of(1L, 35455L));
+        service = new GetFinalPriceService(priceRepository, new PriceKeyFilter(keys, 0.01), NegativePriceCache.disabled());
+        PriceQuery unknown = new PriceQuery(LocalDateTime.of(2020, 6, 14, 10, 0), 99999L, 1L);
+        
+        // Then
+        assertThatThrownBy(() -> service.getFinalPriceSegment(LocalDateTime.of(2020, 6, 14, 10, 0), 99999L, 1L))
+                .isInstanceOf(PriceNotFoundException.class)
+                .hasMessageContaining("productId=99999")
+                .hasMessageContaining("fecha=2020-06-14T10:00");
+        assertThat(service.getFinalPrices(List.of(unknown))).isEmpty();
+        verifyNoInteractions(priceRepository);
+    }
+    
+    @Test
+    void shouldRememberGapUntilNextPriceAfterAMiss() {
+        // Given: sin precio a las 10:00 y el siguiente empieza a las 12:00
+        NegativePriceCache negativeCache = new NegativePriceCache(100, Duration.ofMinutes(1), Duration.ofHours(6));
+        service = new GetFinalPriceService(priceRepository, PriceKeyFilter.acceptAll(), negativeCache);
+        LocalDateTime at10 = LocalDateTime.of(2021, 1, 1, 10, 0);
+        BrandPrice next = BrandPrice.builder()
+                .id(5L).brandId(1L).productId(35455L).priceList(5L).priority(0)
+                .startDate(LocalDateTime.of(2021, 1, 1, 12, 0))
+                .endDate(LocalDateTime.of(2021, 12, 31, 23, 59, 59))
+                .build();
+        when(priceRepository.findApplicablePrices(at10, 35455L, 1L)).thenReturn(List.of());
+        when(priceRepository.findPricesBetween(35455L, 1L, at10, at10.plusHours(6))).thenReturn(List.of(next));
+        
+        // When
+        assertThatThrownBy(() -> service.getFinalPriceSegment(at10, 35455L, 1L))
+                .isInstanceOf(PriceNotFoundException.class);
+        
+        // Then: dentro del hueco no se consulta el repositorio; a las 12:00 sí
+        assertThatThrownBy(() -> service.getFinalPrice(at10.plusMinutes(90), 35455L, 1L))
+                .isInstanceOf(PriceNotFoundException.class);
+        assertThat(negativeCache.hits()).isEqualTo(1);
+        verify(priceRepository, never()).findFinalPrice(EpochMicros.of(at10.plusMinutes(90)), 35455L, 1L);
+        assertThat(negativeCache.isAbsent(EpochMicros.of(at10.plusHours(2)), 35455L, 1L)).isFalse();
+    }
 }
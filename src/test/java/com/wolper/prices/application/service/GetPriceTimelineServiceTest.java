@@ -0,0 +1,90 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.out.PriceRepository;
+import com.wolper.prices.domain.exception.InvalidDateRangeException;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceSegment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para GetPriceTimelineService.
+ */
+@ExtendWith(MockitoExtension.class)
+class GetPriceTimelineServiceTest {
+    
+    private static final LocalDateTime FROM = LocalDateTime.of(2020, 6, 14, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2020, 6, 14, 23, 59, 59);
+    
+    @Mock
+    private PriceRepository priceRepository;
+    
+    private GetPriceTimelineService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new GetPriceTimelineService(priceRepository);
+    }
+    
+    @Test
+    void shouldReturnSegmentsOfTheRangeInOrder() {
+        // Given
+        BrandPrice base = price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59");
+        BrandPrice promotion = price(2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00");
+        when(priceRepository.findPricesBetween(35455L, 1L, FROM, TO)).thenReturn(List.of(base, promotion));
+        
+        // When
+        List<PriceSegment> segments = service.getPriceTimeline(35455L, 1L, FROM, TO).toList();
+        
+        // Then
+        assertThat(segments).extracting(segment -> segment.price().getPriceList()).containsExactly(1L, 2L, 1L);
+        assertThat(segments.getLast().endDate()).isEqualTo(TO);
+    }
+    
+    @Test
+    void shouldReturnEmptyTimelineWhenNoPriceOverlapsTheRange() {
+        // Given
+        when(priceRepository.findPricesBetween(35455L, 9L, FROM, TO)).thenReturn(List.of());
+        
+        // When & Then
+        assertThat(service.getPriceTimeline(35455L, 9L, FROM, TO)).isEmpty();
+    }
+    
+    @Test
+    void shouldRejectRangeEndingBeforeItStarts() {
+        // When & Then
+        assertThatThrownBy(() -> service.getPriceTimeline(35455L, 1L, TO, FROM))
+                .isInstanceOf(InvalidDateRangeException.class)
+                .hasMessageContaining("posterior");
+        verify(priceRepository, never()).findPricesBetween(anyLong(), anyLong(), any(), any());
+    }
+    
+    private static BrandPrice price(long priceList, int priority, String start, String end) {
+        return BrandPrice.builder()
+                .id(priceList)
+                .brandId(1L)
+                .productId(35455L)
+                .priceList(priceList)
+                .priority(priority)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .price(new BigDecimal("35.50"))
+                .currency("EUR")
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.application.port.out.PriceArchiver;
+import com.wolper.prices.domain.model.PriceArchiveResult;
+import com.wolper.prices.domain.model.PriceLiveWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceArchiveServiceTest {
+    
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2020, 6, 14, 10, 0);
+    
+    @Mock
+    private PriceArchiver priceArchiver;
+    
+    @Mock
+    private RefreshPriceDataUseCase refreshPriceDataUseCase;
+    
+    private PriceArchiveService service;
+    
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2021-06-14T10:00:00Z"), ZoneOffset.UTC);
+        service = new PriceArchiveService(priceArchiver, new PriceLiveWindow(clock, Duration.ofDays(365)),
+                refreshPriceDataUseCase);
+    }
+    
+    @Test
+    void shouldArchiveBatchesUntilNothingIsLeftAndRefresh() {
+        // Given
+        when(priceArchiver.archiveBatch(CUTOFF)).thenReturn(5_000L, 5_000L, 1_200L, 0L);
+        
+        // When
+        PriceArchiveResult result = service.archiveExpiredPrices();
+        
+        // Then
+        assertThat(result.cutoff()).isEqualTo(CUTOFF);
+        assertThat(result.rows()).isEqualTo(11_200);
+        assertThat(result.batches()).isEqualTo(3);
+        verify(priceArchiver, times(4)).archiveBatch(CUTOFF);
+        verify(refreshPriceDataUseCase).refreshIfChanged();
+    }
+    
+    @Test
+    void shouldNotRefreshWhenNothingExpired() {
+        // Given
+        when(priceArchiver.archiveBatch(CUTOFF)).thenReturn(0L);
+        
+        // When
+        PriceArchiveResult result = service.archiveExpiredPrices();
+        
+        // Then
+        assertThat(result.rows()).isZero();
+        assertThat(result.batches()).isZero();
+        verifyNoInteractions(refreshPriceDataUseCase);
+    }
+    
+    @Test
+    void shouldStopAtTheFailingBatch() {
+        // Given: los lotes anteriores ya están confirmados; el siguiente intento continúa desde ahí
+        when(priceArchiver.archiveBatch(CUTOFF)).thenReturn(5_000L).thenThrow(new IllegalStateException("fallo"));
+        
+        // Then
+        assertThatThrownBy(service::archiveExpiredPrices).isInstanceOf(IllegalStateException.class);
+        verify(priceArchiver, times(2)).archiveBatch(CUTOFF);
+        verifyNoInteractions(refreshPriceDataUseCase);
+    }
+}
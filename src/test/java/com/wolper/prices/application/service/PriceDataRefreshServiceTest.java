@@ -0,0 +1,140 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.out.PriceDataChangeProbe;
+import com.wolper.prices.application.port.out.PricePartitionStore;
+import com.wolper.prices.domain.event.PriceDataChangedEvent;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para el servicio de detección de cambios en los precios.
+ */
+@ExtendWith(MockitoExtension.class)
+class PriceDataRefreshServiceTest {
+    
+    private static final PriceDataVersion INITIAL =
+            new PriceDataVersion(4, 4, LocalDateTime.of(2020, 6, 14, 8, 0));
+    private static final PriceDataVersion UPDATED =
+            new PriceDataVersion(5, 5, LocalDateTime.of(2020, 6, 14, 9, 0));
+    
+    @Mock
+    private PriceDataChangeProbe probe;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private ObjectProvider<PricePartitionStore> partitionStoreProvider;
+    
+    @Mock
+    private PricePartitionStore partitionStore;
+    
+    private PriceDataRefreshService service;
+    
+    @BeforeEach
+    void setUp() {
+        when(probe.currentVersion()).thenReturn(INITIAL);
+        service = new PriceDataRefreshService(probe, eventPublisher, partitionStoreProvider);
+    }
+    
+    @Test
+    void shouldStartWithVersionReportedByProbe() {
+        assertThat(service.getLoadedVersion()).isEqualTo(INITIAL);
+    }
+    
+    @Test
+    void shouldNotPublishWhenDataIsUnchanged() {
+        // When
+        boolean changed = service.refreshIfChanged();
+        
+        // Then
+        assertThat(changed).isFalse();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+    
+    @Test
+    void shouldPublishOnceWhenDataChanges() {
+        // Given
+        when(probe.currentVersion()).thenReturn(UPDATED);
+        
+        // When
+        boolean changed = service.refreshIfChanged();
+        boolean changedAgain = service.refreshIfChanged();
+        
+        // Then
+        assertThat(changed).isTrue();
+        assertThat(changedAgain).isFalse();
+        assertThat(service.getLoadedVersion()).isEqualTo(UPDATED);
+        verify(eventPublisher).publishEvent(new PriceDataChangedEvent(UPDATED));
+    }
+    
+    @Test
+    void shouldPublishOnForcedReloadEvenWithoutChanges() {
+        // When
+        PriceDataVersion reloaded = service.reload();
+        
+        // Then
+        assertThat(reloaded).isEqualTo(INITIAL);
+        verify(eventPublisher).publishEvent(new PriceDataChangedEvent(INITIAL));
+    }
+    
+    @Test
+    void shouldScopeEventToReloadedPartitions() {
+        // Given
+        when(probe.currentVersion()).thenReturn(UPDATED);
+        when(partitionStoreProvider.getIfAvailable()).thenReturn(partitionStore);
+        when(partitionStore.synchronize()).thenReturn(Set.of(2L));
+        
+        // When
+        boolean changed = service.refreshIfChanged();
+        
+        // Then
+        assertThat(changed).isTrue();
+        assertThat(service.getLoadedVersion()).isEqualTo(UPDATED);
+        verify(eventPublisher).publishEvent(new PriceDataChangedEvent(UPDATED, Set.of(2L)));
+    }
+    
+    @Test
+    void shouldNotPublishWhenNoServedPartitionChanged() {
+        // Given
+        when(probe.currentVersion()).thenReturn(UPDATED);
+        when(partitionStoreProvider.getIfAvailable()).thenReturn(partitionStore);
+        when(partitionStore.synchronize()).thenReturn(Set.of());
+        
+        // When
+        boolean changed = service.refreshIfChanged();
+        
+        // Then
+        assertThat(changed).isTrue();
+        assertThat(service.getLoadedVersion()).isEqualTo(UPDATED);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+    
+    @Test
+    void shouldSynchronizePartitionsAndAffectAllBrandsOnForcedReload() {
+        // Given
+        when(partitionStoreProvider.getIfAvailable()).thenReturn(partitionStore);
+        
+        // When
+        service.reload();
+        
+        // Then
+        verify(partitionStore).synchronize();
+        verify(eventPublisher).publishEvent(new PriceDataChangedEvent(INITIAL));
+    }
+}
@@ -0,0 +1,102 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.in.RefreshPriceDataUseCase;
+import com.wolper.prices.application.port.out.PriceBulkWriter;
+import com.wolper.prices.domain.exception.PriceImportInterruptedException;
+import com.wolper.prices.domain.model.BrandPrice;
+import com.wolper.prices.domain.model.PriceImportMode;
+import com.wolper.prices.domain.model.PriceImportResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceImportServiceTest {
+    
+    @Mock
+    private PriceBulkWriter priceBulkWriter;
+    
+    @Mock
+    private RefreshPriceDataUseCase refreshPriceDataUseCase;
+    
+    @InjectMocks
+    private PriceImportService service;
+    
+    @Test
+    void shouldReplaceAllPricesAndRefresh() {
+        // Given
+        Stream<BrandPrice> prices = Stream.empty();
+        when(priceBulkWriter.replaceAll(prices)).thenReturn(1_000L);
+        
+        // When
+        PriceImportResult result = service.importPrices(prices, PriceImportMode.REPLACE);
+        
+        // Then
+        assertThat(result.mode()).isEqualTo(PriceImportMode.REPLACE);
+        assertThat(result.rows()).isEqualTo(1_000);
+        verify(priceBulkWriter, never()).upsert(any());
+        verify(refreshPriceDataUseCase).refreshIfChanged();
+    }
+    
+    @Test
+    void shouldUpsertPricesAndRefresh() {
+        // Given
+        Stream<BrandPrice> prices = Stream.empty();
+        when(priceBulkWriter.upsert(prices)).thenReturn(3L);
+        
+        // When
+        PriceImportResult result = service.importPrices(prices, PriceImportMode.UPSERT);
+        
+        // Then
+        assertThat(result.rows()).isEqualTo(3);
+        verify(priceBulkWriter, never()).replaceAll(any());
+        verify(refreshPriceDataUseCase).refreshIfChanged();
+    }
+    
+    @Test
+    void shouldRefreshWhenTheImportFailsAfterCommittingSomeBatches() {
+        // Given
+        Stream<BrandPrice> prices = Stream.empty();
+        PriceImportInterruptedException failure =
+                new PriceImportInterruptedException(5_000, new IllegalStateException("Línea 5001 inválida"));
+        when(priceBulkWriter.upsert(prices)).thenThrow(failure);
+        
+        // Then
+        assertThatThrownBy(() -> service.importPrices(prices, PriceImportMode.UPSERT))
+                .isSameAs(failure)
+                .hasMessageContaining("5000 filas ya importadas");
+        verify(refreshPriceDataUseCase).refreshIfChanged();
+    }
+    
+    @Test
+    void shouldKeepTheImportFailureWhenTheRefreshAlsoFails() {
+        // Given
+        Stream<BrandPrice> prices = Stream.empty();
+        IllegalStateException failure = new IllegalStateException("fallo");
+        IllegalStateException refreshFailure = new IllegalStateException("sin conexión");
+        when(priceBulkWriter.upsert(prices)).thenThrow(failure);
+        doThrow(refreshFailure).when(refreshPriceDataUseCase).refreshIfChanged();
+        
+        // Then
+        assertThatThrownBy(() -> service.importPrices(prices, PriceImportMode.UPSERT))
+                .isSameAs(failure)
+                .hasSuppressedException(refreshFailure);
+    }
+    
+    @Test
+    void shouldComputeRowsPerSecond() {
+        assertThat(new PriceImportResult(PriceImportMode.UPSERT, 500, Duration.ofMillis(250)).rowsPerSecond())
+                .isEqualTo(2_000);
+        assertThat(new PriceImportResult(PriceImportMode.UPSERT, 5, Duration.ZERO).rowsPerSecond()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,82 @@
+package com.wolper.prices.application.service;
+
+import com.wolper.prices.application.port.out.PricePartitionStore;
+import com.wolper.prices.domain.event.PricePartitionReloadedEvent;
+import com.wolper.prices.domain.model.PriceDataVersion;
+import com.wolper.prices.domain.model.PricePartitionStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para el servicio de administración de particiones de precios.
+ */
+@ExtendWith(MockitoExtension.class)
+class PricePartitionServiceTest {
+    
+    private static final PriceDataVersion VERSION =
+            new PriceDataVersion(4, 4, LocalDateTime.of(2020, 6, 14, 8, 0));
+    private static final PricePartitionStats STATS =
+            new PricePartitionStats(1L, VERSION, 4, 1, 1480, LocalDateTime.of(2020, 6, 14, 9, 0), 3);
+    
+    @Mock
+    private PricePartitionStore store;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    private PricePartitionService service;
+    
+    @BeforeEach
+    void setUp() {
+        service = new PricePartitionService(store, eventPublisher);
+    }
+    
+    @Test
+    void shouldListPartitionsFromStore() {
+        // Given
+        when(store.partitions()).thenReturn(List.of(STATS));
+        
+        // When & Then
+        assertThat(service.getPartitions()).containsExactly(STATS);
+    }
+    
+    @Test
+    void shouldPublishEventAfterReloadingPartition() {
+        // Given
+        when(store.reload(1L)).thenReturn(Optional.of(STATS));
+        
+        // When
+        Optional<PricePartitionStats> reloaded = service.reloadPartition(1L);
+        
+        // Then
+        assertThat(reloaded).contains(STATS);
+        verify(eventPublisher).publishEvent(new PricePartitionReloadedEvent(1L, VERSION));
+    }
+    
+    @Test
+    void shouldNotPublishWhenBrandIsNotServed() {
+        // Given
+        when(store.reload(9L)).thenReturn(Optional.empty());
+        
+        // When
+        Optional<PricePartitionStats> reloaded = service.reloadPartition(9L);
+        
+        // Then
+        assertThat(reloaded).isEmpty();
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
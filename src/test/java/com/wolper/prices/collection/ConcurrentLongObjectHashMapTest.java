@@ -0,0 +1,153 @@
+package com.wolper.prices.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para el mapa concurrente de claves long.
+ */
+class ConcurrentLongObjectHashMapTest {
+    
+    @Test
+    void shouldPutGetAndReplaceValues() {
+        // Given
+        ConcurrentLongObjectHashMap<String> map = new ConcurrentLongObjectHashMap<>();
+        
+        // When
+        map.put(1L, "uno");
+        map.put(-1L, "menos uno");
+        String previous = map.put(1L, "one");
+        
+        // Then
+        assertThat(previous).isEqualTo("uno");
+        assertThat(map.get(1L)).isEqualTo("one");
+        assertThat(map.get(-1L)).isEqualTo("menos uno");
+        assertThat(map.get(2L)).isNull();
+        assertThat(map.size()).isEqualTo(2);
+    }
+    
+    @Test
+    void shouldComputeAndRemoveThroughRemapping() {
+        // Given
+        ConcurrentLongObjectHashMap<Integer> map = new ConcurrentLongObjectHashMap<>();
+        
+        // When & Then
+        assertThat(map.compute(5L, (key, current) -> current == null ? 1 : current + 1)).isEqualTo(1);
+        assertThat(map.compute(5L, (key, current) -> current == null ? 1 : current + 1)).isEqualTo(2);
+        assertThat(map.compute(5L, (key, current) -> null)).isNull();
+        assertThat(map.get(5L)).isNull();
+        assertThat(map.size()).isZero();
+        assertThat(map.compute(6L, (key, current) -> null)).isNull();
+        assertThat(map.size()).isZero();
+    }
+    
+    @Test
+    void shouldRemoveOnlyTheExpectedValue() {
+        // Given
+        ConcurrentLongObjectHashMap<String> map = new ConcurrentLongObjectHashMap<>();
+        String value = new String("valor");
+        map.put(1L, value);
+        
+        // When & Then
+        assertThat(map.remove(1L, new String("valor"))).isFalse();
+        assertThat(map.remove(2L, value)).isFalse();
+        assertThat(map.remove(1L, value)).isTrue();
+        assertThat(map.get(1L)).isNull();
+    }
+    
+    @Test
+    void shouldVisitLiveEntriesAndAllowRemovalWhileIterating() {
+        // Given
+        ConcurrentLongObjectHashMap<Long> map = new ConcurrentLongObjectHashMap<>();
+        for (long key = 0; key < 100; key++) {
+            map.put(key, key * 10);
+        }
+        map.remove(50L, map.get(50L));
+        List<Long> visited = new ArrayList<>();
+        
+        // When
+        map.forEach((key, value) -> {
+            assertThat(value).isEqualTo(key * 10);
+            visited.add(key);
+            if (key % 2 == 0) {
+                map.remove(key, value);
+            }
+        });
+        
+        // Then
+        assertThat(visited).hasSize(99).doesNotContain(50L);
+        assertThat(map.size()).isEqualTo(50);
+        assertThat(map.get(2L)).isNull();
+        assertThat(map.get(3L)).isEqualTo(30L);
+    }
+    
+    @Test
+    void shouldReuseRemovedSlotsAndGrow() {
+        // Given
+        ConcurrentLongObjectHashMap<Long> map = new ConcurrentLongObjectHashMap<>();
+        
+        // When: altas y bajas alternas llenan las tablas de marcas de borrado
+        for (long key = 0; key < 20_000; key++) {
+            map.put(key, key);
+            if (key % 2 == 1) {
+                assertThat(map.remove(key - 1, map.get(key - 1))).isTrue();
+            }
+        }
+        
+        // Then
+        assertThat(map.size()).isEqualTo(10_000);
+        for (long key = 0; key < 20_000; key++) {
+            assertThat(map.get(key)).isEqualTo(key % 2 == 1 ? key : null);
+        }
+        
+        map.clear();
+        assertThat(map.size()).isZero();
+        assertThat(map.get(1L)).isNull();
+    }
+    
+    @Test
+    void shouldKeepEveryUpdateUnderConcurrentWriters() throws Exception {
+        // Given
+        ConcurrentLongObjectHashMap<AtomicInteger> map = new ConcurrentLongObjectHashMap<>(16);
+        int threads = 8;
+        int keys = 2_000;
+        
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (long key = 0; key < keys; key++) {
+                        map.compute(key, (k, current) -> current == null ? new AtomicInteger() : current)
+                                .incrementAndGet();
+                        assertThat(map.get(key)).isNotNull();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        
+        // Then
+        assertThat(map.size()).isEqualTo(keys);
+        for (long key = 0; key < keys; key++) {
+            assertThat(map.get(key).get()).isEqualTo(threads);
+        }
+    }
+    
+    @Test
+    void shouldRejectNullValues() {
+        assertThatThrownBy(() -> new ConcurrentLongObjectHashMap<String>().put(1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
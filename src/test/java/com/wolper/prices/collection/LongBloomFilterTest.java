@@ -0,0 +1,67 @@
+package com.wolper.prices.collection;
+
+import com.wolper.prices.domain.model.PackedPriceKey;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para el filtro de Bloom de claves long.
+ */
+class LongBloomFilterTest {
+    
+    @Test
+    void shouldAlwaysRecognizeAddedKeys() {
+        // Given
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+        
+        // When
+        for (long product = 0; product < 10_000; product++) {
+            filter.put(PackedPriceKey.of(1L, product));
+        }
+        
+        // Then
+        for (long product = 0; product < 10_000; product++) {
+            assertThat(filter.mightContain(PackedPriceKey.of(1L, product))).isTrue();
+        }
+    }
+    
+    @Test
+    void shouldKeepFalsePositivesNearTheConfiguredRate() {
+        // Given: claves empaquetadas consecutivas, el caso más desfavorable para una mala dispersión
+        LongBloomFilter filter = new LongBloomFilter(10_000, 0.01);
+        for (long product = 0; product < 10_000; product++) {
+            filter.put(PackedPriceKey.of(1L, product));
+        }
+        
+        // When
+        int falsePositives = 0;
+        for (long product = 10_000; product < 110_000; product++) {
+            if (filter.mightContain(PackedPriceKey.of(1L, product))) {
+                falsePositives++;
+            }
+        }
+        
+        // Then
+        assertThat(falsePositives).isLessThan(2_000);
+        assertThat(filter.hashCount()).isEqualTo(7);
+        assertThat(filter.estimatedBytes()).isBetween(11_000L, 12_500L);
+    }
+    
+    @Test
+    void shouldRejectEverythingWhenEmpty() {
+        // Given
+        LongBloomFilter filter = new LongBloomFilter(0, 0.01);
+        
+        // Then
+        assertThat(filter.mightContain(0L)).isFalse();
+        assertThat(filter.mightContain(PackedPriceKey.of(1L, 35455L))).isFalse();
+    }
+    
+    @Test
+    void shouldRejectInvalidFalsePositiveRate() {
+        assertThatThrownBy(() -> new LongBloomFilter(10, 0.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LongBloomFilter(10, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
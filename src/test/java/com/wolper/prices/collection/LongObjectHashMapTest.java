@@ -0,0 +1,95 @@
+package com.wolper.prices.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para el mapa de claves long con direccionamiento abierto.
+ */
+class LongObjectHashMapTest {
+    
+    @Test
+    void shouldStoreAndReplaceValuesForAnyKey() {
+        // Given
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        
+        // When
+        map.put(0L, "cero");
+        map.put(-1L, "menos uno");
+        map.put(Long.MIN_VALUE, "mínimo");
+        String previous = map.put(0L, "zero");
+        
+        // Then
+        assertThat(previous).isEqualTo("cero");
+        assertThat(map.get(0L)).isEqualTo("zero");
+        assertThat(map.get(-1L)).isEqualTo("menos uno");
+        assertThat(map.get(Long.MIN_VALUE)).isEqualTo("mínimo");
+        assertThat(map.get(42L)).isNull();
+        assertThat(map.size()).isEqualTo(3);
+    }
+    
+    @Test
+    void shouldGrowKeepingAllEntries() {
+        // Given
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(1);
+        
+        // When
+        for (long key = 0; key < 10_000; key++) {
+            map.put(key << 40 | key, key);
+        }
+        
+        // Then
+        assertThat(map.size()).isEqualTo(10_000);
+        assertThat(map.capacity()).isGreaterThan(10_000);
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(map.get(key << 40 | key)).isEqualTo(key);
+        }
+    }
+    
+    @Test
+    void shouldSizeTableForExpectedEntries() {
+        assertThat(new LongObjectHashMap<>(12).capacity()).isEqualTo(32);
+        assertThat(new LongObjectHashMap<>().capacity()).isEqualTo(32);
+    }
+    
+    @Test
+    void shouldCreateMissingValuesOnce() {
+        // Given
+        LongObjectHashMap<StringBuilder> map = new LongObjectHashMap<>();
+        
+        // When
+        map.computeIfAbsent(7L, key -> new StringBuilder()).append("a");
+        map.computeIfAbsent(7L, key -> new StringBuilder()).append("b");
+        
+        // Then
+        assertThat(map.get(7L)).hasToString("ab");
+        assertThat(map.isEmpty()).isFalse();
+    }
+    
+    @Test
+    void shouldVisitEveryEntry() {
+        // Given
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(1L, "uno");
+        map.put(2L, "dos");
+        
+        // When
+        Map<Long, String> visited = new HashMap<>();
+        map.forEach(visited::put);
+        
+        // Then
+        assertThat(visited).containsExactlyInAnyOrderEntriesOf(Map.of(1L, "uno", 2L, "dos"));
+        assertThat(map).hasToString("LongObjectHashMap[size=2, capacity=32]");
+    }
+    
+    @Test
+    void shouldRejectNullValues() {
+        assertThatThrownBy(() -> new LongObjectHashMap<String>().put(1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
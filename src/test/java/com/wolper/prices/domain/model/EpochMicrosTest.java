@@ -0,0 +1,43 @@
+package com.wolper.prices.domain.model;
+
+import com.wolper.prices.domain.exception.PriceDateOutOfRangeException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para la codificación de fechas en microsegundos.
+ */
+class EpochMicrosTest {
+    
+    @Test
+    void shouldRoundTripDatesUpToTheMicrosecond() {
+        LocalDateTime date = LocalDateTime.of(2020, 6, 14, 16, 0, 0, 123_456_789);
+        
+        assertThat(EpochMicros.toLocalDateTime(EpochMicros.of(date))).isEqualTo(date.withNano(123_456_000));
+        assertThat(EpochMicros.ofCeiling(date)).isEqualTo(EpochMicros.of(date) + 1);
+        assertThat(EpochMicros.of(EpochMicros.MIN)).isEqualTo(Long.MIN_VALUE);
+        assertThat(EpochMicros.of(EpochMicros.MAX)).isEqualTo(Long.MAX_VALUE);
+        assertThat(EpochMicros.of(EpochMicros.MAX.plusNanos(999))).isEqualTo(Long.MAX_VALUE);
+    }
+    
+    @Test
+    void shouldRejectDatesThatDoNotFitInALong() {
+        LocalDateTime farFuture = LocalDateTime.of(300_000, 1, 1, 0, 0);
+        LocalDateTime farPast = LocalDateTime.of(-300_000, 1, 1, 0, 0);
+        
+        assertThatThrownBy(() -> EpochMicros.of(farFuture))
+                .isInstanceOf(PriceDateOutOfRangeException.class)
+                .hasMessageContaining("+300000-01-01T00:00");
+        assertThatThrownBy(() -> EpochMicros.of(farPast)).isInstanceOf(PriceDateOutOfRangeException.class);
+        assertThatThrownBy(() -> EpochMicros.of(EpochMicros.MIN.minusNanos(1)))
+                .isInstanceOf(PriceDateOutOfRangeException.class);
+        assertThatThrownBy(() -> EpochMicros.of(EpochMicros.MAX.plusNanos(1_000)))
+                .isInstanceOf(PriceDateOutOfRangeException.class);
+        assertThatThrownBy(() -> EpochMicros.ofCeiling(EpochMicros.MAX.plusNanos(1)))
+                .isInstanceOf(PriceDateOutOfRangeException.class);
+    }
+}
@@ -0,0 +1,38 @@
+package com.wolper.prices.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para la clave (brand, producto) empaquetada.
+ */
+class PackedPriceKeyTest {
+    
+    @Test
+    void shouldRoundTripBrandAndProduct() {
+        long key = PackedPriceKey.of(1L, 35455L);
+        
+        assertThat(PackedPriceKey.brandId(key)).isEqualTo(1L);
+        assertThat(PackedPriceKey.productId(key)).isEqualTo(35455L);
+        
+        long largest = PackedPriceKey.of(PackedPriceKey.MAX_BRAND_ID, PackedPriceKey.MAX_PRODUCT_ID);
+        assertThat(largest).isEqualTo(Long.MAX_VALUE);
+        assertThat(PackedPriceKey.brandId(largest)).isEqualTo(PackedPriceKey.MAX_BRAND_ID);
+        assertThat(PackedPriceKey.productId(largest)).isEqualTo(PackedPriceKey.MAX_PRODUCT_ID);
+    }
+    
+    @Test
+    void shouldOrderKeysLikeBrandThenProduct() {
+        assertThat(PackedPriceKey.of(1L, 99999L)).isLessThan(PackedPriceKey.of(2L, 1L));
+        assertThat(PackedPriceKey.of(2L, 1L)).isLessThan(PackedPriceKey.of(2L, 2L));
+    }
+    
+    @Test
+    void shouldReturnNoneForIdsOutOfRange() {
+        assertThat(PackedPriceKey.of(-1L, 1L)).isEqualTo(PackedPriceKey.NONE);
+        assertThat(PackedPriceKey.of(1L, -1L)).isEqualTo(PackedPriceKey.NONE);
+        assertThat(PackedPriceKey.of(PackedPriceKey.MAX_BRAND_ID + 1, 1L)).isEqualTo(PackedPriceKey.NONE);
+        assertThat(PackedPriceKey.of(1L, PackedPriceKey.MAX_PRODUCT_ID + 1)).isEqualTo(PackedPriceKey.NONE);
+    }
+}
@@ -0,0 +1,52 @@
+package com.wolper.prices.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para la ventana viva de precios.
+ */
+class PriceLiveWindowTest {
+    
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2021-06-14T10:00:00Z"), ZoneOffset.UTC);
+    
+    @Test
+    void shouldStartWindowLengthBeforeNow() {
+        // Given
+        PriceLiveWindow window = new PriceLiveWindow(CLOCK, Duration.ofDays(365));
+        
+        // Then
+        assertThat(window.isUnbounded()).isFalse();
+        assertThat(window.start()).isEqualTo("2020-06-14T10:00:00");
+        assertThat(window.contains(LocalDateTime.of(2020, 6, 14, 10, 0))).isTrue();
+        assertThat(window.contains(LocalDateTime.of(2020, 6, 14, 9, 59, 59))).isFalse();
+        assertThat(window.contains(LocalDateTime.of(2030, 1, 1, 0, 0))).isTrue();
+    }
+    
+    @Test
+    void shouldContainEveryDateWhenUnbounded() {
+        // When
+        PriceLiveWindow window = PriceLiveWindow.unbounded();
+        
+        // Then
+        assertThat(window.isUnbounded()).isTrue();
+        assertThat(window.start()).isEqualTo(LocalDateTime.MIN);
+        assertThat(window.contains(LocalDateTime.of(1970, 1, 1, 0, 0))).isTrue();
+    }
+    
+    @Test
+    void shouldRejectEmptyWindow() {
+        assertThatThrownBy(() -> new PriceLiveWindow(CLOCK, Duration.ZERO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PriceLiveWindow(CLOCK, Duration.ofDays(-1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
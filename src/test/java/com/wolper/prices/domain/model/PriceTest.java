@@ -6,6 +6,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Tests unitarios para la entidad Price.
@@ -114,4 +115,49 @@ class PriceTest {
         // When & Then
         assertThat(price.hasHigherPriorityThan(null)).isTrue();
     }
+    
+    @Test
+    void shouldStorePriceInMinorUnitsAndDatesInEpochMicros() {
+        // Given
+        LocalDateTime startDate = LocalDateTime.of(2020, 6, 14, 15, 0, 0, 123_456_000);
+        
+        // When
+        BrandPrice price = BrandPrice.builder()
+                .startDate(startDate)
+                .endDate(LocalDateTime.of(2020, 6, 14, 18, 30))
+                .price(new BigDecimal("25.45"))
+                .build();
+        
+        // Then
+        assertThat(price.getPriceMinorUnits()).isEqualTo(2545L);
+        assertThat(price.getPrice()).isEqualTo(new BigDecimal("25.45"));
+        assertThat(price.getStartEpochMicros()).isEqualTo(EpochMicros.of(startDate));
+        assertThat(price.getStartDate()).isEqualTo(startDate);
+        assertThat(price.isApplicableAt(EpochMicros.of(LocalDateTime.of(2020, 6, 14, 16, 0)))).isTrue();
+    }
+    
+    @Test
+    void shouldShareCanonicalCurrencyCode() {
+        // When
+        BrandPrice first = BrandPrice.builder().currency(new String("EUR")).build();
+        BrandPrice second = BrandPrice.builder().currency(new String("EUR")).build();
+        
+        // Then
+        assertThat(first.getCurrency()).isSameAs(second.getCurrency());
+    }
+    
+    @Test
+    void shouldRejectPricesWithMoreDecimalsThanTheColumn() {
+        assertThatThrownBy(() -> BrandPrice.builder().price(new BigDecimal("1.005")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+    
+    @Test
+    void shouldRoundTripDatesBeforeAndAfterEpoch() {
+        LocalDateTime beforeEpoch = LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000);
+        LocalDateTime farFuture = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+        
+        assertThat(EpochMicros.toLocalDateTime(EpochMicros.of(beforeEpoch))).isEqualTo(beforeEpoch);
+        assertThat(EpochMicros.toLocalDateTime(EpochMicros.of(farFuture))).isEqualTo(farFuture);
+    }
 }
@@ -0,0 +1,204 @@
+package com.wolper.prices.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para la línea temporal de precio efectivo.
+ */
+class PriceTimelineTest {
+    
+    private static final BrandPrice BASE = price(1L, 0, "2020-06-14T00:00:00", "2020-12-31T23:59:59");
+    private static final BrandPrice AFTERNOON = price(2L, 1, "2020-06-14T15:00:00", "2020-06-14T18:30:00");
+    private static final BrandPrice MORNING = price(3L, 1, "2020-06-15T00:00:00", "2020-06-15T11:00:00");
+    private static final BrandPrice LATE = price(4L, 1, "2020-06-15T16:00:00", "2020-12-31T23:59:59");
+    
+    @Test
+    void shouldCollapseOverlappingIntervalsIntoSegments() {
+        // When
+        PriceTimeline timeline = PriceTimeline.of(List.of(LATE, BASE, MORNING, AFTERNOON));
+        
+        // Then
+        assertThat(timeline.segments())
+                .extracting(segment -> segment.price().getPriceList())
+                .containsExactly(1L, 2L, 1L, 3L, 1L, 4L);
+        assertThat(timeline.segments().get(0).startDate()).isEqualTo("2020-06-14T00:00:00");
+        assertThat(timeline.segments().get(0).endDate()).isEqualTo("2020-06-14T14:59:59.999999999");
+        assertThat(timeline.segments().get(2).startDate()).isEqualTo("2020-06-14T18:30:00.000000001");
+        assertThat(timeline.segments().get(5).endDate()).isEqualTo("2020-12-31T23:59:59");
+    }
+    
+    @Test
+    void shouldResolveTheFiveReferenceScenarios() {
+        // Given
+        PriceTimeline timeline = PriceTimeline.of(List.of(BASE, AFTERNOON, MORNING, LATE));
+        
+        // When & Then
+        assertThat(timeline.priceAt(LocalDateTime.parse("2020-06-14T10:00:00"))).contains(BASE);
+        assertThat(timeline.priceAt(LocalDateTime.parse("2020-06-14T16:00:00"))).contains(AFTERNOON);
+        assertThat(timeline.priceAt(LocalDateTime.parse("2020-06-14T21:00:00"))).contains(BASE);
+        assertThat(timeline.priceAt(LocalDateTime.parse("2020-06-15T10:00:00"))).contains(MORNING);
+        assertThat(timeline.priceAt(LocalDateTime.parse("2020-06-16T21:00:00"))).contains(LATE);
+    }
+    
+    @Test
+    void shouldIncludeBothEndsOfEachInterval() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(BASE, AFTERNOON));
+        
+        assertThat(timeline.priceAt(LocalDateTime.parse("2020-06-14T15:00:00"))).contains(AFTERNOON);
+        assertThat(timeline.priceAt(LocalDateTime.parse("2020-06-14T18:30:00"))).contains(AFTERNOON);
+        assertThat(timeline.priceAt(LocalDateTime.parse("2020-06-14T18:30:01"))).contains(BASE);
+        assertThat(timeline.priceAt(LocalDateTime.parse("2020-12-31T23:59:59"))).contains(BASE);
+    }
+    
+    @Test
+    void shouldReturnEmptyOutsideAnyInterval() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(AFTERNOON, MORNING));
+        
+        assertThat(timeline.priceAt(LocalDateTime.parse("2020-06-14T10:00:00"))).isEmpty();
+        assertThat(timeline.priceAt(LocalDateTime.parse("2020-06-14T21:00:00"))).isEmpty();
+        assertThat(timeline.priceAt(LocalDateTime.parse("2025-01-01T10:00:00"))).isEmpty();
+        assertThat(PriceTimeline.of(List.of()).priceAt(LocalDateTime.parse("2020-06-14T10:00:00"))).isEmpty();
+    }
+    
+    @Test
+    void shouldMergeContiguousSegmentsOfTheSameWinner() {
+        // Given: una promoción de menor prioridad no debe partir el tramo del ganador
+        BrandPrice hidden = price(5L, 0, "2020-06-14T15:00:00", "2020-06-14T16:00:00");
+        
+        // When
+        PriceTimeline timeline = PriceTimeline.of(List.of(AFTERNOON, hidden));
+        
+        // Then
+        assertThat(timeline.segments()).singleElement()
+                .satisfies(segment -> {
+                    assertThat(segment.price()).isEqualTo(AFTERNOON);
+                    assertThat(segment.startDate()).isEqualTo("2020-06-14T15:00:00");
+                    assertThat(segment.endDate()).isEqualTo("2020-06-14T18:30:00");
+                });
+    }
+    
+    @Test
+    void shouldBreakPriorityTiesByPriceList() {
+        // Given
+        BrandPrice lower = price(1L, 1, "2020-06-14T00:00:00", "2020-06-14T23:59:59");
+        BrandPrice higher = price(7L, 1, "2020-06-14T00:00:00", "2020-06-14T23:59:59");
+        
+        // When & Then
+        assertThat(PriceTimeline.of(List.of(lower, higher)).priceAt(LocalDateTime.parse("2020-06-14T12:00:00")))
+                .contains(higher);
+    }
+    
+    @Test
+    void shouldExposeTheSegmentBoundsAroundADate() {
+        PriceTimeline timeline = PriceTimeline.of(List.of(BASE, AFTERNOON, MORNING, LATE));
+        
+        assertThat(timeline.segmentAt(LocalDateTime.parse("2020-06-14T21:00:00")))
+                .hasValueSatisfying(segment -> {
+                    assertThat(segment.contains(LocalDateTime.parse("2020-06-14T23:59:59"))).isTrue();
+                    assertThat(segment.contains(LocalDateTime.parse("2020-06-15T00:00:00"))).isFalse();
+                    assertThat(segment.endDate()).isEqualTo("2020-06-14T23:59:59.999999999");
+                });
+    }
+    
+    @Test
+    void shouldResolveEpochMicrosWithoutOverlappingContiguousSegments() {
+        // Given: el tramo siguiente a la promoción empieza un nanosegundo después de su fin
+        PriceTimeline timeline = PriceTimeline.of(List.of(BASE, AFTERNOON));
+        long promotionEnd = EpochMicros.of(LocalDateTime.parse("2020-06-14T18:30:00"));
+        
+        // When & Then
+        assertThat(timeline.segmentAt(promotionEnd)).map(PriceSegment::price).contains(AFTERNOON);
+        assertThat(timeline.segmentAt(promotionEnd + 1)).map(PriceSegment::price).contains(BASE);
+        assertThat(timeline.segmentAt(EpochMicros.of(LocalDateTime.parse("2020-06-14T14:59:59.999999"))))
+                .map(PriceSegment::price).contains(BASE);
+        assertThat(timeline.segmentAt(EpochMicros.of(LocalDateTime.parse("2021-01-01T00:00:00")))).isEmpty();
+    }
+    
+    // helper
+    @Test
+    void shouldScanOnlyTheRequestedRangeClippingItsEnds() {
+        // When
+        Iterator<PriceSegment> scan = PriceTimeline.scan(List.of(BASE, AFTERNOON, MORNING, LATE).iterator(),
+                LocalDateTime.parse("2020-06-14T16:00:00"), LocalDateTime.parse("2020-06-15T10:00:00"));
+        
+        // Then
+        List<PriceSegment> segments = new ArrayList<>();
+        scan.forEachRemaining(segments::add);
+        assertThat(segments).extracting(segment -> segment.price().getPriceList()).containsExactly(2L, 1L, 3L);
+        assertThat(segments.getFirst().startDate()).isEqualTo("2020-06-14T16:00:00");
+        assertThat(segments.getLast().endDate()).isEqualTo("2020-06-15T10:00:00");
+    }
+    
+    @Test
+    void shouldScanLikeTheFullTimelineWhenTheRangeCoversEverything() {
+        // Given
+        List<BrandPrice> byStart = List.of(BASE, AFTERNOON, MORNING, LATE);
+        
+        // When
+        List<PriceSegment> segments = new ArrayList<>();
+        PriceTimeline.scan(byStart.iterator(), LocalDateTime.parse("2020-01-01T00:00:00"),
+                LocalDateTime.parse("2021-01-01T00:00:00")).forEachRemaining(segments::add);
+        
+        // Then
+        assertThat(segments).isEqualTo(PriceTimeline.of(byStart).segments());
+    }
+    
+    @Test
+    void shouldScanNothingOutsideThePrices() {
+        // When
+        Iterator<PriceSegment> before = PriceTimeline.scan(List.of(AFTERNOON).iterator(),
+                LocalDateTime.parse("2020-06-01T00:00:00"), LocalDateTime.parse("2020-06-14T14:59:59"));
+        Iterator<PriceSegment> gap = PriceTimeline.scan(List.of(AFTERNOON, MORNING).iterator(),
+                LocalDateTime.parse("2020-06-14T20:00:00"), LocalDateTime.parse("2020-06-14T22:00:00"));
+        Iterator<PriceSegment> empty = PriceTimeline.scan(Collections.emptyIterator(),
+                LocalDateTime.parse("2020-06-01T00:00:00"), LocalDateTime.parse("2020-06-30T00:00:00"));
+        
+        // Then
+        assertThat(before.hasNext()).isFalse();
+        assertThat(gap.hasNext()).isFalse();
+        assertThat(empty.hasNext()).isFalse();
+        assertThatThrownBy(empty::next).isInstanceOf(NoSuchElementException.class);
+    }
+    
+    @Test
+    void shouldReadPricesOnlyAsFarAsTheSegmentsRequested() {
+        // Given
+        Iterator<BrandPrice> source = List.of(BASE, AFTERNOON, MORNING, LATE).iterator();
+        Iterator<PriceSegment> scan = PriceTimeline.scan(source,
+                LocalDateTime.parse("2020-06-14T00:00:00"), LocalDateTime.parse("2020-12-31T23:59:59"));
+        
+        // When
+        PriceSegment first = scan.next();
+        
+        // Then
+        assertThat(first.price()).isSameAs(BASE);
+        assertThat(first.endDate()).isEqualTo("2020-06-14T14:59:59.999999999");
+        // El siguiente tramo ya está preparado para poder fusionarlo, pero LATE sigue sin leerse
+        assertThat(source.next()).isSameAs(LATE);
+    }
+    
+    private static BrandPrice price(Long priceList, int priority, String start, String end) {
+        return BrandPrice.builder()
+                .id(priceList)
+                .brandId(1L)
+                .productId(35455L)
+                .priceList(priceList)
+                .priority(priority)
+                .startDate(LocalDateTime.parse(start))
+                .endDate(LocalDateTime.parse(end))
+                .price(BigDecimal.TEN)
+                .currency("EUR")
+                .build();
+    }
+}
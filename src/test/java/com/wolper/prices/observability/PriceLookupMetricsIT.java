@@ -0,0 +1,89 @@
+package com.wolper.prices.observability;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integración de las métricas por etapa publicadas para Prometheus.
+ * El filtro de existencia, desactivado por defecto con el motor {@code jdbc}, se activa para
+ * contar también sus rechazos.
+ */
+@SpringBootTest(properties = "prices.not-found.key-filter=true")
+@AutoConfigureMockMvc
+class PriceLookupMetricsIT {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    @DisplayName("Cada etapa de la consulta publica su histograma etiquetado por resultado")
+    void testStageHistogramsAreScraped() throws Exception {
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2025-01-01T10:00:00")
+                        .param("productId", "35455")
+                        .param("brandId", "1"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "0")
+                        .param("brandId", "1"))
+                .andExpect(status().isBadRequest());
+        
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "prices_lookup_stage_seconds_bucket{outcome=\"found\",stage=\"db_query\"")))
+                .andExpect(content().string(containsString(
+                        "prices_lookup_stage_seconds_count{outcome=\"found\",stage=\"row_mapping\"}")))
+                .andExpect(content().string(containsString(
+                        "prices_lookup_stage_seconds_count{outcome=\"found\",stage=\"response_mapping\"}")))
+                .andExpect(content().string(containsString(
+                        "prices_lookup_stage_seconds_count{outcome=\"not_found\",stage=\"use_case\"}")))
+                .andExpect(content().string(containsString(
+                        "prices_lookup_stage_seconds_count{outcome=\"not_found\",stage=\"error_handling\"}")))
+                .andExpect(content().string(containsString(
+                        "prices_lookup_stage_seconds_count{outcome=\"invalid\",stage=\"binding\"}")));
+    }
+    
+    @Test
+    @DisplayName("Las consultas sin precio resueltas sin repositorio se cuentan por motivo")
+    void testNotFoundShortcutsAreCounted() throws Exception {
+        // Producto sin ningún precio: lo rechaza el filtro de existencia
+        mockMvc.perform(get("/prices/final")
+                        .param("date", "2020-06-14T16:00:00")
+                        .param("productId", "424242")
+                        .param("brandId", "1"))
+                .andExpect(status().isNotFound());
+        // Producto con precios pero en un hueco: el primer fallo lo mide y el segundo sale de la caché
+        for (String date : new String[] {"2020-06-13T10:00:00", "2020-06-13T10:30:00"}) {
+            mockMvc.perform(get("/prices/final")
+                            .param("date", date)
+                            .param("productId", "35455")
+                            .param("brandId", "1"))
+                    .andExpect(status().isNotFound())
+                    .andExpect(content().string(containsString("fecha=" + date.substring(0, 16))));
+        }
+        
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "prices_not_found_shortcut_total{reason=\"key_filter\"}")))
+                .andExpect(content().string(containsString(
+                        "prices_not_found_shortcut_total{reason=\"negative_cache\"}")))
+                .andExpect(content().string(containsString("prices_key_filter_memory_bytes")));
+    }
+}
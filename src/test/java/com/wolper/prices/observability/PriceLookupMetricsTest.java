@@ -0,0 +1,69 @@
+package com.wolper.prices.observability;
+
+import com.wolper.prices.domain.exception.PriceNotFoundException;
+import com.wolper.prices.observability.PriceLookupMetrics.Outcome;
+import com.wolper.prices.observability.PriceLookupMetrics.Stage;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceLookupMetricsTest {
+    
+    private SimpleMeterRegistry registry;
+    private PriceLookupMetrics metrics;
+    
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new PriceLookupMetrics(registry);
+    }
+    
+    @Test
+    void shouldRecordDurationTaggedByStageAndOutcome() {
+        // When
+        metrics.record(Stage.DB_QUERY, Outcome.FOUND, 1_000, 251_000);
+        metrics.record(Stage.DB_QUERY, Outcome.FOUND, 0, 50_000);
+        metrics.record(Stage.DB_QUERY, Outcome.NOT_FOUND, 0, 10_000);
+        
+        // Then
+        Timer found = registry.get(PriceLookupMetrics.TIMER_NAME)
+                .tags("stage", "db_query", "outcome", "found").timer();
+        assertThat(found.count()).isEqualTo(2);
+        assertThat(found.totalTime(TimeUnit.MICROSECONDS)).isEqualTo(300);
+        assertThat(registry.get(PriceLookupMetrics.TIMER_NAME)
+                .tags("stage", "db_query", "outcome", "not_found").timer().count()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldRecordUntilNow() {
+        // When
+        metrics.record(Stage.BINDING, Outcome.INVALID, System.nanoTime());
+        
+        // Then
+        assertThat(registry.get(PriceLookupMetrics.TIMER_NAME)
+                .tags("stage", "binding", "outcome", "invalid").timer().count()).isEqualTo(1);
+    }
+    
+    @Test
+    void shouldReuseTheSameTimer() {
+        // When
+        metrics.record(Stage.USE_CASE, Outcome.FOUND, 0, 1);
+        metrics.record(Stage.USE_CASE, Outcome.FOUND, 0, 1);
+        
+        // Then
+        assertThat(registry.find(PriceLookupMetrics.TIMER_NAME).timers()).hasSize(1);
+    }
+    
+    @Test
+    void shouldMapFailuresToOutcomes() {
+        assertThat(Outcome.of(new PriceNotFoundException(1L, 1L, "2020-06-14T10:00"))).isEqualTo(Outcome.NOT_FOUND);
+        assertThat(Outcome.of(new TransientDataAccessResourceException("saturada"))).isEqualTo(Outcome.UNAVAILABLE);
+        assertThat(Outcome.of(new IllegalStateException())).isEqualTo(Outcome.ERROR);
+    }
+}
@@ -0,0 +1,65 @@
+package com.wolper.prices.observability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestLogSamplerTest {
+    
+    @Test
+    void shouldAlwaysSampleWithRateOne() {
+        RequestLogSampler sampler = new RequestLogSampler(1);
+        
+        assertThat(IntStream.range(0, 1_000).allMatch(i -> sampler.sampleSuccess())).isTrue();
+    }
+    
+    @Test
+    void shouldNeverSampleWithRateZero() {
+        RequestLogSampler sampler = new RequestLogSampler(0);
+        
+        assertThat(IntStream.range(0, 1_000).noneMatch(i -> sampler.sampleSuccess())).isTrue();
+    }
+    
+    @Test
+    void shouldSampleApproximatelyTheConfiguredRate() {
+        // Given
+        RequestLogSampler sampler = new RequestLogSampler(0.1);
+        
+        // When
+        long sampled = IntStream.range(0, 100_000).filter(i -> sampler.sampleSuccess()).count();
+        
+        // Then
+        assertThat(sampled).isBetween(8_000L, 12_000L);
+    }
+    
+    @Test
+    void shouldRejectInvalidRates() {
+        assertThatThrownBy(() -> new RequestLogSampler(-0.1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RequestLogSampler(1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RequestLogSampler(Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    @Test
+    void shouldGenerateDistinctVersion4RequestIds() {
+        // Given
+        RequestLogSampler sampler = new RequestLogSampler(0.01);
+        Set<String> ids = new HashSet<>();
+        
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(sampler.nextRequestId());
+        }
+        
+        // Then
+        assertThat(ids).hasSize(10_000);
+        UUID id = UUID.fromString(ids.iterator().next());
+        assertThat(id.version()).isEqualTo(4);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+}
@@ -19,7 +19,8 @@ Feature: Price API End-to-End Tests
     And match response.startDate == '2020-06-14T00:00:00'
     And match response.endDate == '2020-12-31T23:59:59'
     And match responseHeaders['X-Request-ID'][0] != null
-    And match responseHeaders['Cache-Control'][0] == 'no-cache'
+    And match responseHeaders['Cache-Control'][0] contains 'max-age='
+    And match responseHeaders['ETag'][0] != null
 
   Scenario: Test 2 - Get price at 16:00 on June 14th for product 35455 brand 1
     Given path basePath